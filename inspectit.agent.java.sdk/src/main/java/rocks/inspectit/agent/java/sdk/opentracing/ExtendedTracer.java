@@ -56,6 +56,22 @@ public interface ExtendedTracer extends Tracer {
 	 */
 	void setTimer(Timer timer) throws IllegalArgumentException;
 
+	/**
+	 * Sets the {@link Sampler} that decides if new traces are sampled. The decision is propagated to
+	 * all spans of the trace, spans of not sampled traces are not reported.
+	 * <p>
+	 * By default inspectIT tracer samples all traces. The SDK provides
+	 * {@link rocks.inspectit.agent.java.sdk.opentracing.sampling.ProbabilisticSampler} and
+	 * {@link rocks.inspectit.agent.java.sdk.opentracing.sampling.RateLimitingSampler}
+	 * implementations.
+	 *
+	 * @param sampler
+	 *            {@link Sampler} to set. Must not be <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             If sampler provided is <code>null</code>.
+	 */
+	void setSampler(Sampler sampler) throws IllegalArgumentException;
+
 	/**
 	 * Builds span with no operation name. The thread context reference will added if the one exists
 	 * as the CHILD_OF reference.
@@ -0,0 +1,25 @@
+package rocks.inspectit.agent.java.sdk.opentracing;
+
+/**
+ * Sampler decides if a trace is sampled. The decision is made once when the first span of a trace
+ * is created and is then kept in the span context and propagated to all the children spans, also
+ * over the network. Spans of not sampled traces are not reported.
+ *
+ * @author Ivan Senic
+ *
+ */
+public interface Sampler {
+
+	/**
+	 * Returns if the trace started with the span with given operation name should be sampled.
+	 *
+	 * @param traceId
+	 *            Id of the new trace.
+	 * @param operationName
+	 *            Operation name of the first span in the trace. If the span has no operation name
+	 *            when it is built, the name derived from the span tags, like the HTTP method and URL
+	 *            of the remote server spans. Can be <code>null</code>.
+	 * @return <code>true</code> if the trace should be sampled.
+	 */
+	boolean isSampled(long traceId, String operationName);
+}
@@ -8,7 +8,10 @@ import io.opentracing.References;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer.SpanBuilder;
+import io.opentracing.tag.Tags;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
 
 /**
  * Builder for the span. Note that builder is delegating the calls to the span that's created
@@ -33,6 +36,11 @@ public class SpanBuilderImpl implements SpanBuilder {
 	 */
 	private final Timer timer;
 
+	/**
+	 * Sampler to use if the span starts a new trace.
+	 */
+	private final Sampler sampler;
+
 	/**
 	 * Collected baggage from all parents.
 	 */
@@ -54,7 +62,7 @@ public class SpanBuilderImpl implements SpanBuilder {
 	private String referenceType;
 
 	/**
-	 * Creates new span builder.
+	 * Creates new span builder that samples all new traces.
 	 *
 	 * @param tracer
 	 *            {@link TracerImpl}
@@ -62,7 +70,22 @@ public class SpanBuilderImpl implements SpanBuilder {
 	 *            Operation name.
 	 */
 	public SpanBuilderImpl(TracerImpl tracer, String operationName) {
+		this(tracer, operationName, ConstSampler.ALWAYS);
+	}
+
+	/**
+	 * Creates new span builder.
+	 *
+	 * @param tracer
+	 *            {@link TracerImpl}
+	 * @param operationName
+	 *            Operation name.
+	 * @param sampler
+	 *            {@link Sampler} to use if the span starts a new trace.
+	 */
+	public SpanBuilderImpl(TracerImpl tracer, String operationName, Sampler sampler) {
 		this.timer = tracer.getTimer();
+		this.sampler = sampler;
 		this.span = new SpanImpl(tracer);
 		this.span.setOperationName(operationName);
 	}
@@ -209,15 +232,50 @@ public class SpanBuilderImpl implements SpanBuilder {
 
 	/**
 	 * Builds (resolves the context) the span but does not start it. The method returns the built
-	 * span.
+	 * span. If the span has no parent, the sampler decides if the new trace is sampled, otherwise the
+	 * decision of the parent is used.
 	 *
 	 * @return the span which has been built
 	 */
 	public SpanImpl build() {
 		// resolve context
-		SpanContextImpl context = SpanContextImpl.build(parent, referenceType, baggage);
+		SpanContextImpl context;
+		if (null == parent) {
+			context = SpanContextImpl.build(baggage, sampler, getSamplingOperationName());
+		} else {
+			context = SpanContextImpl.build(parent, referenceType, baggage);
+		}
 		span.setSpanContext(context);
 
 		return span;
 	}
+
+	/**
+	 * Returns the operation name passed to the sampler. Remote spans are built without the
+	 * operation name, thus if the name is not set it is derived from the HTTP method and URL (without
+	 * the query) tags known at the moment the span is built. This way the samplers deciding per
+	 * operation do not handle all remote requests as one operation.
+	 *
+	 * @return Operation name for sampling or <code>null</code> if it can not be resolved.
+	 */
+	String getSamplingOperationName() {
+		String operationName = span.getOperationName();
+		if (null != operationName) {
+			return operationName;
+		}
+
+		String url = span.getTag(Tags.HTTP_URL.getKey());
+		if (null == url) {
+			return null;
+		}
+		int queryIndex = url.indexOf('?');
+		if (queryIndex >= 0) {
+			url = url.substring(0, queryIndex);
+		}
+		String method = span.getTag(Tags.HTTP_METHOD.getKey());
+		if (null == method) {
+			return url;
+		}
+		return method + ' ' + url;
+	}
 }
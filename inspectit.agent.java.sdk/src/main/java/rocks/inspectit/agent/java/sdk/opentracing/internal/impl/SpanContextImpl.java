@@ -6,12 +6,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import io.opentracing.SpanContext;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.internal.util.RandomUtils;
 
 /**
  * Implementation of the {@link io.opentracing.SpanContext}. Keeps information about span id, trace
- * id and span parent id. Sampling flag is not included in the moment as it's not explicitly defined
- * by the opentracing API.
+ * id, span parent id and the sampling decision of the trace. The sampling decision is inherited from
+ * the parent context, so that all spans of one trace have the same decision.
  *
  * @author Ivan Senic
  *
@@ -44,7 +45,12 @@ public class SpanContextImpl implements SpanContext {
 	private final Map<String, String> baggage;
 
 	/**
-	 * Constructor. Use build methods.
+	 * If the trace this context belongs to is sampled.
+	 */
+	private final boolean sampled;
+
+	/**
+	 * Constructor for the sampled context. Use build methods.
 	 *
 	 * @param id
 	 *            Unique ID of the span.
@@ -58,11 +64,32 @@ public class SpanContextImpl implements SpanContext {
 	 *            Additional baggage
 	 */
 	public SpanContextImpl(long id, long traceId, long parentId, String referenceType, Map<String, String> baggage) {
+		this(id, traceId, parentId, referenceType, baggage, true);
+	}
+
+	/**
+	 * Constructor. Use build methods.
+	 *
+	 * @param id
+	 *            Unique ID of the span.
+	 * @param traceId
+	 *            ID of the trace that span belongs to.
+	 * @param parentId
+	 *            ID of the span's parent.
+	 * @param referenceType
+	 *            Reference to the parent.
+	 * @param baggage
+	 *            Additional baggage
+	 * @param sampled
+	 *            If the trace is sampled.
+	 */
+	public SpanContextImpl(long id, long traceId, long parentId, String referenceType, Map<String, String> baggage, boolean sampled) {
 		// ids
 		this.id = id;
 		this.traceId = traceId;
 		this.parentId = parentId;
 		this.referenceType = referenceType;
+		this.sampled = sampled;
 		// baggage handling
 		if ((null != baggage) && !baggage.isEmpty()) {
 			this.baggage = new HashMap<String, String>(baggage);
@@ -76,7 +103,8 @@ public class SpanContextImpl implements SpanContext {
 	 * <code>null</code> then {@link #build(Map)} will be used and new trace context will be
 	 * created.
 	 * <p>
-	 * Passed baggage will be the baggage of this span context.
+	 * Passed baggage will be the baggage of this span context. The sampling decision is taken from
+	 * the parent context, new trace contexts are sampled.
 	 *
 	 * @param parent
 	 *            Context that will be use to determine to which trace/parent new context belongs.
@@ -92,7 +120,7 @@ public class SpanContextImpl implements SpanContext {
 			return build(baggage);
 		} else {
 			long id = RandomUtils.randomLong();
-			SpanContextImpl spanContextImpl = new SpanContextImpl(id, parent.getTraceId(), parent.getId(), referenceType, baggage);
+			SpanContextImpl spanContextImpl = new SpanContextImpl(id, parent.getTraceId(), parent.getId(), referenceType, baggage, parent.isSampled());
 			return spanContextImpl;
 		}
 	}
@@ -109,6 +137,23 @@ public class SpanContextImpl implements SpanContext {
 		return new SpanContextImpl(id, id, id, null, baggage);
 	}
 
+	/**
+	 * Builds new {@link SpanContextImpl} with new trace context, given baggage and sampling decision
+	 * of the given sampler.
+	 *
+	 * @param baggage
+	 *            Context baggage.
+	 * @param sampler
+	 *            Sampler to decide if the new trace is sampled.
+	 * @param operationName
+	 *            Operation name of the span passed to the sampler.
+	 * @return {@link SpanContextImpl}. Never <code>null</code>.
+	 */
+	public static SpanContextImpl build(Map<String, String> baggage, Sampler sampler, String operationName) {
+		long id = RandomUtils.randomLong();
+		return new SpanContextImpl(id, id, id, null, baggage, sampler.isSampled(id, operationName));
+	}
+
 	/**
 	 * Builds new {@link SpanContextImpl} with new trace context and no baggage.
 	 *
@@ -133,7 +178,25 @@ public class SpanContextImpl implements SpanContext {
 	 * @return Context representing the context of the calling span.
 	 */
 	public static SpanContextImpl buildExtractedContext(long passedId, long passedTraceId, Map<String, String> passedBaggage) {
-		return new SpanContextImpl(passedId, passedTraceId, passedId, null, passedBaggage);
+		return buildExtractedContext(passedId, passedTraceId, passedBaggage, true);
+	}
+
+	/**
+	 * This method is used when building context that is extracted from the propagation (like HTTP
+	 * headers) together with the sampling decision of the calling side.
+	 *
+	 * @param passedId
+	 *            calling span id
+	 * @param passedTraceId
+	 *            calling span trace id
+	 * @param passedBaggage
+	 *            passage traveling along
+	 * @param passedSampled
+	 *            sampling decision of the calling span
+	 * @return Context representing the context of the calling span.
+	 */
+	public static SpanContextImpl buildExtractedContext(long passedId, long passedTraceId, Map<String, String> passedBaggage, boolean passedSampled) {
+		return new SpanContextImpl(passedId, passedTraceId, passedId, null, passedBaggage, passedSampled);
 	}
 
 	/**
@@ -203,6 +266,15 @@ public class SpanContextImpl implements SpanContext {
 		return this.parentId;
 	}
 
+	/**
+	 * Gets {@link #sampled}.
+	 *
+	 * @return {@link #sampled}
+	 */
+	public boolean isSampled() {
+		return this.sampled;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -214,6 +286,7 @@ public class SpanContextImpl implements SpanContext {
 		result = (prime * result) + (int) (this.id ^ (this.id >>> 32));
 		result = (prime * result) + (int) (this.parentId ^ (this.parentId >>> 32));
 		result = (prime * result) + ((this.referenceType == null) ? 0 : this.referenceType.hashCode());
+		result = (prime * result) + (this.sampled ? 1231 : 1237);
 		result = (prime * result) + (int) (this.traceId ^ (this.traceId >>> 32));
 		return result;
 	}
@@ -253,6 +326,9 @@ public class SpanContextImpl implements SpanContext {
 		} else if (!this.referenceType.equals(other.referenceType)) {
 			return false;
 		}
+		if (this.sampled != other.sampled) {
+			return false;
+		}
 		if (this.traceId != other.traceId) {
 			return false;
 		}
@@ -264,7 +340,7 @@ public class SpanContextImpl implements SpanContext {
 	 */
 	@Override
 	public String toString() {
-		return "SpanContextImpl [id=" + this.id + ", traceId=" + this.traceId + ", parentId=" + this.parentId + ", referenceType=" + this.referenceType + ", baggage=" + this.baggage + "]";
+		return "SpanContextImpl [id=" + this.id + ", traceId=" + this.traceId + ", parentId=" + this.parentId + ", referenceType=" + this.referenceType + ", sampled=" + this.sampled + ", baggage=" + this.baggage + "]";
 	}
 
 }
\ No newline at end of file
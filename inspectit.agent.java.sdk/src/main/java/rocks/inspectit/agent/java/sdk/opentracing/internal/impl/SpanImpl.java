@@ -1,5 +1,6 @@
 package rocks.inspectit.agent.java.sdk.opentracing.internal.impl;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,6 +21,11 @@ import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
  */
 public class SpanImpl implements Span {
 
+	/**
+	 * Initial amount of tags the span has place for.
+	 */
+	private static final int INITIAL_TAG_CAPACITY = 4;
+
 	/**
 	 * Tracer.
 	 */
@@ -57,9 +63,16 @@ public class SpanImpl implements Span {
 	private boolean report = true;
 
 	/**
-	 * Tags of this span. We save all tag values as string.
+	 * Tags of this span as flat array of key and value pairs, the key of the tag with index
+	 * <code>i</code> is at <code>2 * i</code> and the value at <code>2 * i + 1</code>. We save all
+	 * tag values as string.
 	 */
-	private Map<String, String> tags;
+	private String[] tags;
+
+	/**
+	 * Amount of tags in the {@link #tags} array.
+	 */
+	private int tagCount;
 
 	/**
 	 * Indicates whether the span has been finished.
@@ -211,13 +224,86 @@ public class SpanImpl implements Span {
 	 * @return This object
 	 */
 	private Span setTagInternal(String key, String value) {
+		int index = indexOfTag(key);
+		if (index >= 0) {
+			tags[(index << 1) + 1] = value;
+			return this;
+		}
+
 		if (null == tags) {
-			tags = new HashMap<String, String>(1, 1f);
+			tags = new String[INITIAL_TAG_CAPACITY << 1];
+		} else if ((tagCount << 1) == tags.length) {
+			tags = Arrays.copyOf(tags, tags.length << 1);
 		}
-		tags.put(key, value);
+		tags[tagCount << 1] = key;
+		tags[(tagCount << 1) + 1] = value;
+		tagCount++;
 		return this;
 	}
 
+	/**
+	 * Returns the index of the tag with the given key.
+	 *
+	 * @param key
+	 *            Tag key.
+	 * @return Index of the tag or <code>-1</code> if the tag is not set.
+	 */
+	private int indexOfTag(String key) {
+		for (int i = 0; i < tagCount; i++) {
+			String tagKey = tags[i << 1];
+			if ((null == key) ? (null == tagKey) : key.equals(tagKey)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the value of the tag with the given key.
+	 *
+	 * @param key
+	 *            Tag key.
+	 * @return Tag value or <code>null</code> if the tag is not set.
+	 */
+	public String getTag(String key) {
+		int index = indexOfTag(key);
+		if (index >= 0) {
+			return tags[(index << 1) + 1];
+		}
+		return null;
+	}
+
+	/**
+	 * Gets {@link #tagCount}.
+	 *
+	 * @return {@link #tagCount}
+	 */
+	public int getTagCount() {
+		return this.tagCount;
+	}
+
+	/**
+	 * Returns the key of the tag with the given index.
+	 *
+	 * @param index
+	 *            Tag index, must be smaller than {@link #getTagCount()}.
+	 * @return Tag key.
+	 */
+	public String getTagKey(int index) {
+		return tags[index << 1];
+	}
+
+	/**
+	 * Returns the value of the tag with the given index.
+	 *
+	 * @param index
+	 *            Tag index, must be smaller than {@link #getTagCount()}.
+	 * @return Tag value.
+	 */
+	public String getTagValue(int index) {
+		return tags[(index << 1) + 1];
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -320,11 +406,7 @@ public class SpanImpl implements Span {
 	 * @see Tags#SPAN_KIND
 	 */
 	public boolean isClient() {
-		if (tags != null) {
-			String kind = tags.get(Tags.SPAN_KIND.getKey());
-			return Tags.SPAN_KIND_CLIENT.equals(kind);
-		}
-		return false;
+		return Tags.SPAN_KIND_CLIENT.equals(getTag(Tags.SPAN_KIND.getKey()));
 	}
 
 	/**
@@ -338,6 +420,31 @@ public class SpanImpl implements Span {
 		return !isClient();
 	}
 
+	/**
+	 * If span is marked as error. Only returns <code>true</code> if the error tag is explicitly set
+	 * to <code>true</code>.
+	 *
+	 * @return If span is marked as error.
+	 * @see Tags#ERROR
+	 */
+	public boolean isError() {
+		return String.valueOf(true).equals(getTag(Tags.ERROR.getKey()));
+	}
+
+	/**
+	 * Returns if the span should not be reported as the trace it belongs to is not sampled. Spans
+	 * of not sampled traces are still reported if they are marked as error and the tracer is
+	 * configured to always report errors.
+	 *
+	 * @return Returns <code>true</code> if the span should not be reported because of sampling.
+	 */
+	public boolean isSampledOut() {
+		if ((null == spanContext) || spanContext.isSampled()) {
+			return false;
+		}
+		return !(tracer.isAlwaysReportErrors() && isError());
+	}
+
 	/**
 	 * Returns whether the span has already been started.
 	 *
@@ -393,12 +500,21 @@ public class SpanImpl implements Span {
 	}
 
 	/**
-	 * Gets {@link #tags}.
+	 * Returns the tags of this span as a map. The map is created on every call, thus the hot paths
+	 * should use {@link #getTagCount()}, {@link #getTagKey(int)} and {@link #getTagValue(int)}.
 	 *
-	 * @return {@link #tags}
+	 * @return Map of tags or <code>null</code> if no tag is set.
 	 */
 	public Map<String, String> getTags() {
-		return this.tags;
+		if (0 == tagCount) {
+			return null;
+		}
+
+		Map<String, String> map = new HashMap<String, String>(tagCount, 1f);
+		for (int i = 0; i < tagCount; i++) {
+			map.put(getTagKey(i), getTagValue(i));
+		}
+		return map;
 	}
 
 	/**
@@ -471,7 +587,7 @@ public class SpanImpl implements Span {
 	 */
 	@Override
 	public String toString() {
-		return "SpanImpl [spanContext=" + this.spanContext + ", operationName=" + this.operationName + ", duration=" + this.duration + ", report=" + this.report + ", tags=" + this.tags + "]";
+		return "SpanImpl [spanContext=" + this.spanContext + ", operationName=" + this.operationName + ", duration=" + this.duration + ", report=" + this.report + ", tags=" + getTags() + "]";
 	}
 
 }
@@ -0,0 +1,101 @@
+package rocks.inspectit.agent.java.sdk.opentracing.internal.impl;
+
+import java.util.Arrays;
+
+/**
+ * Array based stack of the started spans of one thread. As the stack is always bound to one thread
+ * the implementation is not synchronized.
+ *
+ * @author Ivan Senic
+ *
+ */
+final class SpanStack {
+
+	/**
+	 * Initial capacity of the stack.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * Spans in the stack, the last started span is at {@link #size} - 1.
+	 */
+	private SpanImpl[] elements = new SpanImpl[INITIAL_CAPACITY];
+
+	/**
+	 * Amount of spans in the stack.
+	 */
+	private int size;
+
+	/**
+	 * Pushes the span to the top of the stack.
+	 *
+	 * @param span
+	 *            Span to push.
+	 */
+	void push(SpanImpl span) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, size << 1);
+		}
+		elements[size++] = span;
+	}
+
+	/**
+	 * Returns the span on the top of the stack.
+	 *
+	 * @return Span on the top of the stack or <code>null</code> if the stack is empty.
+	 */
+	SpanImpl peek() {
+		if (0 == size) {
+			return null;
+		}
+		return elements[size - 1];
+	}
+
+	/**
+	 * Returns the index of the top most occurrence of the span in the stack.
+	 *
+	 * @param span
+	 *            Span to search for.
+	 * @return Index of the span or <code>-1</code> if the span is not in the stack.
+	 */
+	int lastIndexOf(SpanImpl span) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (span.equals(elements[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Removes the span at the given index and all spans above it.
+	 *
+	 * @param index
+	 *            Index of the lowest span to remove.
+	 */
+	void popTo(int index) {
+		for (int i = index; i < size; i++) {
+			elements[i] = null; // NOPMD
+		}
+		size = index;
+	}
+
+	/**
+	 * Returns if the stack is empty.
+	 *
+	 * @return If the stack is empty.
+	 */
+	boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	int size() {
+		return this.size;
+	}
+
+}
@@ -1,7 +1,6 @@
 package rocks.inspectit.agent.java.sdk.opentracing.internal.impl;
 
 import java.util.Map;
-import java.util.Stack;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.opentracing.References;
@@ -9,6 +8,7 @@ import io.opentracing.SpanContext;
 import io.opentracing.propagation.Format;
 import rocks.inspectit.agent.java.sdk.opentracing.ExtendedTracer;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
 import rocks.inspectit.agent.java.sdk.opentracing.TracerProvider;
 import rocks.inspectit.agent.java.sdk.opentracing.internal.TracerLogger;
@@ -16,6 +16,7 @@ import rocks.inspectit.agent.java.sdk.opentracing.internal.propagation.TextMapPr
 import rocks.inspectit.agent.java.sdk.opentracing.internal.propagation.UrlEncodingPropagator;
 import rocks.inspectit.agent.java.sdk.opentracing.noop.NoopReporter;
 import rocks.inspectit.agent.java.sdk.opentracing.propagation.Propagator;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
 import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
 
 /**
@@ -30,6 +31,11 @@ import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
  * option to explicitly state that span should not be reported, as inspectIT itself adds other
  * information to the span it creates and reports them itself. User created spans will always be
  * reported if not explicitly stated otherwise.
+ * <p>
+ * The tracer uses {@link Sampler} to decide if a new trace is sampled. The decision is propagated
+ * to all spans of the trace, also to the remote ones. Spans of not sampled traces are not reported,
+ * unless they are marked as error and {@link #alwaysReportErrors} is set. By default all traces are
+ * sampled.
  *
  * @author Ivan Senic
  *
@@ -42,16 +48,16 @@ public class TracerImpl implements ExtendedTracer {
 	private static final TracerLogger LOGGER = TracerLoggerWrapper.getTraceLogger(TracerImpl.class);
 
 	/**
-	 * Span stack.
+	 * Span stack. The stack is bound to a thread, thus it's not synchronized.
 	 */
-	private final ThreadLocal<Stack<SpanImpl>> spanStack = new ThreadLocal<Stack<SpanImpl>>() {
+	private final ThreadLocal<SpanStack> spanStack = new ThreadLocal<SpanStack>() {
 
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
-		protected Stack<SpanImpl> initialValue() {
-			return new Stack<SpanImpl>();
+		protected SpanStack initialValue() {
+			return new SpanStack();
 		}
 	};
 
@@ -65,6 +71,16 @@ public class TracerImpl implements ExtendedTracer {
 	 */
 	private final Reporter reporter;
 
+	/**
+	 * Sampler deciding if new traces are sampled.
+	 */
+	private volatile Sampler sampler = ConstSampler.ALWAYS;
+
+	/**
+	 * If spans marked as error are reported even if their trace is not sampled.
+	 */
+	private volatile boolean alwaysReportErrors = true;
+
 	/**
 	 * Usable propagators.
 	 */
@@ -171,7 +187,7 @@ public class TracerImpl implements ExtendedTracer {
 	 */
 	@Override
 	public SpanBuilderImpl buildSpan(String operationName, String referenceType, boolean useThreadContext) {
-		SpanBuilderImpl spanBuilder = new SpanBuilderImpl(this, operationName);
+		SpanBuilderImpl spanBuilder = new SpanBuilderImpl(this, operationName, sampler);
 
 		if (useThreadContext) {
 			// check the current thread context
@@ -244,9 +260,9 @@ public class TracerImpl implements ExtendedTracer {
 	 */
 	@Override
 	public SpanContextImpl getCurrentContext() {
-		Stack<SpanImpl> stack = spanStack.get();
-		if (!stack.isEmpty()) {
-			return stack.peek().context();
+		SpanImpl span = spanStack.get().peek();
+		if (null != span) {
+			return span.context();
 		}
 		return null;
 	}
@@ -290,17 +306,14 @@ public class TracerImpl implements ExtendedTracer {
 		}
 
 		// check if we have the span in the stack
-		Stack<SpanImpl> stack = spanStack.get();
-		if (stack.contains(span)) {
+		SpanStack stack = spanStack.get();
+		int index = stack.lastIndexOf(span);
+		if (index >= 0) {
 			// if so clear the stack until we reach it
-			// it should be the first one, but just for safety
+			// it should be the top one, but just for safety
 			// (users might forget to finish spans or could finish them in wrong order)
-			SpanImpl removed = stack.pop();
-			boolean wrongEndOrder = false;
-			while (!stack.isEmpty() && !removed.equals(span)) {
-				wrongEndOrder = true;
-				stack.pop();
-			}
+			boolean wrongEndOrder = index != (stack.size() - 1);
+			stack.popTo(index);
 
 			if (wrongEndOrder && LOGGER.isWarnEnabled()) {
 				LOGGER.warn("Finishing of spans is not done in starting order, span " + span.toString() + " is not the last started one by current thread. Thread context state can be affected.");
@@ -312,7 +325,7 @@ public class TracerImpl implements ExtendedTracer {
 		}
 
 		// check if we need to report the span
-		if (span.isReport()) {
+		if (span.isReport() && !span.isSampledOut()) {
 			reporter.report(span);
 		}
 	}
@@ -326,6 +339,49 @@ public class TracerImpl implements ExtendedTracer {
 		return this.timer;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setSampler(Sampler sampler) {
+		if (null == sampler) {
+			throw new IllegalArgumentException("Sampler must not be null.");
+		}
+		this.sampler = sampler;
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Sampler set to " + sampler.toString() + ".");
+		}
+	}
+
+	/**
+	 * Gets {@link #sampler}.
+	 *
+	 * @return {@link #sampler}
+	 */
+	public Sampler getSampler() {
+		return this.sampler;
+	}
+
+	/**
+	 * Gets {@link #alwaysReportErrors}.
+	 *
+	 * @return {@link #alwaysReportErrors}
+	 */
+	public boolean isAlwaysReportErrors() {
+		return this.alwaysReportErrors;
+	}
+
+	/**
+	 * Sets {@link #alwaysReportErrors}.
+	 *
+	 * @param alwaysReportErrors
+	 *            New value for {@link #alwaysReportErrors}
+	 */
+	public void setAlwaysReportErrors(boolean alwaysReportErrors) {
+		this.alwaysReportErrors = alwaysReportErrors;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
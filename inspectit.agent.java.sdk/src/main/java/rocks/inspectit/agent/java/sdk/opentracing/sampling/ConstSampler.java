@@ -0,0 +1,54 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+
+/**
+ * Sampler that always makes the same decision.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class ConstSampler implements Sampler {
+
+	/**
+	 * Sampler that samples all traces.
+	 */
+	public static final ConstSampler ALWAYS = new ConstSampler(true);
+
+	/**
+	 * Sampler that samples no traces.
+	 */
+	public static final ConstSampler NEVER = new ConstSampler(false);
+
+	/**
+	 * Decision.
+	 */
+	private final boolean decision;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param decision
+	 *            Decision of the sampler.
+	 */
+	public ConstSampler(boolean decision) {
+		this.decision = decision;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, String operationName) {
+		return decision;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ConstSampler [decision=" + this.decision + "]";
+	}
+
+}
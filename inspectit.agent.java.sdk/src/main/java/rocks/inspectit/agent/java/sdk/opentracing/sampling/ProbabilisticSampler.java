@@ -0,0 +1,69 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+
+/**
+ * Sampler that samples the given ratio of the traces. As the trace ids are random, the decision is
+ * made by comparing the trace id to the boundary defined by the ratio, thus no additional random
+ * number has to be generated.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class ProbabilisticSampler implements Sampler {
+
+	/**
+	 * Sampling ratio.
+	 */
+	private final double samplingRate;
+
+	/**
+	 * Upper boundary of the positive trace id for the sampled traces.
+	 */
+	private final long boundary;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param samplingRate
+	 *            Sampling rate between 0 and 1.
+	 * @throws IllegalArgumentException
+	 *             If the sampling rate is not between 0 and 1.
+	 */
+	public ProbabilisticSampler(double samplingRate) throws IllegalArgumentException {
+		if ((samplingRate < 0d) || (samplingRate > 1d)) {
+			throw new IllegalArgumentException("Sampling rate must be between 0 and 1.");
+		}
+		this.samplingRate = samplingRate;
+		this.boundary = (long) (Long.MAX_VALUE * samplingRate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, String operationName) {
+		if (samplingRate >= 1d) {
+			return true;
+		}
+		return (traceId & Long.MAX_VALUE) < boundary;
+	}
+
+	/**
+	 * Gets {@link #samplingRate}.
+	 *
+	 * @return {@link #samplingRate}
+	 */
+	public double getSamplingRate() {
+		return this.samplingRate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ProbabilisticSampler [samplingRate=" + this.samplingRate + "]";
+	}
+
+}
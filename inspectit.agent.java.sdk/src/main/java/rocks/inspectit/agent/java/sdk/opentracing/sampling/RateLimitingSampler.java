@@ -0,0 +1,174 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
+
+/**
+ * Sampler that limits the amount of sampled traces per second for each operation name. Every
+ * operation has own token bucket, so that rarely executed operations are still sampled when the
+ * frequent ones are limited. Remote requests are started without the operation name, thus they are
+ * limited per HTTP method and URL the tracer passes as the operation name. After
+ * {@link #MAX_OPERATIONS} different operation names all additional operations share one bucket.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class RateLimitingSampler implements Sampler {
+
+	/**
+	 * Maximum amount of operations having own rate limiter.
+	 */
+	static final int MAX_OPERATIONS = 1000;
+
+	/**
+	 * Key used for the spans without operation name.
+	 */
+	private static final String NO_OPERATION = "";
+
+	/**
+	 * Allowed traces per second for each operation.
+	 */
+	private final double tracesPerSecond;
+
+	/**
+	 * Timer for the rate limiters.
+	 */
+	private final Timer timer;
+
+	/**
+	 * Rate limiters per operation.
+	 */
+	private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<String, RateLimiter>();
+
+	/**
+	 * Rate limiter shared by the operations after {@link #MAX_OPERATIONS} is reached.
+	 */
+	private final RateLimiter overflowRateLimiter;
+
+	/**
+	 * Creates the sampler using the {@link SystemTimer}.
+	 *
+	 * @param tracesPerSecond
+	 *            Allowed traces per second for each operation.
+	 * @throws IllegalArgumentException
+	 *             If traces per second is negative.
+	 */
+	public RateLimitingSampler(double tracesPerSecond) throws IllegalArgumentException {
+		this(tracesPerSecond, new SystemTimer());
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param tracesPerSecond
+	 *            Allowed traces per second for each operation.
+	 * @param timer
+	 *            Timer to use.
+	 * @throws IllegalArgumentException
+	 *             If traces per second is negative or timer is <code>null</code>.
+	 */
+	public RateLimitingSampler(double tracesPerSecond, Timer timer) throws IllegalArgumentException {
+		if (tracesPerSecond < 0d) {
+			throw new IllegalArgumentException("Traces per second must not be negative.");
+		}
+		if (null == timer) {
+			throw new IllegalArgumentException("Timer can not be null.");
+		}
+		this.tracesPerSecond = tracesPerSecond;
+		this.timer = timer;
+		this.overflowRateLimiter = new RateLimiter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, String operationName) {
+		String key = (null != operationName) ? operationName : NO_OPERATION;
+		RateLimiter rateLimiter = rateLimiters.get(key);
+		if (null == rateLimiter) {
+			if (rateLimiters.size() >= MAX_OPERATIONS) {
+				rateLimiter = overflowRateLimiter;
+			} else {
+				rateLimiter = new RateLimiter();
+				RateLimiter existing = rateLimiters.putIfAbsent(key, rateLimiter);
+				if (null != existing) {
+					rateLimiter = existing;
+				}
+			}
+		}
+		return rateLimiter.checkCredit();
+	}
+
+	/**
+	 * Gets {@link #tracesPerSecond}.
+	 *
+	 * @return {@link #tracesPerSecond}
+	 */
+	public double getTracesPerSecond() {
+		return this.tracesPerSecond;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "RateLimitingSampler [tracesPerSecond=" + this.tracesPerSecond + "]";
+	}
+
+	/**
+	 * Token bucket rate limiter. The bucket holds at most one second of credits.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private class RateLimiter {
+
+		/**
+		 * Maximum balance.
+		 */
+		private final double maxBalance;
+
+		/**
+		 * Current balance.
+		 */
+		private double balance;
+
+		/**
+		 * Nano time of the last check.
+		 */
+		private long lastTick;
+
+		/**
+		 * Default constructor. Bucket starts full.
+		 */
+		RateLimiter() {
+			this.maxBalance = Math.max(tracesPerSecond, 1d);
+			this.balance = (tracesPerSecond > 0d) ? maxBalance : 0d;
+			this.lastTick = timer.getCurrentNanoTime();
+		}
+
+		/**
+		 * Checks if there is a credit for one trace and takes it if so.
+		 *
+		 * @return <code>true</code> if trace can be sampled.
+		 */
+		synchronized boolean checkCredit() {
+			long currentTick = timer.getCurrentNanoTime();
+			balance = Math.min(maxBalance, balance + (((currentTick - lastTick) * tracesPerSecond) / 1000000000d));
+			lastTick = currentTick;
+
+			if (balance >= 1d) {
+				balance -= 1d;
+				return true;
+			}
+			return false;
+		}
+	}
+
+}
@@ -25,6 +25,8 @@ import org.testng.annotations.Test;
 import io.opentracing.References;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
+import io.opentracing.tag.Tags;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -311,6 +313,36 @@ public class SpanBuilderImplTest extends TestBase {
 			assertThat(builderBaggage.size(), is(1));
 			assertThat(builderBaggage, hasEntry("key", "value"));
 		}
+
+		@Test
+		public void samplerGetsOperationName() {
+			Sampler sampler = mock(Sampler.class);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, "operation", sampler).withTag(Tags.HTTP_URL.getKey(), "http://localhost/path");
+
+			SpanImpl span = builder.build();
+
+			verify(sampler).isSampled(span.context().getTraceId(), "operation");
+		}
+
+		@Test
+		public void samplerGetsHttpMethodAndUrlWithoutOperationName() {
+			Sampler sampler = mock(Sampler.class);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, null, sampler).withTag(Tags.HTTP_URL.getKey(), "http://localhost/path?query=1").withTag(Tags.HTTP_METHOD.getKey(), "GET");
+
+			SpanImpl span = builder.build();
+
+			verify(sampler).isSampled(span.context().getTraceId(), "GET http://localhost/path");
+		}
+
+		@Test
+		public void samplerGetsNullWithoutOperationNameAndUrl() {
+			Sampler sampler = mock(Sampler.class);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, null, sampler).withTag(Tags.HTTP_METHOD.getKey(), "GET");
+
+			SpanImpl span = builder.build();
+
+			verify(sampler).isSampled(span.context().getTraceId(), null);
+		}
 	}
 
 	private static <K, V> Map<K, V> mapFromEntryIterator(Iterable<Entry<K, V>> i) {
@@ -339,6 +339,36 @@ public class SpanImplTest extends TestBase {
 			assertThat(span.getTags().size(), is(1));
 			assertThat(span.getTags(), hasEntry("key", "value"));
 		}
+
+		@Test
+		public void overwrite() {
+			span.setTag("key", "value");
+			span.setTag("key", "otherValue");
+
+			assertThat(span.getTagCount(), is(1));
+			assertThat(span.getTag("key"), is("otherValue"));
+		}
+
+		@Test
+		public void manyTags() {
+			for (int i = 0; i < 10; i++) {
+				span.setTag("key" + i, "value" + i);
+			}
+
+			assertThat(span.getTagCount(), is(10));
+			for (int i = 0; i < 10; i++) {
+				assertThat(span.getTagKey(i), is("key" + i));
+				assertThat(span.getTagValue(i), is("value" + i));
+			}
+			assertThat(span.getTags().size(), is(10));
+		}
+
+		@Test
+		public void noTags() {
+			assertThat(span.getTagCount(), is(0));
+			assertThat(span.getTag("key"), is(nullValue()));
+			assertThat(span.getTags(), is(nullValue()));
+		}
 	}
 
 	public static class Context extends SpanImplTest {
@@ -18,11 +18,13 @@ import io.opentracing.References;
 import io.opentracing.SpanContext;
 import io.opentracing.propagation.Format;
 import io.opentracing.propagation.TextMap;
+import io.opentracing.tag.Tags;
 import rocks.inspectit.agent.java.sdk.opentracing.ExtendedTracer;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
 import rocks.inspectit.agent.java.sdk.opentracing.TracerProvider;
 import rocks.inspectit.agent.java.sdk.opentracing.propagation.Propagator;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
 /**
@@ -145,6 +147,33 @@ public class TracerImplTest extends TestBase {
 			assertThat(tracer.isCurrentContextExisting(), is(true));
 		}
 
+		@Test
+		public void notSampled() {
+			when(timer.getCurrentTimeMicroseconds()).thenReturn(122254L);
+			tracer.setSampler(ConstSampler.NEVER);
+
+			SpanImpl span = tracer.buildSpan("op").start();
+
+			assertThat(span.context().isSampled(), is(false));
+		}
+
+		@Test
+		public void sampledDecisionInherited() {
+			when(timer.getCurrentTimeMicroseconds()).thenReturn(122254L);
+			SpanImpl first = tracer.buildSpan().start();
+			tracer.setSampler(ConstSampler.NEVER);
+
+			SpanImpl span = tracer.buildSpan("op").start();
+
+			assertThat(first.context().isSampled(), is(true));
+			assertThat(span.context().isSampled(), is(true));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void nullSampler() {
+			tracer.setSampler(null);
+		}
+
 	}
 
 	public static class Inject extends TracerImplTest {
@@ -313,6 +342,44 @@ public class TracerImplTest extends TestBase {
 			verifyZeroInteractions(reporter);
 		}
 
+		@Test
+		public void notSampled() {
+			SpanImpl span = new SpanImpl(tracer);
+			span.setSpanContext(new SpanContextImpl(1L, 1L, 1L, null, null, false));
+			tracer.spanStarted(span);
+
+			tracer.spanEnded(span);
+
+			assertThat(tracer.getCurrentContext(), is(nullValue()));
+			verifyZeroInteractions(reporter);
+		}
+
+		@Test
+		public void notSampledError() {
+			SpanImpl span = new SpanImpl(tracer);
+			span.setSpanContext(new SpanContextImpl(1L, 1L, 1L, null, null, false));
+			span.setTag(Tags.ERROR.getKey(), true);
+			tracer.spanStarted(span);
+
+			tracer.spanEnded(span);
+
+			verify(reporter).report(span);
+			verifyNoMoreInteractions(reporter);
+		}
+
+		@Test
+		public void notSampledErrorNotReported() {
+			tracer.setAlwaysReportErrors(false);
+			SpanImpl span = new SpanImpl(tracer);
+			span.setSpanContext(new SpanContextImpl(1L, 1L, 1L, null, null, false));
+			span.setTag(Tags.ERROR.getKey(), true);
+			tracer.spanStarted(span);
+
+			tracer.spanEnded(span);
+
+			verifyZeroInteractions(reporter);
+		}
+
 		@Test
 		public void noReporting() {
 			SpanImpl span = new SpanImpl(tracer);
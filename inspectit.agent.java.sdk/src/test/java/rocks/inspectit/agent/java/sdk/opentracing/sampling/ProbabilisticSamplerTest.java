@@ -0,0 +1,65 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.sdk.opentracing.internal.util.RandomUtils;
+
+/**
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class ProbabilisticSamplerTest {
+
+	public static class IsSampled extends ProbabilisticSamplerTest {
+
+		@Test
+		public void all() {
+			ProbabilisticSampler sampler = new ProbabilisticSampler(1d);
+
+			assertThat(sampler.isSampled(Long.MAX_VALUE, "op"), is(true));
+			assertThat(sampler.isSampled(Long.MIN_VALUE, "op"), is(true));
+		}
+
+		@Test
+		public void none() {
+			ProbabilisticSampler sampler = new ProbabilisticSampler(0d);
+
+			assertThat(sampler.isSampled(0L, "op"), is(false));
+			assertThat(sampler.isSampled(Long.MIN_VALUE, "op"), is(false));
+		}
+
+		@Test
+		public void boundary() {
+			ProbabilisticSampler sampler = new ProbabilisticSampler(0.5d);
+
+			assertThat(sampler.isSampled(1L, "op"), is(true));
+			assertThat(sampler.isSampled(Long.MAX_VALUE - 1L, "op"), is(false));
+		}
+
+		@Test
+		public void ratio() {
+			ProbabilisticSampler sampler = new ProbabilisticSampler(0.1d);
+
+			int sampled = 0;
+			for (int i = 0; i < 100000; i++) {
+				if (sampler.isSampled(RandomUtils.randomLong(), null)) {
+					sampled++;
+				}
+			}
+
+			assertThat(sampled, is(greaterThan(9000)));
+			assertThat(sampled, is(lessThan(11000)));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void invalidRate() {
+			new ProbabilisticSampler(1.1d);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class RateLimitingSamplerTest extends TestBase {
+
+	@Mock
+	Timer timer;
+
+	RateLimitingSampler sampler;
+
+	@BeforeMethod
+	public void init() {
+		when(timer.getCurrentNanoTime()).thenReturn(0L);
+		sampler = new RateLimitingSampler(2d, timer);
+	}
+
+	public static class IsSampled extends RateLimitingSamplerTest {
+
+		@Test
+		public void limited() {
+			assertThat(sampler.isSampled(1L, "op"), is(true));
+			assertThat(sampler.isSampled(2L, "op"), is(true));
+			assertThat(sampler.isSampled(3L, "op"), is(false));
+		}
+
+		@Test
+		public void refilled() {
+			sampler.isSampled(1L, "op");
+			sampler.isSampled(2L, "op");
+			when(timer.getCurrentNanoTime()).thenReturn(500000000L);
+
+			assertThat(sampler.isSampled(3L, "op"), is(true));
+			assertThat(sampler.isSampled(4L, "op"), is(false));
+		}
+
+		@Test
+		public void refillLimitedToOneSecond() {
+			when(timer.getCurrentNanoTime()).thenReturn(10000000000L);
+
+			assertThat(sampler.isSampled(1L, "op"), is(true));
+			assertThat(sampler.isSampled(2L, "op"), is(true));
+			assertThat(sampler.isSampled(3L, "op"), is(false));
+		}
+
+		@Test
+		public void perOperation() {
+			sampler.isSampled(1L, "op");
+			sampler.isSampled(2L, "op");
+
+			assertThat(sampler.isSampled(3L, "op"), is(false));
+			assertThat(sampler.isSampled(4L, "other"), is(true));
+			assertThat(sampler.isSampled(5L, null), is(true));
+		}
+
+		@Test
+		public void zero() {
+			sampler = new RateLimitingSampler(0d, timer);
+
+			assertThat(sampler.isSampled(1L, "op"), is(false));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void negative() {
+			new RateLimitingSampler(-1d, timer);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package rocks.inspectit.agent.java.config.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import rocks.inspectit.agent.java.config.PropertyAccessException;
+import rocks.inspectit.shared.all.communication.data.ParameterContentData;
+import rocks.inspectit.shared.all.communication.data.ParameterContentType;
+import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPath;
+import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPathStart;
+
+/**
+ * JMH test for the {@link PropertyAccessor} with the typical parameter paths of one to three
+ * levels, for example <code>request.session.id</code> or <code>order.items.size()</code>.
+ *
+ * @author Ivan Senic
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class PropertyAccessorPerfTest {
+
+	/**
+	 * Depth of the path after the parameter itself.
+	 */
+	@Param({ "1", "2", "3" })
+	public int depth;
+
+	private PropertyAccessor propertyAccessor;
+
+	private PropertyPathStart fieldPathStart;
+
+	private PropertyPathStart methodPathStart;
+
+	private List<PropertyPathStart> propertyAccessorList;
+
+	private Object[] parameters;
+
+	@Setup(Level.Trial)
+	public void init() {
+		propertyAccessor = new PropertyAccessor();
+		propertyAccessor.log = LoggerFactory.getLogger(PropertyAccessor.class);
+
+		Order order = new Order();
+		order.customer = new Customer();
+		order.customer.address = new Address();
+		order.customer.address.city = "Stuttgart";
+		order.customer.orders.add("first");
+		order.customer.orders.add("second");
+		parameters = new Object[] { order };
+
+		// field path: customer.address.city
+		fieldPathStart = new PropertyPathStart();
+		fieldPathStart.setName("order");
+		fieldPathStart.setSignaturePosition(0);
+		fieldPathStart.setContentType(ParameterContentType.PARAM);
+		String[] fieldNames = new String[] { "customer", "address", "city" };
+		PropertyPath previous = null;
+		for (int i = 0; i < depth; i++) {
+			PropertyPath path = new PropertyPath(fieldNames[i]);
+			if (null == previous) {
+				fieldPathStart.setPathToContinue(path);
+			} else {
+				previous.setPathToContinue(path);
+			}
+			previous = path;
+		}
+
+		// method path ending: customer.orders.size()
+		methodPathStart = new PropertyPathStart();
+		methodPathStart.setName("order");
+		methodPathStart.setSignaturePosition(0);
+		methodPathStart.setContentType(ParameterContentType.PARAM);
+		String[] methodPath = new String[] { "customer", "orders", "size()" };
+		previous = null;
+		for (int i = methodPath.length - depth; i < methodPath.length; i++) {
+			PropertyPath path = new PropertyPath(methodPath[i]);
+			if (null == previous) {
+				methodPathStart.setPathToContinue(path);
+			} else {
+				previous.setPathToContinue(path);
+			}
+			previous = path;
+		}
+		if (depth < methodPath.length) {
+			// start from the object that has the path
+			parameters = new Object[] { order, (depth == 1) ? order.customer.orders : order.customer };
+			methodPathStart.setSignaturePosition(1);
+		}
+
+		propertyAccessorList = new ArrayList<PropertyPathStart>();
+		propertyAccessorList.add(fieldPathStart);
+		propertyAccessorList.add(methodPathStart);
+	}
+
+	@Benchmark
+	public String fieldPath() throws PropertyAccessException {
+		return propertyAccessor.getPropertyContent(fieldPathStart, null, parameters, null, false);
+	}
+
+	@Benchmark
+	public String methodPath() throws PropertyAccessException {
+		return propertyAccessor.getPropertyContent(methodPathStart, null, parameters, null, false);
+	}
+
+	@Benchmark
+	public List<ParameterContentData> parameterContentData() {
+		return propertyAccessor.getParameterContentData(propertyAccessorList, null, parameters, null, false);
+	}
+
+	private static class Order {
+
+		private Customer customer;
+
+		@Override
+		public String toString() {
+			return "Order";
+		}
+	}
+
+	private static class Customer {
+
+		private Address address;
+
+		private List<String> orders = new ArrayList<String>();
+
+		@Override
+		public String toString() {
+			return "Customer";
+		}
+	}
+
+	private static class Address {
+
+		private String city;
+
+		@Override
+		public String toString() {
+			return city;
+		}
+	}
+}
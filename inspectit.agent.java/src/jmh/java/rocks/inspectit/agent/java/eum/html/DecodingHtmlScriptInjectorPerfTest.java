@@ -0,0 +1,93 @@
+package rocks.inspectit.agent.java.eum.html;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH test for the {@link DecodingHtmlScriptInjector} injecting into a 100 KB html page that is
+ * written in chunks of the given size. UTF-8 and ISO-8859-1 are injected on the bytes, UTF-16BE is
+ * decoded. The {@link #decodeAndEncode()} benchmark shows the costs of decoding and re-encoding
+ * the page as done for all encodings before.
+ *
+ * @author Ivan Senic
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class DecodingHtmlScriptInjectorPerfTest {
+
+	private static final String TAG_TO_INJECT = "<script type=\"text/javascript\" src=\"/inspectit_jsagent_1/js_agent.js\"></script>";
+
+	private static final int PAGE_SIZE = 100 * 1024;
+
+	@Param({ "UTF-8", "ISO-8859-1", "UTF-16BE" })
+	public String charset;
+
+	/**
+	 * Size of the chunks the page is written in.
+	 */
+	@Param({ "8192", "102400" })
+	public int chunkSize;
+
+	private byte[] page;
+
+	@Setup(Level.Trial)
+	public void init() {
+		StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html>\n<head>\n<title>Performance test</title>\n</head>\n<body>\n");
+		while (html.length() < PAGE_SIZE) {
+			html.append("<div class=\"row\"><p>Grüße aus München, prices from 10 € onwards.</p></div>\n");
+		}
+		html.append("</body>\n</html>");
+		page = html.toString().getBytes(Charset.forName(charset));
+	}
+
+	@Benchmark
+	public int inject() {
+		DecodingHtmlScriptInjector injector = new DecodingHtmlScriptInjector(TAG_TO_INJECT, charset);
+		int written = 0;
+		for (int offset = 0; offset < page.length; offset += chunkSize) {
+			int len = Math.min(chunkSize, page.length - offset);
+			byte[] result = injector.performInjection(page, offset, len);
+			if (null != result) {
+				written += result.length;
+			} else {
+				written += len;
+			}
+		}
+		return written;
+	}
+
+	@Benchmark
+	public int decodeAndEncode() {
+		Charset chars = Charset.forName(charset);
+		int written = 0;
+		for (int offset = 0; offset < page.length; offset += chunkSize) {
+			int len = Math.min(chunkSize, page.length - offset);
+			// chunks can split characters, replace them instead of failing
+			CharBuffer decoded = chars.decode(ByteBuffer.wrap(page, offset, len));
+			ByteBuffer encoded = chars.encode(decoded);
+			written += encoded.remaining();
+		}
+		return written;
+	}
+
+}
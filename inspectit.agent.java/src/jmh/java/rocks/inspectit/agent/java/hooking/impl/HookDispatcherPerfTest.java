@@ -0,0 +1,155 @@
+package rocks.inspectit.agent.java.hooking.impl;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+import rocks.inspectit.agent.java.core.ICoreService;
+import rocks.inspectit.agent.java.hooking.IHook;
+import rocks.inspectit.agent.java.hooking.IMethodHook;
+import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
+import rocks.inspectit.shared.all.instrumentation.config.impl.MethodSensorTypeConfig;
+
+/**
+ * JMH test for the per-call overhead of the {@link HookDispatcher}. Uses a no-op method hook, so
+ * that only the dispatching itself is measured. Compares the split after body dispatching with the
+ * merged one and the lookup in the {@link RegisteredSensorConfigTable} with the
+ * {@link NonBlockingHashMapLong} lookup used before.
+ *
+ * @author Ivan Senic
+ *
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, batchSize = 10000)
+@Measurement(iterations = 10, batchSize = 10000)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+public class HookDispatcherPerfTest {
+
+	private static final Object[] PARAMS = new Object[] { "param" };
+	private static final Object TARGET = "target";
+	private static final Object RETURN_VALUE = "return";
+
+	/**
+	 * Amount of mapped methods.
+	 */
+	@Param({ "10000" })
+	public int methods;
+
+	/**
+	 * Amount of method sensors per method.
+	 */
+	@Param({ "1", "3" })
+	public int sensors;
+
+	private HookDispatcher hookDispatcher;
+
+	private NonBlockingHashMapLong<RegisteredSensorConfig> map;
+
+	private RegisteredSensorConfigTable table;
+
+	private long methodId;
+
+	@Setup(Level.Trial)
+	public void init() throws Exception {
+		hookDispatcher = new HookDispatcher();
+		setField(hookDispatcher, "log", LoggerFactory.getLogger(HookDispatcher.class));
+		setField(hookDispatcher, "coreService", null);
+
+		map = new NonBlockingHashMapLong<RegisteredSensorConfig>();
+		table = new RegisteredSensorConfigTable();
+
+		for (int i = 0; i < methods; i++) {
+			RegisteredSensorConfig rsc = new RegisteredSensorConfig();
+			for (int j = 0; j < sensors; j++) {
+				rsc.addMethodSensor(new NoopMethodSensor(j));
+			}
+			hookDispatcher.addMapping(i, rsc);
+			map.put(i, rsc);
+			table.put(i, rsc);
+		}
+
+		methodId = methods / 2;
+	}
+
+	@Benchmark
+	public void dispatchSplitAfterBody() {
+		hookDispatcher.dispatchMethodBeforeBody(methodId, TARGET, PARAMS);
+		hookDispatcher.dispatchFirstMethodAfterBody(methodId, TARGET, PARAMS, RETURN_VALUE, false);
+		hookDispatcher.dispatchSecondMethodAfterBody(methodId, TARGET, PARAMS, RETURN_VALUE, false);
+	}
+
+	@Benchmark
+	public void dispatchMergedAfterBody() {
+		hookDispatcher.dispatchMethodBeforeBody(methodId, TARGET, PARAMS);
+		hookDispatcher.dispatchMethodAfterBody(methodId, TARGET, PARAMS, RETURN_VALUE, false);
+	}
+
+	@Benchmark
+	public void lookupMap(Blackhole blackhole) {
+		blackhole.consume(map.get(methodId));
+	}
+
+	@Benchmark
+	public void lookupTable(Blackhole blackhole) {
+		blackhole.consume(table.get(methodId));
+	}
+
+	private static void setField(Object target, String name, Object value) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+		field.setAccessible(false);
+	}
+
+	/**
+	 * Method sensor with the hook that does nothing.
+	 */
+	private static class NoopMethodSensor implements IMethodSensor, IMethodHook {
+
+		private final MethodSensorTypeConfig sensorTypeConfig = new MethodSensorTypeConfig();
+
+		NoopMethodSensor(long id) {
+			sensorTypeConfig.setId(id);
+		}
+
+		@Override
+		public IHook getHook() {
+			return this;
+		}
+
+		@Override
+		public MethodSensorTypeConfig getSensorTypeConfig() {
+			return sensorTypeConfig;
+		}
+
+		@Override
+		public void beforeBody(long methodId, long sensorTypeId, Object object, Object[] parameters, RegisteredSensorConfig rsc) {
+		}
+
+		@Override
+		public void firstAfterBody(long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, boolean exception, RegisteredSensorConfig rsc) {
+		}
+
+		@Override
+		public void secondAfterBody(ICoreService coreService, long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, boolean exception, RegisteredSensorConfig rsc) { // NOCHK:8-params
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package rocks.inspectit.agent.java.tracing.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.opentracing.tag.Tags;
+import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.noop.NoopReporter;
+import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
+import rocks.inspectit.agent.java.tracing.core.transformer.SpanTransformer;
+import rocks.inspectit.shared.all.tracing.constants.ExtraTags;
+
+/**
+ * Measures the start, tagging and finishing of nested spans with the {@link TracerImpl}, once
+ * without reporting and once with the transformation of the finished spans as done by the agent
+ * reporter.
+ *
+ * @author Ivan Senic
+ *
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+public class TracerPerfTest {
+
+	/**
+	 * Depth of the nested spans.
+	 */
+	@Param({ "1", "5", "20" })
+	public int depth;
+
+	private TracerImpl tracer;
+
+	private TracerImpl transformingTracer;
+
+	private SpanImpl[] spans;
+
+	@Setup(Level.Trial)
+	public void init(final Blackhole blackhole) {
+		tracer = new TracerImpl(new SystemTimer(), new NoopReporter(), false);
+		transformingTracer = new TracerImpl(new SystemTimer(), new Reporter() {
+			@Override
+			public void report(SpanImpl span) {
+				blackhole.consume(SpanTransformer.transformSpan(span));
+			}
+		}, false);
+		spans = new SpanImpl[depth];
+	}
+
+	@Benchmark
+	public SpanImpl nestedSpans() {
+		return run(tracer);
+	}
+
+	@Benchmark
+	public SpanImpl nestedSpansTransformed() {
+		return run(transformingTracer);
+	}
+
+	private SpanImpl run(TracerImpl tracer) {
+		for (int i = 0; i < depth; i++) {
+			SpanImpl span = tracer.buildSpan("operation").start();
+			span.setTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT);
+			span.setTag(ExtraTags.PROPAGATION_TYPE, "HTTP");
+			span.setTag(Tags.HTTP_URL.getKey(), "http://localhost/path");
+			span.setTag(Tags.HTTP_STATUS.getKey(), 200);
+			spans[i] = span;
+		}
+		for (int i = depth - 1; i >= 0; i--) {
+			spans[i].finish();
+		}
+		return spans[0];
+	}
+
+}
@@ -10,6 +10,9 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import rocks.inspectit.agent.java.config.IPropertyAccessor;
 import rocks.inspectit.agent.java.config.PropertyAccessException;
 import rocks.inspectit.shared.all.communication.data.ParameterContentData;
@@ -51,6 +54,27 @@ public class PropertyAccessor implements IPropertyAccessor {
 	 */
 	private static final String[] ALLOWED_METHODS = new String[] { "size", "length" };
 
+	/**
+	 * Accessor that returns the length of the array.
+	 */
+	private static final PathAccessor ARRAY_LENGTH_ACCESSOR = new PathAccessor() {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object get(Object object) {
+			return Integer.valueOf(Array.getLength(object));
+		}
+	};
+
+	/**
+	 * Cache of the resolved accessors per class and {@link PropertyPath}. Classes are weak keys so
+	 * that the cache does not prevent class unloading. Paths are weak keys as well (identity
+	 * comparison), thus accessors of removed paths are collected.
+	 */
+	private final Cache<Class<?>, Cache<PropertyPath, PathAccessor>> accessorCache = CacheBuilder.newBuilder().weakKeys().softValues().build();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -147,6 +171,57 @@ public class PropertyAccessor implements IPropertyAccessor {
 			c = object.getClass();
 		}
 
+		PathAccessor accessor = getPathAccessor(c, propertyPath, object);
+		return getPropertyContent(propertyPath.getPathToContinue(), accessor.get(object));
+	}
+
+	/**
+	 * Returns the {@link PathAccessor} for the given class and property path. Accessor is resolved
+	 * only once per class and path and then kept in the {@link #accessorCache}.
+	 *
+	 * @param c
+	 *            Class to resolve the accessor for.
+	 * @param propertyPath
+	 *            Property path.
+	 * @param object
+	 *            The object to analyze.
+	 * @return {@link PathAccessor}, never <code>null</code>.
+	 * @throws PropertyAccessException
+	 *             If accessor can not be resolved.
+	 */
+	private PathAccessor getPathAccessor(Class<?> c, PropertyPath propertyPath, Object object) throws PropertyAccessException {
+		Cache<PropertyPath, PathAccessor> classCache = accessorCache.getIfPresent(c);
+		if (null == classCache) {
+			// there can be race conditions here, worst case is that the accessor will be resolved
+			// again, which is way cheaper than synchronization
+			classCache = CacheBuilder.newBuilder().weakKeys().build();
+			accessorCache.put(c, classCache);
+		}
+
+		PathAccessor accessor = classCache.getIfPresent(propertyPath);
+		if (null == accessor) {
+			accessor = resolvePathAccessor(c, propertyPath, object);
+			classCache.put(propertyPath, accessor);
+		}
+		return accessor;
+	}
+
+	/**
+	 * Resolves the {@link PathAccessor} for the given class and property path by reflection.
+	 *
+	 * @param clazz
+	 *            Class to resolve the accessor for.
+	 * @param propertyPath
+	 *            Property path.
+	 * @param object
+	 *            The object to analyze.
+	 * @return {@link PathAccessor}, never <code>null</code>.
+	 * @throws PropertyAccessException
+	 *             If accessor can not be resolved.
+	 */
+	private PathAccessor resolvePathAccessor(Class<?> clazz, PropertyPath propertyPath, Object object) throws PropertyAccessException {
+		Class<?> c = clazz;
+
 		// We need to differ between calls of methods and the navigation of
 		// properties of an object. This differentiation is integrated to
 		// force the user to add () to the method to be called, thus the
@@ -168,14 +243,14 @@ public class PropertyAccessor implements IPropertyAccessor {
 			if ("length".equals(methodName)) {
 				if (object.getClass().isArray()) { // ensure that we are really
 					// dealing with an array
-					return getPropertyContent(propertyPath.getPathToContinue(), Integer.valueOf(Array.getLength(object)));
+					return ARRAY_LENGTH_ACCESSOR;
 				} else {
 					log.error("Trying to access the lenght() method for a non array type");
 					throw new PropertyAccessException("Trying to access the length() method for a non array type");
 				}
 			}
 
-			do {
+			while ((null != c) && (c != Object.class)) {
 				// we are iterating using getDeclaredMethods as this call will
 				// also provide the default access and protected methods which
 				// the
@@ -193,51 +268,31 @@ public class PropertyAccessor implements IPropertyAccessor {
 							continue;
 						}
 
-						try {
-							Object result = method.invoke(object, (Object[]) null);
-							return getPropertyContent(propertyPath.getPathToContinue(), result);
-						} catch (IllegalArgumentException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Argument Exception!", e);
-						} catch (IllegalAccessException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("IllegalAccessException!", e);
-						} catch (InvocationTargetException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("InvocationTargetException!", e);
-						}
-
+						return new MethodAccessor(method, log);
 					}
 				}
 
 				c = c.getSuperclass();
-			} while (c != Object.class);
+			}
 
 		} else { // We are dealing with a property navigation and not an method
 			// call
-			do {
+			while ((null != c) && (c != Object.class)) {
 				Field[] fields = c.getDeclaredFields();
 				for (Field field : fields) {
 					if (propertyPath.getName().equals(field.getName())) {
 						try {
 							field.setAccessible(true);
-							Object fieldObject = field.get(object);
-							return getPropertyContent(propertyPath.getPathToContinue(), fieldObject);
 						} catch (SecurityException e) {
 							log.error(e.getMessage());
 							throw new PropertyAccessException("Security Exception was thrown while accessing a field!", e);
-						} catch (IllegalArgumentException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Argument Exception!", e);
-						} catch (IllegalAccessException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Access Exception!", e);
 						}
+						return new FieldAccessor(field, log);
 					}
 				}
 
 				c = c.getSuperclass();
-			} while (c != Object.class);
+			}
 		}
 
 		throw new PropertyAccessException("Property or method " + propertyPath.getName() + " cannot be found in class " + object.getClass() + "!");
@@ -274,4 +329,114 @@ public class PropertyAccessor implements IPropertyAccessor {
 		return parameterContentData;
 	}
 
+	/**
+	 * Accessor for one step of the {@link PropertyPath} resolved for a specific class.
+	 */
+	private interface PathAccessor {
+
+		/**
+		 * Returns the value of the property for the given object.
+		 *
+		 * @param object
+		 *            Object to get value from.
+		 * @return Property value.
+		 * @throws PropertyAccessException
+		 *             If value can not be accessed.
+		 */
+		Object get(Object object) throws PropertyAccessException;
+	}
+
+	/**
+	 * Accessor that invokes the no-argument method.
+	 */
+	private static class MethodAccessor implements PathAccessor {
+
+		/**
+		 * Method to invoke.
+		 */
+		private final Method method;
+
+		/**
+		 * Logger to log errors to.
+		 */
+		private final Logger log;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param method
+		 *            Method to invoke.
+		 * @param log
+		 *            Logger to log errors to.
+		 */
+		MethodAccessor(Method method, Logger log) {
+			this.method = method;
+			this.log = log;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object get(Object object) throws PropertyAccessException {
+			try {
+				return method.invoke(object, (Object[]) null);
+			} catch (IllegalArgumentException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Argument Exception!", e);
+			} catch (IllegalAccessException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("IllegalAccessException!", e);
+			} catch (InvocationTargetException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("InvocationTargetException!", e);
+			}
+		}
+	}
+
+	/**
+	 * Accessor that reads the field value.
+	 */
+	private static class FieldAccessor implements PathAccessor {
+
+		/**
+		 * Field to read, already set to accessible.
+		 */
+		private final Field field;
+
+		/**
+		 * Logger to log errors to.
+		 */
+		private final Logger log;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param field
+		 *            Field to read, already set to accessible.
+		 * @param log
+		 *            Logger to log errors to.
+		 */
+		FieldAccessor(Field field, Logger log) {
+			this.field = field;
+			this.log = log;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object get(Object object) throws PropertyAccessException {
+			try {
+				return field.get(object);
+			} catch (IllegalArgumentException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Argument Exception!", e);
+			} catch (IllegalAccessException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Access Exception!", e);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,25 @@
+package rocks.inspectit.agent.java.connection;
+
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.message.IAgentMessage;
+
+/**
+ * Listener for the {@link IAgentMessage}s pushed by the CMR.
+ *
+ * @author Marius Oehler
+ *
+ */
+public interface IAgentMessageListener {
+
+	/**
+	 * Called when the CMR pushed {@link IAgentMessage}s to the agent. The method is called by the
+	 * connection thread, thus the implementations should hand the processing of the messages to
+	 * another thread.
+	 *
+	 * @param messages
+	 *            List of {@link IAgentMessage}s, ordered by time (ascending -> index 0 is the
+	 *            oldest).
+	 */
+	void agentMessagesReceived(List<IAgentMessage<?>> messages);
+}
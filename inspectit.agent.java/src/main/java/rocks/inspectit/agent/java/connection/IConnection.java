@@ -167,10 +167,34 @@ public interface IConnection {
 	 */
 	List<IAgentMessage<?>> fetchAgentMessages(long platformIdent) throws ServerUnavailableException;
 
+	/**
+	 * Subscribes the agent to the {@link IAgentMessage}s pushed by the CMR over the current
+	 * connection. Received messages are passed to the given listener and acknowledged to the CMR.
+	 * The subscription is valid until the connection is closed, thus it must be repeated when the
+	 * {@link #getConnectionSequence()} changes.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param listener
+	 *            Listener to pass the received messages to.
+	 * @throws ServerUnavailableException
+	 *             If the connection is not established.
+	 */
+	void subscribeAgentMessages(long platformIdent, IAgentMessageListener listener) throws ServerUnavailableException;
+
 	/**
 	 * Returns the monitor which is used to wait and notify for reconnects of the connection.
 	 *
 	 * @return {@link Object} which acts as monitor
 	 */
 	Object getReconnectionMonitor();
+
+	/**
+	 * Returns the sequence number of the current connection. The sequence is increased every time
+	 * the connection to the server is successfully established or re-established, thus any state
+	 * that is valid only for one connection can be invalidated when the sequence changes.
+	 *
+	 * @return Sequence number of the current connection.
+	 */
+	long getConnectionSequence();
 }
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.core.IPlatformManager;
@@ -24,18 +25,33 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 /**
  * This component is responsible for fetching and publishing available
  * {@link IAgentMessage}s.
+ * <p>
+ * The component subscribes to the messages pushed by the CMR over the open connection. The
+ * subscription is considered working after the first pushed messages arrived over the current
+ * connection. From then on the messages are fetched only every {@link #FALLBACK_FETCH_RUNS}-th run,
+ * as a fallback for not delivered pushes.
  *
  * @author Marius Oehler
  *
  */
 @Component
-public class AgentMessageFetcher implements Runnable {
+public class AgentMessageFetcher implements Runnable, IAgentMessageListener {
 
 	/**
 	 * The interval in seconds of fetching the available {@link IAgentMessage}s.
 	 */
 	private static final long FETCH_INTERVAL_SECONDS = 30L;
 
+	/**
+	 * The interval in seconds of checking the subscription for the pushed {@link IAgentMessage}s.
+	 */
+	private static final long SUBSCRIPTION_INTERVAL_SECONDS = 5L;
+
+	/**
+	 * Every how many runs the messages are fetched when the subscription is working.
+	 */
+	private static final int FALLBACK_FETCH_RUNS = 10;
+
 	/**
 	 * The logger of the class.
 	 */
@@ -67,12 +83,28 @@ public class AgentMessageFetcher implements Runnable {
 	@Autowired
 	private ApplicationEventPublisher eventPublisher;
 
+	/**
+	 * Task keeping the subscription valid.
+	 */
+	final SubscriptionTask subscriptionTask = new SubscriptionTask();
+
+	/**
+	 * If pushed messages arrived since the subscription over the current connection.
+	 */
+	private volatile boolean pushConfirmed;
+
+	/**
+	 * Amount of runs since the last fetch.
+	 */
+	private int runsSinceFetch;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@PostConstruct
 	public void postConstruct() {
 		executorService.scheduleAtFixedRate(this, FETCH_INTERVAL_SECONDS, FETCH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		executorService.scheduleWithFixedDelay(subscriptionTask, SUBSCRIPTION_INTERVAL_SECONDS, SUBSCRIPTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
 	}
 
 	/**
@@ -81,12 +113,12 @@ public class AgentMessageFetcher implements Runnable {
 	@Override
 	public void run() {
 		try {
-			List<IAgentMessage<?>> messages = fetchMessages();
-
-			if (CollectionUtils.isNotEmpty(messages)) {
-				AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(this, messages);
-				eventPublisher.publishEvent(event);
+			if (pushConfirmed && (++runsSinceFetch < FALLBACK_FETCH_RUNS)) {
+				return;
 			}
+			runsSinceFetch = 0;
+
+			publishMessages(fetchMessages());
 		} catch (Exception e) {
 			if (log.isWarnEnabled()) {
 				log.warn("An unexpected exception ocurred.", e);
@@ -94,6 +126,46 @@ public class AgentMessageFetcher implements Runnable {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The messages are published by the core-service executor, as the publishing must not block
+	 * the connection thread. Receiving the messages confirms that the subscription works.
+	 */
+	@Override
+	public void agentMessagesReceived(final List<IAgentMessage<?>> messages) {
+		if (log.isDebugEnabled()) {
+			log.debug("Received pushed agent messages of CMR.");
+		}
+		pushConfirmed = true;
+
+		executorService.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					publishMessages(messages);
+				} catch (Exception e) {
+					if (log.isWarnEnabled()) {
+						log.warn("An unexpected exception ocurred.", e);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Publishes the {@link AgentMessagesReceivedEvent} if there are any messages.
+	 *
+	 * @param messages
+	 *            Received messages.
+	 */
+	private void publishMessages(List<IAgentMessage<?>> messages) {
+		if (CollectionUtils.isNotEmpty(messages)) {
+			AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(this, messages);
+			eventPublisher.publishEvent(event);
+		}
+	}
+
 	/**
 	 * Fetches the available {@link IAgentMessage}s from the CMR.
 	 *
@@ -115,4 +187,53 @@ public class AgentMessageFetcher implements Runnable {
 		}
 		return Collections.EMPTY_LIST;
 	}
+
+	/**
+	 * Task that subscribes for the pushed messages every time a new connection is established.
+	 *
+	 * @author Marius Oehler
+	 *
+	 */
+	class SubscriptionTask implements Runnable {
+
+		/**
+		 * Connection sequence of the current subscription.
+		 */
+		private long subscribedConnectionSequence = -1;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				if (!connection.isConnected() || !platformManager.isPlatformRegistered()) {
+					pushConfirmed = false;
+					return;
+				}
+
+				long connectionSequence = connection.getConnectionSequence();
+				if (connectionSequence != subscribedConnectionSequence) {
+					// the new subscription is confirmed by the first pushed messages
+					pushConfirmed = false;
+					connection.subscribeAgentMessages(platformManager.getPlatformId(), AgentMessageFetcher.this);
+					subscribedConnectionSequence = connectionSequence;
+
+					if (log.isDebugEnabled()) {
+						log.debug("Subscribed for pushed agent messages of CMR.");
+					}
+				}
+			} catch (ServerUnavailableException e) {
+				pushConfirmed = false;
+				if (log.isDebugEnabled()) {
+					log.debug("CMR is not available. Subscription for agent messages failed.", e);
+				}
+			} catch (Exception e) {
+				pushConfirmed = false;
+				if (log.isWarnEnabled()) {
+					log.warn("An unexpected exception ocurred.", e);
+				}
+			}
+		}
+	}
 }
@@ -21,6 +21,7 @@ import org.springframework.stereotype.Component;
 import com.esotericsoftware.kryonet.rmi.RemoteObject;
 
 import rocks.inspectit.agent.java.connection.FailFastRemoteMethodCall;
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.RegistrationException;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
@@ -29,6 +30,9 @@ import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
 import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
@@ -36,6 +40,8 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxAttributeDescriptor;
 import rocks.inspectit.shared.all.kryonet.Client;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
 import rocks.inspectit.shared.all.kryonet.rmi.ObjectSpace;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
@@ -92,6 +98,17 @@ public class KryoNetConnection implements IConnection {
 	 */
 	private final Object reconnectionMonitor = new Object();
 
+	/**
+	 * Sequence of the successful connections.
+	 */
+	private volatile long connectionSequence;
+
+	/**
+	 * Listener receiving the agent message batches pushed by the CMR, <code>null</code> until the
+	 * first subscription.
+	 */
+	private AgentMessageBatchListener agentMessageBatchListener;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -104,6 +121,7 @@ public class KryoNetConnection implements IConnection {
 				}
 
 				startClient(host, port);
+				connectionSequence++;
 
 				log.info("KryoNet: Connection established!");
 				connectionException = false;
@@ -131,6 +149,7 @@ public class KryoNetConnection implements IConnection {
 		if ((null != client) && !isConnected()) {
 			try {
 				reconnectClient();
+				connectionSequence++;
 
 				log.info("KryoNet: Reconnection successful!");
 				connectionException = false;
@@ -512,6 +531,26 @@ public class KryoNetConnection implements IConnection {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void subscribeAgentMessages(long platformIdent, IAgentMessageListener listener) throws ServerUnavailableException {
+		if (!isConnected()) {
+			throw new ServerUnavailableException();
+		}
+
+		// the client keeps the listeners between the reconnects
+		if (null == agentMessageBatchListener) {
+			agentMessageBatchListener = new AgentMessageBatchListener();
+			client.addListener(agentMessageBatchListener);
+		}
+		agentMessageBatchListener.platformIdent = platformIdent;
+		agentMessageBatchListener.listener = listener;
+
+		client.sendTCP(new AgentMessageSubscription(platformIdent));
+	}
+
 	/**
 	 * Loads all the network interfaces and transforms the enumeration to the list of strings
 	 * containing all addresses.
@@ -551,4 +590,44 @@ public class KryoNetConnection implements IConnection {
 	public Object getReconnectionMonitor() {
 		return reconnectionMonitor;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getConnectionSequence() {
+		return connectionSequence;
+	}
+
+	/**
+	 * Client listener passing the pushed {@link AgentMessageBatch}es to the
+	 * {@link IAgentMessageListener} and acknowledging them to the CMR.
+	 *
+	 * @author Marius Oehler
+	 *
+	 */
+	private static class AgentMessageBatchListener extends Listener {
+
+		/**
+		 * Id of the subscribed agent.
+		 */
+		private volatile long platformIdent;
+
+		/**
+		 * Listener to pass the messages to.
+		 */
+		private volatile IAgentMessageListener listener;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void received(Connection connection, Object object) {
+			if (object instanceof AgentMessageBatch) {
+				AgentMessageBatch batch = (AgentMessageBatch) object;
+				listener.agentMessagesReceived(batch.getMessages());
+				connection.sendTCP(new AgentMessageAcknowledgement(platformIdent, batch.getBatchId()));
+			}
+		}
+	}
 }
@@ -0,0 +1,92 @@
+package rocks.inspectit.agent.java.eum.html;
+
+import java.nio.charset.Charset;
+
+/**
+ * Character sequence view on a part of a byte array, mapping every byte to the character with the
+ * same ISO-8859-1 code point. No data is copied. <br>
+ * For ASCII compatible encodings (like UTF-8 or ISO-8859-x) all characters relevant for the html
+ * structure are encoded as the same single byte, while all bytes of other characters are outside
+ * of the ASCII range. Therefore the view can be parsed instead of the decoded characters to find
+ * the positions of the html tokens.
+ *
+ * @author Ivan Senic
+ *
+ */
+final class ByteCharSequence implements CharSequence {
+
+	/**
+	 * Charset used for {@link #toString()}.
+	 */
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	/**
+	 * The viewed bytes.
+	 */
+	private final byte[] bytes;
+
+	/**
+	 * The offset of the view within {@link #bytes}.
+	 */
+	private final int offset;
+
+	/**
+	 * The length of the view.
+	 */
+	private final int length;
+
+	/**
+	 * Creates a view on the given part of the byte array.
+	 *
+	 * @param bytes
+	 *            the bytes to view
+	 * @param offset
+	 *            the offset of the view within the bytes
+	 * @param length
+	 *            the number of bytes to view
+	 */
+	ByteCharSequence(byte[] bytes, int offset, int length) {
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public char charAt(int index) {
+		if ((index < 0) || (index >= length)) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of range [0," + length + ").");
+		}
+		return (char) (bytes[offset + index] & 0xFF);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if ((start < 0) || (end > length) || (start > end)) {
+			throw new IndexOutOfBoundsException("Sub sequence [" + start + "," + end + ") is out of range [0," + length + ").");
+		}
+		return new ByteCharSequence(bytes, offset + start, end - start);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return new String(bytes, offset, length, ISO_8859_1);
+	}
+
+}
@@ -14,7 +14,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Decorates the {@link StreamedHtmlScriptInjector} with the functionality to also perform injection
  * on binary data as long as the character encoding is known. Simultaneously, this injector also
- * accepts already decoded Character data just as the {@link StreamedHtmlScriptInjector}.
+ * accepts already decoded Character data just as the {@link StreamedHtmlScriptInjector}. <br>
+ * For ASCII compatible encodings (UTF-8, US-ASCII, ISO-8859-x and windows-125x) the binary data is
+ * not decoded at all: the injection point is searched directly on the bytes and the pre-encoded tag
+ * is spliced in. All other encodings are decoded and re-encoded.
  *
  * @author Jonas Kunz
  *
@@ -31,6 +34,17 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 	 */
 	private static final byte[] NO_LEFTOVER_CHARACTER_BYTES = {};
 
+	/**
+	 * Canonical names of the ASCII compatible charsets which are not covered by the
+	 * {@link #ASCII_COMPATIBLE_CHARSET_PREFIXES}.
+	 */
+	private static final String[] ASCII_COMPATIBLE_CHARSETS = { "UTF-8", "US-ASCII" };
+
+	/**
+	 * Prefixes of the canonical names of the ASCII compatible single byte charsets.
+	 */
+	private static final String[] ASCII_COMPATIBLE_CHARSET_PREFIXES = { "ISO-8859-", "windows-125" };
+
 	/**
 	 * The charset name of the encoding of the binary data.
 	 */
@@ -58,6 +72,12 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 	 */
 	private CharBuffer decodeBuffer;
 
+	/**
+	 * The tag to inject encoded with the charset, if the charset is ASCII compatible. If set, the
+	 * binary data is not decoded.
+	 */
+	private byte[] encodedTagToInject;
+
 	/**
 	 * The left-over of previous writes of incomplete encoded characters (e.g. only the first byte
 	 * of an encoded two byte character).
@@ -93,7 +113,7 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 	}
 
 	/**
-	 * Decodes the given encoded character data and tries to inject the script tag into it.
+	 * Tries to inject the script tag into the given encoded character data.
 	 *
 	 * @param encodedHtmlData
 	 *            the character encoded with the previously specified encoding
@@ -105,7 +125,8 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 	}
 
 	/**
-	 * Decodes the given encoded character data and tries to inject the script tag into it.
+	 * Tries to inject the script tag into the given encoded character data. The data is only
+	 * decoded if the encoding is not ASCII compatible.
 	 *
 	 * @param encodedHtmlData
 	 *            the character encoded with the previously specified encoding
@@ -122,6 +143,16 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 			return null;
 		}
 
+		fetchCoders();
+		if (!codersInitialized()) {
+			// error, cannot decode as the charset was not supported
+			abortInjectionPointSearch();
+			return null;
+		}
+		if (null != encodedTagToInject) {
+			return performInjectionOnBytes(encodedHtmlData, offset, len);
+		}
+
 		// remember the previous left-over so we can remove it again if we perform an injection
 		int previousLeftoverSize = leftOver.length;
 		CharSequence decodedStr = decodeWithLeftOver(encodedHtmlData, offset, len);
@@ -132,6 +163,9 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 			return null;
 		}
 
+		// the injection clears the left-over, but its bytes are part of the given data
+		byte[] currentLeftOver = leftOver;
+
 		// perform the string-based injection
 		CharSequence injectionResult = super.performInjection(decodedStr);
 
@@ -141,8 +175,10 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 				ByteBuffer bb = charEncoder.encode(CharBuffer.wrap(injectionResult));
 				// make sure not to reflush the bytes of the previous leftover
 				bb.position(previousLeftoverSize);
-				byte[] modifiedData = new byte[bb.limit() - bb.position()];
-				bb.get(modifiedData);
+				int encodedLength = bb.remaining();
+				byte[] modifiedData = new byte[encodedLength + currentLeftOver.length];
+				bb.get(modifiedData, 0, encodedLength);
+				System.arraycopy(currentLeftOver, 0, modifiedData, encodedLength, currentLeftOver.length);
 				return modifiedData;
 			} catch (CharacterCodingException e) {
 				// should not happen, as we were previously able to decode the same
@@ -181,10 +217,46 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 		leftOver = NO_LEFTOVER_CHARACTER_BYTES;
 		encodeBuffer = null; // NOPMD
 		decodeBuffer = null; // NOPMD
+		encodedTagToInject = null; // NOPMD
 	}
 
 	/**
-	 * Tries to fetch the decoders for the charset if this was not done yet.
+	 * Searches the injection point directly on the given bytes and splices in the encoded tag.
+	 * Only valid for ASCII compatible encodings, see {@link ByteCharSequence}.
+	 *
+	 * @param encodedHtmlData
+	 *            the character encoded with the previously specified encoding
+	 * @param offset
+	 *            the offset of the data within encodedHtmlData in bytes
+	 * @param len
+	 *            the length of the data within encodedHtmlData in bytes
+	 * @return null, if no injection was performed. Otherwise, a copy of the input encoded data
+	 *         (starting at the given offset with the given length) with the script tag inserted.
+	 */
+	private byte[] performInjectionOnBytes(byte[] encodedHtmlData, int offset, int len) {
+		// the search is aborted when the injection point is found, thus keep the encoded tag
+		byte[] encodedTag = encodedTagToInject;
+		int injectionPoint = findInjectionPoint(new ByteCharSequence(encodedHtmlData, offset, len));
+		if (injectionPoint == NO_INJECTION_POINT) {
+			return null;
+		}
+
+		int tagLength = encodedTag.length;
+		// attempt to prevent double injection
+		if (startsWith(encodedHtmlData, offset + injectionPoint, offset + len, encodedTag)) {
+			return null;
+		}
+
+		byte[] modifiedData = new byte[len + tagLength];
+		System.arraycopy(encodedHtmlData, offset, modifiedData, 0, injectionPoint);
+		System.arraycopy(encodedTag, 0, modifiedData, injectionPoint, tagLength);
+		System.arraycopy(encodedHtmlData, offset + injectionPoint, modifiedData, injectionPoint + tagLength, len - injectionPoint);
+		return modifiedData;
+	}
+
+	/**
+	 * Tries to fetch the decoders for the charset if this was not done yet. If the charset is
+	 * ASCII compatible, the tag to inject is encoded as well.
 	 */
 	private void fetchCoders() {
 		if (!codersInitialized()) {
@@ -192,12 +264,80 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 				Charset chars = Charset.forName(charSet);
 				charEncoder = chars.newEncoder();
 				charDecoder = chars.newDecoder();
+				if (isAsciiCompatible(chars)) {
+					encodedTagToInject = encodeTagToInject();
+				}
 			} catch (Exception e) {
 				LOG.error("Error fetching decoder for charset " + charSet, e);
 			}
 		}
 	}
 
+	/**
+	 * Encodes the tag to inject with the {@link #charEncoder}.
+	 *
+	 * @return the encoded tag or null, if the tag can not be encoded with the charset.
+	 */
+	private byte[] encodeTagToInject() {
+		try {
+			ByteBuffer bb = charEncoder.encode(CharBuffer.wrap(getTagToInject()));
+			byte[] encodedTag = new byte[bb.remaining()];
+			bb.get(encodedTag);
+			return encodedTag;
+		} catch (CharacterCodingException e) {
+			// fall back to decoding, which will fail when encoding the injection result
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if the given charset encodes all ASCII characters as the same single byte and does
+	 * not use bytes of the ASCII range for other characters.
+	 *
+	 * @param charset
+	 *            the charset to check
+	 * @return true, if the charset is ASCII compatible
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		String name = charset.name();
+		for (String asciiCompatibleCharset : ASCII_COMPATIBLE_CHARSETS) {
+			if (asciiCompatibleCharset.equals(name)) {
+				return true;
+			}
+		}
+		for (String asciiCompatiblePrefix : ASCII_COMPATIBLE_CHARSET_PREFIXES) {
+			if (name.startsWith(asciiCompatiblePrefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the bytes starting at the given position match the given prefix.
+	 *
+	 * @param data
+	 *            the data to check
+	 * @param from
+	 *            the position to start at
+	 * @param to
+	 *            the position after the last valid byte of the data
+	 * @param prefix
+	 *            the prefix to match
+	 * @return true, if the data at the position starts with the prefix.
+	 */
+	private static boolean startsWith(byte[] data, int from, int to, byte[] prefix) {
+		if ((to - from) < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (data[from + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Decodes the given binary data using hte configured decoder. Takes left-over bytes of the
 	 * previous decode operation stored in {@link #leftOver} into account and updates it for new
@@ -213,12 +353,6 @@ public class DecodingHtmlScriptInjector extends StreamedHtmlScriptInjector {
 	 * @return the decoded characters, if successful, null otherwise.
 	 */
 	private CharSequence decodeWithLeftOver(byte[] data, int offset, int length) {
-		// Fetch den- and encoder for the configured character set
-		fetchCoders();
-		if (!codersInitialized()) {
-			return null; // error, cannot decode as the charset was not supported.
-		}
-
 		CharSequence decodedStr;
 		ByteBuffer input;
 
@@ -21,6 +21,17 @@ import rocks.inspectit.agent.java.util.CharacterRingBuffer;
  */
 public class StreamedHtmlScriptInjector {
 
+	/**
+	 * Returned by {@link #findInjectionPoint(CharSequence)} if no injection point was found.
+	 */
+	protected static final int NO_INJECTION_POINT = -1;
+
+	/**
+	 * The number of characters appended to the {@link #htmlSource} at once when searching for the
+	 * injection point.
+	 */
+	private static final int SLICE_SIZE = 1024;
+
 	/**
 	 * The ringbuffer used for storing the html source. Data gets erased from the beginning as soon
 	 * as it has been identified as a valid HTML token to keep the memory footprint low.
@@ -117,12 +128,66 @@ public class StreamedHtmlScriptInjector {
 	 *         injected tag is returned.
 	 */
 	public String performInjection(CharSequence htmlData) {
-		if (hasTerminated()) {
+		int injectionPoint = findInjectionPoint(htmlData);
+		if (injectionPoint == NO_INJECTION_POINT) {
+			return null;
+		}
+		// attempt to prevent double injection
+		if (CharSequenceUtils.checkEqualCheckCase(htmlData, injectionPoint, tagToInject.length(), tagToInject, 0, tagToInject.length())) {
 			return null;
 		}
+		StringBuilder newHtmlData = new StringBuilder(htmlData.length() + tagToInject.length());
+		newHtmlData.append(htmlData, 0, injectionPoint);
+		newHtmlData.append(tagToInject);
+		newHtmlData.append(htmlData, injectionPoint, htmlData.length());
+		return newHtmlData.toString();
+	}
+
+	/**
+	 * Appends the given source code to the internal buffer and searches for the injection point.
+	 * The source code is appended in slices of {@link #SLICE_SIZE} characters, so that only the
+	 * part of the data up to the injection point is copied. The search is terminated as soon as
+	 * the injection point is found. Does not check if the tag to inject is already present at
+	 * the injection point.
+	 *
+	 * @param htmlData
+	 *            the new data to append to the internal buffer of html source
+	 * @return the index within htmlData where the tag has to be injected or
+	 *         {@link #NO_INJECTION_POINT} if the injection point is not within htmlData.
+	 */
+	protected int findInjectionPoint(CharSequence htmlData) {
+		int length = htmlData.length();
+		int appended = 0;
+		while (!hasTerminated() && (appended < length)) {
+			int sliceEnd = Math.min(length, appended + SLICE_SIZE);
+			htmlSource.append(htmlData, appended, sliceEnd);
+			appended = sliceEnd;
+			if (parseAvailableTokens()) {
+				// the end of the buffer corresponds to the index appended within htmlData
+				int injectionPoint = tokenParser.getCaret().getOffset() - (htmlSource.length() - appended);
+				abortInjectionPointSearch();
+				return injectionPoint;
+			}
+		}
+		return NO_INJECTION_POINT;
+	}
+
+	/**
+	 * @return the tag which this injector tries to inject.
+	 */
+	protected String getTagToInject() {
+		return tagToInject;
+	}
+
+	/**
+	 * Parses the tokens in the internal buffer until more data is needed or the search is
+	 * terminated.
+	 *
+	 * @return true, if the injection point has been found. The injection point is the position of
+	 *         the caret of the {@link #tokenParser}.
+	 */
+	private boolean parseAvailableTokens() {
 		Caret caret = tokenParser.getCaret();
-		int sourceAppendPos = htmlSource.length();
-		htmlSource.append(htmlData);
 
 		// Loop over every token
 		while (!hasTerminated()) {
@@ -130,30 +195,16 @@ public class StreamedHtmlScriptInjector {
 			switch (tokenParsingResult) {
 			case FAILURE:
 				abortInjectionPointSearch();
-				return null;
+				return false;
 			case INCOMPLETE:
-				return null;
+				return false;
 			case SUCCESS:
 				processToken();
 				if (status == Status.INJECTION_POINT_FOUND) {
-					String returnValue;
-					// attempt to prevent double injection
-					if (!caret.startsWithCheckCase(tagToInject)) {
-						StringBuilder newHtmlData = new StringBuilder();
-						int normalizedCaretPos = caret.getOffset() - sourceAppendPos;
-						newHtmlData.append(htmlData.subSequence(0, normalizedCaretPos));
-						newHtmlData.append(tagToInject);
-						newHtmlData.append(htmlData.subSequence(normalizedCaretPos, htmlData.length()));
-						returnValue = newHtmlData.toString();
-					} else {
-						returnValue = null; // NOPMD
-					}
-					abortInjectionPointSearch();
-					return returnValue;
+					return true;
 				} else if (status != Status.TERMINATED) {
 					// free processed token
 					htmlSource.erase(caret.getOffset());
-					sourceAppendPos -= caret.getOffset();
 					// reposition the caret at the old position
 					caret.goTo(0);
 					tokenParser.resetState(); // get ready for parsing the next token
@@ -163,7 +214,7 @@ public class StreamedHtmlScriptInjector {
 				throw new RuntimeException("Unhandled token parsing result: " + tokenParsingResult);
 			}
 		}
-		return null;
+		return false;
 	}
 
 	/**
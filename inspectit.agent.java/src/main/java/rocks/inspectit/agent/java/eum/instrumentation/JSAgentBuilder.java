@@ -77,11 +77,22 @@ public class JSAgentBuilder {
 	 */
 	private static final String JSBASE_RESOURCE = "core.js";
 
+	/**
+	 * Maximum number of cached bundles. The arguments come from the requested URL, thus bundles of
+	 * further module combinations are built on every request instead of growing the cache.
+	 */
+	private static final int MAX_CACHED_BUNDLES = 64;
+
 	/**
 	 * Cache for the source of the individual JS Agent modules.
 	 */
 	private ConcurrentHashMap<JSAgentModule, String> moduleSourceCache = new ConcurrentHashMap<JSAgentModule, String>();
 
+	/**
+	 * Cache of the built JS agents per module arguments.
+	 */
+	private ConcurrentHashMap<String, JSAgentBundle> bundleCache = new ConcurrentHashMap<String, JSAgentBundle>();
+
 	/**
 	 * Cache variable for the JS agent core source code.
 	 */
@@ -113,6 +124,28 @@ public class JSAgentBuilder {
 		}
 	}
 
+	/**
+	 * Returns the encoded JS agent for the given single char arguments. The agent is built and
+	 * encoded only once per arguments string.
+	 *
+	 * @param arguments
+	 *            all arguments together as a string.
+	 * @return the {@link JSAgentBundle} holding the encoded agent.
+	 */
+	public JSAgentBundle getBundle(String arguments) {
+		JSAgentBundle bundle = bundleCache.get(arguments);
+		if (null == bundle) {
+			bundle = new JSAgentBundle(buildJsFile(arguments));
+			if (bundleCache.size() < MAX_CACHED_BUNDLES) {
+				JSAgentBundle existing = bundleCache.putIfAbsent(arguments, bundle);
+				if (null != existing) {
+					bundle = existing;
+				}
+			}
+		}
+		return bundle;
+	}
+
 	/**
 	 * Builds the JS agent from single char arguments.
 	 *
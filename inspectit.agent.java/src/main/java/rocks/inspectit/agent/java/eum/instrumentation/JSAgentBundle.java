@@ -0,0 +1,110 @@
+package rocks.inspectit.agent.java.eum.instrumentation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * A built JS agent script, encoded once so that it can be served by copying the bytes. Holds the
+ * identity and the gzip encoded content together with a strong ETag for each of them.
+ *
+ * @author Ivan Senic
+ *
+ */
+public final class JSAgentBundle {
+
+	/**
+	 * The charset the script is encoded with.
+	 */
+	public static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * The script encoded with {@link #CHARSET}.
+	 */
+	private final byte[] content;
+
+	/**
+	 * The gzip compressed {@link #content}.
+	 */
+	private final byte[] gzipContent;
+
+	/**
+	 * The ETag of the {@link #content}.
+	 */
+	private final String eTag;
+
+	/**
+	 * The ETag of the {@link #gzipContent}.
+	 */
+	private final String gzipETag;
+
+	/**
+	 * Encodes the given script.
+	 *
+	 * @param script
+	 *            the source code of the JS agent
+	 */
+	public JSAgentBundle(String script) {
+		this.content = script.getBytes(CHARSET);
+		this.gzipContent = gzip(content);
+
+		// strong ETags have to differ for the differently encoded content
+		String hash = Hashing.sha1().hashBytes(content).toString();
+		this.eTag = '"' + hash + '"';
+		this.gzipETag = '"' + hash + "-gzip\"";
+	}
+
+	/**
+	 * Returns the encoded script.
+	 *
+	 * @param gzip
+	 *            if the gzip compressed content should be returned
+	 * @return the encoded script, must not be modified
+	 */
+	public byte[] getContent(boolean gzip) {
+		if (gzip) {
+			return gzipContent;
+		} else {
+			return content;
+		}
+	}
+
+	/**
+	 * Returns the ETag of the encoded script.
+	 *
+	 * @param gzip
+	 *            if the ETag of the gzip compressed content should be returned
+	 * @return the quoted ETag
+	 */
+	public String getETag(boolean gzip) {
+		if (gzip) {
+			return gzipETag;
+		} else {
+			return eTag;
+		}
+	}
+
+	/**
+	 * Compresses the given bytes.
+	 *
+	 * @param bytes
+	 *            the bytes to compress
+	 * @return the gzip compressed bytes
+	 */
+	private static byte[] gzip(byte[] bytes) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+		try {
+			GZIPOutputStream gzipOut = new GZIPOutputStream(out);
+			gzipOut.write(bytes);
+			gzipOut.close();
+		} catch (IOException e) {
+			// can not happen when writing to memory
+			throw new IllegalStateException("Unable to compress the JS agent.", e);
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -58,6 +58,28 @@ public interface IHookDispatcher {
 	 */
 	void dispatchSecondMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue, boolean exception);
 
+	/**
+	 * Dispatches the first and the second 'after' method statement in one call. The result is the
+	 * same as calling
+	 * {@link #dispatchFirstMethodAfterBody(long, Object, Object[], Object, boolean)} and
+	 * {@link #dispatchSecondMethodAfterBody(long, Object, Object[], Object, boolean)} one after
+	 * another, but the method mapping is resolved only once.
+	 *
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 * @param parameters
+	 *            The parameters of the method.
+	 * @param returnValue
+	 *            The return value of the method or exception thrown by method.
+	 * @param exception
+	 *            If method exited as result of exception. If <code>true</code> then the returnValue
+	 *            parameter will be the exception and not the return value of the method execution
+	 *            as such does not exist.
+	 */
+	void dispatchMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue, boolean exception);
+
 	/**
 	 * Dispatches the 'addCatch' statement of a method.
 	 *
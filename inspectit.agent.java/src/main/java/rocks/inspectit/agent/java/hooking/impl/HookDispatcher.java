@@ -57,13 +57,10 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 	private ExceptionSensor exceptionSensor;
 
 	/**
-	 * Contains all hooks. Using concurrent map as we need to enable thread-safety of
-	 * {@link #addMapping(long, RegisteredSensorConfig)}.
-	 * <p>
-	 * Not using the {@link java.util.Map} interface on purpose, in order to use put/get methods
-	 * with primitive longs.
+	 * Contains all hooks. The table is indexed by the method id, thus no hashing is needed when
+	 * dispatching. It is thread-safe for the {@link #addMapping(long, RegisteredSensorConfig)}.
 	 */
-	private final NonBlockingHashMapLong<RegisteredSensorConfig> mappings = new NonBlockingHashMapLong<RegisteredSensorConfig>();
+	private final RegisteredSensorConfigTable mappings = new RegisteredSensorConfigTable();
 
 	/**
 	 * Contains all special hooks. Using concurrent map as we need to enable thread-safety of
@@ -166,13 +163,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
-
-					// Now iterate over all registered sensor types and execute them
-					// normal execution (sensor with highest priority first)
-					for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
-						IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-						methodHook.firstAfterBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
-					}
+					firstMethodAfterBody(rsc, id, object, parameters, returnValue, exception);
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (after body)", throwable);
 				}
@@ -193,46 +184,38 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					secondMethodAfterBody(rsc, id, object, parameters, returnValue, exception);
+				} catch (Throwable throwable) { // NOPMD
+					log.error("An error happened in the Hook Dispatcher! (second after body)", throwable);
+				}
+			} finally {
+				executionMarker.deactive();
+			}
+		}
+	}
 
-					if (null != invocationSequenceHolder.get()) {
-						// Need to replace the core service with the one from the invocation
-						// sequence so that all data objects can be associated to that invocation
-						// record.
-						ICoreService invocCoreService = (ICoreService) invocationSequenceHolder.get();
-
-						// Now iterate over all registered sensor types and execute them
-						// normal execution (sensor with highest priority first)
-						for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
-							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-							// the invocation sequence sensor needs the original core service!
-							long sensorId = methodSensor.getSensorTypeConfig().getId();
-							if (invocCoreService == methodHook) { // NOPMD
-								methodHook.secondAfterBody(coreService, id, sensorId, object, parameters, returnValue, exception, rsc);
-							} else {
-								methodHook.secondAfterBody(invocCoreService, id, sensorId, object, parameters, returnValue, exception, rsc);
-							}
-						}
-					} else {
-						for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
-							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-							methodHook.secondAfterBody(coreService, id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
-						}
-					}
-
-					if (rsc.isStartsInvocation()) {
-						invocationSequenceCount.decrement();
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dispatchMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue, boolean exception) {
+		if (!executionMarker.isActive()) {
+			try {
+				executionMarker.active();
 
-						if (0 == invocationSequenceCount.getCount()) {
-							invocationSequenceHolder.set(null);
-						}
-					} else if (null != invocationSequenceHolder.get()) {
-						// We have to execute the after body method of the invocation sequence hook
-						// manually.
-						IMethodHook invocationHook = (IMethodHook) invocationSequenceHolder.get();
+				RegisteredSensorConfig rsc = null;
+				try {
+					rsc = mappings.get(id);
+					firstMethodAfterBody(rsc, id, object, parameters, returnValue, exception);
+				} catch (Throwable throwable) { // NOPMD
+					log.error("An error happened in the Hook Dispatcher! (after body)", throwable);
+				}
 
-						// The sensor type ID is not important here, thus we are passing a -1. It is
-						// already stored in the data object
-						invocationHook.secondAfterBody(coreService, id, -1, object, parameters, returnValue, exception, rsc);
+				// second part must be executed even if first failed, as it keeps the invocation
+				// sequence count in sync
+				try {
+					if (null != rsc) {
+						secondMethodAfterBody(rsc, id, object, parameters, returnValue, exception);
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (second after body)", throwable);
@@ -243,6 +226,93 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 		}
 	}
 
+	/**
+	 * Executes the first after body of all method sensors defined in the
+	 * {@link RegisteredSensorConfig}.
+	 *
+	 * @param rsc
+	 *            {@link RegisteredSensorConfig}
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 * @param parameters
+	 *            The parameters of the method.
+	 * @param returnValue
+	 *            The return value of the method or exception thrown by method.
+	 * @param exception
+	 *            If method exited as result of exception.
+	 */
+	private void firstMethodAfterBody(RegisteredSensorConfig rsc, long id, Object object, Object[] parameters, Object returnValue, boolean exception) {
+		// Now iterate over all registered sensor types and execute them
+		// normal execution (sensor with highest priority first)
+		for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
+			IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
+			methodHook.firstAfterBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
+		}
+	}
+
+	/**
+	 * Executes the second after body of all method sensors defined in the
+	 * {@link RegisteredSensorConfig} and takes care of the invocation sequence state.
+	 *
+	 * @param rsc
+	 *            {@link RegisteredSensorConfig}
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 * @param parameters
+	 *            The parameters of the method.
+	 * @param returnValue
+	 *            The return value of the method or exception thrown by method.
+	 * @param exception
+	 *            If method exited as result of exception.
+	 */
+	private void secondMethodAfterBody(RegisteredSensorConfig rsc, long id, Object object, Object[] parameters, Object returnValue, boolean exception) {
+		IHook invocationHolder = invocationSequenceHolder.get();
+		if (null != invocationHolder) {
+			// Need to replace the core service with the one from the invocation
+			// sequence so that all data objects can be associated to that invocation
+			// record.
+			ICoreService invocCoreService = (ICoreService) invocationHolder;
+
+			// Now iterate over all registered sensor types and execute them
+			// normal execution (sensor with highest priority first)
+			for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
+				IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
+				// the invocation sequence sensor needs the original core service!
+				long sensorId = methodSensor.getSensorTypeConfig().getId();
+				if (invocCoreService == methodHook) { // NOPMD
+					methodHook.secondAfterBody(coreService, id, sensorId, object, parameters, returnValue, exception, rsc);
+				} else {
+					methodHook.secondAfterBody(invocCoreService, id, sensorId, object, parameters, returnValue, exception, rsc);
+				}
+			}
+		} else {
+			for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
+				IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
+				methodHook.secondAfterBody(coreService, id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
+			}
+		}
+
+		if (rsc.isStartsInvocation()) {
+			invocationSequenceCount.decrement();
+
+			if (0 == invocationSequenceCount.getCount()) {
+				invocationSequenceHolder.set(null);
+			}
+		} else if (null != invocationHolder) {
+			// We have to execute the after body method of the invocation sequence hook
+			// manually.
+			IMethodHook invocationHook = (IMethodHook) invocationHolder;
+
+			// The sensor type ID is not important here, thus we are passing a -1. It is
+			// already stored in the data object
+			invocationHook.secondAfterBody(coreService, id, -1, object, parameters, returnValue, exception, rsc);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
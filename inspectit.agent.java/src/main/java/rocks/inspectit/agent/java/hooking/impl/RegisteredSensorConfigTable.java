@@ -0,0 +1,104 @@
+package rocks.inspectit.agent.java.hooking.impl;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+
+/**
+ * Lookup table for the {@link RegisteredSensorConfig}s used by the {@link HookDispatcher}.
+ * <p>
+ * Method ids are assigned by the CMR from a sequence, thus they are dense and small enough to be
+ * used as array indexes. Every id in range [0, {@link #MAX_INDEXED_ID}) is stored in a
+ * {@link RegisteredSensorConfig} array, so that dispatching costs one volatile read and one array
+ * access. Ids out of this range fall back to the {@link NonBlockingHashMapLong}.
+ * <p>
+ * Writes are synchronized and the array is copied only when it has to grow. After each write the
+ * array reference is re-published through the volatile field, so any reader that reads the table
+ * after the mapping was added is guaranteed to see the mapping.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class RegisteredSensorConfigTable {
+
+	/**
+	 * Ids smaller than this value are kept in the array. Any higher id is stored in the fall-back
+	 * map in order to limit the size of the array.
+	 */
+	static final int MAX_INDEXED_ID = 1 << 20;
+
+	/**
+	 * Initial size of the table.
+	 */
+	private static final int INITIAL_SIZE = 1024;
+
+	/**
+	 * Table holding the configurations with the method id as index.
+	 */
+	private volatile RegisteredSensorConfig[] table = new RegisteredSensorConfig[INITIAL_SIZE];
+
+	/**
+	 * Fall-back map for the ids that can not be indexed.
+	 */
+	private final NonBlockingHashMapLong<RegisteredSensorConfig> overflowMappings = new NonBlockingHashMapLong<RegisteredSensorConfig>();
+
+	/**
+	 * Returns the {@link RegisteredSensorConfig} for the given method id.
+	 *
+	 * @param id
+	 *            Method id.
+	 * @return {@link RegisteredSensorConfig} or <code>null</code> if mapping for the id does not
+	 *         exist.
+	 */
+	public RegisteredSensorConfig get(long id) {
+		RegisteredSensorConfig[] current = table;
+		if ((id >= 0) && (id < current.length)) {
+			RegisteredSensorConfig rsc = current[(int) id];
+			if (null != rsc) {
+				return rsc;
+			}
+		}
+		return overflowMappings.get(id);
+	}
+
+	/**
+	 * Adds the mapping for the given method id. Any existing mapping for the same id is replaced.
+	 *
+	 * @param id
+	 *            Method id.
+	 * @param rsc
+	 *            {@link RegisteredSensorConfig} to map.
+	 */
+	public synchronized void put(long id, RegisteredSensorConfig rsc) {
+		if ((id < 0) || (id >= MAX_INDEXED_ID)) {
+			overflowMappings.put(id, rsc);
+			return;
+		}
+
+		int index = (int) id;
+		RegisteredSensorConfig[] current = table;
+		if (index >= current.length) {
+			int newLength = current.length;
+			while (newLength <= index) {
+				newLength <<= 1;
+			}
+			RegisteredSensorConfig[] copy = new RegisteredSensorConfig[newLength];
+			System.arraycopy(current, 0, copy, 0, current.length);
+			current = copy;
+		}
+		current[index] = rsc;
+
+		// publish (again) so readers see the new element
+		table = current;
+	}
+
+	/**
+	 * Returns the current length of the array part of the table. Only for testing purposes.
+	 *
+	 * @return Current length of the array part of the table.
+	 */
+	int getIndexedLength() {
+		return table.length;
+	}
+
+}
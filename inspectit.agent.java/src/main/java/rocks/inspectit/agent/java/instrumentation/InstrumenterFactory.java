@@ -23,6 +23,15 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.SpecialInstrumenta
 @Component
 public class InstrumenterFactory {
 
+	/**
+	 * If the method instrumenters should dispatch first and second after body in one merged call.
+	 * <p>
+	 * The merged call executes all first after body hooks before any second after body hook, same
+	 * as with two separate calls, thus none of the current method sensors requires the split.
+	 * Splitting can still be activated by setting this flag to <code>false</code>.
+	 */
+	private boolean mergeAfterBodyDispatch = true;
+
 	/**
 	 * Returns correct {@link MethodVisitor} based on the given instrumentation point.
 	 *
@@ -54,7 +63,7 @@ public class InstrumenterFactory {
 			if (sensorInstrumentationPoint.isConstructor()) {
 				return new ConstructorInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor);
 			} else {
-				return new MethodInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor);
+				return new MethodInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor, mergeAfterBodyDispatch);
 			}
 		} else if (instrumentationPoint instanceof SpecialInstrumentationPoint) {
 			SpecialInstrumentationPoint specialInstrumentationPoint = (SpecialInstrumentationPoint) instrumentationPoint;
@@ -63,4 +72,14 @@ public class InstrumenterFactory {
 		throw new IllegalArgumentException("The instrumentation point " + instrumentationPoint + " is not known to the InstrumenterFactory.");
 	}
 
+	/**
+	 * Sets {@link #mergeAfterBodyDispatch}.
+	 *
+	 * @param mergeAfterBodyDispatch
+	 *            New value for {@link #mergeAfterBodyDispatch}
+	 */
+	public void setMergeAfterBodyDispatch(boolean mergeAfterBodyDispatch) {
+		this.mergeAfterBodyDispatch = mergeAfterBodyDispatch;
+	}
+
 }
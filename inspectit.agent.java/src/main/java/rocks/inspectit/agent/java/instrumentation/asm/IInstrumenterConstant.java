@@ -61,6 +61,7 @@ public interface IInstrumenterConstant {
 	/**
 	 * {@link IHookDispatcher#dispatchFirstMethodAfterBody(long, Object, Object[], Object, boolean)} and
 	 * {@link IHookDispatcher#dispatchSecondMethodAfterBody(long, Object, Object[], Object, boolean)}
+	 * and {@link IHookDispatcher#dispatchMethodAfterBody(long, Object, Object[], Object, boolean)}
 	 * descriptor.
 	 */
 	String DISPATCH_METHOD_AFTER_BODY_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.LONG_TYPE, Type.getType(Object.class), Type.getType(Object[].class), Type.getType(Object.class),
@@ -15,6 +15,13 @@ import rocks.inspectit.agent.java.hooking.IHookDispatcher;
  */
 public class MethodInstrumenter extends AbstractMethodInstrumenter {
 
+	/**
+	 * If the first and second after body dispatching should be merged into the single
+	 * {@link IHookDispatcher#dispatchMethodAfterBody(long, Object, Object[], Object, boolean)}
+	 * call.
+	 */
+	private final boolean mergedAfterBody;
+
 	/**
 	 * Default constructor. Defines method id that will be used during instrumentation and if
 	 * enhanced exception sensor is active or not.
@@ -35,7 +42,33 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 	 *      String, long, boolean)
 	 */
 	public MethodInstrumenter(MethodVisitor mv, int access, String name, String desc, long methodId, boolean enhancedExceptionSensor) {
+		this(mv, access, name, desc, methodId, enhancedExceptionSensor, false);
+	}
+
+	/**
+	 * Constructor that additionally defines if the after body dispatching should be done with one
+	 * merged call.
+	 *
+	 * @param mv
+	 *            Super method visitor.
+	 * @param access
+	 *            Method access code.
+	 * @param name
+	 *            Method name.
+	 * @param desc
+	 *            Method description.
+	 * @param methodId
+	 *            Method id that will be passed to {@link IHookDispatcher}.
+	 * @param enhancedExceptionSensor
+	 *            Marker declaring if enhanced exception sensor is active.
+	 * @param mergedAfterBody
+	 *            If <code>true</code> the
+	 *            {@link IHookDispatcher#dispatchMethodAfterBody(long, Object, Object[], Object, boolean)}
+	 *            will be called instead of first and second after body calls.
+	 */
+	public MethodInstrumenter(MethodVisitor mv, int access, String name, String desc, long methodId, boolean enhancedExceptionSensor, boolean mergedAfterBody) {
 		super(mv, access, name, desc, methodId, enhancedExceptionSensor);
+		this.mergedAfterBody = mergedAfterBody;
 	}
 
 	/**
@@ -62,16 +95,20 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 		}
 
 		// just ensure that result is duplicated on the stack
-		// since we are calling two methods, make 2 copies of result on stack
+		// since we are calling two methods, make 2 copies of result on stack (only one if merged)
 		// in case of void return or push null since we don't have result
 		if (opcode == RETURN) {
 			// standard return with no object (void)
 			pushNull();
-			pushNull();
+			if (!mergedAfterBody) {
+				pushNull();
+			}
 		} else if (opcode == ARETURN) {
 			// duplicate the original object
 			dup();
-			dup();
+			if (!mergedAfterBody) {
+				dup();
+			}
 		} else {
 			if ((opcode == LRETURN) || (opcode == DRETURN)) {
 				// if we have either long or double return, we need to duplicate the last two stacks
@@ -81,13 +118,13 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 			}
 			// box and then duplicate the object then
 			box(Type.getReturnType(this.methodDesc));
-			dup();
+			if (!mergedAfterBody) {
+				dup();
+			}
 		}
 
-		// add two false booleans to denote no exception in the call
-		// generate code for calling first and second
-		generateAfterBodyCall("dispatchFirstMethodAfterBody", false);
-		generateAfterBodyCall("dispatchSecondMethodAfterBody", false);
+		// add false boolean to denote no exception in the call
+		generateAfterBodyCalls(false);
 	}
 
 	/**
@@ -114,10 +151,11 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 		// generate code for calling first and second
 		// push exception as we don't have a result
 		dup();
-		dup();
+		if (!mergedAfterBody) {
+			dup();
+		}
 		// add true booleans to denote exception in the call
-		generateAfterBodyCall("dispatchFirstMethodAfterBody", true);
-		generateAfterBodyCall("dispatchSecondMethodAfterBody", true);
+		generateAfterBodyCalls(true);
 
 		mv.visitInsn(ATHROW);
 
@@ -125,6 +163,15 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 		super.visitMaxs(maxStack, maxLocals);
 	}
 
+	/**
+	 * Gets {@link #mergedAfterBody}.
+	 *
+	 * @return {@link #mergedAfterBody}
+	 */
+	public boolean isMergedAfterBody() {
+		return this.mergedAfterBody;
+	}
+
 	/**
 	 * Generates before body call.
 	 */
@@ -149,6 +196,22 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 				true);
 	}
 
+	/**
+	 * Generates code for the after body calls. If after body calls are merged, this method expects
+	 * one copy of the result of the method call on the stack, otherwise two copies.
+	 *
+	 * @param exception
+	 *            Value of the exception argument pass to the dispatcher.
+	 */
+	private void generateAfterBodyCalls(boolean exception) {
+		if (mergedAfterBody) {
+			generateAfterBodyCall("dispatchMethodAfterBody", exception);
+		} else {
+			generateAfterBodyCall("dispatchFirstMethodAfterBody", exception);
+			generateAfterBodyCall("dispatchSecondMethodAfterBody", exception);
+		}
+	}
+
 	/**
 	 * Generates code for the after body call. This method expects the result of the method call on
 	 * the stack that can be consumed.
@@ -158,6 +221,8 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 	 *            {@link IHookDispatcher#dispatchFirstMethodAfterBody(long, Object, Object[], Object, boolean)}
 	 *            or
 	 *            {@link IHookDispatcher#dispatchSecondMethodAfterBody(long, Object, Object[], Object, boolean)}
+	 *            or
+	 *            {@link IHookDispatcher#dispatchMethodAfterBody(long, Object, Object[], Object, boolean)}
 	 * @param exception
 	 *            Value of the exception argument pass to the dispatcher.
 	 */
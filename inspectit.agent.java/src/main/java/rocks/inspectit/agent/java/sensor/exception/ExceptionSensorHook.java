@@ -51,6 +51,12 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 	 */
 	private final StringConstraint strConstraint;
 
+	/**
+	 * Cache of the already sent stack trace fingerprints. Can be <code>null</code>, in that case
+	 * the stack trace is always sent.
+	 */
+	private final StackTraceFingerprintCache fingerprintCache;
+
 	/**
 	 * The default constructor which needs one parameter for initialization.
 	 *
@@ -60,8 +66,24 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 	 *            Additional parameters.
 	 */
 	public ExceptionSensorHook(IPlatformManager platformManager, Map<String, Object> parameter) {
+		this(platformManager, parameter, null);
+	}
+
+	/**
+	 * Constructor that defines the stack trace fingerprint cache to use.
+	 *
+	 * @param platformManager
+	 *            The Platform manager.
+	 * @param parameter
+	 *            Additional parameters.
+	 * @param fingerprintCache
+	 *            Cache of the already sent stack trace fingerprints. Can be <code>null</code>, in
+	 *            that case the stack trace is always sent.
+	 */
+	public ExceptionSensorHook(IPlatformManager platformManager, Map<String, Object> parameter, StackTraceFingerprintCache fingerprintCache) {
 		this.platformManager = platformManager;
 		this.strConstraint = new StringConstraint(parameter);
+		this.fingerprintCache = fingerprintCache;
 	}
 
 	/**
@@ -214,7 +236,8 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 
 	/**
 	 * Gets static information (class name, stackTrace, cause) from the {@link Throwable} object and
-	 * sets them on the passed data object.
+	 * sets them on the passed data object. The stack trace is only set if its fingerprint was not
+	 * already sent on the current connection.
 	 *
 	 * @param exceptionSensorData
 	 *            The {@link ExceptionSensorData} object where to set the information.
@@ -249,7 +272,12 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 		}
 
 		try {
-			exceptionSensorData.setStackTrace(strConstraint.crop(stackTraceToString(throwable)));
+			// the stack trace is rendered only if the CMR does not know the fingerprint
+			long fingerprint = StackTraceFingerprintCache.fingerprint(throwable);
+			exceptionSensorData.setStackTraceFingerprint(fingerprint);
+			if ((null == fingerprintCache) || fingerprintCache.register(fingerprint)) {
+				exceptionSensorData.setStackTrace(strConstraint.crop(stackTraceToString(throwable)));
+			}
 		} catch (Exception e) {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("It was not possible to retrieve the stack trace from " + throwable.getClass().getName(), e);
@@ -0,0 +1,175 @@
+package rocks.inspectit.agent.java.sensor.exception;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+
+/**
+ * Cache of the stack trace fingerprints that have already been sent to the CMR. The full stack
+ * trace is only rendered and sent the first time a fingerprint is seen on the current connection,
+ * all later {@link rocks.inspectit.shared.all.communication.data.ExceptionSensorData} objects with
+ * the same fingerprint carry only the fingerprint and the CMR resolves the stack trace.
+ * <p>
+ * The cache is cleared every time the connection to the CMR is re-established (as the CMR might
+ * have been restarted in the meantime) and when it grows above the {@link #maxSize}. As the data
+ * with the full stack trace can be lost on the way and the CMR keeps only a limited amount of stack
+ * traces, the full stack trace of a fingerprint is additionally re-sent after the
+ * {@link #resendInterval}. This limits the time the CMR can not resolve a fingerprint.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class StackTraceFingerprintCache {
+
+	/**
+	 * Default maximum amount of fingerprints to keep.
+	 */
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	/**
+	 * Default interval in milliseconds after which the full stack trace is sent again.
+	 */
+	private static final long DEFAULT_RESEND_INTERVAL = 300000L;
+
+	/**
+	 * Max depth of causes to include in the fingerprint.
+	 */
+	private static final int MAX_CAUSE_DEPTH = 16;
+
+	/**
+	 * Fingerprints already sent on the current connection. Values are the times the full stack
+	 * trace was sent.
+	 */
+	private final NonBlockingHashMapLong<Long> sentFingerprints = new NonBlockingHashMapLong<Long>();
+
+	/**
+	 * Connection to track the re-connections. Can be <code>null</code>.
+	 */
+	private final IConnection connection;
+
+	/**
+	 * Maximum amount of fingerprints to keep.
+	 */
+	private final int maxSize;
+
+	/**
+	 * Interval in milliseconds after which the full stack trace of a fingerprint is sent again.
+	 */
+	private final long resendInterval;
+
+	/**
+	 * Connection sequence the {@link #sentFingerprints} are valid for.
+	 */
+	private volatile long connectionSequence;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param connection
+	 *            Connection to track the re-connections. Can be <code>null</code>.
+	 */
+	public StackTraceFingerprintCache(IConnection connection) {
+		this(connection, DEFAULT_MAX_SIZE, DEFAULT_RESEND_INTERVAL);
+	}
+
+	/**
+	 * Constructor that allows definition of the maximum size and the resend interval.
+	 *
+	 * @param connection
+	 *            Connection to track the re-connections. Can be <code>null</code>.
+	 * @param maxSize
+	 *            Maximum amount of fingerprints to keep.
+	 * @param resendInterval
+	 *            Interval in milliseconds after which the full stack trace of a fingerprint is
+	 *            sent again.
+	 */
+	public StackTraceFingerprintCache(IConnection connection, int maxSize, long resendInterval) {
+		this.connection = connection;
+		this.maxSize = maxSize;
+		this.resendInterval = resendInterval;
+		this.connectionSequence = getCurrentConnectionSequence();
+	}
+
+	/**
+	 * Registers the fingerprint as sent.
+	 *
+	 * @param fingerprint
+	 *            Stack trace fingerprint.
+	 * @return <code>true</code> if the fingerprint was not sent before on the current connection
+	 *         or was sent longer than the resend interval ago and full stack trace should be sent,
+	 *         <code>false</code> otherwise.
+	 */
+	public boolean register(long fingerprint) {
+		long currentSequence = getCurrentConnectionSequence();
+		if (currentSequence != connectionSequence) {
+			connectionSequence = currentSequence;
+			sentFingerprints.clear();
+		} else if (sentFingerprints.size() >= maxSize) {
+			sentFingerprints.clear();
+		}
+
+		long now = System.currentTimeMillis();
+		Long sentTime = sentFingerprints.get(fingerprint);
+		if ((null != sentTime) && ((now - sentTime.longValue()) < resendInterval)) {
+			return false;
+		}
+
+		// concurrent threads might both send the stack trace, which is harmless
+		sentFingerprints.put(fingerprint, Long.valueOf(now));
+		return true;
+	}
+
+	/**
+	 * Computes the fingerprint of the throwable stack trace. The fingerprint includes the
+	 * throwable type, the message and all stack trace elements of the throwable and its causes, as
+	 * they are all part of the stack trace text. Computed fingerprint is never <code>0</code>.
+	 *
+	 * @param throwable
+	 *            Throwable
+	 * @return Fingerprint
+	 */
+	public static long fingerprint(Throwable throwable) {
+		long hash = 1125899906842597L;
+		Throwable current = throwable;
+		int depth = 0;
+		while ((null != current) && (depth < MAX_CAUSE_DEPTH)) {
+			hash = (31 * hash) + current.getClass().getName().hashCode();
+			// the stack trace text contains the localized message of the throwable and causes
+			String message = current.getLocalizedMessage();
+			hash = (31 * hash) + ((null != message) ? message.hashCode() : 0);
+			StackTraceElement[] elements = current.getStackTrace();
+			hash = (31 * hash) + elements.length;
+			for (StackTraceElement element : elements) {
+				hash = (31 * hash) + element.hashCode();
+			}
+
+			Throwable cause = current.getCause();
+			if (cause == current) { // NOPMD
+				break;
+			}
+			current = cause;
+			depth++;
+		}
+
+		// mix the bits so that similar traces are spread
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+
+		return (0 == hash) ? 1 : hash;
+	}
+
+	/**
+	 * Returns current connection sequence or <code>0</code> if connection is not available.
+	 *
+	 * @return Current connection sequence or <code>0</code> if connection is not available.
+	 */
+	private long getCurrentConnectionSequence() {
+		if (null != connection) {
+			return connection.getConnectionSequence();
+		} else {
+			return 0L;
+		}
+	}
+
+}
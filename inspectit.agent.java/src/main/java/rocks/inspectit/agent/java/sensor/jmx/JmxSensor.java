@@ -6,12 +6,15 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.MBeanAttributeInfo;
@@ -65,6 +68,11 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	private static final int DATA_COLLECT_INTERVAL = 5000;
 
+	/**
+	 * Default interval in which unchanged values are sent when only changed values are reported.
+	 */
+	private static final long DEFAULT_HEARTBEAT_INTERVAL = 60000L;
+
 	/**
 	 * Notification filter that listeners only to the MBeanServerNotification events.
 	 */
@@ -121,6 +129,17 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	long lastDataCollectionTimestamp = 0;
 
+	/**
+	 * If only the values that changed since the last collection should be sent.
+	 */
+	private boolean reportOnlyChangedValues;
+
+	/**
+	 * Interval in which the unchanged values are sent when {@link #reportOnlyChangedValues} is
+	 * active.
+	 */
+	private long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+
 	/**
 	 * Logs once, if the class cache is not available.
 	 */
@@ -141,6 +160,12 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
 				mbeanServerAdded(server);
 			}
+
+			reportOnlyChangedValues = Boolean.TRUE.equals(parameters.get("reportOnlyChangedValues"));
+			Object heartbeat = parameters.get("heartbeatInterval");
+			if (heartbeat instanceof Number) {
+				heartbeatInterval = ((Number) heartbeat).longValue();
+			}
 		}
 	}
 
@@ -249,15 +274,53 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 		Map<JmxAttributeDescriptor, Boolean> activeAttributes = holder.activeAttributes;
 		Map<String, ObjectName> nameStringToObjectName = holder.nameStringToObjectName;
 
+		// group the attributes by the bean, so that they are read with one call per bean
+		Map<String, List<JmxAttributeDescriptor>> beanDescriptors = new HashMap<String, List<JmxAttributeDescriptor>>();
+		for (JmxAttributeDescriptor descriptor : activeAttributes.keySet()) {
+			List<JmxAttributeDescriptor> descriptors = beanDescriptors.get(descriptor.getmBeanObjectName());
+			if (null == descriptors) {
+				descriptors = new ArrayList<JmxAttributeDescriptor>();
+				beanDescriptors.put(descriptor.getmBeanObjectName(), descriptors);
+			}
+			descriptors.add(descriptor);
+		}
+
 		Timestamp timestamp = new Timestamp(Calendar.getInstance().getTime().getTime());
-		for (Iterator<JmxAttributeDescriptor> iterator = activeAttributes.keySet().iterator(); iterator.hasNext();) {
-			JmxAttributeDescriptor descriptor = iterator.next();
+		long platformid = platformManager.getPlatformId();
+		for (Map.Entry<String, List<JmxAttributeDescriptor>> entry : beanDescriptors.entrySet()) {
+			ObjectName objectName = nameStringToObjectName.get(entry.getKey());
+			List<JmxAttributeDescriptor> descriptors = entry.getValue();
 
+			Map<String, Object> collectedValues;
 			try {
-				// Retrieving the value of the, in the JmxAttributeDescriptor specified,
-				// MBeanAttribute
-				ObjectName objectName = nameStringToObjectName.get(descriptor.getmBeanObjectName());
-				Object collectedValue = mBeanServer.getAttribute(objectName, descriptor.getAttributeName());
+				collectedValues = getAttributes(mBeanServer, objectName, descriptors);
+			} catch (Exception e) {
+				for (JmxAttributeDescriptor descriptor : descriptors) {
+					activeAttributes.remove(descriptor);
+					holder.reportedValues.remove(descriptor);
+				}
+				log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attributes from the MBean " + entry.getKey()
+				+ ". Attributes removed from the actively read list.", e);
+				continue;
+			}
+
+			for (JmxAttributeDescriptor descriptor : descriptors) {
+				Object collectedValue;
+				if (collectedValues.containsKey(descriptor.getAttributeName())) {
+					collectedValue = collectedValues.get(descriptor.getAttributeName());
+				} else {
+					// attributes that could not be read are not in the result, read it alone to
+					// find out why
+					try {
+						collectedValue = mBeanServer.getAttribute(objectName, descriptor.getAttributeName());
+					} catch (Exception e) {
+						activeAttributes.remove(descriptor);
+						holder.reportedValues.remove(descriptor);
+						log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attribute " + descriptor.getAttributeName() + " from the MBean "
+								+ descriptor.getmBeanObjectName() + ". Attribute removed from the actively read list.", e);
+						continue;
+					}
+				}
 
 				String value;
 				if (null == collectedValue) {
@@ -268,19 +331,72 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 					value = collectedValue.toString();
 				}
 
-				// Create a new JmxSensorValueData to be saved into the database
-				long platformid = platformManager.getPlatformId();
-				JmxSensorValueData jsvd = new JmxSensorValueData(descriptor.getId(), value, timestamp, platformid, sensorTypeIdent);
-
-				coreService.addDefaultData(jsvd);
-			} catch (Exception e) {
-				iterator.remove();
-				log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attribute " + descriptor.getAttributeName() + " from the MBean " + descriptor.getmBeanObjectName()
-				+ ". Attribute removed from the actively read list.", e);
+				if (shouldReport(holder, descriptor, value, timestamp.getTime())) {
+					// Create a new JmxSensorValueData to be saved into the database
+					JmxSensorValueData jsvd = new JmxSensorValueData(descriptor.getId(), value, timestamp, platformid, sensorTypeIdent);
+					coreService.addDefaultData(jsvd);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Reads the values of the attributes of one MBean with one call.
+	 *
+	 * @param mBeanServer
+	 *            Server to read from.
+	 * @param objectName
+	 *            Name of the MBean.
+	 * @param descriptors
+	 *            Descriptors of the attributes to read.
+	 * @return Map of the attribute names to the values. Attributes that could not be read are not
+	 *         contained in the map.
+	 * @throws Exception
+	 *             If reading the attributes fails.
+	 */
+	private Map<String, Object> getAttributes(MBeanServer mBeanServer, ObjectName objectName, List<JmxAttributeDescriptor> descriptors) throws Exception {
+		String[] attributeNames = new String[descriptors.size()];
+		for (int i = 0; i < attributeNames.length; i++) {
+			attributeNames[i] = descriptors.get(i).getAttributeName();
+		}
+
+		AttributeList attributeList = mBeanServer.getAttributes(objectName, attributeNames);
+		Map<String, Object> values = new HashMap<String, Object>(attributeList.size());
+		for (Attribute attribute : attributeList.asList()) {
+			values.put(attribute.getName(), attribute.getValue());
+		}
+		return values;
+	}
+
+	/**
+	 * Defines if the value of the attribute should be sent. If only changed values are reported,
+	 * the value is sent when it's different to the last sent one or when the last sent value is
+	 * older than the {@link #heartbeatInterval}.
+	 *
+	 * @param holder
+	 *            {@link MBeanServerHolder} keeping the last sent values.
+	 * @param descriptor
+	 *            Descriptor of the attribute.
+	 * @param value
+	 *            Collected value.
+	 * @param time
+	 *            Collection time.
+	 * @return <code>true</code> if the value should be sent
+	 */
+	private boolean shouldReport(MBeanServerHolder holder, JmxAttributeDescriptor descriptor, String value, long time) {
+		if (!reportOnlyChangedValues) {
+			return true;
+		}
+
+		ReportedValue reportedValue = holder.reportedValues.get(descriptor);
+		if ((null != reportedValue) && reportedValue.value.equals(value) && ((time - reportedValue.time) < heartbeatInterval)) {
+			return false;
+		}
+
+		holder.reportedValues.put(descriptor, new ReportedValue(value, time));
+		return true;
+	}
+
 	/**
 	 * Registers all attributes of all object names that are returned as the result of querying with
 	 * the given mBeanName on the server in the given holder.
@@ -426,6 +542,12 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 		 */
 		final Map<JmxAttributeDescriptor, Boolean> activeAttributes = new ConcurrentHashMap<JmxAttributeDescriptor, Boolean>();
 
+		/**
+		 * Last sent values of the active attributes, only filled when only changed values are
+		 * reported.
+		 */
+		final Map<JmxAttributeDescriptor, ReportedValue> reportedValues = new ConcurrentHashMap<JmxAttributeDescriptor, ReportedValue>();
+
 		/**
 		 * Default constructor.
 		 *
@@ -459,6 +581,7 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 						JmxAttributeDescriptor descriptor = it.next();
 						if (Objects.equal(descriptor.getmBeanObjectName(), mBeanNameString)) {
 							it.remove();
+							reportedValues.remove(descriptor);
 						}
 					}
 					nameStringToObjectName.remove(mBeanNameString);
@@ -468,4 +591,37 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Value of an attribute that was sent to the CMR.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	static final class ReportedValue {
+
+		/**
+		 * Sent value.
+		 */
+		final String value;
+
+		/**
+		 * Time the value was collected.
+		 */
+		final long time;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param value
+		 *            Sent value.
+		 * @param time
+		 *            Time the value was collected.
+		 */
+		ReportedValue(String value, long time) {
+			this.value = value;
+			this.time = time;
+		}
+
+	}
+
+}
@@ -139,6 +139,11 @@ public class RemoteClientHook implements IMethodHook {
 						LOG.debug("Remote client hook after body span " + span);
 					}
 
+					// spans of not sampled traces are not passed to the core service
+					if (span.isSampledOut()) {
+						return;
+					}
+
 					AbstractSpan transformedSpan = SpanTransformer.transformSpan(span);
 					transformedSpan.setPlatformIdent(platformManager.getPlatformId());
 					transformedSpan.setMethodIdent(methodId);
@@ -2,6 +2,7 @@ package rocks.inspectit.agent.java.sensor.method.special;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,6 +19,7 @@ import rocks.inspectit.agent.java.eum.data.DataHandler;
 import rocks.inspectit.agent.java.eum.data.IDataHandler;
 import rocks.inspectit.agent.java.eum.instrumentation.EumScriptTagPrinter;
 import rocks.inspectit.agent.java.eum.instrumentation.JSAgentBuilder;
+import rocks.inspectit.agent.java.eum.instrumentation.JSAgentBundle;
 import rocks.inspectit.agent.java.eum.instrumentation.TagInjectionResponseWrapper;
 import rocks.inspectit.agent.java.eum.reflection.WHttpServletRequest;
 import rocks.inspectit.agent.java.eum.reflection.WHttpServletResponse;
@@ -182,7 +184,7 @@ public class EUMInstrumentationHook implements ISpecialHook {
 				Matcher agentURLMatcher = jsAgentURLRegEx.matcher(path);
 				if (agentURLMatcher.matches()) {
 					String modules = agentURLMatcher.group(AGENT_MODULES_GROUP_INDEX).toLowerCase();
-					sendScript(res, modules);
+					sendScript(req, res, modules);
 					return true;
 				}
 				return false;
@@ -221,22 +223,103 @@ public class EUMInstrumentationHook implements ISpecialHook {
 	}
 
 	/**
-	 * Sends the script using the given response object.
+	 * Sends the script using the given response object. The script is sent gzip compressed if the
+	 * client accepts it, and not sent at all if the client already has the current version.
 	 *
+	 * @param req
+	 *            the script request
 	 * @param res
 	 *            the response to write
 	 * @param activeModules
 	 *            a String listing the identifiers of the active modules.
 	 */
-	private void sendScript(WHttpServletResponse res, String activeModules) {
+	private void sendScript(WHttpServletRequest req, WHttpServletResponse res, String activeModules) {
+		JSAgentBundle bundle = agentBuilder.getBundle(activeModules);
+		boolean gzip = acceptsGzip(req.getHeader("Accept-Encoding"));
+		String eTag = bundle.getETag(gzip);
+
+		res.addHeader("Cache-Control", "public, max-age=" + JSAgentBuilder.JS_AGENT_CACHE_MAX_AGE_SECONDS);
+		res.setHeader("ETag", eTag);
+		res.addHeader("Vary", "Accept-Encoding");
+
+		if (matchesETag(req.getHeader("If-None-Match"), eTag)) {
+			res.setStatus(304);
+			return;
+		}
+
 		// we respond with the script code
 		res.setStatus(200);
 		res.setContentType("application/javascript");
-		res.addHeader("Cache-Control", "public, max-age=" + JSAgentBuilder.JS_AGENT_CACHE_MAX_AGE_SECONDS);
+		res.setCharacterEncoding(JSAgentBundle.CHARSET.name());
+		if (gzip) {
+			res.setHeader("Content-Encoding", "gzip");
+		}
 
-		PrintWriter writer = res.getWriter();
-		writer.write(agentBuilder.buildJsFile(activeModules));
-		writer.flush();
+		byte[] content = bundle.getContent(gzip);
+		res.setContentLength(content.length);
+		try {
+			OutputStream out = res.getOutputStream();
+			out.write(content);
+			out.flush();
+		} catch (IOException e) {
+			LOG.error("Error sending the JS agent!", e);
+		}
+	}
+
+	/**
+	 * Checks if the given Accept-Encoding header allows the gzip encoding.
+	 *
+	 * @param acceptEncoding
+	 *            the value of the Accept-Encoding header, can be null
+	 * @return true if gzip is accepted
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (null == acceptEncoding) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+				for (int i = 1; i < parts.length; i++) {
+					String parameter = parts[i].trim();
+					if (parameter.startsWith("q=")) {
+						try {
+							return Double.parseDouble(parameter.substring(2)) > 0;
+						} catch (NumberFormatException e) {
+							return false;
+						}
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the given If-None-Match header matches the ETag.
+	 *
+	 * @param ifNoneMatch
+	 *            the value of the If-None-Match header, can be null
+	 * @param eTag
+	 *            the quoted ETag of the current content
+	 * @return true if the client has the current content
+	 */
+	static boolean matchesETag(String ifNoneMatch, String eTag) {
+		if (null == ifNoneMatch) {
+			return false;
+		}
+		for (String tag : ifNoneMatch.split(",")) {
+			String trimmed = tag.trim();
+			// weak comparison is used for If-None-Match
+			if (trimmed.startsWith("W/")) {
+				trimmed = trimmed.substring(2);
+			}
+			if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -28,6 +28,7 @@ import rocks.inspectit.agent.java.connection.impl.AgentAwareClient;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
 import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
 import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
+import rocks.inspectit.agent.java.tracing.core.SamplerFactory;
 import rocks.inspectit.agent.java.util.AgentAwareThread;
 import rocks.inspectit.shared.all.instrumentation.config.impl.AbstractSensorTypeConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxSensorTypeConfig;
@@ -143,7 +144,8 @@ public class SpringConfiguration implements BeanDefinitionRegistryPostProcessor
 	}
 
 	/**
-	 * Creates the {@link TracerImpl}.
+	 * Creates the {@link TracerImpl}. The trace sampler is defined with the JVM parameters, see
+	 * {@link SamplerFactory}.
 	 *
 	 * @param reporter
 	 *            Reporter to use. Autowired.
@@ -154,6 +156,8 @@ public class SpringConfiguration implements BeanDefinitionRegistryPostProcessor
 	@Autowired
 	public TracerImpl getTracer(Reporter reporter) {
 		TracerImpl tracer = new TracerImpl(new SystemTimer(), reporter, true);
+		tracer.setSampler(SamplerFactory.createSampler());
+		tracer.setAlwaysReportErrors(SamplerFactory.isAlwaysReportErrors());
 		return tracer;
 	}
 
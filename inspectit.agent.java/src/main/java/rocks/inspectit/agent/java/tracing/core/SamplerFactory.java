@@ -0,0 +1,104 @@
+package rocks.inspectit.agent.java.tracing.core;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ProbabilisticSampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.RateLimitingSampler;
+
+/**
+ * Factory for the trace {@link Sampler} defined with the JVM parameters. The type of the sampler is
+ * defined with the {@value #SAMPLER_PROPERTY} parameter and can be <code>const</code>,
+ * <code>probabilistic</code> or <code>ratelimiting</code>. The sampler argument (decision,
+ * sampling rate or traces per second per operation) is defined with the
+ * {@value #SAMPLER_PARAM_PROPERTY} parameter. If no sampler is defined all traces are sampled.
+ *
+ * @author Ivan Senic
+ *
+ */
+public final class SamplerFactory {
+
+	/**
+	 * JVM parameter defining the sampler type.
+	 */
+	public static final String SAMPLER_PROPERTY = "inspectit.tracing.sampler";
+
+	/**
+	 * JVM parameter defining the sampler argument.
+	 */
+	public static final String SAMPLER_PARAM_PROPERTY = "inspectit.tracing.sampler.param";
+
+	/**
+	 * JVM parameter defining if spans marked as error are always reported.
+	 */
+	public static final String REPORT_ERRORS_PROPERTY = "inspectit.tracing.sampler.reportErrors";
+
+	/**
+	 * The logger of the class.
+	 */
+	private static final Logger LOG = LoggerFactory.getLogger(SamplerFactory.class);
+
+	/**
+	 * Private constructor.
+	 */
+	private SamplerFactory() {
+	}
+
+	/**
+	 * Creates the sampler defined with the JVM parameters.
+	 *
+	 * @return {@link Sampler}, never <code>null</code>.
+	 */
+	public static Sampler createSampler() {
+		return createSampler(System.getProperty(SAMPLER_PROPERTY), System.getProperty(SAMPLER_PARAM_PROPERTY));
+	}
+
+	/**
+	 * Returns if spans marked as error should always be reported as defined with the JVM
+	 * parameters. Defaults to <code>true</code>.
+	 *
+	 * @return If spans marked as error should always be reported.
+	 */
+	public static boolean isAlwaysReportErrors() {
+		return !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty(REPORT_ERRORS_PROPERTY));
+	}
+
+	/**
+	 * Creates the sampler of the given type.
+	 *
+	 * @param type
+	 *            Sampler type.
+	 * @param param
+	 *            Sampler argument.
+	 * @return {@link Sampler}, never <code>null</code>. Sampler sampling all traces is returned if
+	 *         the type is not defined or the sampler can not be created.
+	 */
+	static Sampler createSampler(String type, String param) {
+		if (StringUtils.isBlank(type)) {
+			return ConstSampler.ALWAYS;
+		}
+
+		try {
+			Sampler sampler;
+			if ("const".equalsIgnoreCase(type)) {
+				sampler = StringUtils.isBlank(param) || Boolean.parseBoolean(param) ? ConstSampler.ALWAYS : ConstSampler.NEVER;
+			} else if ("probabilistic".equalsIgnoreCase(type)) {
+				sampler = new ProbabilisticSampler(Double.parseDouble(param));
+			} else if ("ratelimiting".equalsIgnoreCase(type)) {
+				sampler = new RateLimitingSampler(Double.parseDouble(param));
+			} else {
+				LOG.warn("Unknown trace sampler type '" + type + "', all traces will be sampled.");
+				return ConstSampler.ALWAYS;
+			}
+
+			LOG.info("Trace sampler defined in the JVM parameters: " + sampler);
+			return sampler;
+		} catch (Exception e) {
+			LOG.warn("Trace sampler could not be created from the JVM parameters, all traces will be sampled.", e);
+			return ConstSampler.ALWAYS;
+		}
+	}
+}
@@ -1,9 +1,7 @@
 package rocks.inspectit.agent.java.tracing.core.transformer;
 
 import java.sql.Timestamp;
-import java.util.Map;
 
-import org.apache.commons.collections.MapUtils;
 import org.apache.commons.collections.Transformer;
 import org.apache.commons.lang.math.NumberUtils;
 
@@ -87,22 +85,21 @@ public final class SpanTransformer implements Transformer {
 			span.addTag(ExtraTags.OPERATION_NAME, spanImpl.getOperationName());
 		}
 
-		// tags
-		if (MapUtils.isNotEmpty(spanImpl.getTags())) {
-			// extra for propagation
-			String propagation = spanImpl.getTags().get(ExtraTags.PROPAGATION_TYPE);
-			span.setPropagationType(PropagationType.safeValueOf(propagation));
-
-			// extra for method and sensor id
-			String methodId = spanImpl.getTags().get(ExtraTags.INSPECTT_METHOD_ID);
-			span.setMethodIdent(NumberUtils.toLong(methodId, 0));
-			String sensorId = spanImpl.getTags().get(ExtraTags.INSPECTT_SENSOR_ID);
-			span.setSensorTypeIdent(NumberUtils.toLong(sensorId, 0));
-
-			for (Map.Entry<String, String> entry : spanImpl.getTags().entrySet()) {
-				if (!isTagIgnored(entry.getKey())) {
-					span.addTag(entry.getKey(), entry.getValue());
-				}
+		// tags, copied directly without creating the tag map of the span impl
+		int tagCount = spanImpl.getTagCount();
+		for (int i = 0; i < tagCount; i++) {
+			String key = spanImpl.getTagKey(i);
+			String value = spanImpl.getTagValue(i);
+			if (ExtraTags.PROPAGATION_TYPE.equals(key)) {
+				// extra for propagation
+				span.setPropagationType(PropagationType.safeValueOf(value));
+			} else if (ExtraTags.INSPECTT_METHOD_ID.equals(key)) {
+				// extra for method and sensor id
+				span.setMethodIdent(NumberUtils.toLong(value, 0));
+			} else if (ExtraTags.INSPECTT_SENSOR_ID.equals(key)) {
+				span.setSensorTypeIdent(NumberUtils.toLong(value, 0));
+			} else if (!Tags.SPAN_KIND.getKey().equals(key)) {
+				span.addTag(key, value);
 			}
 		}
 
@@ -129,16 +126,4 @@ public final class SpanTransformer implements Transformer {
 			return serverSpan;
 		}
 	}
-
-	/**
-	 * If tags key is ignored for the copy to the our span representation. Ignored are: propagation
-	 * type. method and sensor id as well as spin kind.
-	 *
-	 * @param key
-	 *            tag key
-	 * @return if tag with given key should be ignored when copied.
-	 */
-	private static boolean isTagIgnored(String key) {
-		return ExtraTags.PROPAGATION_TYPE.equals(key) || ExtraTags.INSPECTT_METHOD_ID.equals(key) || ExtraTags.INSPECTT_SENSOR_ID.equals(key) || Tags.SPAN_KIND.getKey().equals(key);
-	}
 }
@@ -110,10 +110,28 @@ public class CharacterRingBuffer implements CharSequence {
 	 *            the character sequence to append to the end of the buffer
 	 */
 	public final void append(CharSequence sequence) {
-		int len = sequence.length();
+		append(sequence, 0, sequence.length());
+	}
+
+	/**
+	 * Appends the given part of the character sequence to the end of this buffer, resizing the
+	 * buffer if necessary. In contrast to appending a sub sequence, no intermediate copy of the
+	 * characters is created.<br>
+	 * Runtime complexity of this operation is amortised O(n) where n is the number of characters
+	 * to append.
+	 *
+	 * @param sequence
+	 *            the character sequence to append a part of
+	 * @param start
+	 *            the index of the first character to append
+	 * @param end
+	 *            the index after the last character to append
+	 */
+	public final void append(CharSequence sequence, int start, int end) {
+		int len = end - start;
 		ensureCapacity(length + len);
 		for (int pos = 0; pos < len; pos++) {
-			buffer[(beginOffset + length + pos) % buffer.length] = sequence.charAt(pos);
+			buffer[(beginOffset + length + pos) % buffer.length] = sequence.charAt(start + pos);
 		}
 		length += len;
 	}
@@ -8,6 +8,7 @@ import static org.hamcrest.Matchers.notNullValue;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -318,6 +319,55 @@ public class PropertyAccessorTest extends AbstractLogSupport {
 		Mockito.verifyZeroInteractions(resultValueMock);
 	}
 
+	@Test
+	public void repeatedAccessReadsCurrentValue() throws PropertyAccessException {
+		Person peter = new Person("Peter");
+		Person hans = new Person("Hans");
+		peter.setChild(hans);
+
+		PropertyPathStart start = new PropertyPathStart();
+		start.setName("this");
+		start.setContentType(ParameterContentType.FIELD);
+		PropertyPath path = new PropertyPath("child");
+		start.setPathToContinue(path);
+		PropertyPath path2 = new PropertyPath("name");
+		path.setPathToContinue(path2);
+
+		String result = propertyAccessor.getPropertyContent(start, peter, null, resultValueMock, false);
+		assertThat(result, is("Hans"));
+
+		hans.setName("Juergen");
+		result = propertyAccessor.getPropertyContent(start, peter, null, resultValueMock, false);
+		assertThat(result, is("Juergen"));
+
+		peter.setChild(null);
+		result = propertyAccessor.getPropertyContent(start, peter, null, resultValueMock, false);
+		assertThat(result, is("null"));
+		Mockito.verifyZeroInteractions(resultValueMock);
+	}
+
+	@Test
+	public void samePathDifferentClasses() throws PropertyAccessException {
+		PropertyPathStart start = new PropertyPathStart();
+		start.setName("list");
+		start.setSignaturePosition(0);
+		start.setContentType(ParameterContentType.PARAM);
+		PropertyPath path = new PropertyPath("size()");
+		start.setPathToContinue(path);
+
+		List<String> arrayList = new ArrayList<String>();
+		arrayList.add("a");
+		String result = propertyAccessor.getPropertyContent(start, null, new Object[] { arrayList }, resultValueMock, false);
+		assertThat(result, is("1"));
+
+		List<String> linkedList = new LinkedList<String>();
+		linkedList.add("a");
+		linkedList.add("b");
+		result = propertyAccessor.getPropertyContent(start, null, new Object[] { linkedList }, resultValueMock, false);
+		assertThat(result, is("2"));
+		Mockito.verifyZeroInteractions(resultValueMock);
+	}
+
 	@Test
 	public void analyzeReturnValueString() throws PropertyAccessException {
 		// valid
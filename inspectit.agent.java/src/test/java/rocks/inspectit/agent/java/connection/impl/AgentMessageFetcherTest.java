@@ -4,7 +4,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -23,6 +26,7 @@ import org.slf4j.Logger;
 import org.springframework.context.ApplicationEventPublisher;
 import org.testng.annotations.Test;
 
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.core.IPlatformManager;
@@ -58,6 +62,7 @@ public class AgentMessageFetcherTest extends TestBase {
 			messageFetcher.postConstruct();
 
 			verify(executorService).scheduleAtFixedRate(messageFetcher, 30L, 30L, TimeUnit.SECONDS);
+			verify(executorService).scheduleWithFixedDelay(messageFetcher.subscriptionTask, 5L, 5L, TimeUnit.SECONDS);
 			verifyNoMoreInteractions(executorService);
 		}
 	}
@@ -67,6 +72,9 @@ public class AgentMessageFetcherTest extends TestBase {
 	 */
 	public static class Run extends AgentMessageFetcherTest {
 
+		@Mock
+		ScheduledExecutorService executorService;
+
 		@Mock
 		ApplicationEventPublisher eventPublisher;
 
@@ -152,5 +160,133 @@ public class AgentMessageFetcherTest extends TestBase {
 			verifyNoMoreInteractions(connection);
 			verifyZeroInteractions(eventPublisher, platformManager);
 		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void pushConfirmedFetchesAsFallback() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(platformManager.isPlatformRegistered()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+			when(connection.fetchAgentMessages(10L)).thenReturn(Collections.EMPTY_LIST);
+			messageFetcher.subscriptionTask.run();
+			messageFetcher.agentMessagesReceived(Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class)));
+
+			for (int i = 0; i < 10; i++) {
+				messageFetcher.run();
+			}
+
+			verify(connection).fetchAgentMessages(10L);
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void subscribedWithoutPushFetchesEveryRun() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(platformManager.isPlatformRegistered()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+			when(connection.fetchAgentMessages(10L)).thenReturn(Collections.EMPTY_LIST);
+			messageFetcher.subscriptionTask.run();
+
+			for (int i = 0; i < 10; i++) {
+				messageFetcher.run();
+			}
+
+			verify(connection, times(10)).fetchAgentMessages(10L);
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void reconnectNeedsNewConfirmation() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.getConnectionSequence()).thenReturn(1L, 2L);
+			when(platformManager.isPlatformRegistered()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+			when(connection.fetchAgentMessages(10L)).thenReturn(Collections.EMPTY_LIST);
+			messageFetcher.subscriptionTask.run();
+			messageFetcher.agentMessagesReceived(Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class)));
+			messageFetcher.subscriptionTask.run();
+
+			for (int i = 0; i < 10; i++) {
+				messageFetcher.run();
+			}
+
+			verify(connection, times(2)).subscribeAgentMessages(10L, messageFetcher);
+			verify(connection, times(10)).fetchAgentMessages(10L);
+		}
+	}
+
+	/**
+	 * Test the {@link AgentMessageFetcher.SubscriptionTask}.
+	 */
+	public static class Subscription extends AgentMessageFetcherTest {
+
+		@Mock
+		IPlatformManager platformManager;
+
+		@Mock
+		IConnection connection;
+
+		@Test
+		public void subscribed() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.getConnectionSequence()).thenReturn(1L);
+			when(platformManager.isPlatformRegistered()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+
+			messageFetcher.subscriptionTask.run();
+			messageFetcher.subscriptionTask.run();
+
+			verify(connection).subscribeAgentMessages(10L, messageFetcher);
+		}
+
+		@Test
+		public void subscribedAgainAfterReconnect() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.getConnectionSequence()).thenReturn(1L, 2L);
+			when(platformManager.isPlatformRegistered()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+
+			messageFetcher.subscriptionTask.run();
+			messageFetcher.subscriptionTask.run();
+
+			verify(connection, times(2)).subscribeAgentMessages(10L, messageFetcher);
+		}
+
+		@Test
+		public void notRegistered() throws Exception {
+			when(connection.isConnected()).thenReturn(true);
+			when(platformManager.isPlatformRegistered()).thenReturn(false);
+
+			messageFetcher.subscriptionTask.run();
+
+			verify(connection, never()).subscribeAgentMessages(anyLong(), any(IAgentMessageListener.class));
+		}
+	}
+
+	/**
+	 * Test the {@link AgentMessageFetcher#agentMessagesReceived(List)} method.
+	 */
+	public static class AgentMessagesReceived extends AgentMessageFetcherTest {
+
+		@Mock
+		ScheduledExecutorService executorService;
+
+		@Mock
+		ApplicationEventPublisher eventPublisher;
+
+		@Test
+		public void published() {
+			List<IAgentMessage<?>> messages = Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class));
+
+			messageFetcher.agentMessagesReceived(messages);
+
+			ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+			verify(executorService).execute(runnableCaptor.capture());
+			verifyZeroInteractions(eventPublisher);
+			runnableCaptor.getValue().run();
+			ArgumentCaptor<AgentMessagesReceivedEvent> eventCaptor = ArgumentCaptor.forClass(AgentMessagesReceivedEvent.class);
+			verify(eventPublisher).publishEvent(eventCaptor.capture());
+			assertThat(eventCaptor.getValue().getAgentMessages(), is(equalTo(messages)));
+		}
 	}
 }
@@ -0,0 +1,65 @@
+package rocks.inspectit.agent.java.eum.html;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.UnsupportedEncodingException;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link ByteCharSequence}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class ByteCharSequenceTest extends TestBase {
+
+	public static class CharAt extends ByteCharSequenceTest {
+
+		@Test
+		public void asciiUnchanged() throws UnsupportedEncodingException {
+			byte[] bytes = "x<head>x".getBytes("UTF-8");
+
+			ByteCharSequence sequence = new ByteCharSequence(bytes, 1, 6);
+
+			assertThat(sequence.length(), equalTo(6));
+			assertThat(sequence.toString(), equalTo("<head>"));
+			assertThat(sequence.charAt(0), equalTo('<'));
+		}
+
+		@Test
+		public void nonAsciiOutsideOfAsciiRange() throws UnsupportedEncodingException {
+			byte[] bytes = "ä€".getBytes("UTF-8");
+
+			ByteCharSequence sequence = new ByteCharSequence(bytes, 0, bytes.length);
+
+			for (int i = 0; i < sequence.length(); i++) {
+				assertThat(sequence.charAt(i) > 127, equalTo(true));
+				assertThat(Character.isWhitespace(sequence.charAt(i)), equalTo(false));
+			}
+		}
+
+		@Test(expectedExceptions = IndexOutOfBoundsException.class)
+		public void outOfBounds() {
+			new ByteCharSequence(new byte[] { 1, 2, 3 }, 1, 1).charAt(1);
+		}
+	}
+
+	public static class SubSequence extends ByteCharSequenceTest {
+
+		@Test
+		public void view() throws UnsupportedEncodingException {
+			byte[] bytes = "<html><body>".getBytes("UTF-8");
+
+			CharSequence sequence = new ByteCharSequence(bytes, 0, bytes.length).subSequence(6, 12);
+
+			assertThat(sequence.toString(), equalTo("<body>"));
+			assertThat(sequence.subSequence(1, 5).toString(), equalTo("body"));
+		}
+	}
+
+}
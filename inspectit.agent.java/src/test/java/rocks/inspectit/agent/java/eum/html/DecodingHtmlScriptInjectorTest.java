@@ -89,7 +89,8 @@ public class DecodingHtmlScriptInjectorTest extends TestBase {
 			String encoding = "UTF-8";
 			injector.setCharacterEncoding(encoding);
 
-			assertThat(injector.performInjection(new byte[] { -1 }), equalTo(null)); // -1 alone is not a valid char in UTF-8
+			// -1 is not a valid char in UTF-8, UTF-8 is not decoded but the bytes are no html
+			assertThat(injector.performInjection(new byte[] { -1, -1 }), equalTo(null));
 
 			assertThat(injector.hasTerminated(), equalTo(true));
 		}
@@ -106,7 +107,8 @@ public class DecodingHtmlScriptInjectorTest extends TestBase {
 
 		@Test
 		public void testLeftOverRemaining() throws UnsupportedEncodingException {
-			String encoding = "UTF-8";
+			// UTF-8 is not decoded, thus use an encoding which is not ASCII compatible
+			String encoding = "UTF-16BE";
 			injector.setCharacterEncoding(encoding);
 			byte[] testdata = new byte[] { "ü".getBytes(encoding)[0] }; // "ü" is a two-byte char
 
@@ -117,6 +119,92 @@ public class DecodingHtmlScriptInjectorTest extends TestBase {
 			assertThat(injector.hasTerminated(), equalTo(true));
 		}
 
+		@Test
+		public void testUTF8MultiByteCharacters() throws UnsupportedEncodingException {
+			String src = "<!DOCTYPE html>\n<html lang=\"äöü\">\n<head>" + INJECTION_POS_MARKER + "<title>Grüße €</title></head><body>日本語</body></html>";
+			String expectedResult = getExpectedResult(src);
+
+			String encoding = "UTF-8";
+			injector.setCharacterEncoding(encoding);
+
+			String result = new String(runInjector(src.getBytes(encoding)), encoding);
+			assertThat(result, equalTo(expectedResult));
+		}
+
+		@Test
+		public void testISO88591() throws UnsupportedEncodingException {
+			String src = loadHtmlSource("/html/testCase-BodyInjection.html");
+			String expectedResult = getExpectedResult(src);
+
+			String encoding = "ISO-8859-1";
+			injector.setCharacterEncoding(encoding);
+
+			String result = new String(runInjector(src.getBytes(encoding)), encoding);
+			assertThat(result, equalTo(expectedResult));
+		}
+
+		@Test
+		public void testUTF16BE() throws UnsupportedEncodingException {
+			String src = loadHtmlSource("/html/testCase-HeadInjection.html");
+			String expectedResult = getExpectedResult(src);
+
+			String encoding = "UTF-16BE";
+			injector.setCharacterEncoding(encoding);
+
+			String result = new String(runInjector(src.getBytes(encoding)), encoding);
+			assertThat(result, equalTo(expectedResult));
+		}
+
+		@Test
+		public void testSingleChunk() throws UnsupportedEncodingException {
+			StringBuilder src = new StringBuilder("<html><head>");
+			src.append(INJECTION_POS_MARKER);
+			src.append("</head><body>");
+			while (src.length() < (100 * 1024)) {
+				src.append("<p>Ünïcödé content</p>\n");
+			}
+			src.append("</body></html>");
+			String expectedResult = getExpectedResult(src.toString());
+
+			String encoding = "UTF-8";
+			injector.setCharacterEncoding(encoding);
+			byte[] data = src.toString().getBytes(encoding);
+
+			byte[] result = injector.performInjection(data, 0, data.length);
+			assertThat(new String(result, encoding), equalTo(expectedResult));
+			assertThat(injector.hasTerminated(), equalTo(true));
+		}
+
+		@Test
+		public void testOffset() throws UnsupportedEncodingException {
+			String encoding = "UTF-8";
+			injector.setCharacterEncoding(encoding);
+			byte[] data = "ignored<body>ä</body>ignored".getBytes(encoding);
+
+			byte[] result = injector.performInjection(data, 7, data.length - 14);
+			assertThat(new String(result, encoding), equalTo("<body>" + TAG_TO_INJECT + "ä</body>"));
+		}
+
+		@Test
+		public void testDoubleInjectionPrevented() throws UnsupportedEncodingException {
+			String encoding = "UTF-8";
+			injector.setCharacterEncoding(encoding);
+
+			assertThat(injector.performInjection(("<html><head>" + TAG_TO_INJECT + "</head>").getBytes(encoding)), equalTo(null));
+			assertThat(injector.hasTerminated(), equalTo(true));
+		}
+
+		@Test
+		public void testMixedBytesAndCharacters() throws UnsupportedEncodingException {
+			String encoding = "UTF-8";
+			injector.setCharacterEncoding(encoding);
+
+			assertThat(injector.performInjection("<html>".getBytes(encoding)), equalTo(null));
+			assertThat(injector.performInjection("\n<he"), equalTo(null));
+			byte[] result = injector.performInjection("ad>ö".getBytes(encoding));
+			assertThat(new String(result, encoding), equalTo("ad>" + TAG_TO_INJECT + "ö"));
+		}
+
 	}
 
 }
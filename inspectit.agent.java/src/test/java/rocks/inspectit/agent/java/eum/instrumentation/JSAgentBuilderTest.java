@@ -0,0 +1,73 @@
+package rocks.inspectit.agent.java.eum.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.io.ByteStreams;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link JSAgentBuilder}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class JSAgentBuilderTest extends TestBase {
+
+	JSAgentBuilder builder;
+
+	@BeforeMethod
+	public void init() {
+		builder = new JSAgentBuilder();
+		builder.setConfiguration(null);
+	}
+
+	public static class GetBundle extends JSAgentBuilderTest {
+
+		@Test
+		public void cached() {
+			JSAgentBundle bundle = builder.getBundle("12");
+
+			assertThat(builder.getBundle("12"), is(sameInstance(bundle)));
+			assertThat(builder.getBundle("13"), is(not(sameInstance(bundle))));
+		}
+
+		@Test
+		public void content() throws IOException {
+			JSAgentBundle bundle = builder.getBundle("12");
+
+			String script = builder.buildJsFile("12");
+			assertThat(new String(bundle.getContent(false), JSAgentBundle.CHARSET), is(equalTo(script)));
+			byte[] unzipped = ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(bundle.getContent(true))));
+			assertThat(new String(unzipped, JSAgentBundle.CHARSET), is(equalTo(script)));
+			assertThat(bundle.getETag(true), is(not(equalTo(bundle.getETag(false)))));
+			assertThat(bundle.getETag(false), is(equalTo(new JSAgentBundle(script).getETag(false))));
+		}
+
+		@Test
+		public void cacheLimited() {
+			for (int i = 0; i < 100; i++) {
+				builder.getBundle(String.valueOf(i));
+			}
+
+			JSAgentBundle bundle = builder.getBundle("100");
+
+			assertThat(builder.getBundle("100"), is(not(sameInstance(bundle))));
+			assertThat(builder.getBundle("100").getETag(false), is(equalTo(bundle.getETag(false))));
+			assertThat(builder.getBundle("0"), is(sameInstance(builder.getBundle("0"))));
+		}
+	}
+
+}
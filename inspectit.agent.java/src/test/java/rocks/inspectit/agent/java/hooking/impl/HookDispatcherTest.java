@@ -196,6 +196,76 @@ public class HookDispatcherTest extends TestBase {
 			verifyNoMoreInteractions(registeredSensorConfig);
 		}
 
+		@Test
+		public void dispatchManyMethodHooksMergedAfterBody() {
+			IMethodHook methodHookOne = mock(IMethodHook.class);
+			IMethodHook methodHookTwo = mock(IMethodHook.class);
+			IMethodSensor methodSensorOne = mock(IMethodSensor.class);
+			IMethodSensor methodSensorTwo = mock(IMethodSensor.class);
+			MethodSensorTypeConfig methodSensorConfigOne = mock(MethodSensorTypeConfig.class);
+			MethodSensorTypeConfig methodSensorConfigTwo = mock(MethodSensorTypeConfig.class);
+			long sensorTypeIdOne = 7L;
+			long sensorTypeIdTwo = 13L;
+			when(methodSensorConfigOne.getId()).thenReturn(sensorTypeIdOne);
+			when(methodSensorConfigTwo.getId()).thenReturn(sensorTypeIdTwo);
+			when(methodSensorOne.getHook()).thenReturn(methodHookOne);
+			when(methodSensorTwo.getHook()).thenReturn(methodHookTwo);
+			when(methodSensorOne.getSensorTypeConfig()).thenReturn(methodSensorConfigOne);
+			when(methodSensorTwo.getSensorTypeConfig()).thenReturn(methodSensorConfigTwo);
+
+			RegisteredSensorConfig registeredSensorConfig = mock(RegisteredSensorConfig.class);
+			List<IMethodSensor> sensors = Arrays.<IMethodSensor> asList(methodSensorOne, methodSensorTwo);
+			when(registeredSensorConfig.getMethodSensors()).thenReturn(sensors);
+
+			int methodId = 3;
+			Object object = mock(Object.class);
+			Object[] parameters = new Object[0];
+			Object returnValue = mock(Object.class);
+
+			hookDispatcher.addMapping(methodId, registeredSensorConfig);
+
+			hookDispatcher.dispatchMethodAfterBody(methodId, object, parameters, returnValue, false);
+			verify(registeredSensorConfig, times(1)).isStartsInvocation();
+			verify(registeredSensorConfig, times(2)).getMethodSensors();
+			InOrder inOrder = inOrder(methodHookOne, methodHookTwo);
+			inOrder.verify(methodHookOne, times(1)).firstAfterBody(methodId, sensorTypeIdOne, object, parameters, returnValue, false, registeredSensorConfig);
+			inOrder.verify(methodHookTwo, times(1)).firstAfterBody(methodId, sensorTypeIdTwo, object, parameters, returnValue, false, registeredSensorConfig);
+			inOrder.verify(methodHookOne, times(1)).secondAfterBody(coreService, methodId, sensorTypeIdOne, object, parameters, returnValue, false, registeredSensorConfig);
+			inOrder.verify(methodHookTwo, times(1)).secondAfterBody(coreService, methodId, sensorTypeIdTwo, object, parameters, returnValue, false, registeredSensorConfig);
+
+			verifyZeroInteractions(object, coreService, returnValue);
+			verifyNoMoreInteractions(methodHookOne, methodHookTwo);
+			verifyNoMoreInteractions(registeredSensorConfig);
+		}
+
+		@Test
+		public void dispatchMethodHookNotIndexedId() {
+			long sensorTypeId = 7L;
+			IMethodSensor methodSensor = mock(IMethodSensor.class);
+			IMethodHook methodHook = mock(IMethodHook.class);
+			MethodSensorTypeConfig methodSensorConfig = mock(MethodSensorTypeConfig.class);
+			when(methodSensor.getHook()).thenReturn(methodHook);
+			when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorConfig);
+			when(methodSensorConfig.getId()).thenReturn(sensorTypeId);
+
+			RegisteredSensorConfig registeredSensorConfig = mock(RegisteredSensorConfig.class);
+			when(registeredSensorConfig.getMethodSensorsReverse()).thenReturn(Collections.singletonList(methodSensor));
+
+			long methodId = RegisteredSensorConfigTable.MAX_INDEXED_ID + 3L;
+			Object object = mock(Object.class);
+			Object[] parameters = new Object[0];
+
+			hookDispatcher.addMapping(methodId, registeredSensorConfig);
+
+			hookDispatcher.dispatchMethodBeforeBody(methodId, object, parameters);
+			verify(registeredSensorConfig, times(1)).isStartsInvocation();
+			verify(registeredSensorConfig, times(1)).getMethodSensorsReverse();
+			verify(methodHook, times(1)).beforeBody(methodId, sensorTypeId, object, parameters, registeredSensorConfig);
+
+			verifyZeroInteractions(object, coreService);
+			verifyNoMoreInteractions(registeredSensorConfig, methodHook);
+		}
+
 		@Test
 		public void dispatchOneMethodHookWithInvocationTrace() {
 			boolean exception = RandomUtils.nextBoolean();
@@ -66,6 +66,16 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 		}
 	};
 
+	protected static final Answer<MethodVisitor> MERGED_METHOD_INSTRUMENTER_ANSWER = new Answer<MethodVisitor>() {
+
+		@Override
+		public MethodVisitor answer(InvocationOnMock invocation) throws Throwable {
+			Object[] arguments = invocation.getArguments();
+			SensorInstrumentationPoint sip = (SensorInstrumentationPoint) arguments[0];
+			return getMergedMethodInstrumenter((MethodVisitor) arguments[1], (Integer) arguments[2], (String) arguments[3], (String) arguments[4], sip.getId(), (Boolean) arguments[5]);
+		}
+	};
+
 	protected static final Answer<MethodVisitor> CONSTRUCTOR_INSTRUMENTER_ANSWER = new Answer<MethodVisitor>() {
 
 		@Override
@@ -1157,6 +1167,86 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 			verifyNoMoreInteractions(hookDispatcher);
 		}
 
+		// merged after body
+
+		@Test
+		public void mergedAfterBodyVoid() throws Exception {
+			String methodName = "voidNullParameter";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(MERGED_METHOD_INSTRUMENTER_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(TEST_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(TEST_CLASS_FQN, b);
+			this.callMethod(testClass, methodName, null);
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass, new Object[0]);
+			verify(hookDispatcher).dispatchMethodAfterBody(methodId, testClass, new Object[0], null, false);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void mergedAfterBodyDouble() throws Exception {
+			String methodName = "doubleNullParameter";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(MERGED_METHOD_INSTRUMENTER_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(TEST_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(TEST_CLASS_FQN, b);
+			this.callMethod(testClass, methodName, null);
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass, new Object[0]);
+			verify(hookDispatcher).dispatchMethodAfterBody(methodId, testClass, new Object[0], 5.3D, false);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void mergedAfterBodyUnexpectedExceptionTrowing() throws Exception {
+			String methodName = "unexpectedExceptionThrowing";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(MERGED_METHOD_INSTRUMENTER_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(TEST_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(TEST_CLASS_FQN, b);
+			try {
+				this.callMethod(testClass, methodName, null);
+			} catch (Throwable t) {
+			}
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass, new Object[0]);
+			verify(hookDispatcher).dispatchMethodAfterBody(eq(methodId), eq(testClass), eq(new Object[0]), isA(Throwable.class), eq(true));
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
 	}
 
 	protected void prepareWriter(ClassReader cr, ClassLoader classLoader, boolean enhancedExceptionSensor, MethodInstrumentationConfig... configs) {
@@ -1173,6 +1263,15 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 		};
 	}
 
+	protected static MethodInstrumenter getMergedMethodInstrumenter(MethodVisitor superMethodVisitor, int access, String name, String desc, long id, boolean enhancedExceptionSensor) {
+		return new MethodInstrumenter(superMethodVisitor, access, name, desc, id, enhancedExceptionSensor, true) {
+			@Override
+			protected void loadHookDispatcher() {
+				mv.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(ClassInstrumenterTest.class), "dispatcher", Type.getDescriptor(IHookDispatcher.class));
+			}
+		};
+	}
+
 	protected static ConstructorInstrumenter getConstructorInstrumenter(MethodVisitor superMethodVisitor, int access, String name, String desc, long id, boolean enhancedExceptionSensor) {
 		return new ConstructorInstrumenter(superMethodVisitor, access, name, desc, id, enhancedExceptionSensor) {
 			@Override
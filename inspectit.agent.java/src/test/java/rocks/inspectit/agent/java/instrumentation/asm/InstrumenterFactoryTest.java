@@ -55,6 +55,25 @@ public class InstrumenterFactoryTest extends TestBase {
 			MethodInstrumenter methodInstrumenter = (MethodInstrumenter) methodVisitor;
 			assertThat(methodInstrumenter.getMethodId(), is(id));
 			assertThat(methodInstrumenter.isEnhancedExceptionSensor(), is(enhancedExceptionSensor));
+			assertThat(methodInstrumenter.isMergedAfterBody(), is(true));
+		}
+
+		@Test
+		public void methodSplitAfterBody() {
+			long id = 7L;
+			String name = "method";
+			String desc = "()V";
+			boolean enhancedExceptionSensor = false;
+			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
+			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			factory.setMergeAfterBodyDispatch(false);
+
+			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, enhancedExceptionSensor);
+
+			assertThat(methodVisitor, is(instanceOf(MethodInstrumenter.class)));
+			MethodInstrumenter methodInstrumenter = (MethodInstrumenter) methodVisitor;
+			assertThat(methodInstrumenter.getMethodId(), is(id));
+			assertThat(methodInstrumenter.isMergedAfterBody(), is(false));
 		}
 
 		@Test
@@ -0,0 +1,143 @@
+package rocks.inspectit.agent.java.sensor.exception;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Test for the {@link StackTraceFingerprintCache}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class StackTraceFingerprintCacheTest extends TestBase {
+
+	@Mock
+	IConnection connection;
+
+	public static class Register extends StackTraceFingerprintCacheTest {
+
+		@Test
+		public void firstTime() {
+			StackTraceFingerprintCache cache = new StackTraceFingerprintCache(connection);
+
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(10L), is(false));
+			assertThat(cache.register(11L), is(true));
+		}
+
+		@Test
+		public void noConnection() {
+			StackTraceFingerprintCache cache = new StackTraceFingerprintCache(null);
+
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(10L), is(false));
+		}
+
+		@Test
+		public void reconnected() {
+			when(connection.getConnectionSequence()).thenReturn(1L);
+			StackTraceFingerprintCache cache = new StackTraceFingerprintCache(connection);
+
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(10L), is(false));
+
+			when(connection.getConnectionSequence()).thenReturn(2L);
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(10L), is(false));
+		}
+
+		@Test
+		public void maxSize() {
+			StackTraceFingerprintCache cache = new StackTraceFingerprintCache(connection, 2, Long.MAX_VALUE);
+
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(11L), is(true));
+			assertThat(cache.register(12L), is(true));
+			assertThat(cache.register(10L), is(true));
+		}
+
+		@Test
+		public void resendInterval() {
+			StackTraceFingerprintCache cache = new StackTraceFingerprintCache(connection, 10, 0L);
+
+			assertThat(cache.register(10L), is(true));
+			assertThat(cache.register(10L), is(true));
+		}
+	}
+
+	public static class Fingerprint extends StackTraceFingerprintCacheTest {
+
+		@Test
+		public void sameStackTrace() {
+			Throwable first = null;
+			Throwable second = null;
+			for (int i = 0; i < 2; i++) {
+				Throwable throwable = new IllegalStateException("message", new IllegalArgumentException("cause"));
+				if (0 == i) {
+					first = throwable;
+				} else {
+					second = throwable;
+				}
+			}
+
+			// line of creation and messages are same
+			assertThat(StackTraceFingerprintCache.fingerprint(first), is(StackTraceFingerprintCache.fingerprint(second)));
+		}
+
+		@Test
+		public void differentMessage() {
+			Throwable first = new IllegalStateException("message1");
+			Throwable second = new IllegalStateException("message2");
+			second.setStackTrace(first.getStackTrace());
+
+			assertThat(StackTraceFingerprintCache.fingerprint(first), is(not(StackTraceFingerprintCache.fingerprint(second))));
+		}
+
+		@Test
+		public void differentCauseMessage() {
+			Throwable firstCause = new IllegalStateException("cause1");
+			Throwable secondCause = new IllegalStateException("cause2");
+			secondCause.setStackTrace(firstCause.getStackTrace());
+			Throwable first = new RuntimeException("message", firstCause);
+			Throwable second = new RuntimeException("message", secondCause);
+			second.setStackTrace(first.getStackTrace());
+
+			assertThat(StackTraceFingerprintCache.fingerprint(first), is(not(StackTraceFingerprintCache.fingerprint(second))));
+		}
+
+		@Test
+		public void differentType() {
+			Throwable first = new IllegalStateException();
+			Throwable second = new IllegalArgumentException();
+			first.setStackTrace(second.getStackTrace());
+
+			assertThat(StackTraceFingerprintCache.fingerprint(first), is(not(StackTraceFingerprintCache.fingerprint(second))));
+		}
+
+		@Test
+		public void differentCause() {
+			Throwable cause = new IllegalStateException();
+			Throwable first = new RuntimeException(cause);
+			Throwable second = new RuntimeException();
+			second.setStackTrace(first.getStackTrace());
+
+			assertThat(StackTraceFingerprintCache.fingerprint(first), is(not(StackTraceFingerprintCache.fingerprint(second))));
+		}
+
+		@Test
+		public void neverZero() {
+			Throwable throwable = new RuntimeException();
+
+			assertThat(StackTraceFingerprintCache.fingerprint(throwable), is(not(0L)));
+		}
+	}
+}
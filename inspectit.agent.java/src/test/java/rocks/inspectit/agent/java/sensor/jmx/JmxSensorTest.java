@@ -1,8 +1,11 @@
 package rocks.inspectit.agent.java.sensor.jmx;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isOneOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
@@ -18,7 +21,12 @@ import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
@@ -294,14 +302,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, value));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -343,7 +351,7 @@ public class JmxSensorTest extends TestBase {
 			when(platformManager.getPlatformId()).thenReturn(platformIdent);
 			when(connection.isConnected()).thenReturn(true);
 			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenReturn(Collections.<JmxAttributeDescriptor> emptyList());
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, value));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
@@ -387,6 +395,54 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenThrow(Exception.class);
+			jmxSensor.mbeanServerAdded(mBeanServer);
+
+			// update twice
+			jmxSensor.update(coreService);
+			jmxSensor.lastDataCollectionTimestamp = 0;
+			jmxSensor.update(coreService);
+
+			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
+			verify(mBeanServer).getMBeanInfo(objectName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
+			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
+			verifyNoMoreInteractions(mBeanServer);
+		}
+
+		@Test
+		public void collectDataAttributeNotReturned() throws Exception {
+			long sensorType = 13L;
+			long platformIdent = 11L;
+			final long definitionDataIdentId = 17L;
+			String testObjectName = "Testdomain:Test=TestObjectName,name=test";
+			String testAttributeName = "TestAttributename";
+			String testAttrDescription = "test-description";
+			String testAttrType = "test-type";
+			boolean testAttrIsReadable = true;
+			boolean testAttrIsWriteable = false;
+			boolean testAttrIsIs = false;
+			MBeanAttributeInfo mBeanAttributeInfo = new MBeanAttributeInfo(testAttributeName, testAttrType, testAttrDescription, testAttrIsReadable, testAttrIsWriteable, testAttrIsIs);
+			MBeanAttributeInfo[] mBeanAttributeInfos = { mBeanAttributeInfo };
+			ObjectName objectName = new ObjectName(testObjectName);
+
+			when(sensorTypeConfig.getId()).thenReturn(sensorType);
+			when(mBeanServer.queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null))).thenReturn(Collections.singleton(objectName));
+			when(mBeanServer.getMBeanInfo(Matchers.<ObjectName> any())).thenReturn(mBeanInfo);
+			when(mBeanInfo.getAttributes()).thenReturn(mBeanAttributeInfos);
+			when(platformManager.getPlatformId()).thenReturn(platformIdent);
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenAnswer(new Answer<Collection<JmxAttributeDescriptor>>() {
+				@Override
+				public Collection<JmxAttributeDescriptor> answer(InvocationOnMock invocation) throws Throwable {
+					Collection<JmxAttributeDescriptor> descriptors = (Collection<JmxAttributeDescriptor>) invocation.getArguments()[1];
+					for (JmxAttributeDescriptor d : descriptors) {
+						d.setId(definitionDataIdentId);
+					}
+					return descriptors;
+				}
+			});
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList());
 			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenThrow(Exception.class);
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
@@ -397,9 +453,64 @@ public class JmxSensorTest extends TestBase {
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).getAttribute(objectName, testAttributeName);
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
+			verifyZeroInteractions(coreService);
+		}
+
+		@Test
+		public void collectDataOneCallPerBean() throws Exception {
+			long sensorType = 13L;
+			long platformIdent = 11L;
+			String testObjectName = "Testdomain:Test=TestObjectName,name=test";
+			String firstAttributeName = "FirstAttributename";
+			String secondAttributeName = "SecondAttributename";
+			MBeanAttributeInfo[] mBeanAttributeInfos = { new MBeanAttributeInfo(firstAttributeName, "test-type", "test-description", true, false, false),
+					new MBeanAttributeInfo(secondAttributeName, "test-type", "test-description", true, false, false) };
+			ObjectName objectName = new ObjectName(testObjectName);
+
+			when(sensorTypeConfig.getId()).thenReturn(sensorType);
+			when(mBeanServer.queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null))).thenReturn(Collections.singleton(objectName));
+			when(mBeanServer.getMBeanInfo(Matchers.<ObjectName> any())).thenReturn(mBeanInfo);
+			when(mBeanInfo.getAttributes()).thenReturn(mBeanAttributeInfos);
+			when(platformManager.getPlatformId()).thenReturn(platformIdent);
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenAnswer(new Answer<Collection<JmxAttributeDescriptor>>() {
+				@Override
+				public Collection<JmxAttributeDescriptor> answer(InvocationOnMock invocation) throws Throwable {
+					return (Collection<JmxAttributeDescriptor>) invocation.getArguments()[1];
+				}
+			});
+			when(mBeanServer.getAttributes(eq(objectName), Matchers.<String[]> any())).thenAnswer(new Answer<AttributeList>() {
+				@Override
+				public AttributeList answer(InvocationOnMock invocation) throws Throwable {
+					AttributeList attributeList = new AttributeList();
+					for (String name : (String[]) invocation.getArguments()[1]) {
+						attributeList.add(new Attribute(name, name + "Value"));
+					}
+					return attributeList;
+				}
+			});
+			jmxSensor.mbeanServerAdded(mBeanServer);
+
+			jmxSensor.update(coreService);
+
+			ArgumentCaptor<String[]> namesCaptor = ArgumentCaptor.forClass(String[].class);
+			verify(mBeanServer).getAttributes(eq(objectName), namesCaptor.capture());
+			assertThat(namesCaptor.getValue(), is(arrayContainingInAnyOrder(firstAttributeName, secondAttributeName)));
+			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
+			verify(mBeanServer).getMBeanInfo(objectName);
+			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
+			verifyNoMoreInteractions(mBeanServer);
+
+			ArgumentCaptor<JmxSensorValueData> valueCaptor = ArgumentCaptor.forClass(JmxSensorValueData.class);
+			verify(coreService, times(2)).addDefaultData(valueCaptor.capture());
+			List<JmxSensorValueData> values = valueCaptor.getAllValues();
+			assertThat(values.get(0).getValue(), isOneOf(firstAttributeName + "Value", secondAttributeName + "Value"));
+			assertThat(values.get(1).getValue(), isOneOf(firstAttributeName + "Value", secondAttributeName + "Value"));
+			assertThat(values.get(0).getValue(), is(not(values.get(1).getValue())));
 		}
 
 		@Test
@@ -434,14 +545,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(null);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, null));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -486,14 +597,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(new int[] { 1, 2, 3 });
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, new int[] { 1, 2, 3 }));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -538,14 +649,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(new String[] { "1", "2", "3" });
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, new String[] { "1", "2", "3" }));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -559,6 +670,82 @@ public class JmxSensorTest extends TestBase {
 		}
 	}
 
+	public static class ReportOnlyChangedValues extends JmxSensorTest {
+
+		String testAttributeName = "TestAttributename";
+
+		ObjectName objectName;
+
+		@BeforeMethod
+		public void init() throws Exception {
+			long platformIdent = 11L;
+			objectName = new ObjectName("Testdomain:Test=TestObjectName,name=test");
+			MBeanAttributeInfo[] mBeanAttributeInfos = { new MBeanAttributeInfo(testAttributeName, "test-type", "test-description", true, false, false) };
+
+			when(sensorTypeConfig.getId()).thenReturn(13L);
+			when(mBeanServer.queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null))).thenReturn(Collections.singleton(objectName));
+			when(mBeanServer.getMBeanInfo(Matchers.<ObjectName> any())).thenReturn(mBeanInfo);
+			when(mBeanInfo.getAttributes()).thenReturn(mBeanAttributeInfos);
+			when(platformManager.getPlatformId()).thenReturn(platformIdent);
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenAnswer(new Answer<Collection<JmxAttributeDescriptor>>() {
+				@Override
+				public Collection<JmxAttributeDescriptor> answer(InvocationOnMock invocation) throws Throwable {
+					return (Collection<JmxAttributeDescriptor>) invocation.getArguments()[1];
+				}
+			});
+		}
+
+		@Test
+		public void unchangedValueNotSent() throws Exception {
+			init(60000L);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, "value"));
+
+			jmxSensor.update(coreService);
+			jmxSensor.lastDataCollectionTimestamp = 0;
+			jmxSensor.update(coreService);
+
+			verify(mBeanServer, times(2)).getAttributes(objectName, new String[] { testAttributeName });
+			verify(coreService, times(1)).addDefaultData(Matchers.<JmxSensorValueData> any());
+		}
+
+		@Test
+		public void changedValueSent() throws Exception {
+			init(60000L);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, "value"), attributeList(testAttributeName, "otherValue"));
+
+			jmxSensor.update(coreService);
+			jmxSensor.lastDataCollectionTimestamp = 0;
+			jmxSensor.update(coreService);
+
+			ArgumentCaptor<JmxSensorValueData> valueCaptor = ArgumentCaptor.forClass(JmxSensorValueData.class);
+			verify(coreService, times(2)).addDefaultData(valueCaptor.capture());
+			assertThat(valueCaptor.getAllValues().get(0).getValue(), is("value"));
+			assertThat(valueCaptor.getAllValues().get(1).getValue(), is("otherValue"));
+		}
+
+		@Test
+		public void unchangedValueSentAfterHeartbeat() throws Exception {
+			init(0L);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, "value"));
+
+			jmxSensor.update(coreService);
+			jmxSensor.lastDataCollectionTimestamp = 0;
+			jmxSensor.update(coreService);
+
+			verify(coreService, times(2)).addDefaultData(Matchers.<JmxSensorValueData> any());
+		}
+
+		private void init(long heartbeatInterval) {
+			Map<String, Object> parameters = new HashMap<String, Object>();
+			parameters.put("reportOnlyChangedValues", Boolean.TRUE);
+			parameters.put("heartbeatInterval", Long.valueOf(heartbeatInterval));
+			when(sensorTypeConfig.getParameters()).thenReturn(parameters);
+			jmxSensor.init(sensorTypeConfig);
+			jmxSensor.mbeanServerAdded(mBeanServer);
+		}
+	}
+
 	public static class HandleNotification extends JmxSensorTest {
 
 		@BeforeMethod
@@ -604,7 +791,7 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(attributeList(testAttributeName, value));
 			MBeanServerNotification notification = new MBeanServerNotification(MBeanServerNotification.REGISTRATION_NOTIFICATION, this, 1, objectName);
 
 			notificationListener.getValue().handleNotification(notification, null);
@@ -622,7 +809,7 @@ public class JmxSensorTest extends TestBase {
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verifyNoMoreInteractions(mBeanServer);
 
 			ArgumentCaptor<JmxSensorValueData> valueCaptor = ArgumentCaptor.forClass(JmxSensorValueData.class);
@@ -694,4 +881,8 @@ public class JmxSensorTest extends TestBase {
 		}
 	}
 
-}
\ No newline at end of file
+	protected AttributeList attributeList(String name, Object value) {
+		return new AttributeList(Collections.singletonList(new Attribute(name, value)));
+	}
+
+}
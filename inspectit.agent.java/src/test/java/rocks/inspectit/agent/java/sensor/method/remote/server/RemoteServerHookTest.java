@@ -106,6 +106,28 @@ public class RemoteServerHookTest extends TestBase {
 		verifyNoMoreInteractions(adapterProvider, serverInterceptor, coreService);
 	}
 
+	@Test
+	public void notSampled() throws Exception {
+		long methodId = 7l;
+		long sensorId = 13l;
+		boolean exception = RandomUtils.nextBoolean();
+		Object[] parameters = new String[] { "blah", "bla" };
+		doReturn(requestAdapter).when(adapterProvider).getServerRequestAdapter(object, parameters, rsc);
+		doReturn(responseAdapter).when(adapterProvider).getServerResponseAdapter(object, parameters, result, exception, rsc);
+		SpanImpl spanImpl = mock(SpanImpl.class);
+		when(spanImpl.isSampledOut()).thenReturn(true);
+		when(serverInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
+		when(serverInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
+
+		hook.beforeBody(methodId, sensorId, object, parameters, rsc);
+		hook.firstAfterBody(methodId, sensorId, object, parameters, result, exception, rsc);
+		hook.secondAfterBody(coreService, methodId, sensorId, object, parameters, result, exception, rsc);
+
+		verify(serverInterceptor).handleRequest(requestAdapter);
+		verify(serverInterceptor).handleResponse(spanImpl, responseAdapter);
+		verifyZeroInteractions(coreService);
+	}
+
 	@Test
 	public void spanNull() throws Exception {
 		// ids
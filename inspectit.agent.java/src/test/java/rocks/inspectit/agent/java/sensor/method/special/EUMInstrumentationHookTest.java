@@ -10,10 +10,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
-import java.io.StringWriter;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.Cookie;
@@ -28,11 +30,14 @@ import org.slf4j.Logger;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.google.common.io.ByteStreams;
+
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.config.StorageException;
 import rocks.inspectit.agent.java.config.impl.SpecialSensorConfig;
 import rocks.inspectit.agent.java.eum.data.IDataHandler;
 import rocks.inspectit.agent.java.eum.instrumentation.JSAgentBuilder;
+import rocks.inspectit.agent.java.eum.instrumentation.JSAgentBundle;
 import rocks.inspectit.agent.java.eum.instrumentation.TagInjectionResponseWrapper;
 import rocks.inspectit.agent.java.proxy.IProxySubject;
 import rocks.inspectit.agent.java.proxy.IRuntimeLinker;
@@ -95,7 +100,7 @@ public class EUMInstrumentationHookTest extends TestBase {
 		when(config.getEndUserMonitoringConfig()).thenReturn(eumConfig);
 		when(dummyResponse.getWriter()).thenReturn(Mockito.mock(PrintWriter.class));
 		when(dummyResponse.getOutputStream()).thenReturn(Mockito.mock(ServletOutputStream.class));
-		when(agentBuilder.buildJsFile(any(String.class))).thenReturn(AGENT_CODE);
+		when(agentBuilder.getBundle(any(String.class))).thenReturn(new JSAgentBundle(AGENT_CODE));
 
 	}
 
@@ -126,6 +131,18 @@ public class EUMInstrumentationHookTest extends TestBase {
 		});
 	}
 
+	protected ByteArrayOutputStream mockOutputStream() throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		ServletOutputStream stream = new ServletOutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				result.write(b);
+			}
+		};
+		when(dummyResponse.getOutputStream()).thenReturn(stream);
+		return result;
+	}
+
 	public static class BeforeBody extends EUMInstrumentationHookTest {
 
 		private static final String FAKE_BEACON = "Json beacon usually goes here..";
@@ -150,15 +167,47 @@ public class EUMInstrumentationHookTest extends TestBase {
 			hook = new EUMInstrumentationHook(linker, tracer, dataHandler, config, agentBuilder);
 			String scriptUrl = eumConfig.getScriptBaseUrl() + JSAgentModule.JAVASCRIPT_URL_PREFIX + "32488_" + eumConfig.getActiveModules() + ".JS";
 			when(dummyRequest.getRequestURI()).thenReturn(scriptUrl);
-			StringWriter response = new StringWriter();
-			PrintWriter pw = new PrintWriter(response);
-			when(dummyResponse.getWriter()).thenReturn(pw);
+			ByteArrayOutputStream response = mockOutputStream();
+
+			boolean intercepted = null != hook.beforeBody(METHOD_ID, dummyServlet, new Object[] { dummyRequest, dummyResponse }, ssc);
+
+			assertThat(intercepted, equalTo(true));
+			assertThat(new String(response.toByteArray(), JSAgentBundle.CHARSET), equalTo(AGENT_CODE));
+			verify(dummyResponse).setStatus(200);
+			verify(dummyResponse).setHeader("ETag", new JSAgentBundle(AGENT_CODE).getETag(false));
+			verify(dummyResponse, never()).setHeader(Mockito.eq("Content-Encoding"), any(String.class));
+		}
+
+		@Test
+		public void testScriptInterceptionGzip() throws IOException {
+			hook = new EUMInstrumentationHook(linker, tracer, dataHandler, config, agentBuilder);
+			String scriptUrl = eumConfig.getScriptBaseUrl() + JSAgentModule.JAVASCRIPT_URL_PREFIX + "32488_" + eumConfig.getActiveModules() + ".JS";
+			when(dummyRequest.getRequestURI()).thenReturn(scriptUrl);
+			when(dummyRequest.getHeader("Accept-Encoding")).thenReturn("deflate, gzip;q=1.0");
+			ByteArrayOutputStream response = mockOutputStream();
 
 			boolean intercepted = null != hook.beforeBody(METHOD_ID, dummyServlet, new Object[] { dummyRequest, dummyResponse }, ssc);
 
 			assertThat(intercepted, equalTo(true));
-			assertThat(response.toString(), equalTo(AGENT_CODE));
+			byte[] content = ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(response.toByteArray())));
+			assertThat(new String(content, JSAgentBundle.CHARSET), equalTo(AGENT_CODE));
+			verify(dummyResponse).setHeader("Content-Encoding", "gzip");
+			verify(dummyResponse).setHeader("ETag", new JSAgentBundle(AGENT_CODE).getETag(true));
+		}
 
+		@Test
+		public void testScriptNotModified() throws IOException {
+			hook = new EUMInstrumentationHook(linker, tracer, dataHandler, config, agentBuilder);
+			String scriptUrl = eumConfig.getScriptBaseUrl() + JSAgentModule.JAVASCRIPT_URL_PREFIX + "32488_" + eumConfig.getActiveModules() + ".JS";
+			when(dummyRequest.getRequestURI()).thenReturn(scriptUrl);
+			when(dummyRequest.getHeader("If-None-Match")).thenReturn("\"other\", " + new JSAgentBundle(AGENT_CODE).getETag(false));
+
+			boolean intercepted = null != hook.beforeBody(METHOD_ID, dummyServlet, new Object[] { dummyRequest, dummyResponse }, ssc);
+
+			assertThat(intercepted, equalTo(true));
+			verify(dummyResponse).setStatus(304);
+			verify(dummyResponse, never()).getOutputStream();
+			verify(dummyResponse, never()).getWriter();
 		}
 
 		@Test
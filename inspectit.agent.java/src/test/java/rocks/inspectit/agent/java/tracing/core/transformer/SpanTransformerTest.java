@@ -37,6 +37,12 @@ public class SpanTransformerTest extends TestBase {
 		@Mock
 		SpanImpl spanImpl;
 
+		private void mockTag(String key, String value) {
+			when(spanImpl.getTagCount()).thenReturn(1);
+			when(spanImpl.getTagKey(0)).thenReturn(key);
+			when(spanImpl.getTagValue(0)).thenReturn(value);
+		}
+
 		@Test
 		public void spanNull() {
 			AbstractSpan span = SpanTransformer.transformSpan(null);
@@ -98,7 +104,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void propagation() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(ExtraTags.PROPAGATION_TYPE, PropagationType.JMS.toString()));
+			mockTag(ExtraTags.PROPAGATION_TYPE, PropagationType.JMS.toString());
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -109,7 +115,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void tag() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap("key", "value"));
+			mockTag("key", "value");
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -120,7 +126,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void spanKindIgnored() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER));
+			mockTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER);
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -130,7 +136,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void methodIdTag() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(ExtraTags.INSPECTT_METHOD_ID, "7"));
+			mockTag(ExtraTags.INSPECTT_METHOD_ID, "7");
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -141,7 +147,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void methodIdTagWrong() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(ExtraTags.INSPECTT_METHOD_ID, "blabla"));
+			mockTag(ExtraTags.INSPECTT_METHOD_ID, "blabla");
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -152,7 +158,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void sensorIdTag() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(ExtraTags.INSPECTT_SENSOR_ID, "7"));
+			mockTag(ExtraTags.INSPECTT_SENSOR_ID, "7");
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
@@ -163,7 +169,7 @@ public class SpanTransformerTest extends TestBase {
 		@Test
 		public void sensorIdTagWrong() {
 			when(spanImpl.context()).thenReturn(SpanContextImpl.build());
-			when(spanImpl.getTags()).thenReturn(Collections.singletonMap(ExtraTags.INSPECTT_SENSOR_ID, "blabla"));
+			mockTag(ExtraTags.INSPECTT_SENSOR_ID, "blabla");
 
 			AbstractSpan span = SpanTransformer.transformSpan(spanImpl);
 
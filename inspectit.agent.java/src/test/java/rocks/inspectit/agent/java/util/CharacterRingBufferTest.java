@@ -98,6 +98,18 @@ public class CharacterRingBufferTest extends TestBase {
 
 			assertThat(result, equalTo("cdefghij"));
 		}
+
+		@Test
+		public void testPart() {
+			CharacterRingBuffer rb = new CharacterRingBuffer(5);
+
+			rb.append("abcd");
+			rb.erase(2);
+			rb.append("xefghijx", 1, 7);
+			String result = rb.toString();
+
+			assertThat(result, equalTo("cdefghij"));
+		}
 	}
 
 	public static class Erase extends CharacterRingBufferTest {
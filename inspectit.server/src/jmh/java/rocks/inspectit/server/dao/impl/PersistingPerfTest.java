@@ -0,0 +1,144 @@
+package rocks.inspectit.server.dao.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import rocks.inspectit.server.util.JpaUtil;
+import rocks.inspectit.shared.all.communication.data.CpuInformationData;
+
+/**
+ * Ingestion test against the embedded H2 database. Compares persisting the objects one by one (as
+ * done before) with the batched persisting of the {@link JpaUtil#persistAll(EntityManager, Iterable, int)}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistingPerfTest {
+
+	/**
+	 * Amount of objects persisted in one transaction.
+	 */
+	@Param({ "1000", "10000" })
+	private int objects;
+
+	/**
+	 * JDBC batch size and flush size.
+	 */
+	@Param({ "1", "50", "200" })
+	private int batchSize;
+
+	/**
+	 * Factory bean to close on tear down.
+	 */
+	private LocalContainerEntityManagerFactoryBean factoryBean;
+
+	/**
+	 * Entity manager factory.
+	 */
+	private EntityManagerFactory entityManagerFactory;
+
+	@Setup(Level.Trial)
+	public void init() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:perf;DB_CLOSE_DELAY=-1", "inspectit", "inspectit");
+		dataSource.setDriverClassName("org.h2.Driver");
+
+		HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+		vendorAdapter.setGenerateDdl(true);
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("hibernate.hbm2ddl.auto", "create-drop");
+		properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+		properties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+		properties.put("hibernate.order_inserts", "true");
+
+		factoryBean = new LocalContainerEntityManagerFactoryBean();
+		factoryBean.setDataSource(dataSource);
+		factoryBean.setJpaVendorAdapter(vendorAdapter);
+		factoryBean.setPackagesToScan("rocks.inspectit");
+		factoryBean.setPersistenceUnitName("PerfPersistenceUnit");
+		factoryBean.setJpaPropertyMap(properties);
+		factoryBean.afterPropertiesSet();
+
+		entityManagerFactory = factoryBean.getObject();
+	}
+
+	@TearDown(Level.Trial)
+	public void destroy() {
+		factoryBean.destroy();
+	}
+
+	@Benchmark
+	public void oneByOne() {
+		List<CpuInformationData> data = createData();
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			entityManager.getTransaction().begin();
+			for (CpuInformationData cpuInformationData : data) {
+				entityManager.persist(cpuInformationData);
+			}
+			entityManager.getTransaction().commit();
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	@Benchmark
+	public void batched() {
+		List<CpuInformationData> data = createData();
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			entityManager.getTransaction().begin();
+			JpaUtil.persistAll(entityManager, data, batchSize);
+			entityManager.getTransaction().commit();
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	/**
+	 * Creates the new objects to be persisted.
+	 *
+	 * @return List of new {@link CpuInformationData}.
+	 */
+	private List<CpuInformationData> createData() {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		List<CpuInformationData> data = new ArrayList<>(objects);
+		for (int i = 0; i < objects; i++) {
+			CpuInformationData cpuInformationData = new CpuInformationData(timestamp, 1L, 1L);
+			cpuInformationData.setCount(1);
+			cpuInformationData.setTotalCpuUsage(i % 100);
+			data.add(cpuInformationData);
+		}
+		return data;
+	}
+}
@@ -0,0 +1,87 @@
+package rocks.inspectit.server.dao.impl;
+
+import java.sql.Timestamp;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Multi-threaded test of the {@link TimerDataAggregator} simulating charting timer data coming from
+ * many agents and methods at the same time.
+ *
+ * @author Ivan Senic
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TimerDataAggregatorPerfTest {
+
+	/**
+	 * Number of different agents to simulate.
+	 */
+	@Param({ "10", "50" })
+	private int agents;
+
+	/**
+	 * Number of different methods per agent to simulate.
+	 */
+	@Param({ "100", "1000" })
+	private int methods;
+
+	/**
+	 * Aggregator under test.
+	 */
+	private TimerDataAggregator aggregator;
+
+	/**
+	 * Prepared timer data, one per agent and method.
+	 */
+	private TimerData[] timerDatas;
+
+	@Setup(Level.Iteration)
+	public void init() {
+		aggregator = new TimerDataAggregator(null);
+		// all data in same period and enough space so that nothing is persisted
+		aggregator.aggregationPeriod = Long.MAX_VALUE;
+		aggregator.maxElements = agents * methods;
+
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		timerDatas = new TimerData[agents * methods];
+		for (int i = 0; i < agents; i++) {
+			for (int j = 0; j < methods; j++) {
+				TimerData timerData = new TimerData(timestamp, i, 1L, j);
+				timerData.setCount(1L);
+				timerData.setDuration(j);
+				timerData.calculateMin(j);
+				timerData.calculateMax(j);
+				timerDatas[(i * methods) + j] = timerData;
+			}
+		}
+	}
+
+	@Benchmark
+	public void processTimerData() {
+		aggregator.processTimerData(timerDatas[ThreadLocalRandom.current().nextInt(timerDatas.length)]);
+	}
+
+}
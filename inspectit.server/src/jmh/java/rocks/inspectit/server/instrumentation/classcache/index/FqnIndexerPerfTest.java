@@ -26,14 +26,15 @@ import org.openjdk.jmh.annotations.Warmup;
 
 import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.pattern.WildcardMatchPattern;
 
 /**
  * Performance test for the {@link FqnIndexer} class.
  * <p>
- * In this test we test two methods {@link FqnIndexer#lookup(String)} and
- * {@link FqnIndexer#findStartsWith(String)}. As the setup for this method we are putting around 5K
- * real class names into the indexer. These classes can be found in the <i>classes</i> file in the
- * same package as this class.
+ * In this test we test the methods {@link FqnIndexer#lookup(String)},
+ * {@link FqnIndexer#findStartsWith(String)} and the pattern search with the leading wild-card. As
+ * the setup for this method we are putting around 5K real class names into the indexer. These
+ * classes can be found in the <i>classes</i> file in the same package as this class.
  *
  * @author Ivan Senic
  *
@@ -97,6 +98,41 @@ public class FqnIndexerPerfTest {
 		}
 	}
 
+	/**
+	 * Find by pattern with leading wild-card, for example <i>*Servlet</i>. Uses the suffix index.
+	 */
+	@Benchmark
+	public void findByPatternLeadingWildCard() {
+		WildcardMatchPattern pattern = new WildcardMatchPattern('*' + getRandomSimpleClassName());
+		if (CollectionUtils.isEmpty(indexer.findByPattern(pattern))) {
+			throw new RuntimeException("Performance test not valid, classes not found by pattern in indexer.");
+		}
+	}
+
+	/**
+	 * Find by pattern with leading wild-card by checking every indexed type. This is how the
+	 * {@link FqnIndexer#findByPattern(rocks.inspectit.shared.all.pattern.IMatchPattern)} resolved
+	 * such patterns before the suffix index was introduced.
+	 */
+	@Benchmark
+	public void findByPatternLeadingWildCardLinear() {
+		WildcardMatchPattern pattern = new WildcardMatchPattern('*' + getRandomSimpleClassName());
+		List<Type> results = new ArrayList<>();
+		for (Type type : indexer.findStartsWith("")) {
+			if (pattern.match(type.getFQN())) {
+				results.add(type);
+			}
+		}
+		if (CollectionUtils.isEmpty(results)) {
+			throw new RuntimeException("Performance test not valid, classes not found by pattern in indexer.");
+		}
+	}
+
+	private String getRandomSimpleClassName() {
+		String className = getRandomClassName();
+		return className.substring(className.lastIndexOf('.') + 1);
+	}
+
 	private String getRandomClassName() {
 		return classes.get(RandomUtils.nextInt(classes.size()));
 	}
@@ -1,5 +1,6 @@
 package rocks.inspectit.server.alerting;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -52,6 +53,18 @@ public class AlertingScheduler implements Runnable, ApplicationListener<Abstract
 	@Value("${alerting.active}")
 	boolean active;
 
+	/**
+	 * If the thresholds should be checked in batches.
+	 */
+	@Value("${alerting.batchChecks}")
+	boolean batchChecks;
+
+	/**
+	 * If the thresholds are checked by the {@link StreamingThresholdChecker}.
+	 */
+	@Value("${alerting.streaming}")
+	boolean streaming;
+
 	/**
 	 * {@link ExecutorService} instance.
 	 */
@@ -65,6 +78,12 @@ public class AlertingScheduler implements Runnable, ApplicationListener<Abstract
 	@Autowired
 	ThresholdChecker thresholdChecker;
 
+	/**
+	 * {@link StreamingThresholdChecker} instance.
+	 */
+	@Autowired
+	StreamingThresholdChecker streamingThresholdChecker;
+
 	/**
 	 * {@link ScheduledFuture} of the currently executed {@link AlertingScheduler}.
 	 */
@@ -110,6 +129,16 @@ public class AlertingScheduler implements Runnable, ApplicationListener<Abstract
 
 		long currentTime = System.currentTimeMillis();
 
+		if (streaming) {
+			runStreaming(currentTime);
+			return;
+		}
+
+		if (batchChecks) {
+			runBatched(currentTime);
+			return;
+		}
+
 		for (AlertingState alertingState : alertingStates) {
 			try {
 				long nextCheckTime = alertingState.getLastCheckTime() + alertingState.getAlertingDefinition().getTimeRange(TimeUnit.MILLISECONDS);
@@ -125,6 +154,61 @@ public class AlertingScheduler implements Runnable, ApplicationListener<Abstract
 		}
 	}
 
+	/**
+	 * Closes the windows of the {@link StreamingThresholdChecker} for all the {@link AlertingState}s
+	 * due for a check.
+	 *
+	 * @param currentTime
+	 *            the current time
+	 */
+	private void runStreaming(long currentTime) {
+		streamingThresholdChecker.updateAlertingStates(alertingStates);
+
+		for (AlertingState alertingState : alertingStates) {
+			try {
+				long nextCheckTime = alertingState.getLastCheckTime() + alertingState.getAlertingDefinition().getTimeRange(TimeUnit.MILLISECONDS);
+
+				if (nextCheckTime <= currentTime) {
+					streamingThresholdChecker.closeWindow(alertingState, currentTime);
+				}
+			} catch (Exception e) {
+				if (log.isErrorEnabled()) {
+					log.error("Unexpected exception occured.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks all the {@link AlertingState}s due for a check with one batched threshold check.
+	 *
+	 * @param currentTime
+	 *            the current time
+	 */
+	private void runBatched(long currentTime) {
+		List<AlertingState> dueStates = new ArrayList<>();
+		for (AlertingState alertingState : alertingStates) {
+			long nextCheckTime = alertingState.getLastCheckTime() + alertingState.getAlertingDefinition().getTimeRange(TimeUnit.MILLISECONDS);
+
+			if (nextCheckTime <= currentTime) {
+				dueStates.add(alertingState);
+			}
+		}
+
+		try {
+			thresholdChecker.checkThresholds(dueStates);
+		} catch (Exception e) {
+			if (log.isErrorEnabled()) {
+				log.error("Unexpected exception occured.", e);
+			}
+		}
+
+		long duration = System.currentTimeMillis() - currentTime;
+		if ((duration > TimeUnit.MINUTES.toMillis(CHECK_INTERVAL)) && log.isWarnEnabled()) {
+			log.warn("|-Checking {} alert definitions took {} ms, which is longer than the checking interval.", dueStates.size(), duration);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -151,6 +235,10 @@ public class AlertingScheduler implements Runnable, ApplicationListener<Abstract
 		default:
 			break;
 		}
+
+		if (streaming) {
+			streamingThresholdChecker.updateAlertingStates(alertingStates);
+		}
 	}
 
 	/**
@@ -0,0 +1,377 @@
+package rocks.inspectit.server.alerting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Resource;
+
+import org.influxdb.dto.Point.Builder;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.alerting.state.AlertingState;
+import rocks.inspectit.server.influx.util.PointBuilderReader;
+import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.ci.AlertingDefinition;
+
+/**
+ * Threshold checker that evaluates the thresholds on the data while it is processed by the CMR,
+ * without querying the InfluxDB. The data is passed as the influx point builders, so that the
+ * {@link AlertingDefinition}s match exactly the data that would be written to the InfluxDB.
+ * <p>
+ * The data of each {@link AlertingState} is aggregated in a window that corresponds to the check
+ * interval of the {@link AlertingDefinition}. The first violation in a window is reported to the
+ * {@link AlertingStateLifecycleManager} immediately. Windows without a violation are reported as
+ * valid or without data when the {@link AlertingScheduler} closes them.
+ * <p>
+ * Reporting to the {@link AlertingStateLifecycleManager} can take long, as alerting actions like
+ * sending e-mails are executed. Thus, the verdicts are only computed while the data is processed
+ * and are reported by the alerting executor service, in the order of the evaluation per
+ * {@link AlertingState}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Component
+public class StreamingThresholdChecker {
+
+	/**
+	 * Logger of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Activation state of the alerting.
+	 */
+	@Value("${alerting.active}")
+	boolean alertingActive;
+
+	/**
+	 * If streaming threshold checks are active.
+	 */
+	@Value("${alerting.streaming}")
+	boolean streaming;
+
+	/**
+	 * {@link AlertingStateLifecycleManager} instance.
+	 */
+	@Autowired
+	AlertingStateLifecycleManager stateManager;
+
+	/**
+	 * {@link ExecutorService} reporting the verdicts to the {@link #stateManager}.
+	 */
+	@Autowired
+	@Resource(name = "alertingExecutorService")
+	ExecutorService executorService;
+
+	/**
+	 * Windows of the currently existing alerting states.
+	 */
+	private volatile Map<AlertingState, Window> windows = Collections.emptyMap();
+
+	/**
+	 * Windows indexed by the measurement of the alerting definition.
+	 */
+	private volatile Map<String, List<Window>> measurementWindows = Collections.emptyMap();
+
+	/**
+	 * Returns if the streaming threshold checks are active.
+	 *
+	 * @return Returns if the streaming threshold checks are active.
+	 */
+	public boolean isActive() {
+		return alertingActive && streaming;
+	}
+
+	/**
+	 * Updates the alerting states to check. Windows of the already known states are kept. Must be
+	 * called after a definition of a state has been changed.
+	 *
+	 * @param alertingStates
+	 *            All existing alerting states.
+	 */
+	public synchronized void updateAlertingStates(Collection<AlertingState> alertingStates) {
+		Map<AlertingState, Window> currentWindows = windows;
+		Map<AlertingState, Window> newWindows = new IdentityHashMap<>();
+		Map<String, List<Window>> newMeasurementWindows = new HashMap<>();
+
+		for (AlertingState alertingState : alertingStates) {
+			Window window = currentWindows.get(alertingState);
+			if (null == window) {
+				window = new Window(alertingState);
+			}
+			newWindows.put(alertingState, window);
+
+			String measurement = alertingState.getAlertingDefinition().getMeasurement();
+			List<Window> list = newMeasurementWindows.get(measurement);
+			if (null == list) {
+				list = new ArrayList<>();
+				newMeasurementWindows.put(measurement, list);
+			}
+			list.add(window);
+		}
+
+		windows = newWindows;
+		measurementWindows = newMeasurementWindows;
+	}
+
+	/**
+	 * Evaluates the thresholds of all alerting definitions matching the point of the given
+	 * builder.
+	 *
+	 * @param builder
+	 *            Influx point builder.
+	 */
+	public void process(Builder builder) {
+		List<Window> list = measurementWindows.get(PointBuilderReader.getMeasurement(builder));
+		if (null == list) {
+			return;
+		}
+
+		Map<String, String> tags = PointBuilderReader.getTags(builder);
+		Map<String, Object> fields = PointBuilderReader.getFields(builder);
+		for (Window window : list) {
+			AlertingDefinition definition = window.alertingState.getAlertingDefinition();
+			Object value = fields.get(definition.getField());
+			if ((value instanceof Number) && matchesTags(definition, tags)) {
+				window.add(((Number) value).doubleValue());
+			}
+		}
+	}
+
+	/**
+	 * Closes the current window of the given alerting state. If no violation has been reported in
+	 * the window, the {@link AlertingStateLifecycleManager} is informed that the threshold was
+	 * valid or that there was no data.
+	 *
+	 * @param alertingState
+	 *            Alerting state to close the window for.
+	 * @param currentTime
+	 *            The current time.
+	 */
+	public void closeWindow(AlertingState alertingState, long currentTime) {
+		Window window = windows.get(alertingState);
+		if (null == window) {
+			return;
+		}
+
+		window.close(currentTime);
+	}
+
+	/**
+	 * Checks if the tags of the point match the tags of the definition.
+	 *
+	 * @param definition
+	 *            Alerting definition.
+	 * @param tags
+	 *            Tags of the point.
+	 * @return <code>true</code> if all definition tags are contained in the point tags.
+	 */
+	private boolean matchesTags(AlertingDefinition definition, Map<String, String> tags) {
+		for (Entry<String, String> entry : definition.getTags().entrySet()) {
+			if (!Objects.equals(entry.getValue(), tags.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Window holding the aggregated data of one alerting state since the last check.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private final class Window {
+
+		/**
+		 * Alerting state.
+		 */
+		private final AlertingState alertingState;
+
+		/**
+		 * Amount of values in the window.
+		 */
+		private long count;
+
+		/**
+		 * Maximum value in the window.
+		 */
+		private double max = Double.NaN;
+
+		/**
+		 * Minimum value in the window.
+		 */
+		private double min = Double.NaN;
+
+		/**
+		 * If the violation has been reported in the window.
+		 */
+		private boolean violated;
+
+		/**
+		 * Verdicts not yet passed to the state manager, in the order of evaluation.
+		 */
+		private final Queue<Runnable> verdicts = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * If a task reporting the verdicts is submitted.
+		 */
+		private final AtomicBoolean reporting = new AtomicBoolean();
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param alertingState
+		 *            Alerting state.
+		 */
+		Window(AlertingState alertingState) {
+			this.alertingState = alertingState;
+		}
+
+		/**
+		 * Adds the value to the window and reports the violation if it's the first one in the
+		 * window. Only the verdict is computed in the calling thread.
+		 *
+		 * @param value
+		 *            Value.
+		 */
+		void add(final double value) {
+			synchronized (this) {
+				count++;
+				if (Double.isNaN(max) || (value > max)) {
+					max = value;
+				}
+				if (Double.isNaN(min) || (value < min)) {
+					min = value;
+				}
+
+				if (violated || !ThresholdChecker.isViolating(alertingState.getAlertingDefinition(), value)) {
+					return;
+				}
+
+				violated = true;
+				if (log.isDebugEnabled()) {
+					log.debug("||-Streaming threshold check of alerting definition '{}' violated by value {}.", alertingState.getAlertingDefinition().getName(), value);
+				}
+				verdicts.add(new Runnable() {
+					@Override
+					public void run() {
+						stateManager.violation(alertingState, value);
+					}
+				});
+			}
+
+			report();
+		}
+
+		/**
+		 * Closes the window and starts a new one.
+		 *
+		 * @param currentTime
+		 *            The current time.
+		 */
+		void close(long currentTime) {
+			synchronized (this) {
+				if (alertingState.getLastCheckTime() < 0) {
+					// first window starts now
+					alertingState.setLastCheckTime(currentTime);
+					reset();
+					return;
+				}
+
+				if (!violated) {
+					final boolean noData = 0 == count;
+					verdicts.add(new Runnable() {
+						@Override
+						public void run() {
+							if (noData) {
+								stateManager.noData(alertingState);
+							} else {
+								stateManager.valid(alertingState);
+							}
+						}
+					});
+				}
+
+				if (log.isDebugEnabled()) {
+					log.debug("||-Closed window of alerting definition '{}' with {} values in {} ms (min={}, max={}).", alertingState.getAlertingDefinition().getName(), count,
+							currentTime - alertingState.getLastCheckTime(), min, max);
+				}
+
+				alertingState.setLastCheckTime(currentTime);
+				reset();
+			}
+
+			report();
+		}
+
+		/**
+		 * Passes the pending verdicts to the {@link StreamingThresholdChecker#stateManager} with
+		 * the {@link StreamingThresholdChecker#executorService}. Only one task reports the verdicts
+		 * of the window at a time, so that the order is kept.
+		 */
+		private void report() {
+			if (verdicts.isEmpty() || !reporting.compareAndSet(false, true)) {
+				return;
+			}
+
+			try {
+				executorService.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							Runnable verdict;
+							while (null != (verdict = verdicts.poll())) { // NOPMD
+								try {
+									verdict.run();
+								} catch (Exception e) { // NOPMD
+									if (log.isErrorEnabled()) {
+										log.error("Unexpected exception occured reporting the streaming threshold check.", e);
+									}
+								}
+							}
+						} finally {
+							reporting.set(false);
+						}
+
+						// verdicts added while finishing are reported by a new task
+						report();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				reporting.set(false);
+				if (log.isDebugEnabled()) {
+					log.debug("||-Streaming threshold check verdicts can not be reported, executor service not available.", e);
+				}
+			}
+		}
+
+		/**
+		 * Resets the window.
+		 */
+		private void reset() {
+			count = 0;
+			max = Double.NaN;
+			min = Double.NaN;
+			violated = false;
+		}
+	}
+
+}
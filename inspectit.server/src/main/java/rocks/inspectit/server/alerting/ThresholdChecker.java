@@ -1,10 +1,20 @@
 package rocks.inspectit.server.alerting;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Resource;
+
 import org.influxdb.dto.QueryResult;
+import org.influxdb.dto.QueryResult.Result;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.alerting.state.AlertingState;
@@ -42,6 +52,19 @@ public class ThresholdChecker {
 	@Autowired
 	private AlertingStateLifecycleManager stateManager;
 
+	/**
+	 * Maximal number of threshold checks sent to the InfluxDB in one query.
+	 */
+	@Value("${alerting.batchSize}")
+	long batchSize;
+
+	/**
+	 * {@link ExecutorService} executing the batches of threshold checks.
+	 */
+	@Autowired
+	@Resource(name = "alertingExecutorService")
+	ExecutorService executorService;
+
 	/**
 	 * Checks whether the threshold defined by the {@link AlertingDefinition} contained in the given
 	 * {@link AlertingState} has been violated. The result is given to the
@@ -64,17 +87,161 @@ public class ThresholdChecker {
 
 		long currentTime = System.currentTimeMillis();
 
+		initLastCheckTime(alertingState, currentTime);
+
+		String queryString = InfluxQueryFactory.buildThresholdCheckForAlertingStateQuery(alertingState, currentTime);
+		QueryResult queryResult = influxDao.query(queryString);
+
+		evaluate(alertingState, new QueryResultWrapper(queryResult), currentTime);
+	}
+
+	/**
+	 * Checks the thresholds of all given {@link AlertingState}s. The threshold queries are sent to
+	 * the InfluxDB as multi-statement queries with at most {@link #batchSize} statements each. The
+	 * batches are executed in parallel and the duration of the request serving a check is recorded
+	 * in the {@link AlertingState}. The method returns when all checks are done.
+	 *
+	 * @param alertingStates
+	 *            the {@link AlertingState}s containing the thresholds to check
+	 */
+	public void checkThresholds(List<AlertingState> alertingStates) {
+		if (alertingStates.isEmpty()) {
+			return;
+		}
+
+		if (!influxDao.isConnected()) {
+			if (log.isDebugEnabled()) {
+				log.debug("||-Cannot check thresholds without connected influxDB.");
+			}
+			return;
+		}
+
+		final long currentTime = System.currentTimeMillis();
+
+		List<Future<?>> futures = new ArrayList<>();
+		int size = (int) Math.max(1, batchSize);
+		for (int i = 0; i < alertingStates.size(); i += size) {
+			final List<AlertingState> batch = alertingStates.subList(i, Math.min(i + size, alertingStates.size()));
+			futures.add(executorService.submit(new Runnable() {
+				@Override
+				public void run() {
+					checkBatch(batch, currentTime);
+				}
+			}));
+		}
+
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				if (log.isErrorEnabled()) {
+					log.error("Unexpected exception occured during the threshold check.", e.getCause());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks the thresholds of the given {@link AlertingState}s with one multi-statement query. If
+	 * the query fails as a whole, the states are not evaluated and the statements of the batch are
+	 * retried one by one.
+	 *
+	 * @param batch
+	 *            the {@link AlertingState}s to check
+	 * @param currentTime
+	 *            the time of the check
+	 */
+	private void checkBatch(List<AlertingState> batch, long currentTime) {
+		StringBuilder queryBuilder = new StringBuilder();
+		for (AlertingState alertingState : batch) {
+			initLastCheckTime(alertingState, currentTime);
+			if (queryBuilder.length() > 0) {
+				queryBuilder.append(';');
+			}
+			queryBuilder.append(InfluxQueryFactory.buildThresholdCheckForAlertingStateQuery(alertingState, currentTime));
+		}
+
+		long startTime = System.nanoTime();
+		QueryResult queryResult = influxDao.query(queryBuilder.toString());
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+		if (log.isDebugEnabled()) {
+			log.debug("||-Checked {} thresholds in one query in {} ms.", batch.size(), duration);
+		}
+
+		if ((null == queryResult) || (null != queryResult.getError())) {
+			// the whole query failed, no state can be evaluated
+			if (log.isWarnEnabled()) {
+				log.warn("||-Threshold check of {} alerting definitions failed: {}", batch.size(), (null != queryResult) ? queryResult.getError() : "no result");
+			}
+			if (batch.size() > 1) {
+				// a single broken statement fails the whole batch, thus check the statements one by one
+				for (AlertingState alertingState : batch) {
+					checkBatch(Collections.singletonList(alertingState), currentTime);
+				}
+			}
+			return;
+		}
+
+		List<Result> results = queryResult.getResults();
+		for (int i = 0; i < batch.size(); i++) {
+			AlertingState alertingState = batch.get(i);
+
+			Result result = null;
+			if ((null != results) && (i < results.size())) {
+				result = results.get(i);
+			}
+			if (null == result) {
+				// missing statement result, check again on next run
+				if (log.isWarnEnabled()) {
+					log.warn("||-Threshold check of the alerting definition '{}' returned no result.", alertingState.getAlertingDefinition().getName());
+				}
+				continue;
+			}
+			if (null != result.getError()) {
+				// failed statement, check again on next run
+				if (log.isWarnEnabled()) {
+					log.warn("||-Threshold check of the alerting definition '{}' failed: {}", alertingState.getAlertingDefinition().getName(), result.getError());
+				}
+				continue;
+			}
+
+			evaluate(alertingState, new QueryResultWrapper(result), currentTime);
+		}
+	}
+
+	/**
+	 * Sets the last check time of the {@link AlertingState} that has not been checked yet, so that
+	 * the first check covers the time range of the {@link AlertingDefinition}.
+	 *
+	 * @param alertingState
+	 *            the {@link AlertingState}
+	 * @param currentTime
+	 *            the time of the check
+	 */
+	private void initLastCheckTime(AlertingState alertingState, long currentTime) {
 		long lastCheckTime = alertingState.getLastCheckTime();
 		if (lastCheckTime < 0) {
 			lastCheckTime = currentTime - alertingState.getAlertingDefinition().getTimeRange(TimeUnit.MILLISECONDS);
 			alertingState.setLastCheckTime(lastCheckTime);
 		}
+	}
 
-		String queryString = InfluxQueryFactory.buildThresholdCheckForAlertingStateQuery(alertingState, currentTime);
-		QueryResult queryResult = influxDao.query(queryString);
-
-		QueryResultWrapper resultWrapper = new QueryResultWrapper(queryResult);
-
+	/**
+	 * Evaluates the query result of the threshold check and passes the outcome to the
+	 * {@link AlertingStateLifecycleManager}.
+	 *
+	 * @param alertingState
+	 *            the checked {@link AlertingState}
+	 * @param resultWrapper
+	 *            the query result of the check
+	 * @param currentTime
+	 *            the time of the check
+	 */
+	private void evaluate(AlertingState alertingState, QueryResultWrapper resultWrapper, long currentTime) {
 		if (resultWrapper.isEmpty()) {
 			stateManager.noData(alertingState);
 		} else {
@@ -100,7 +267,7 @@ public class ThresholdChecker {
 	 *            the value to test against the threshold
 	 * @return Returns <code>true</code> if the value violates the threshold.
 	 */
-	private boolean isViolating(AlertingDefinition definition, double testValue) {
+	static boolean isViolating(AlertingDefinition definition, double testValue) {
 		switch (definition.getThresholdType()) {
 		case LOWER_THRESHOLD:
 			return testValue < definition.getThreshold();
@@ -0,0 +1,47 @@
+package rocks.inspectit.server.cache;
+
+import java.util.List;
+
+/**
+ * Listener that is informed about the changes of the buffer content.
+ *
+ * @author Ivan Senic
+ *
+ * @param <E>
+ *            Type of objects in buffer.
+ */
+public interface IBufferListener<E> {
+
+	/**
+	 * Informs that the element is added to the buffer. Called by the thread putting the element
+	 * right before the element becomes available in the buffer.
+	 *
+	 * @param element
+	 *            Added element.
+	 */
+	void elementAdded(E element);
+
+	/**
+	 * Informs that the element is indexed. Called by the indexing thread right after the element
+	 * has been put to the indexing tree, thus from this moment on the element can be found by the
+	 * queries. Also called for the data only found in invocations, which is indexed directly
+	 * without being added to the buffer.
+	 *
+	 * @param element
+	 *            Indexed element.
+	 */
+	void elementIndexed(E element);
+
+	/**
+	 * Informs that the elements are evicted from the buffer.
+	 *
+	 * @param elements
+	 *            Evicted elements.
+	 */
+	void elementsEvicted(List<E> elements);
+
+	/**
+	 * Informs that the buffer has been cleared.
+	 */
+	void bufferCleared();
+}
@@ -1,6 +1,9 @@
 package rocks.inspectit.server.cache.impl;
 
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -21,6 +24,7 @@ import org.springframework.stereotype.Component;
 import rocks.inspectit.server.cache.IBuffer;
 import rocks.inspectit.server.cache.IBufferElement;
 import rocks.inspectit.server.cache.IBufferElement.BufferElementState;
+import rocks.inspectit.server.cache.IBufferListener;
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.cmr.property.spring.PropertyUpdate;
 import rocks.inspectit.shared.all.communication.DefaultData;
@@ -62,6 +66,12 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 	@Autowired
 	IBufferTreeComponent<E> indexingTree;
 
+	/**
+	 * Listeners informed about the added, indexed, evicted and cleared elements.
+	 */
+	@Autowired(required = false)
+	List<IBufferListener<E>> bufferListeners = Collections.emptyList();
+
 	/**
 	 * Atomic reference to the first object.
 	 */
@@ -226,6 +236,11 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		// the element that is now first has to have a empty buffer element as next one
 		element.setNextElement(emptyBufferElement);
 
+		// inform listeners before the element can be evicted
+		for (IBufferListener<E> bufferListener : bufferListeners) {
+			bufferListener.elementAdded(element.getObject());
+		}
+
 		while (true) {
 			// retrieving currently first element
 			IBufferElement<E> currentlyFirst = first.get();
@@ -317,11 +332,13 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 				long evictionFragmentMaxSize = (long) (this.getMaxSize() * bufferProperties.getEvictionFragmentSizePercentage());
 				long fragmentSize = 0;
 				int elementsInFragment = 0;
+				List<E> evictedObjects = new ArrayList<>();
 
 				// iterate until size of the eviction fragment is reached
 				while (fragmentSize < evictionFragmentMaxSize) {
 					fragmentSize += newLastElement.getBufferElementSize();
 					newLastElement.setBufferElementState(BufferElementState.EVICTED);
+					evictedObjects.add(newLastElement.getObject());
 					elementsInFragment++;
 					newLastElement = newLastElement.getNextElement();
 
@@ -348,6 +365,10 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 						first.set(emptyBufferElement);
 					}
 
+					for (IBufferListener<E> bufferListener : bufferListeners) {
+						bufferListener.elementsEvicted(evictedObjects);
+					}
+
 					// break from while
 					break;
 				}
@@ -511,6 +532,9 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 			indexingTreeSize.set(0);
 			dataAddedInBytes.set(0);
 			dataRemovedInBytes.set(0);
+			for (IBufferListener<E> bufferListener : bufferListeners) {
+				bufferListener.bufferCleared();
+			}
 			// reference to first has to be reset at the end
 			first.set(emptyBufferElement);
 		} finally {
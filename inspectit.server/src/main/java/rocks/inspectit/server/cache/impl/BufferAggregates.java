@@ -0,0 +1,257 @@
+package rocks.inspectit.server.cache.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.cache.IBufferListener;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.AggregatedHttpTimerData;
+import rocks.inspectit.shared.all.communication.data.AggregatedSqlStatementData;
+import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
+
+/**
+ * Holds the {@link MaterializedAggregation}s of the buffer content used by the aggregated timer,
+ * SQL and HTTP views. The aggregations are updated on every buffer change, thus aggregated views
+ * without time frame or additional restrictions can be answered without querying the buffer.
+ * <p>
+ * Data only found in invocations never passes the buffer, but is indexed directly. Such data is
+ * aggregated when indexed and removed from the aggregations when its invocation is evicted, so
+ * that the aggregations hold the same data as the indexing tree.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Component
+public class BufferAggregates implements IBufferListener<MethodSensorData> {
+
+	/**
+	 * Timer data aggregated per method.
+	 */
+	private final MaterializedAggregation<TimerData> timerDataAggregation = new MaterializedAggregation<>(Aggregators.TIMER_DATA_AGGREGATOR, TimerData.class, AggregatedTimerData.class);
+
+	/**
+	 * SQL statements aggregated per statement.
+	 */
+	private final MaterializedAggregation<SqlStatementData> sqlStatementDataAggregation = new MaterializedAggregation<>(Aggregators.SQL_STATEMENT_DATA_AGGREGATOR, SqlStatementData.class,
+			AggregatedSqlStatementData.class);
+
+	/**
+	 * HTTP data aggregated per URI.
+	 */
+	private final MaterializedAggregation<HttpTimerData> uriAggregation = new MaterializedAggregation<>(new HttpTimerDataAggregator(true, false), HttpTimerData.class, AggregatedHttpTimerData.class);
+
+	/**
+	 * HTTP data aggregated per URI and request method.
+	 */
+	private final MaterializedAggregation<HttpTimerData> uriRequestMethodAggregation = new MaterializedAggregation<>(new HttpTimerDataAggregator(true, true), HttpTimerData.class,
+			AggregatedHttpTimerData.class);
+
+	/**
+	 * HTTP data aggregated per tag value.
+	 */
+	private final MaterializedAggregation<HttpTimerData> tagAggregation = new TaggedHttpAggregation(false);
+
+	/**
+	 * HTTP data aggregated per tag value and request method.
+	 */
+	private final MaterializedAggregation<HttpTimerData> tagRequestMethodAggregation = new TaggedHttpAggregation(true);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void elementAdded(MethodSensorData element) {
+		add(element);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Buffer elements are aggregated when added, thus only the directly indexed data found in
+	 * invocations is aggregated here.
+	 */
+	@Override
+	public void elementIndexed(MethodSensorData element) {
+		if (isOnlyFoundInInvocations(element)) {
+			add(element);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void elementsEvicted(List<MethodSensorData> elements) {
+		List<MethodSensorData> removed = new ArrayList<>(elements);
+		for (MethodSensorData element : elements) {
+			if (element instanceof InvocationSequenceData) {
+				collectInvocationData((InvocationSequenceData) element, removed);
+			}
+		}
+
+		timerDataAggregation.remove(removed);
+		sqlStatementDataAggregation.remove(removed);
+		uriAggregation.remove(removed);
+		uriRequestMethodAggregation.remove(removed);
+		tagAggregation.remove(removed);
+		tagRequestMethodAggregation.remove(removed);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void bufferCleared() {
+		timerDataAggregation.clear();
+		sqlStatementDataAggregation.clear();
+		uriAggregation.clear();
+		uriRequestMethodAggregation.clear();
+		tagAggregation.clear();
+		tagRequestMethodAggregation.clear();
+	}
+
+	/**
+	 * Returns the aggregated timer data of the buffer.
+	 *
+	 * @param platformIdent
+	 *            Platform ident, <code>0</code> for all platforms.
+	 * @param methodIdent
+	 *            Method ident, <code>0</code> for all methods.
+	 * @return Aggregated timer data.
+	 */
+	public List<TimerData> getAggregatedTimerData(long platformIdent, long methodIdent) {
+		return timerDataAggregation.getResults(platformIdent, methodIdent);
+	}
+
+	/**
+	 * Returns the aggregated SQL statements of the buffer.
+	 *
+	 * @param platformIdent
+	 *            Platform ident, <code>0</code> for all platforms.
+	 * @return Aggregated SQL statements.
+	 */
+	public List<SqlStatementData> getAggregatedSqlStatements(long platformIdent) {
+		return sqlStatementDataAggregation.getResults(platformIdent, 0);
+	}
+
+	/**
+	 * Returns the HTTP data of the buffer aggregated per URI.
+	 *
+	 * @param platformIdent
+	 *            Platform ident, <code>0</code> for all platforms.
+	 * @param includeRequestMethod
+	 *            If the request method should be included in the aggregation.
+	 * @return Aggregated HTTP data.
+	 */
+	public List<HttpTimerData> getAggregatedHttpTimerData(long platformIdent, boolean includeRequestMethod) {
+		if (includeRequestMethod) {
+			return uriRequestMethodAggregation.getResults(platformIdent, 0);
+		} else {
+			return uriAggregation.getResults(platformIdent, 0);
+		}
+	}
+
+	/**
+	 * Returns the tagged HTTP data of the buffer aggregated per tag value.
+	 *
+	 * @param platformIdent
+	 *            Platform ident, <code>0</code> for all platforms.
+	 * @param includeRequestMethod
+	 *            If the request method should be included in the aggregation.
+	 * @return Aggregated HTTP data.
+	 */
+	public List<HttpTimerData> getTaggedAggregatedHttpTimerData(long platformIdent, boolean includeRequestMethod) {
+		if (includeRequestMethod) {
+			return tagRequestMethodAggregation.getResults(platformIdent, 0);
+		} else {
+			return tagAggregation.getResults(platformIdent, 0);
+		}
+	}
+
+	/**
+	 * Adds the element to all aggregations.
+	 *
+	 * @param element
+	 *            Element to add.
+	 */
+	private void add(MethodSensorData element) {
+		timerDataAggregation.add(element);
+		sqlStatementDataAggregation.add(element);
+		uriAggregation.add(element);
+		uriRequestMethodAggregation.add(element);
+		tagAggregation.add(element);
+		tagRequestMethodAggregation.add(element);
+	}
+
+	/**
+	 * Collects the timer and SQL data of the invocation and all its nested sequences that was
+	 * aggregated when indexed.
+	 *
+	 * @param invocation
+	 *            Invocation to collect from.
+	 * @param result
+	 *            List to add the collected data to.
+	 */
+	private void collectInvocationData(InvocationSequenceData invocation, List<MethodSensorData> result) {
+		if (isOnlyFoundInInvocations(invocation.getTimerData())) {
+			result.add(invocation.getTimerData());
+		}
+		if (isOnlyFoundInInvocations(invocation.getSqlStatementData())) {
+			result.add(invocation.getSqlStatementData());
+		}
+		if (null != invocation.getNestedSequences()) {
+			for (InvocationSequenceData child : invocation.getNestedSequences()) {
+				collectInvocationData(child, result);
+			}
+		}
+	}
+
+	/**
+	 * Returns if the data is the invocation aware data found only in invocations.
+	 *
+	 * @param element
+	 *            Element to check, can be <code>null</code>.
+	 * @return <code>true</code> if the element is only found in invocations.
+	 */
+	private boolean isOnlyFoundInInvocations(MethodSensorData element) {
+		return (element instanceof InvocationAwareData) && ((InvocationAwareData) element).isOnlyFoundInInvocations();
+	}
+
+	/**
+	 * Aggregation of the HTTP data having the inspectIT tagging header.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static class TaggedHttpAggregation extends MaterializedAggregation<HttpTimerData> {
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param includeRequestMethod
+		 *            If the request method should be included in the aggregation.
+		 */
+		TaggedHttpAggregation(boolean includeRequestMethod) {
+			super(new HttpTimerDataAggregator(false, includeRequestMethod), HttpTimerData.class, AggregatedHttpTimerData.class);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean accepts(DefaultData element) {
+			return super.accepts(element) && ((HttpTimerData) element).getHttpInfo().hasInspectItTaggingHeader();
+		}
+	}
+
+}
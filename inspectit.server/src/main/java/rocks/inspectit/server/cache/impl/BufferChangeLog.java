@@ -0,0 +1,244 @@
+package rocks.inspectit.server.cache.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.cache.IBufferListener;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+
+/**
+ * Keeps the ids of the last indexed elements and the last evicted {@link InvocationSequenceData}s,
+ * so that clients refreshing with a cursor can load only the changes of the buffer without loading
+ * the complete content again.
+ * <p>
+ * Every indexed id gets an index sequence at the moment the element becomes available to the
+ * queries. Thus, opposite to the ids that are assigned before the element passes the processing
+ * chain, all elements with the index sequence lower than the {@link #getIndexSequence()} are
+ * guaranteed to be queryable. Every evicted invocation id gets an eviction sequence. The amount of
+ * the retained ids is limited.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Component
+public class BufferChangeLog implements IBufferListener<MethodSensorData> {
+
+	/**
+	 * Maximum amount of indexed ids retained.
+	 */
+	static final int INDEX_CAPACITY = 1000000;
+
+	/**
+	 * Maximum amount of evicted ids retained.
+	 */
+	static final int EVICTION_CAPACITY = 100000;
+
+	/**
+	 * Identifies this instance, sequences of different epochs can not be compared.
+	 */
+	private final long epoch = System.currentTimeMillis();
+
+	/**
+	 * Retained indexed ids.
+	 */
+	private final IdRing indexedIds;
+
+	/**
+	 * Retained evicted invocation ids.
+	 */
+	private final IdRing evictedIds;
+
+	/**
+	 * Default constructor.
+	 */
+	public BufferChangeLog() {
+		this(INDEX_CAPACITY, EVICTION_CAPACITY);
+	}
+
+	/**
+	 * Constructor with the capacities.
+	 *
+	 * @param indexCapacity
+	 *            Maximum amount of indexed ids retained.
+	 * @param evictionCapacity
+	 *            Maximum amount of evicted ids retained.
+	 */
+	BufferChangeLog(int indexCapacity, int evictionCapacity) {
+		this.indexedIds = new IdRing(indexCapacity);
+		this.evictedIds = new IdRing(evictionCapacity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void elementAdded(MethodSensorData element) {
+		// elements are logged when they become queryable
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void elementIndexed(MethodSensorData element) {
+		indexedIds.add(element.getId());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void elementsEvicted(List<MethodSensorData> elements) {
+		for (MethodSensorData element : elements) {
+			if (element instanceof InvocationSequenceData) {
+				evictedIds.add(element.getId());
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void bufferCleared() {
+		// ids logged before are not valid any more
+		indexedIds.invalidate();
+		evictedIds.invalidate();
+	}
+
+	/**
+	 * Gets {@link #epoch}.
+	 *
+	 * @return {@link #epoch}
+	 */
+	public long getEpoch() {
+		return this.epoch;
+	}
+
+	/**
+	 * Returns the index sequence of the next indexed id. All elements indexed before have a lower
+	 * sequence.
+	 *
+	 * @return Index sequence of the next indexed id.
+	 */
+	public synchronized long getIndexSequence() {
+		return indexedIds.getSequence();
+	}
+
+	/**
+	 * Returns the ids indexed since the given sequence, in the order of indexing. The sequence to
+	 * continue with is the given one increased by the size of the returned list.
+	 *
+	 * @param sinceSequence
+	 *            Sequence returned by {@link #getIndexSequence()}.
+	 * @return Ids indexed since the sequence or <code>null</code> if the ids are not retained any
+	 *         more or the buffer has been cleared in meantime.
+	 */
+	public synchronized List<Long> getIndexedIdsSince(long sinceSequence) {
+		return indexedIds.getIdsSince(sinceSequence);
+	}
+
+	/**
+	 * Returns the eviction sequence of the next evicted id.
+	 *
+	 * @return Eviction sequence of the next evicted id.
+	 */
+	public synchronized long getEvictionSequence() {
+		return evictedIds.getSequence();
+	}
+
+	/**
+	 * Returns the invocation ids evicted since the given sequence.
+	 *
+	 * @param sinceSequence
+	 *            Sequence returned by {@link #getEvictionSequence()}.
+	 * @return Ids evicted since the sequence or <code>null</code> if the ids are not retained any
+	 *         more or the buffer has been cleared in meantime.
+	 */
+	public synchronized List<Long> getEvictedIdsSince(long sinceSequence) {
+		return evictedIds.getIdsSince(sinceSequence);
+	}
+
+	/**
+	 * Ring of the retained ids where every id gets a sequence. Not thread safe.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static class IdRing {
+
+		/**
+		 * Retained ids.
+		 */
+		private final long[] ids;
+
+		/**
+		 * Sequence of the next id.
+		 */
+		private long sequence;
+
+		/**
+		 * Lowest sequence that is still retained.
+		 */
+		private long retainedSequence;
+
+		/**
+		 * @param capacity
+		 *            Maximum amount of ids retained.
+		 */
+		IdRing(int capacity) {
+			this.ids = new long[capacity];
+		}
+
+		/**
+		 * Adds the id with the next sequence.
+		 *
+		 * @param id
+		 *            Id to add.
+		 */
+		void add(long id) {
+			ids[(int) (sequence % ids.length)] = id;
+			sequence++;
+			retainedSequence = Math.max(retainedSequence, sequence - ids.length);
+		}
+
+		/**
+		 * Makes all ids added so far not retained.
+		 */
+		void invalidate() {
+			retainedSequence = sequence;
+		}
+
+		/**
+		 * Gets {@link #sequence}.
+		 *
+		 * @return {@link #sequence}
+		 */
+		long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns the ids added since the given sequence.
+		 *
+		 * @param sinceSequence
+		 *            Sequence to return the ids from.
+		 * @return Ids added since the sequence or <code>null</code> if they are not retained.
+		 */
+		List<Long> getIdsSince(long sinceSequence) {
+			if ((sinceSequence < retainedSequence) || (sinceSequence > sequence)) {
+				return null; // NOPMD
+			}
+
+			List<Long> result = new ArrayList<>((int) (sequence - sinceSequence));
+			for (long i = sinceSequence; i < sequence; i++) {
+				result.add(ids[(int) (i % ids.length)]);
+			}
+			return result;
+		}
+	}
+
+}
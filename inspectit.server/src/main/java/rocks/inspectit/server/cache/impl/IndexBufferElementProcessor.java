@@ -6,6 +6,7 @@ import java.util.concurrent.locks.Lock;
 
 import rocks.inspectit.server.cache.IBufferElement;
 import rocks.inspectit.server.cache.IBufferElement.BufferElementState;
+import rocks.inspectit.server.cache.IBufferListener;
 import rocks.inspectit.server.util.Converter;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
@@ -101,6 +102,9 @@ class IndexBufferElementProcessor<E extends DefaultData> extends AbstractBufferE
 				// index element
 				atomicBuffer.indexingTree.put(elementToProcess.getObject());
 				elementToProcess.setBufferElementState(BufferElementState.INDEXED);
+				for (IBufferListener<E> bufferListener : atomicBuffer.bufferListeners) {
+					bufferListener.elementIndexed(elementToProcess.getObject());
+				}
 
 				// increase number of indexed elements, and perform calculation of the
 				// indexing tree size if enough elements have been indexed
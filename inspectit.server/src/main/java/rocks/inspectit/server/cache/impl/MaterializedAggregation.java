@@ -0,0 +1,461 @@
+package rocks.inspectit.server.cache.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.IAggregatedData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+
+/**
+ * Aggregation of the buffer elements that is maintained incrementally while elements are added to
+ * and evicted from the buffer. The aggregated results are thus available without iterating over
+ * the buffer content.
+ * <p>
+ * Minimum and maximum values can not be subtracted from an aggregate, thus the elements of one
+ * aggregation key are additionally split in buckets by the generation of their id. On eviction
+ * only the affected buckets are aggregated again from their remaining elements, while the results
+ * are merged from the bucket aggregates.
+ *
+ * @author Ivan Senic
+ *
+ * @param <E>
+ *            Type of the aggregated elements.
+ */
+public class MaterializedAggregation<E extends MethodSensorData> {
+
+	/**
+	 * Amount of bits the element id is shifted to get the bucket generation.
+	 */
+	static final int GENERATION_SHIFT = 12;
+
+	/**
+	 * Aggregator to use.
+	 */
+	private final IAggregator<E> aggregator;
+
+	/**
+	 * Exact classes of the elements being aggregated.
+	 */
+	private final Set<Class<?>> classes;
+
+	/**
+	 * Buckets of each key mapped by the generation.
+	 */
+	private final ConcurrentMap<Key, ConcurrentMap<Long, Bucket>> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Lock held when adding elements (read lock) and when removing the keys without buckets (write
+	 * lock), so that no element is added to the buckets of a removed key.
+	 */
+	private final ReadWriteLock keysLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param aggregator
+	 *            Aggregator to use.
+	 * @param classes
+	 *            Exact classes of the elements being aggregated. Sub-classes are not included.
+	 */
+	public MaterializedAggregation(IAggregator<E> aggregator, Class<?>... classes) {
+		if (null == aggregator) {
+			throw new IllegalArgumentException("Aggregator can not be null.");
+		}
+		this.aggregator = aggregator;
+		this.classes = new HashSet<Class<?>>(Arrays.asList(classes));
+	}
+
+	/**
+	 * Defines if the element is included in this aggregation. Default implementation checks the
+	 * class of the element, sub-classes can define additional conditions.
+	 *
+	 * @param element
+	 *            Element to check.
+	 * @return <code>true</code> if element is aggregated.
+	 */
+	protected boolean accepts(DefaultData element) {
+		return (null != element) && classes.contains(element.getClass());
+	}
+
+	/**
+	 * Adds the element to the aggregation if accepted.
+	 *
+	 * @param element
+	 *            Element added to the buffer.
+	 */
+	@SuppressWarnings("unchecked")
+	public void add(DefaultData element) {
+		if (!accepts(element)) {
+			return;
+		}
+
+		E data = (E) element;
+		Key key = getKey(data);
+		long generation = getGeneration(data);
+		keysLock.readLock().lock();
+		try {
+			ConcurrentMap<Long, Bucket> keyBuckets = getBuckets(key);
+			while (true) {
+				Bucket bucket = keyBuckets.get(generation);
+				if (null == bucket) {
+					bucket = new Bucket();
+					Bucket existing = keyBuckets.putIfAbsent(generation, bucket);
+					if (null != existing) {
+						bucket = existing;
+					}
+				}
+				if (bucket.add(data)) {
+					return;
+				}
+				// bucket has been dropped in meantime, retry with new one
+				keyBuckets.remove(generation, bucket);
+			}
+		} finally {
+			keysLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the accepted elements from the aggregation. Only the buckets containing the elements
+	 * are aggregated again.
+	 *
+	 * @param elements
+	 *            Elements evicted from the buffer.
+	 */
+	@SuppressWarnings("unchecked")
+	public void remove(List<? extends DefaultData> elements) {
+		Map<Key, Map<Long, Set<E>>> removals = new HashMap<>();
+		for (DefaultData element : elements) {
+			if (!accepts(element)) {
+				continue;
+			}
+
+			E data = (E) element;
+			Key key = getKey(data);
+			Map<Long, Set<E>> keyRemovals = removals.get(key);
+			if (null == keyRemovals) {
+				keyRemovals = new HashMap<>();
+				removals.put(key, keyRemovals);
+			}
+			long generation = getGeneration(data);
+			Set<E> generationRemovals = keyRemovals.get(generation);
+			if (null == generationRemovals) {
+				generationRemovals = Collections.newSetFromMap(new IdentityHashMap<E, Boolean>());
+				keyRemovals.put(generation, generationRemovals);
+			}
+			generationRemovals.add(data);
+		}
+
+		List<Key> emptyKeys = new ArrayList<>();
+		for (Map.Entry<Key, Map<Long, Set<E>>> entry : removals.entrySet()) {
+			ConcurrentMap<Long, Bucket> keyBuckets = buckets.get(entry.getKey());
+			if (null == keyBuckets) {
+				continue;
+			}
+
+			for (Map.Entry<Long, Set<E>> generationEntry : entry.getValue().entrySet()) {
+				Bucket bucket = keyBuckets.get(generationEntry.getKey());
+				if ((null != bucket) && bucket.remove(generationEntry.getValue())) {
+					keyBuckets.remove(generationEntry.getKey(), bucket);
+				}
+			}
+
+			if (keyBuckets.isEmpty()) {
+				emptyKeys.add(entry.getKey());
+			}
+		}
+
+		if (!emptyKeys.isEmpty()) {
+			keysLock.writeLock().lock();
+			try {
+				for (Key key : emptyKeys) {
+					ConcurrentMap<Long, Bucket> keyBuckets = buckets.get(key);
+					if ((null != keyBuckets) && keyBuckets.isEmpty()) {
+						buckets.remove(key);
+					}
+				}
+			} finally {
+				keysLock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Removes all elements from the aggregation.
+	 */
+	public void clear() {
+		keysLock.writeLock().lock();
+		try {
+			buckets.clear();
+		} finally {
+			keysLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the aggregated results of the elements belonging to the given platform and method.
+	 * The returned objects are new instances not changed by further updates of the aggregation.
+	 *
+	 * @param platformIdent
+	 *            Platform ident, <code>0</code> for all platforms.
+	 * @param methodIdent
+	 *            Method ident, <code>0</code> for all methods.
+	 * @return Aggregated results.
+	 */
+	public List<E> getResults(long platformIdent, long methodIdent) {
+		AggregationPerformer<E> aggregationPerformer = new AggregationPerformer<>(aggregator);
+		for (Map.Entry<Key, ConcurrentMap<Long, Bucket>> entry : buckets.entrySet()) {
+			Key key = entry.getKey();
+			if (((0 != platformIdent) && (platformIdent != key.platformIdent)) || ((0 != methodIdent) && (methodIdent != key.methodIdent))) {
+				continue;
+			}
+
+			for (Bucket bucket : entry.getValue().values()) {
+				bucket.mergeTo(aggregationPerformer);
+			}
+		}
+		return aggregationPerformer.getResultList();
+	}
+
+	/**
+	 * Returns the amount of aggregation keys currently held.
+	 *
+	 * @return Amount of aggregation keys.
+	 */
+	int getKeyCount() {
+		return buckets.size();
+	}
+
+	/**
+	 * Returns the buckets of the key, creating the map if needed.
+	 *
+	 * @param key
+	 *            Key
+	 * @return Buckets mapped by the generation.
+	 */
+	private ConcurrentMap<Long, Bucket> getBuckets(Key key) {
+		ConcurrentMap<Long, Bucket> keyBuckets = buckets.get(key);
+		if (null == keyBuckets) {
+			keyBuckets = new ConcurrentHashMap<>();
+			ConcurrentMap<Long, Bucket> existing = buckets.putIfAbsent(key, keyBuckets);
+			if (null != existing) {
+				keyBuckets = existing;
+			}
+		}
+		return keyBuckets;
+	}
+
+	/**
+	 * Creates the key for the element.
+	 *
+	 * @param element
+	 *            Element
+	 * @return Key
+	 */
+	private Key getKey(E element) {
+		return new Key(element.getPlatformIdent(), element.getMethodIdent(), aggregator.getAggregationKey(element));
+	}
+
+	/**
+	 * Returns the generation of the element.
+	 *
+	 * @param element
+	 *            Element
+	 * @return Generation based on the id.
+	 */
+	private long getGeneration(E element) {
+		return element.getId() >> GENERATION_SHIFT;
+	}
+
+	/**
+	 * Elements of one aggregation key and generation together with their aggregate.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private class Bucket {
+
+		/**
+		 * Elements in the bucket.
+		 */
+		private List<E> elements = new ArrayList<>();
+
+		/**
+		 * Aggregate of the elements, <code>null</code> when bucket is empty.
+		 */
+		private IAggregatedData<E> aggregatedData;
+
+		/**
+		 * If bucket is dropped as all its elements are removed.
+		 */
+		private boolean dropped;
+
+		/**
+		 * Adds the element to the bucket.
+		 *
+		 * @param element
+		 *            Element to add.
+		 * @return <code>false</code> if the bucket has been dropped and the element was not added.
+		 */
+		synchronized boolean add(E element) {
+			if (dropped) {
+				return false;
+			}
+			elements.add(element);
+			aggregate(element);
+			return true;
+		}
+
+		/**
+		 * Removes the elements from the bucket and aggregates the remaining ones again.
+		 *
+		 * @param toRemove
+		 *            Elements to remove.
+		 * @return <code>true</code> if the bucket is empty after removal and has been dropped.
+		 */
+		synchronized boolean remove(Set<E> toRemove) {
+			List<E> remaining = new ArrayList<>(elements.size());
+			for (E element : elements) {
+				if (!toRemove.contains(element)) {
+					remaining.add(element);
+				}
+			}
+			if (remaining.size() == elements.size()) {
+				return false;
+			}
+
+			elements = remaining;
+			aggregatedData = null; // NOPMD
+			for (E element : elements) {
+				aggregate(element);
+			}
+			dropped = elements.isEmpty();
+			return dropped;
+		}
+
+		/**
+		 * Merges the aggregate of the bucket to the given performer.
+		 *
+		 * @param aggregationPerformer
+		 *            Performer collecting the results.
+		 */
+		synchronized void mergeTo(AggregationPerformer<E> aggregationPerformer) {
+			if (null != aggregatedData) {
+				aggregationPerformer.processElement(aggregatedData.getData());
+			}
+		}
+
+		/**
+		 * Aggregates element to the bucket aggregate.
+		 *
+		 * @param element
+		 *            Element
+		 */
+		private void aggregate(E element) {
+			if (null == aggregatedData) {
+				aggregatedData = aggregator.getClone(element);
+			}
+			aggregator.aggregate(aggregatedData, element);
+		}
+	}
+
+	/**
+	 * Key of the aggregation combining the platform and method ident with the key of the
+	 * aggregator.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static final class Key {
+
+		/**
+		 * Platform ident.
+		 */
+		private final long platformIdent;
+
+		/**
+		 * Method ident.
+		 */
+		private final long methodIdent;
+
+		/**
+		 * Key of the aggregator.
+		 */
+		private final Object aggregationKey;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param platformIdent
+		 *            Platform ident.
+		 * @param methodIdent
+		 *            Method ident.
+		 * @param aggregationKey
+		 *            Key of the aggregator.
+		 */
+		Key(long platformIdent, long methodIdent, Object aggregationKey) {
+			this.platformIdent = platformIdent;
+			this.methodIdent = methodIdent;
+			this.aggregationKey = aggregationKey;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = (prime * result) + (int) (platformIdent ^ (platformIdent >>> 32));
+			result = (prime * result) + (int) (methodIdent ^ (methodIdent >>> 32));
+			result = (prime * result) + ((aggregationKey == null) ? 0 : aggregationKey.hashCode());
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			if (platformIdent != other.platformIdent) {
+				return false;
+			}
+			if (methodIdent != other.methodIdent) {
+				return false;
+			}
+			if (aggregationKey == null) {
+				if (other.aggregationKey != null) {
+					return false;
+				}
+			} else if (!aggregationKey.equals(other.aggregationKey)) {
+				return false;
+			}
+			return true;
+		}
+	}
+
+}
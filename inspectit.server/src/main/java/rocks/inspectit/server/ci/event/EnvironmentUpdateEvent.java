@@ -2,6 +2,7 @@ package rocks.inspectit.server.ci.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -50,6 +51,16 @@ public class EnvironmentUpdateEvent extends ApplicationEvent {
 	 */
 	private final Collection<Profile> removedProfiles;
 
+	/**
+	 * Cached removed assignments, computed once and shared by all jobs handling this event.
+	 */
+	private transient Collection<AbstractClassSensorAssignment<?>> removedSensorAssignments;
+
+	/**
+	 * Cached added assignments, computed once and shared by all jobs handling this event.
+	 */
+	private transient Collection<AbstractClassSensorAssignment<?>> addedSensorAssignments;
+
 	/**
 	 * Default constructor.
 	 *
@@ -100,12 +111,16 @@ public class EnvironmentUpdateEvent extends ApplicationEvent {
 	 * @param functionalAssignmentFactory
 	 *            SpecialMethodSensorAssignmentFactory for resolving functional assignment updates.
 	 *
-	 * @return Returns all {@link AbstractClassSensorAssignment} that are "removed".
+	 * @return Returns all {@link AbstractClassSensorAssignment} that are "removed". The result is
+	 *         computed only once and must not be modified.
 	 */
-	public Collection<AbstractClassSensorAssignment<?>> getRemovedSensorAssignments(SpecialMethodSensorAssignmentFactory functionalAssignmentFactory) {
-		Collection<AbstractClassSensorAssignment<?>> removedAssignments = getSensorAssignments(removedProfiles);
-		removedAssignments.addAll(getFunctionalAssignmentsDifference(functionalAssignmentFactory, before, after));
-		return removedAssignments;
+	public synchronized Collection<AbstractClassSensorAssignment<?>> getRemovedSensorAssignments(SpecialMethodSensorAssignmentFactory functionalAssignmentFactory) {
+		if (null == removedSensorAssignments) {
+			Collection<AbstractClassSensorAssignment<?>> removedAssignments = getSensorAssignments(removedProfiles);
+			removedAssignments.addAll(getFunctionalAssignmentsDifference(functionalAssignmentFactory, before, after));
+			removedSensorAssignments = Collections.unmodifiableCollection(removedAssignments);
+		}
+		return removedSensorAssignments;
 	}
 
 	/**
@@ -116,12 +131,16 @@ public class EnvironmentUpdateEvent extends ApplicationEvent {
 	 * @param functionalAssignmentFactory
 	 *            SpecialMethodSensorAssignmentFactory for resolving functional assignment updates.
 	 *
-	 * @return Returns all {@link AbstractClassSensorAssignment} that are "added".
+	 * @return Returns all {@link AbstractClassSensorAssignment} that are "added". The result is
+	 *         computed only once and must not be modified.
 	 */
-	public Collection<AbstractClassSensorAssignment<?>> getAddedSensorAssignments(SpecialMethodSensorAssignmentFactory functionalAssignmentFactory) {
-		Collection<AbstractClassSensorAssignment<?>> addedAssignments = getSensorAssignments(addedProfiles);
-		addedAssignments.addAll(getFunctionalAssignmentsDifference(functionalAssignmentFactory, after, before));
-		return addedAssignments;
+	public synchronized Collection<AbstractClassSensorAssignment<?>> getAddedSensorAssignments(SpecialMethodSensorAssignmentFactory functionalAssignmentFactory) {
+		if (null == addedSensorAssignments) {
+			Collection<AbstractClassSensorAssignment<?>> addedAssignments = getSensorAssignments(addedProfiles);
+			addedAssignments.addAll(getFunctionalAssignmentsDifference(functionalAssignmentFactory, after, before));
+			addedSensorAssignments = Collections.unmodifiableCollection(addedAssignments);
+		}
+		return addedSensorAssignments;
 	}
 
 	/**
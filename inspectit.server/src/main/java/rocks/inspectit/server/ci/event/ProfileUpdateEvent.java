@@ -38,6 +38,16 @@ public class ProfileUpdateEvent extends ApplicationEvent {
 	 */
 	private final Profile after;
 
+	/**
+	 * Cached removed assignments, computed once and shared by all jobs handling this event.
+	 */
+	private transient Collection<AbstractClassSensorAssignment<?>> removedSensorAssignments;
+
+	/**
+	 * Cached added assignments, computed once and shared by all jobs handling this event.
+	 */
+	private transient Collection<AbstractClassSensorAssignment<?>> addedSensorAssignments;
+
 	/**
 	 * Default constructor.
 	 *
@@ -104,11 +114,38 @@ public class ProfileUpdateEvent extends ApplicationEvent {
 	/**
 	 * Returns all {@link AbstractClassSensorAssignment} that are "removed" as result of this
 	 * update. If profile was deactivated then it means that all assignments before the update are
-	 * considered for removal.
+	 * considered for removal. The result is computed only once and must not be modified.
+	 *
+	 * @return Returns all {@link AbstractClassSensorAssignment} that are "removed".
+	 */
+	public synchronized Collection<AbstractClassSensorAssignment<?>> getRemovedSensorAssignments() {
+		if (null == removedSensorAssignments) {
+			removedSensorAssignments = Collections.unmodifiableCollection(computeRemovedSensorAssignments());
+		}
+		return removedSensorAssignments;
+	}
+
+	/**
+	 * Returns all {@link AbstractClassSensorAssignment} that are "added" as result of this update.
+	 * If profile was activated then it means that all assignments after the update are considered
+	 * for adding. The result is computed only once and must not be modified.
+	 *
+	 * @return Returns all {@link AbstractClassSensorAssignment} that are "added".
+	 */
+	public synchronized Collection<AbstractClassSensorAssignment<?>> getAddedSensorAssignments() {
+		if (null == addedSensorAssignments) {
+			addedSensorAssignments = Collections.unmodifiableCollection(computeAddedSensorAssignments());
+		}
+		return addedSensorAssignments;
+	}
+
+	/**
+	 * Computes all {@link AbstractClassSensorAssignment} that are "removed" as result of this
+	 * update.
 	 *
 	 * @return Returns all {@link AbstractClassSensorAssignment} that are "removed".
 	 */
-	public Collection<AbstractClassSensorAssignment<?>> getRemovedSensorAssignments() {
+	private Collection<AbstractClassSensorAssignment<?>> computeRemovedSensorAssignments() {
 		if (isProfileDeactivated()) {
 			// if deactivated then we consider all old assignment to be for removal
 			return getAllSensorAssignments(before);
@@ -122,13 +159,11 @@ public class ProfileUpdateEvent extends ApplicationEvent {
 	}
 
 	/**
-	 * Returns all {@link AbstractClassSensorAssignment} that are "added" as result of this update.
-	 * If profile was activated then it means that all assignments after the update are considered
-	 * for adding.
+	 * Computes all {@link AbstractClassSensorAssignment} that are "added" as result of this update.
 	 *
-	 * @return Returns all {@link AbstractClassSensorAssignment} that are "removed".
+	 * @return Returns all {@link AbstractClassSensorAssignment} that are "added".
 	 */
-	public Collection<AbstractClassSensorAssignment<?>> getAddedSensorAssignments() {
+	private Collection<AbstractClassSensorAssignment<?>> computeAddedSensorAssignments() {
 		if (isProfileDeactivated()) {
 			// if it was deactivated then nothing is for adding
 			return Collections.emptyList();
@@ -178,6 +178,25 @@ public interface InvocationDataDao {
 	 */
 	List<InvocationSequenceData> getInvocationSequenceDetail(long platformId, long methodId, int limit, Date fromDate, Date toDate, Comparator<? super InvocationSequenceData> comparator);
 
+	/**
+	 * Returns all {@link InvocationSequenceData} objects from the buffer having equal or higher id
+	 * than the given one. This method returns the original {@link InvocationSequenceData} instances
+	 * from the buffer, thus they should be cloned before leaving the CMR.
+	 *
+	 * @param platformId
+	 *            The ID of the platform.
+	 * @param methodId
+	 *            The ID of the method.
+	 * @param minId
+	 *            Only invocations with equal or higher id are returned.
+	 * @param comparator
+	 *            Comparator to compare results with. If <code>null</code> is passed default
+	 *            comparator will be used (in this case Timestamp comparator).
+	 *
+	 * @return Returns the list of invocation sequences.
+	 */
+	List<InvocationSequenceData> getInvocationSequenceDetail(long platformId, long methodId, long minId, Comparator<? super InvocationSequenceData> comparator);
+
 	/**
 	 * This method is used to get all the details of a specific invocation sequence.
 	 *
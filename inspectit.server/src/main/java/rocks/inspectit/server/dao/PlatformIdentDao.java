@@ -1,6 +1,7 @@
 package rocks.inspectit.server.dao;
 
 import java.util.List;
+import java.util.Set;
 
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 
@@ -65,6 +66,17 @@ public interface PlatformIdentDao {
 	 */
 	PlatformIdent findInitialized(long id);
 
+	/**
+	 * Same as {@link #findInitialized(long)} but for all agents with the id in the given set.
+	 *
+	 * @param wantedAgentsIds
+	 *            Ids of wanted agents.
+	 *
+	 * @return Returns the {@link PlatformIdent} objects with initialized collections sorted by
+	 *         id.
+	 */
+	List<PlatformIdent> findAllInitialized(Set<Long> wantedAgentsIds);
+
 	/**
 	 * Finds agent(s) that are registered with given agent name. Same as calling
 	 * {@link #findByNameAndIps(String, null)}.
@@ -114,6 +114,37 @@ public interface StorageDataDao {
 	 */
 	List<DefaultData> getAllDefaultDataForAgent(long platformId, Date fromDate, Date toDate);
 
+	/**
+	 * Returns the data that is indexed in the indexing tree for a specific platform ident in the
+	 * given time frame. This is the buffer part of the
+	 * {@link #getAllDefaultDataForAgent(long, Date, Date)}.
+	 *
+	 * @param platformId
+	 *            Id of agent.
+	 * @param fromDate
+	 *            Date to search data from (inclusive). Can be <code>null</code> for no
+	 *            restriction.
+	 * @param toDate
+	 *            Date to search data to (inclusive). Can be <code>null</code> for no restriction.
+	 * @return List of {@link DefaultData} objects.
+	 */
+	List<DefaultData> getBufferDataForAgent(long platformId, Date fromDate, Date toDate);
+
+	/**
+	 * Returns the system sensor data and the last system information data of a specific platform
+	 * ident that are kept in the database. This is the database part of the
+	 * {@link #getAllDefaultDataForAgent(long, Date, Date)}.
+	 *
+	 * @param platformId
+	 *            Id of agent.
+	 * @param fromDate
+	 *            Date to search data from. Can be <code>null</code> for no restriction.
+	 * @param toDate
+	 *            Date to search data to. Can be <code>null</code> for no restriction.
+	 * @return List of {@link DefaultData} objects.
+	 */
+	List<DefaultData> getDatabaseDataForAgent(long platformId, Date fromDate, Date toDate);
+
 	/**
 	 * Returns the fresh data from the buffer which IDs correspond to the given IDs.
 	 *
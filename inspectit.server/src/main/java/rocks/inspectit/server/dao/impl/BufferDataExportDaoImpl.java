@@ -0,0 +1,81 @@
+package rocks.inspectit.server.dao.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.cs.indexing.impl.IndexQuery;
+import rocks.inspectit.shared.cs.indexing.query.provider.impl.IndexQueryProvider;
+
+/**
+ * DataDao that passes the data from the buffer to a consumer without collecting the results, so
+ * that any amount of data can be exported.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Component
+public class BufferDataExportDaoImpl extends AbstractBufferDataDao<DefaultData> {
+
+	/**
+	 * Index query provider.
+	 */
+	@Autowired
+	private IndexQueryProvider indexQueryProvider;
+
+	/**
+	 * Passes the buffer data of given classes to the consumer. If the ids are given, only the data
+	 * with one of the ids is passed. Elements are passed in no specific order.
+	 *
+	 * @param objectClasses
+	 *            Exact classes of the data to export.
+	 * @param platformId
+	 *            Agent id. Value <code>0</code> means all agents.
+	 * @param fromDate
+	 *            From date to search for. Can be <code>null</code> not to set any boundary.
+	 * @param toDate
+	 *            To date to search for. Can be <code>null</code> not to set any boundary.
+	 * @param ids
+	 *            Ids of the data to export, usually the ones indexed since the last export. Can be
+	 *            <code>null</code> to export all data.
+	 * @param consumer
+	 *            Consumer to pass the data to.
+	 */
+	public void exportData(Collection<Class<? extends DefaultData>> objectClasses, long platformId, Date fromDate, Date toDate, Collection<Long> ids,
+			final Consumer<? super DefaultData> consumer) {
+		IndexQuery query = indexQueryProvider.getIndexQuery();
+		query.setObjectClasses(new ArrayList<>(objectClasses));
+		query.setPlatformIdent(platformId);
+		if (null != fromDate) {
+			query.setFromDate(new Timestamp(fromDate.getTime()));
+		}
+		if (null != toDate) {
+			query.setToDate(new Timestamp(toDate.getTime()));
+		}
+
+		if (null == ids) {
+			getIndexingTree().forEach(query, consumer);
+		} else if (!ids.isEmpty()) {
+			final Set<Long> idSet = new HashSet<>(ids);
+			query.setMinId(Collections.min(idSet).longValue());
+			getIndexingTree().forEach(query, new Consumer<DefaultData>() {
+				@Override
+				public void accept(DefaultData defaultData) {
+					if (idSet.contains(defaultData.getId())) {
+						consumer.accept(defaultData);
+					}
+				}
+			});
+		}
+	}
+
+}
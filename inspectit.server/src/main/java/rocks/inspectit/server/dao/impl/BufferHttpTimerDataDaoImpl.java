@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import rocks.inspectit.server.cache.impl.BufferAggregates;
 import rocks.inspectit.server.dao.HttpTimerDataDao;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
@@ -28,13 +29,18 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 	@Autowired
 	private HttpTimerDataQueryFactory<IIndexQuery> httpDataQueryFactory;
 
+	/**
+	 * Aggregates of the buffer content.
+	 */
+	@Autowired
+	private BufferAggregates bufferAggregates;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public List<HttpTimerData> getAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod) {
-		IIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(httpData, null, null);
-		return super.executeQuery(query, new HttpTimerDataAggregator(true, includeRequestMethod), false);
+		return this.getAggregatedHttpTimerData(httpData, includeRequestMethod, null, null);
 	}
 
 	/**
@@ -42,6 +48,9 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 	 */
 	@Override
 	public List<HttpTimerData> getAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, Date fromDate, Date toDate) {
+		if ((null == fromDate) && (null == toDate)) {
+			return bufferAggregates.getAggregatedHttpTimerData(httpData.getPlatformIdent(), includeRequestMethod);
+		}
 		IIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(httpData, fromDate, toDate);
 		return super.executeQuery(query, new HttpTimerDataAggregator(true, includeRequestMethod), false);
 	}
@@ -51,8 +60,7 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 	 */
 	@Override
 	public List<HttpTimerData> getTaggedAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod) {
-		IIndexQuery query = httpDataQueryFactory.getFindAllTaggedHttpTimersQuery(httpData, null, null);
-		return super.executeQuery(query, new HttpTimerDataAggregator(false, includeRequestMethod), false);
+		return this.getTaggedAggregatedHttpTimerData(httpData, includeRequestMethod, null, null);
 	}
 
 	/**
@@ -60,6 +68,9 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 	 */
 	@Override
 	public List<HttpTimerData> getTaggedAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, Date fromDate, Date toDate) {
+		if ((null == fromDate) && (null == toDate)) {
+			return bufferAggregates.getTaggedAggregatedHttpTimerData(httpData.getPlatformIdent(), includeRequestMethod);
+		}
 		IIndexQuery query = httpDataQueryFactory.getFindAllTaggedHttpTimersQuery(httpData, fromDate, toDate);
 		return super.executeQuery(query, new HttpTimerDataAggregator(false, includeRequestMethod), false);
 	}
@@ -117,6 +117,20 @@ public class BufferInvocationDataDaoImpl extends AbstractBufferDataDao<Invocatio
 		return realResults;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<InvocationSequenceData> getInvocationSequenceDetail(long platformId, long methodId, long minId, Comparator<? super InvocationSequenceData> comparator) {
+		IIndexQuery query = invocationDataQueryFactory.getInvocationSequences(platformId, methodId, null, null);
+		query.setMinId(minId);
+		if (null != comparator) {
+			return super.executeQuery(query, comparator, false);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, false);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
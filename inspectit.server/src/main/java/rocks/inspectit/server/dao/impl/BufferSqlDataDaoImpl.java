@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import rocks.inspectit.server.cache.impl.BufferAggregates;
 import rocks.inspectit.server.dao.SqlDataDao;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
@@ -31,6 +32,12 @@ public class BufferSqlDataDaoImpl extends AbstractBufferDataDao<SqlStatementData
 	@Autowired
 	private SqlStatementDataQueryFactory<IIndexQuery> sqlDataQueryFactory;
 
+	/**
+	 * Aggregates of the buffer content.
+	 */
+	@Autowired
+	private BufferAggregates bufferAggregates;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -44,6 +51,9 @@ public class BufferSqlDataDaoImpl extends AbstractBufferDataDao<SqlStatementData
 	 */
 	@Override
 	public List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, Date fromDate, Date toDate) {
+		if ((null == fromDate) && (null == toDate) && !isRestricted(sqlStatementData)) {
+			return bufferAggregates.getAggregatedSqlStatements(sqlStatementData.getPlatformIdent());
+		}
 		IIndexQuery query = sqlDataQueryFactory.getAggregatedSqlStatementsQuery(sqlStatementData, fromDate, toDate);
 		return super.executeQuery(query, Aggregators.SQL_STATEMENT_DATA_AGGREGATOR, true);
 	}
@@ -65,4 +75,16 @@ public class BufferSqlDataDaoImpl extends AbstractBufferDataDao<SqlStatementData
 		return super.executeQuery(query, Aggregators.SQL_STATEMENT_DATA_PARAMETER_AGGREGATOR, true);
 	}
 
+	/**
+	 * Returns if the template restricts the SQL statements beside the platform ident.
+	 *
+	 * @param sqlStatementData
+	 *            Template.
+	 * @return <code>true</code> if any of the statement restrictions is defined.
+	 */
+	private boolean isRestricted(SqlStatementData sqlStatementData) {
+		return (null != sqlStatementData.getSql()) || (null != sqlStatementData.getDatabaseProductName()) || (null != sqlStatementData.getDatabaseProductVersion())
+				|| (null != sqlStatementData.getDatabaseUrl());
+	}
+
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import rocks.inspectit.server.cache.impl.BufferAggregates;
 import rocks.inspectit.server.dao.TimerDataDao;
 import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
@@ -17,6 +18,7 @@ import rocks.inspectit.shared.cs.indexing.query.factory.impl.TimerDataQueryFacto
  * Implementation of {@link TimerData} that searches for timer data in buffer. <br>
  * The query-Method of {@link AbstractBranch} without fork&join is executed, because much timer-data
  * is expected and querying with fork&join will be faster.<br>
+ * Aggregations without time frame are answered by the {@link BufferAggregates}.
  *
  * @author Ivan Senic
  *
@@ -30,6 +32,12 @@ public class BufferTimerDataDaoImpl extends AbstractBufferDataDao<TimerData> imp
 	@Autowired
 	private TimerDataQueryFactory<IIndexQuery> timerDataQueryFactory;
 
+	/**
+	 * Aggregates of the buffer content.
+	 */
+	@Autowired
+	private BufferAggregates bufferAggregates;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -43,6 +51,9 @@ public class BufferTimerDataDaoImpl extends AbstractBufferDataDao<TimerData> imp
 	 */
 	@Override
 	public List<TimerData> getAggregatedTimerData(TimerData timerData, Date fromDate, Date toDate) {
+		if ((null == fromDate) && (null == toDate)) {
+			return bufferAggregates.getAggregatedTimerData(timerData.getPlatformIdent(), timerData.getMethodIdent());
+		}
 		IIndexQuery query = timerDataQueryFactory.getAggregatedTimerDataQuery(timerData, fromDate, toDate);
 		return super.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR, true);
 	}
@@ -179,12 +179,9 @@ public class PlatformIdentDaoImpl extends AbstractJpaDao<PlatformIdent> implemen
 	}
 
 	/**
-	 * Find all initialized agents that have a id in a given set.
-	 *
-	 * @param wantedAgentsIds
-	 *            Agents Ids.
-	 * @return List of {@link PlatformIdent}.
+	 * {@inheritDoc}
 	 */
+	@Override
 	public List<PlatformIdent> findAllInitialized(Set<Long> wantedAgentsIds) {
 		if (null == wantedAgentsIds) {
 			return Collections.emptyList();
@@ -209,22 +209,54 @@ public class StorageDataDaoImpl implements StorageDataDao {
 	@Override
 	public List<DefaultData> getAllDefaultDataForAgent(long platformId, Date fromDate, Date toDate) {
 		List<DefaultData> results = new ArrayList<>();
+		results.addAll(getBufferDataForAgent(platformId, fromDate, toDate));
+		results.addAll(getDatabaseDataForAgent(platformId, fromDate, toDate));
+		return results;
+	}
 
-		// first load all from buffer
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<DefaultData> getBufferDataForAgent(long platformId, Date fromDate, Date toDate) {
 		IIndexQuery query = indexQueryProvider.createNewIndexQuery();
 		query.setPlatformIdent(platformId);
 		if (null != fromDate) {
-			query.setFromDate(new Timestamp(fromDate.getTime()));
+			query.setFromDate(toTimestamp(fromDate));
 		}
 		if (null != toDate) {
-			query.setToDate(new Timestamp(toDate.getTime()));
+			query.setToDate(toTimestamp(toDate));
 		}
 		List<DefaultData> bufferData = indexingTree.query(query);
-		if (CollectionUtils.isNotEmpty(bufferData)) {
-			results.addAll(bufferData);
+		if (null == bufferData) {
+			return Collections.emptyList();
 		}
+		return bufferData;
+	}
+
+	/**
+	 * Converts date to the time stamp keeping the nanoseconds if the given date is already a
+	 * {@link Timestamp}.
+	 *
+	 * @param date
+	 *            Date to convert.
+	 * @return {@link Timestamp}
+	 */
+	private Timestamp toTimestamp(Date date) {
+		if (date instanceof Timestamp) {
+			return (Timestamp) date;
+		}
+		return new Timestamp(date.getTime());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<DefaultData> getDatabaseDataForAgent(long platformId, Date fromDate, Date toDate) {
+		List<DefaultData> results = new ArrayList<>();
 
-		// then load all System sensor data from DB
+		// load all System sensor data from DB
 		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<SystemSensorData> criteria = builder.createQuery(SystemSensorData.class);
 		Root<? extends SystemSensorData> root = criteria.from(SystemSensorData.class);
@@ -1,11 +1,12 @@
 package rocks.inspectit.server.dao.impl;
 
 import java.sql.Timestamp;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.PostConstruct;
 
@@ -17,11 +18,17 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import rocks.inspectit.server.util.JpaUtil;
 import rocks.inspectit.shared.all.communication.data.DatabaseAggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
 
 /**
  * Aggregator for the {@link TimerData} objects that need to be persisted to the DB.
+ * <p>
+ * The aggregator is safe to be used by many threads. Aggregations are kept in the concurrent map
+ * keyed by the platform ident, method ident and aggregation time stamp, and each aggregation is
+ * updated under its own lock. Thus, producers aggregating different methods do not block each
+ * other and persisting of the aggregations does not block the producers.
  *
  * @author Ivan Senic
  * @see https://inspectit-performance.atlassian.net/wiki/display/DEV/TimerData+Aggregator
@@ -49,6 +56,12 @@ public class TimerDataAggregator extends AbstractJpaDao<TimerData> {
 	@Value("${cmr.cacheCleanSleepingPeriod}")
 	long cacheCleanSleepingPeriod;
 
+	/**
+	 * Amount of objects to persist before flushing the entity manager.
+	 */
+	@Value("${database.batchSize}")
+	int batchSize;
+
 	/**
 	 * Current element count in cache.
 	 */
@@ -57,23 +70,18 @@ public class TimerDataAggregator extends AbstractJpaDao<TimerData> {
 	/**
 	 * Map for caching.
 	 */
-	private Map<Integer, TimerData> map;
+	private ConcurrentMap<AggregationKey, AggregationEntry> map;
 
 	/**
 	 * Queue for knowing the order.
 	 */
-	private ConcurrentLinkedQueue<TimerData> queue;
+	private ConcurrentLinkedQueue<AggregationEntry> queue;
 
 	/**
 	 * List of objects that are out of the cache and need to be persisted.
 	 */
 	private ConcurrentLinkedQueue<TimerData> persistList;
 
-	/**
-	 * Lock for persist all.
-	 */
-	private ReentrantLock persistAllLock;
-
 	/**
 	 * Cache cleaner.
 	 */
@@ -94,10 +102,9 @@ public class TimerDataAggregator extends AbstractJpaDao<TimerData> {
 	public TimerDataAggregator(PlatformTransactionManager transactionManager) {
 		super(TimerData.class);
 		elementCount = new AtomicInteger(0);
-		map = new HashMap<>();
+		map = new ConcurrentHashMap<>();
 		queue = new ConcurrentLinkedQueue<>();
 		persistList = new ConcurrentLinkedQueue<>();
-		persistAllLock = new ReentrantLock();
 
 		this.tt = new TransactionTemplate(transactionManager);
 	}
@@ -111,104 +118,125 @@ public class TimerDataAggregator extends AbstractJpaDao<TimerData> {
 	 */
 	public void processTimerData(TimerData timerData) {
 		long aggregationTimestamp = getAlteredTimestamp(timerData);
-		int cacheHash = getCacheHash(timerData.getPlatformIdent(), timerData.getMethodIdent(), aggregationTimestamp);
+		AggregationKey key = new AggregationKey(timerData.getPlatformIdent(), timerData.getMethodIdent(), aggregationTimestamp);
 
-		persistAllLock.lock();
-		try {
-			TimerData aggTimerData = map.get(cacheHash);
-			if (aggTimerData == null) {
+		while (true) {
+			AggregationEntry entry = map.get(key);
+			if (null == entry) {
 				// we create a DB aggregated timer data because we don't want to alter objects that
-				// are in the memory
-				aggTimerData = new DatabaseAggregatedTimerData(new Timestamp(aggregationTimestamp), timerData.getPlatformIdent(), timerData.getSensorTypeIdent(), timerData.getMethodIdent());
-				map.put(cacheHash, aggTimerData);
-				queue.add(aggTimerData);
-
-				// set most recently in cleaner
-				if (null != timerDataAggregatorCacheCleaner) {
-					timerDataAggregatorCacheCleaner.setMostRecentlyAdded(aggTimerData);
+				// are in the memory, aggregate before publishing so no locking is needed
+				DatabaseAggregatedTimerData aggTimerData = new DatabaseAggregatedTimerData(new Timestamp(aggregationTimestamp), timerData.getPlatformIdent(), timerData.getSensorTypeIdent(),
+						timerData.getMethodIdent());
+				aggTimerData.aggregateTimerData(timerData);
+
+				AggregationEntry newEntry = new AggregationEntry(key, aggTimerData);
+				entry = map.putIfAbsent(key, newEntry);
+				if (null == entry) {
+					added(newEntry);
+					return;
 				}
+			}
 
-				int count = elementCount.incrementAndGet();
-				// remove oldest as long as number of elements is higher than maximum
-				while (maxElements < count) {
-					TimerData oldest = queue.poll();
-					if (null != oldest) {
-						map.remove(getCacheHash(oldest.getPlatformIdent(), oldest.getMethodIdent(), oldest.getTimeStamp().getTime()));
-						persistList.add(oldest);
-						count = elementCount.decrementAndGet();
-					}
+			synchronized (entry) {
+				if (!entry.removed) {
+					entry.timerData.aggregateTimerData(timerData);
+					return;
 				}
 			}
-			aggTimerData.aggregateTimerData(timerData);
-		} finally {
-			persistAllLock.unlock();
+			// entry was removed in meantime, try again with new one
 		}
 	}
 
 	/**
-	 * Clears the cache and persists all the data inside.
+	 * Registers the entry that was added to the map and moves the oldest entries to the persist
+	 * list as long as number of elements is higher than maximum.
+	 *
+	 * @param entry
+	 *            Added entry.
+	 */
+	private void added(AggregationEntry entry) {
+		queue.add(entry);
+
+		// set most recently in cleaner
+		if (null != timerDataAggregatorCacheCleaner) {
+			timerDataAggregatorCacheCleaner.setMostRecentlyAdded(entry.timerData);
+		}
+
+		int count = elementCount.incrementAndGet();
+		// remove oldest as long as number of elements is higher than maximum
+		while (maxElements < count) {
+			AggregationEntry oldest = queue.poll();
+			if (null == oldest) {
+				break;
+			}
+			persistList.add(remove(oldest));
+			count = elementCount.get();
+		}
+	}
+
+	/**
+	 * Removes the entry polled from the queue from the map and marks it as removed, so that no
+	 * thread aggregates to it any more.
+	 *
+	 * @param entry
+	 *            Entry polled from the {@link #queue}.
+	 * @return Aggregated timer data of the entry.
+	 */
+	private TimerData remove(AggregationEntry entry) {
+		map.remove(entry.key, entry);
+		synchronized (entry) {
+			entry.removed = true;
+		}
+		elementCount.decrementAndGet();
+		return entry.timerData;
+	}
+
+	/**
+	 * Clears the cache and persists all the data inside. Data is persisted in batches of
+	 * {@link #batchSize}. Producers are not blocked while the data is persisted, new data is
+	 * aggregated in new entries.
 	 */
 	public void removeAndPersistAll() {
 		if (!queue.isEmpty()) {
-			persistAllLock.lock();
-			try {
+			final List<TimerData> toPersist = new ArrayList<>(elementCount.get());
+			AggregationEntry oldest = queue.poll();
+			while (oldest != null) {
+				toPersist.add(remove(oldest));
+				oldest = queue.poll();
+			}
+
+			if (!toPersist.isEmpty()) {
 				tt.execute(new TransactionCallbackWithoutResult() {
 					@Override
 					protected void doInTransactionWithoutResult(TransactionStatus status) {
-						TimerData oldest = queue.poll();
-						while (oldest != null) {
-							map.remove(getCacheHash(oldest.getPlatformIdent(), oldest.getMethodIdent(), oldest.getTimeStamp().getTime()));
-							TimerDataAggregator.super.create(oldest);
-							elementCount.decrementAndGet();
-
-							oldest = queue.poll();
-						}
+						JpaUtil.persistAll(getEntityManager(), toPersist, batchSize);
 					}
 				});
-			} finally {
-				persistAllLock.unlock();
 			}
 		}
 	}
 
 	/**
-	 * Persists all objects in the persistence list.
+	 * Persists all objects in the persistence list. Data is persisted in batches of
+	 * {@link #batchSize}.
 	 */
 	void saveAllInPersistList() {
 		if (!persistList.isEmpty()) {
 			tt.execute(new TransactionCallbackWithoutResult() {
 				@Override
 				protected void doInTransactionWithoutResult(TransactionStatus status) {
+					List<TimerData> toPersist = new ArrayList<>();
 					TimerData last = persistList.poll();
 					while (last != null) {
-						TimerDataAggregator.super.create(last);
+						toPersist.add(last);
 						last = persistList.poll();
 					}
+					JpaUtil.persistAll(getEntityManager(), toPersist, batchSize);
 				}
 			});
 		}
 	}
 
-	/**
-	 * Returns the cache hash code.
-	 *
-	 * @param platformIdent
-	 *            Platform ident.
-	 * @param methodIdent
-	 *            Method ident.
-	 * @param timestampValue
-	 *            Time stamp value as long.
-	 * @return Cache hash for the given set of values.
-	 */
-	private int getCacheHash(long platformIdent, long methodIdent, long timestampValue) {
-		final int prime = 31;
-		int result = 0;
-		result = (prime * result) + (int) (platformIdent ^ (platformIdent >>> 32));
-		result = (prime * result) + (int) (methodIdent ^ (methodIdent >>> 32));
-		result = (prime * result) + (int) (timestampValue ^ (timestampValue >>> 32));
-		return result;
-	}
-
 	/**
 	 * Returns the value of the time stamp based on a aggregation period.
 	 *
@@ -261,4 +289,124 @@ public class TimerDataAggregator extends AbstractJpaDao<TimerData> {
 		return elementCount.get();
 	}
 
+	/**
+	 * Key of the aggregation, composed of platform ident, method ident and aggregation time
+	 * stamp.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static final class AggregationKey {
+
+		/**
+		 * Platform ident.
+		 */
+		private final long platformIdent;
+
+		/**
+		 * Method ident.
+		 */
+		private final long methodIdent;
+
+		/**
+		 * Aggregation time stamp.
+		 */
+		private final long timestamp;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param platformIdent
+		 *            Platform ident.
+		 * @param methodIdent
+		 *            Method ident.
+		 * @param timestamp
+		 *            Aggregation time stamp.
+		 */
+		AggregationKey(long platformIdent, long methodIdent, long timestamp) {
+			this.platformIdent = platformIdent;
+			this.methodIdent = methodIdent;
+			this.timestamp = timestamp;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = (prime * result) + (int) (platformIdent ^ (platformIdent >>> 32));
+			result = (prime * result) + (int) (methodIdent ^ (methodIdent >>> 32));
+			result = (prime * result) + (int) (timestamp ^ (timestamp >>> 32));
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			AggregationKey other = (AggregationKey) obj;
+			if (platformIdent != other.platformIdent) {
+				return false;
+			}
+			if (methodIdent != other.methodIdent) {
+				return false;
+			}
+			if (timestamp != other.timestamp) {
+				return false;
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Entry in the aggregation map. Aggregation must be done while holding the lock of the entry.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static final class AggregationEntry {
+
+		/**
+		 * Key of the entry.
+		 */
+		private final AggregationKey key;
+
+		/**
+		 * Aggregated data.
+		 */
+		private final TimerData timerData;
+
+		/**
+		 * If entry is removed from the map. Guarded by the entry lock.
+		 */
+		private boolean removed;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param key
+		 *            Key of the entry.
+		 * @param timerData
+		 *            Aggregated data.
+		 */
+		AggregationEntry(AggregationKey key, TimerData timerData) {
+			this.key = key;
+			this.timerData = timerData;
+		}
+
+	}
+
 }
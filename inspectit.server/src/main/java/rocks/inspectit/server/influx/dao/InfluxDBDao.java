@@ -11,6 +11,7 @@ import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDB.ConsistencyLevel;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
@@ -135,6 +136,26 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 		influxDB.write(database, retentionPolicy, dataPoint);
 	}
 
+	/**
+	 * Writes the given records in the line protocol format directly into the database. The
+	 * records are not passed through the batching of the client, thus this method blocks until
+	 * the write is executed. Any exception occurring during the write is passed to the caller.
+	 *
+	 * @param records
+	 *            Records in the line protocol format separated by new lines.
+	 */
+	public void writeRecords(String records) {
+		if ((records == null) || records.isEmpty() || !isConnected()) {
+			return;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Write {} bytes of records to InfluxDB.", records.length());
+		}
+
+		influxDB.write(database, retentionPolicy, ConsistencyLevel.ONE, records);
+	}
+
 	/**
 	 * Executes the given query on the database.
 	 *
@@ -0,0 +1,395 @@
+package rocks.inspectit.server.influx.dao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Pipelined writer of the influx points. The points are passed in the line protocol format to a
+ * bounded queue. A dedicated writer thread drains the queue, groups the points of a batch by
+ * measurement and writes them with one request to the {@link InfluxDBDao}. Failed writes are
+ * retried, points that can not be queued or written are dropped and counted. On shutdown the queued
+ * points are written before the writer stops.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Component
+public class InfluxPointWriter {
+
+	/**
+	 * Interval in milliseconds in which the writer drains the queue.
+	 */
+	static final long FLUSH_INTERVAL = 1000L;
+
+	/**
+	 * Time in milliseconds the caller waits for a free place in the queue before the point is
+	 * dropped.
+	 */
+	static final long OFFER_TIMEOUT = 50L;
+
+	/**
+	 * Time in milliseconds to wait before the first retry of a failed write. Each following retry
+	 * waits one more period.
+	 */
+	static final long RETRY_BACKOFF = 100L;
+
+	/**
+	 * Time in milliseconds to wait on shutdown for the queued points to be written.
+	 */
+	static final long SHUTDOWN_TIMEOUT = 10000L;
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * If pipelined writes are active.
+	 */
+	@Value("${influxdb.pipelinedWrites}")
+	boolean pipelinedWrites;
+
+	/**
+	 * Capacity of the queue.
+	 */
+	@Value("${influxdb.writeQueueSize}")
+	int queueSize;
+
+	/**
+	 * Maximal amount of points written with one request.
+	 */
+	@Value("${influxdb.writeBatchSize}")
+	int batchSize;
+
+	/**
+	 * Amount of retries of a failed write.
+	 */
+	@Value("${influxdb.writeRetries}")
+	int retries;
+
+	/**
+	 * {@link InfluxDBDao} to write to.
+	 */
+	@Autowired
+	InfluxDBDao influxDbDao;
+
+	/**
+	 * Executor service running the {@link #writingTask}.
+	 */
+	@Autowired
+	@Resource(name = "influxWriterExecutorService")
+	ScheduledExecutorService executorService;
+
+	/**
+	 * Queue of the records waiting to be written.
+	 */
+	private BlockingQueue<String> queue;
+
+	/**
+	 * Task draining the queue.
+	 */
+	private final WritingTask writingTask = new WritingTask();
+
+	/**
+	 * Future of the scheduled {@link #writingTask}.
+	 */
+	private ScheduledFuture<?> writingFuture;
+
+	/**
+	 * Amount of written points.
+	 */
+	private final AtomicLong writtenPoints = new AtomicLong();
+
+	/**
+	 * Amount of dropped points.
+	 */
+	private final AtomicLong droppedPoints = new AtomicLong();
+
+	/**
+	 * Amount of executed write requests.
+	 */
+	private final AtomicLong writeRequests = new AtomicLong();
+
+	/**
+	 * Total latency of all write requests in nanoseconds.
+	 */
+	private final AtomicLong totalWriteLatency = new AtomicLong();
+
+	/**
+	 * Maximum latency of a write request in nanoseconds.
+	 */
+	private final AtomicLong maxWriteLatency = new AtomicLong();
+
+	/**
+	 * Creates the queue and starts the writer.
+	 */
+	@PostConstruct
+	public void init() {
+		queue = new ArrayBlockingQueue<>(queueSize);
+		writingFuture = executorService.scheduleWithFixedDelay(writingTask, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the scheduled writing and writes the points remaining in the queue. The last write is
+	 * executed by the writer thread, so that it does not run in parallel with a running write.
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (null != writingFuture) {
+			writingFuture.cancel(false);
+		}
+
+		try {
+			Future<?> future = executorService.submit(writingTask);
+			if (null != future) {
+				future.get(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+			if (log.isWarnEnabled()) {
+				log.warn("Writing of the queued points to the InfluxDB on shutdown failed.", e);
+			}
+		}
+
+		int remaining = queue.size();
+		if (remaining > 0) {
+			droppedPoints.addAndGet(remaining);
+			queue.clear();
+		}
+	}
+
+	/**
+	 * Returns if the pipelined writes are active.
+	 *
+	 * @return Returns if the pipelined writes are active.
+	 */
+	public boolean isActive() {
+		return pipelinedWrites;
+	}
+
+	/**
+	 * Passes the point to the writer. If the queue is full the caller waits at most
+	 * {@link #OFFER_TIMEOUT} milliseconds for a free place before the point is dropped.
+	 *
+	 * @param point
+	 *            Point to write.
+	 */
+	public void write(Point point) {
+		if (null == point) {
+			return;
+		}
+
+		try {
+			if (!queue.offer(point.lineProtocol(), OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				droppedPoints.incrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			droppedPoints.incrementAndGet();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the statistics of the writer. The map contains the amount of queued, written and
+	 * dropped points, the amount of write requests and the average and maximum write latency in
+	 * milliseconds.
+	 *
+	 * @return Map of the statistic names to values.
+	 */
+	public Map<String, Long> getStatistics() {
+		long requests = writeRequests.get();
+		Map<String, Long> statistics = new LinkedHashMap<>();
+		statistics.put("queuedPoints", (null != queue) ? (long) queue.size() : 0L);
+		statistics.put("writtenPoints", writtenPoints.get());
+		statistics.put("droppedPoints", droppedPoints.get());
+		statistics.put("writeRequests", requests);
+		statistics.put("averageWriteLatency", (requests > 0) ? TimeUnit.NANOSECONDS.toMillis(totalWriteLatency.get() / requests) : 0L);
+		statistics.put("maxWriteLatency", TimeUnit.NANOSECONDS.toMillis(maxWriteLatency.get()));
+		return statistics;
+	}
+
+	/**
+	 * Returns the measurement of the record in the line protocol format. The measurement ends with
+	 * the first not escaped comma or space.
+	 *
+	 * @param record
+	 *            Record in the line protocol format.
+	 * @return Measurement of the record.
+	 */
+	static String getMeasurement(String record) {
+		for (int i = 0; i < record.length(); i++) {
+			char c = record.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if ((c == ',') || (c == ' ')) {
+				return record.substring(0, i);
+			}
+		}
+		return record;
+	}
+
+	/**
+	 * Task that drains the queue and writes the records in batches. The task is executed by a
+	 * single thread, thus the buffers are reused between the executions.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	class WritingTask implements Runnable {
+
+		/**
+		 * Records of the current batch.
+		 */
+		private final List<String> batch = new ArrayList<>();
+
+		/**
+		 * Records of the current batch grouped by measurement.
+		 */
+		private final Map<String, List<String>> measurementRecords = new LinkedHashMap<>();
+
+		/**
+		 * Buffer holding the request body.
+		 */
+		private final StringBuilder buffer = new StringBuilder();
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * If the thread is interrupted while waiting for a retry, the current batch is dropped and
+		 * the task returns with the interrupt status set.
+		 */
+		@Override
+		public void run() {
+			try {
+				while (queue.drainTo(batch, batchSize) > 0) {
+					int size = batch.size();
+					write(toRecords());
+					batch.clear();
+
+					if (size < batchSize) {
+						break;
+					}
+				}
+			} catch (InterruptedException e) {
+				droppedPoints.addAndGet(batch.size());
+				batch.clear();
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				// never let the scheduled task die
+				if (log.isErrorEnabled()) {
+					log.error("Unexpected exception occurred while writing points to the InfluxDB.", e);
+				}
+				droppedPoints.addAndGet(batch.size());
+				batch.clear();
+			}
+		}
+
+		/**
+		 * Groups the records of the current batch by measurement and joins them to the request
+		 * body.
+		 *
+		 * @return Request body.
+		 */
+		private String toRecords() {
+			for (List<String> records : measurementRecords.values()) {
+				records.clear();
+			}
+
+			for (String record : batch) {
+				String measurement = getMeasurement(record);
+				List<String> records = measurementRecords.get(measurement);
+				if (null == records) {
+					records = new ArrayList<>();
+					measurementRecords.put(measurement, records);
+				}
+				records.add(record);
+			}
+
+			buffer.setLength(0);
+			for (List<String> records : measurementRecords.values()) {
+				for (String record : records) {
+					if (buffer.length() > 0) {
+						buffer.append('\n');
+					}
+					buffer.append(record);
+				}
+			}
+			return buffer.toString();
+		}
+
+		/**
+		 * Writes the records of the current batch. The write is retried {@link #retries} times,
+		 * afterwards the points are dropped.
+		 *
+		 * @param records
+		 *            Request body.
+		 * @throws InterruptedException
+		 *             If the thread is interrupted while waiting for the retry.
+		 */
+		private void write(String records) throws InterruptedException {
+			for (int attempt = 0;; attempt++) {
+				if (!influxDbDao.isConnected()) {
+					droppedPoints.addAndGet(batch.size());
+					return;
+				}
+
+				long start = System.nanoTime();
+				try {
+					influxDbDao.writeRecords(records);
+				} catch (Exception e) {
+					if (attempt >= retries) {
+						if (log.isWarnEnabled()) {
+							log.warn("Writing of " + batch.size() + " points to the InfluxDB failed, points are dropped.", e);
+						}
+						droppedPoints.addAndGet(batch.size());
+						return;
+					}
+
+					Thread.sleep(RETRY_BACKOFF * (attempt + 1));
+					continue;
+				}
+
+				long latency = System.nanoTime() - start;
+				writeRequests.incrementAndGet();
+				writtenPoints.addAndGet(batch.size());
+				totalWriteLatency.addAndGet(latency);
+				long max = maxWriteLatency.get();
+				while ((latency > max) && !maxWriteLatency.compareAndSet(max, latency)) {
+					max = maxWriteLatency.get();
+				}
+
+				if (log.isDebugEnabled()) {
+					log.debug("Wrote {} points to the InfluxDB in {} ms.", batch.size(), TimeUnit.NANOSECONDS.toMillis(latency));
+				}
+				return;
+			}
+		}
+	}
+}
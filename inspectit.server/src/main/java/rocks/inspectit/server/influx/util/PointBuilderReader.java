@@ -0,0 +1,107 @@
+package rocks.inspectit.server.influx.util;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.influxdb.dto.Point.Builder;
+
+/**
+ * Utility class for reading the content of the influx point {@link Builder}s. The used influx
+ * client does not expose the measurement, tags and fields of a point, thus these are read directly
+ * from the builder.
+ *
+ * @author Ivan Senic
+ *
+ */
+public final class PointBuilderReader {
+
+	/**
+	 * Measurement field of the builder.
+	 */
+	private static final Field MEASUREMENT_FIELD = getBuilderField("measurement");
+
+	/**
+	 * Tags field of the builder.
+	 */
+	private static final Field TAGS_FIELD = getBuilderField("tags");
+
+	/**
+	 * Fields field of the builder.
+	 */
+	private static final Field FIELDS_FIELD = getBuilderField("fields");
+
+	/**
+	 * Private constructor for utility class.
+	 */
+	private PointBuilderReader() {
+	}
+
+	/**
+	 * Returns the measurement of the builder.
+	 *
+	 * @param builder
+	 *            Point builder.
+	 * @return Measurement.
+	 */
+	public static String getMeasurement(Builder builder) {
+		return (String) getValue(MEASUREMENT_FIELD, builder);
+	}
+
+	/**
+	 * Returns the tags of the builder.
+	 *
+	 * @param builder
+	 *            Point builder.
+	 * @return Tags.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, String> getTags(Builder builder) {
+		return (Map<String, String>) getValue(TAGS_FIELD, builder);
+	}
+
+	/**
+	 * Returns the fields of the builder.
+	 *
+	 * @param builder
+	 *            Point builder.
+	 * @return Fields.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> getFields(Builder builder) {
+		return (Map<String, Object>) getValue(FIELDS_FIELD, builder);
+	}
+
+	/**
+	 * Reads the value of the field from the builder.
+	 *
+	 * @param field
+	 *            Field to read.
+	 * @param builder
+	 *            Point builder.
+	 * @return Value of the field.
+	 */
+	private static Object getValue(Field field, Builder builder) {
+		try {
+			return field.get(builder);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Field " + field.getName() + " of the point builder can not be read.", e);
+		}
+	}
+
+	/**
+	 * Returns the accessible declared field of the {@link Builder} class.
+	 *
+	 * @param name
+	 *            Name of the field.
+	 * @return Field.
+	 */
+	private static Field getBuilderField(String name) {
+		try {
+			Field field = Builder.class.getDeclaredField(name);
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException("Point builder of the used influx client has no field " + name + ".", e);
+		}
+	}
+}
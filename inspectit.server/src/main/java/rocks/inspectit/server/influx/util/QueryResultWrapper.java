@@ -35,6 +35,18 @@ public class QueryResultWrapper {
 		init();
 	}
 
+	/**
+	 * Constructor for wrapping a single {@link Result} of a query containing multiple statements.
+	 *
+	 * @param result
+	 *            the {@link Result} to wrap
+	 */
+	public QueryResultWrapper(Result result) {
+		this.queryResult = null;
+
+		initSeries(result);
+	}
+
 	/**
 	 * Initially checking if the {@link #queryResult} contains a {@link Series}.
 	 */
@@ -51,7 +63,20 @@ public class QueryResultWrapper {
 			return;
 		}
 
-		Result result = queryResult.getResults().get(0);
+		initSeries(queryResult.getResults().get(0));
+	}
+
+	/**
+	 * Initially checking if the given {@link Result} contains a {@link Series}.
+	 *
+	 * @param result
+	 *            the {@link Result} to check
+	 */
+	private void initSeries(Result result) {
+		if (result == null) {
+			return;
+		}
+
 		if (result.getSeries() == null) {
 			return;
 		}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
@@ -15,6 +16,8 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Iterables;
+
 import rocks.inspectit.server.instrumentation.config.ClassCacheSearchNarrower;
 import rocks.inspectit.server.instrumentation.config.applier.IInstrumentationApplier;
 import rocks.inspectit.server.instrumentation.config.applier.RemoveAllInstrumentationApplier;
@@ -40,6 +43,12 @@ import rocks.inspectit.shared.cs.ci.assignment.AbstractClassSensorAssignment;
 @Lazy
 public class ClassCacheInstrumentation {
 
+	/**
+	 * Maximum amount of types processed while holding the class cache write lock when adding or
+	 * removing instrumentation points for a collection of types.
+	 */
+	private static final int TYPES_PER_WRITE_LOCK = 128;
+
 	/**
 	 * Log of the class.
 	 */
@@ -257,33 +266,40 @@ public class ClassCacheInstrumentation {
 			return Collections.emptyList();
 		}
 
-		try {
-			return classCache.executeWithWriteLock(new Callable<Collection<? extends ImmutableClassType>>() {
-				@Override
-				public Collection<? extends ImmutableClassType> call() throws Exception {
-					Collection<ImmutableClassType> results = new ArrayList<>();
-					for (ImmutableType type : types) {
-						// only initialized class types can have instrumentation points
-						if (type.isClass() && type.isInitialized()) {
-							ClassType classType = (ClassType) type.castToClass();
-							boolean added = false;
-
-							for (IInstrumentationApplier applier : appliers) {
-								added |= applier.addInstrumentationPoints(agentConfiguration, classType);
-							}
-
-							if (added) {
-								results.add(type.castToClass());
+		Collection<ImmutableClassType> results = new ArrayList<>();
+
+		// write lock is held only for one batch of types, so that class analysis is not blocked
+		for (final List<? extends ImmutableType> batch : Iterables.partition(types, TYPES_PER_WRITE_LOCK)) {
+			try {
+				results.addAll(classCache.executeWithWriteLock(new Callable<Collection<ImmutableClassType>>() {
+					@Override
+					public Collection<ImmutableClassType> call() throws Exception {
+						Collection<ImmutableClassType> batchResults = new ArrayList<>();
+						for (ImmutableType type : batch) {
+							// only initialized class types can have instrumentation points
+							if (type.isClass() && type.isInitialized()) {
+								ClassType classType = (ClassType) type.castToClass();
+								boolean added = false;
+
+								for (IInstrumentationApplier applier : appliers) {
+									added |= applier.addInstrumentationPoints(agentConfiguration, classType);
+								}
+
+								if (added) {
+									batchResults.add(type.castToClass());
+								}
 							}
 						}
+						return batchResults;
 					}
-					return results;
-				}
-			});
-		} catch (Exception e) {
-			log.error("Error occurred while trying to add instrumentation points from the class cache.", e);
-			return Collections.emptyList();
+				}));
+			} catch (Exception e) {
+				log.error("Error occurred while trying to add instrumentation points from the class cache.", e);
+				break;
+			}
 		}
+
+		return results;
 	}
 
 	/**
@@ -321,33 +337,40 @@ public class ClassCacheInstrumentation {
 			return Collections.emptyList();
 		}
 
-		try {
-			return classCache.executeWithWriteLock(new Callable<Collection<? extends ImmutableClassType>>() {
-				@Override
-				public Collection<? extends ImmutableClassType> call() throws Exception {
-					Collection<ImmutableClassType> results = new ArrayList<>();
-					for (ImmutableType type : types) {
-						// only initialized class types can have instrumentation points
-						if (type.isClass() && type.isInitialized()) {
-							ClassType classType = (ClassType) type.castToClass();
-							boolean added = false;
-
-							for (IInstrumentationApplier applier : instrumentationAppliers) {
-								added |= applier.removeInstrumentationPoints(classType);
-							}
-
-							if (added) {
-								results.add(type.castToClass());
+		Collection<ImmutableClassType> results = new ArrayList<>();
+
+		// write lock is held only for one batch of types, so that class analysis is not blocked
+		for (final List<? extends ImmutableType> batch : Iterables.partition(types, TYPES_PER_WRITE_LOCK)) {
+			try {
+				results.addAll(classCache.executeWithWriteLock(new Callable<Collection<ImmutableClassType>>() {
+					@Override
+					public Collection<ImmutableClassType> call() throws Exception {
+						Collection<ImmutableClassType> batchResults = new ArrayList<>();
+						for (ImmutableType type : batch) {
+							// only initialized class types can have instrumentation points
+							if (type.isClass() && type.isInitialized()) {
+								ClassType classType = (ClassType) type.castToClass();
+								boolean removed = false;
+
+								for (IInstrumentationApplier applier : instrumentationAppliers) {
+									removed |= applier.removeInstrumentationPoints(classType);
+								}
+
+								if (removed) {
+									batchResults.add(type.castToClass());
+								}
 							}
 						}
+						return batchResults;
 					}
-					return results;
-				}
-			});
-		} catch (Exception e) {
-			log.error("Error occurred while trying to remove specific instrumentation points from the class cache.", e);
-			return Collections.emptyList();
+				}));
+			} catch (Exception e) {
+				log.error("Error occurred while trying to remove specific instrumentation points from the class cache.", e);
+				break;
+			}
 		}
+
+		return results;
 	}
 
 	/**
@@ -3,9 +3,9 @@ package rocks.inspectit.server.instrumentation.classcache.index;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 
+import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
@@ -22,6 +22,8 @@ import rocks.inspectit.shared.all.pattern.WildcardMatchPattern;
 
 /**
  * Fast type indexer by FQN name. Indexer can locate types by exact name or by startsWith approach.
+ * In addition the indexer keeps the {@link FqnSuffixIndex} so that the patterns starting with the
+ * wild-card can be resolved by the endsWith approach.
  * <p>
  * Note that this indexer should not be used with multiple threads reading and writing. Multiple
  * threads reading is OK.
@@ -36,6 +38,11 @@ import rocks.inspectit.shared.all.pattern.WildcardMatchPattern;
 @Lazy
 public class FqnIndexer<E extends Type> extends TypeSet<E> implements INodeChangeListener {
 
+	/**
+	 * Index of same types sorted by the reversed FQN.
+	 */
+	private final FqnSuffixIndex<E> suffixIndex = new FqnSuffixIndex<>();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -128,14 +135,27 @@ public class FqnIndexer<E extends Type> extends TypeSet<E> implements INodeChang
 
 		Collection<E> results;
 		if (WildcardMatchPattern.isPattern(template)) {
-			// for wild card use startsWith method
+			if (StringUtils.containsOnly(template, "*")) {
+				// only wild-cards, everything matches
+				return findAll();
+			}
+
 			String startsWithCriteria = template.substring(0, template.indexOf('*'));
-			results = findStartsWith(startsWithCriteria);
+			String endsWithCriteria = template.substring(template.lastIndexOf('*') + 1);
+
+			// use the criteria that gives less types to check
+			Collection<E> candidates;
+			if (endsWithCriteria.isEmpty() || (!startsWithCriteria.isEmpty() && (countStartsWith(startsWithCriteria) <= suffixIndex.countEndsWith(endsWithCriteria)))) {
+				candidates = findStartsWith(startsWithCriteria);
+			} else {
+				candidates = suffixIndex.findEndsWith(endsWithCriteria);
+			}
+
 			// make sure each type it's fitting to the pattern
-			for (Iterator<E> it = results.iterator(); it.hasNext();) {
-				E element = it.next();
-				if (!matchPattern.match(element.getFQN())) {
-					it.remove();
+			results = new ArrayList<>();
+			for (E element : candidates) {
+				if (matchPattern.match(element.getFQN())) {
+					results.add(element);
 				}
 			}
 		} else {
@@ -150,6 +170,65 @@ public class FqnIndexer<E extends Type> extends TypeSet<E> implements INodeChang
 		return results;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean add(E e) {
+		boolean added = super.add(e);
+		if (added) {
+			suffixIndex.add(e);
+		}
+		return added;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addOrUpdate(E e) {
+		super.addOrUpdate(e);
+		suffixIndex.addOrUpdate(e);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object o) {
+		boolean removed = super.remove(o);
+		if (removed) {
+			suffixIndex.remove(o);
+		}
+		return removed;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		suffixIndex.clear();
+	}
+
+	/**
+	 * Returns amount of types that start with given string.
+	 *
+	 * @param fqnWildCard
+	 *            String that class should start with.
+	 * @return Amount of types starting with the given string.
+	 */
+	private int countStartsWith(String fqnWildCard) {
+		long minMaxIndex = findStartsWithMinMaxIndexes(fqnWildCard);
+
+		int min = getLowerInt(minMaxIndex);
+		if (min < 0) {
+			return 0;
+		}
+		return (getUpperInt(minMaxIndex) - min) + 1;
+	}
+
 	/**
 	 * Finds index for a FQN to retrieve.
 	 *
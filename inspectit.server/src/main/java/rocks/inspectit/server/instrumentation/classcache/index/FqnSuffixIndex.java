@@ -0,0 +1,155 @@
+package rocks.inspectit.server.instrumentation.classcache.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.SortedArraySet;
+
+/**
+ * Set of types sorted by the reversed FQN. All types that have the FQN ending with the same
+ * {@link String} are thus located next to each other, which allows finding types by the FQN
+ * ending (like <i>*Servlet</i> or <i>*.Controller</i>) with the binary search instead of checking
+ * each type.
+ * <p>
+ * Note that this index is not thread safe, same as the {@link FqnIndexer} using it.
+ *
+ * @author Ivan Senic
+ *
+ * @param <E>
+ *            Type being indexed.
+ */
+class FqnSuffixIndex<E extends Type> extends SortedArraySet<E> {
+
+	/**
+	 * Comparator that compares the FQNs of the types from the last character to the first one.
+	 */
+	static final Comparator<Type> REVERSED_FQN_COMPARATOR = new Comparator<Type>() {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compare(Type o1, Type o2) {
+			return compareReversed(o1.getFQN(), o2.getFQN());
+		}
+	};
+
+	/**
+	 * Default constructor.
+	 */
+	@SuppressWarnings("unchecked")
+	FqnSuffixIndex() {
+		super((Comparator<E>) REVERSED_FQN_COMPARATOR);
+	}
+
+	/**
+	 * Finds all types which FQN ends with given string.
+	 *
+	 * @param suffix
+	 *            String that FQN should end with.
+	 * @return All types ending with the given string.
+	 */
+	public Collection<E> findEndsWith(String suffix) {
+		long minMaxIndex = findEndsWithMinMaxIndexes(suffix);
+
+		int min = getLowerInt(minMaxIndex);
+		int max = getUpperInt(minMaxIndex);
+
+		if (min < 0) {
+			return Collections.emptyList();
+		}
+
+		List<E> results = new ArrayList<>((max - min) + 1);
+		for (int i = min; i <= max; i++) {
+			results.add(getAt(i));
+		}
+		return results;
+	}
+
+	/**
+	 * Returns amount of types which FQN ends with given string.
+	 *
+	 * @param suffix
+	 *            String that FQN should end with.
+	 * @return Amount of types ending with the given string.
+	 */
+	public int countEndsWith(String suffix) {
+		long minMaxIndex = findEndsWithMinMaxIndexes(suffix);
+
+		int min = getLowerInt(minMaxIndex);
+		if (min < 0) {
+			return 0;
+		}
+		return (getUpperInt(minMaxIndex) - min) + 1;
+	}
+
+	/**
+	 * Find elements that end with given {@link String}.
+	 *
+	 * @param suffix
+	 *            String that elements should end with.
+	 * @return Min and max index packed in a long. Min index is in lower int, while max index is in
+	 *         upper int. If no element is found, min index will be packed as -1.
+	 */
+	private long findEndsWithMinMaxIndexes(String suffix) {
+		int size = size();
+
+		// first element that is not smaller than the suffix in the reversed order
+		int min = 0;
+		int max = size;
+		while (min < max) {
+			int mid = midpoint(min, max);
+			if (compareReversed(getAt(mid).getFQN(), suffix) < 0) {
+				min = mid + 1;
+			} else {
+				max = mid;
+			}
+		}
+		int minIndex = min;
+
+		if ((minIndex >= size) || !getAt(minIndex).getFQN().endsWith(suffix)) {
+			return pack(0, -1);
+		}
+
+		// then the first element after that does not end with suffix
+		min = minIndex;
+		max = size;
+		while (min < max) {
+			int mid = midpoint(min, max);
+			if (getAt(mid).getFQN().endsWith(suffix)) {
+				min = mid + 1;
+			} else {
+				max = mid;
+			}
+		}
+
+		return pack(min - 1, minIndex);
+	}
+
+	/**
+	 * Compares two strings as they would be reversed.
+	 *
+	 * @param s1
+	 *            First string.
+	 * @param s2
+	 *            Second string.
+	 * @return Negative value, zero or positive value if the reversed first string is less, equal
+	 *         or greater than the reversed second string.
+	 */
+	static int compareReversed(String s1, String s2) {
+		int i = s1.length() - 1;
+		int j = s2.length() - 1;
+		while ((i >= 0) && (j >= 0)) {
+			char c1 = s1.charAt(i--);
+			char c2 = s2.charAt(j--);
+			if (c1 != c2) {
+				return c1 - c2;
+			}
+		}
+		return s1.length() - s2.length();
+	}
+}
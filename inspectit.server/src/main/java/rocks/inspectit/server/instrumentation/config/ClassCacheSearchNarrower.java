@@ -3,6 +3,7 @@ package rocks.inspectit.server.instrumentation.config;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Component;
@@ -87,8 +88,9 @@ public class ClassCacheSearchNarrower {
 
 			// then load initialized realizing classes from all interfaces
 			Collection<ImmutableClassType> results = new HashSet<>();
+			Set<ImmutableType> visited = new HashSet<>();
 			for (ImmutableInterfaceType interfaceType : interfaceTypes) {
-				collectClassesFromInterfaceAndSubInterfaces(results, interfaceType);
+				collectClassesFromInterfaceAndSubInterfaces(results, visited, interfaceType);
 			}
 			return results;
 		} else if (isSuperClass) {
@@ -101,8 +103,9 @@ public class ClassCacheSearchNarrower {
 
 			// then load initialized sub-classes from all super types
 			Collection<ImmutableClassType> results = new HashSet<>();
+			Set<ImmutableType> visited = new HashSet<>();
 			for (ImmutableClassType superClassType : superClassTypes) {
-				collectClassesFromSubClasses(results, superClassType);
+				collectClassesFromSubClasses(results, visited, superClassType);
 			}
 			return results;
 		} else {
@@ -134,6 +137,7 @@ public class ClassCacheSearchNarrower {
 
 		// then load initialized sub-classes from all super types
 		Collection<ImmutableClassType> results = new HashSet<>();
+		Set<ImmutableType> visited = new HashSet<>();
 		for (ImmutableAnnotationType annotationType : annotationTypes) {
 			for (ImmutableTypeWithAnnotations typeWithAnnotations : annotationType.getImmutableAnnotatedTypes()) {
 
@@ -148,10 +152,10 @@ public class ClassCacheSearchNarrower {
 						if (immutableClassType.isInitialized()) {
 							results.add(immutableClassType);
 						}
-						collectClassesFromSubClasses(results, immutableClassType);
+						collectClassesFromSubClasses(results, visited, immutableClassType);
 					} else if (immutableType.isInterface()) {
 						ImmutableInterfaceType immutableInterfaceType = immutableType.castToInterface();
-						collectClassesFromInterfaceAndSubInterfaces(results, immutableInterfaceType);
+						collectClassesFromInterfaceAndSubInterfaces(results, visited, immutableInterfaceType);
 					}
 				}
 
@@ -172,41 +176,52 @@ public class ClassCacheSearchNarrower {
 
 	/**
 	 * Collects all realizing classes that implement given interface or any of its sub-interfaces
-	 * and adds them to the given results list. This method is recursive.
+	 * and adds them to the given results list. This method is recursive. Types already in the
+	 * visited set are not processed again, as all their sub-types have already been collected.
 	 *
 	 * @param results
 	 *            List to store classes to.
+	 * @param visited
+	 *            Set of already visited types.
 	 * @param interfaceType
 	 *            Type to check.
 	 */
-	private void collectClassesFromInterfaceAndSubInterfaces(Collection<ImmutableClassType> results, ImmutableInterfaceType interfaceType) {
+	private void collectClassesFromInterfaceAndSubInterfaces(Collection<ImmutableClassType> results, Set<ImmutableType> visited, ImmutableInterfaceType interfaceType) {
 		for (ImmutableClassType classType : interfaceType.getImmutableRealizingClasses()) {
 			if (classType.isInitialized()) {
 				results.add(classType);
 			}
-			collectClassesFromSubClasses(results, classType);
+			collectClassesFromSubClasses(results, visited, classType);
 		}
 
 		for (ImmutableInterfaceType superInterfaceType : interfaceType.getImmutableSubInterfaces()) {
-			collectClassesFromInterfaceAndSubInterfaces(results, superInterfaceType);
+			if (visited.add(superInterfaceType)) {
+				collectClassesFromInterfaceAndSubInterfaces(results, visited, superInterfaceType);
+			}
 		}
 	}
 
 	/**
 	 * Collects all realizing classes that are sub-class of given class type or any of its
-	 * sub-classes and adds them to the given results list. This method is recursive.
+	 * sub-classes and adds them to the given results list. This method is recursive. Types already
+	 * in the visited set are not processed again, as all their sub-types have already been
+	 * collected.
 	 *
 	 * @param results
 	 *            List to store classes to.
+	 * @param visited
+	 *            Set of already visited types.
 	 * @param classType
 	 *            Type to check.
 	 */
-	private void collectClassesFromSubClasses(Collection<ImmutableClassType> results, ImmutableClassType classType) {
+	private void collectClassesFromSubClasses(Collection<ImmutableClassType> results, Set<ImmutableType> visited, ImmutableClassType classType) {
 		for (ImmutableClassType subClassType : classType.getImmutableSubClasses()) {
-			if (subClassType.isInitialized()) {
-				results.add(subClassType);
+			if (visited.add(subClassType)) {
+				if (subClassType.isInitialized()) {
+					results.add(subClassType);
+				}
+				collectClassesFromSubClasses(results, visited, subClassType);
 			}
-			collectClassesFromSubClasses(results, subClassType);
 		}
 	}
 
@@ -4,6 +4,10 @@ import java.util.Collection;
 
 import org.apache.commons.lang.StringUtils;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableAbstractInterfaceType;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableAnnotationType;
@@ -22,6 +26,22 @@ import rocks.inspectit.shared.cs.ci.assignment.AbstractClassSensorAssignment;
  */
 public class ClassSensorAssignmentFilter {
 
+	/**
+	 * Maximum amount of patterns to keep in the {@link #patternCache}.
+	 */
+	private static final int MAX_CACHED_PATTERNS = 10000;
+
+	/**
+	 * Cache of the created patterns, as the same patterns from the assignments are checked against
+	 * every type and method in the class cache.
+	 */
+	private final LoadingCache<String, IMatchPattern> patternCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PATTERNS).build(new CacheLoader<String, IMatchPattern>() {
+		@Override
+		public IMatchPattern load(String key) throws Exception {
+			return PatternFactory.getPattern(key);
+		}
+	});
+
 	/**
 	 * Tests if the given {@link ImmutableClassType} matches the class sensor assignment. Same as
 	 * calling {@link #matches(AbstractClassSensorAssignment, ImmutableClassType, true)}.
@@ -74,7 +94,7 @@ public class ClassSensorAssignmentFilter {
 	 *         in the {@link AbstractClassSensorAssignment}.
 	 */
 	private boolean matchesClassName(AbstractClassSensorAssignment<?> classSensorAssignment, ImmutableClassType classType) {
-		IMatchPattern pattern = PatternFactory.getPattern(classSensorAssignment.getClassName());
+		IMatchPattern pattern = getPattern(classSensorAssignment.getClassName());
 
 		if (classSensorAssignment.isSuperclass()) {
 			// TODO INSPECTIT-2091
@@ -162,7 +182,7 @@ public class ClassSensorAssignmentFilter {
 			return true;
 		}
 
-		IMatchPattern pattern = PatternFactory.getPattern(classSensorAssignment.getAnnotation());
+		IMatchPattern pattern = getPattern(classSensorAssignment.getAnnotation());
 
 		// check class and super classes first
 		if (checkClassAndSuperClassForAnnotation(classType, pattern)) {
@@ -273,4 +293,21 @@ public class ClassSensorAssignmentFilter {
 		}
 		return false;
 	}
+
+	/**
+	 * Returns the {@link IMatchPattern} for the given text. Patterns are cached, so that each
+	 * pattern is only created once.
+	 *
+	 * @param txt
+	 *            Text
+	 * @return Correct {@link IMatchPattern} based on the given text.
+	 * @see PatternFactory#getPattern(String)
+	 */
+	protected IMatchPattern getPattern(String txt) {
+		if (null == txt) {
+			return PatternFactory.getPattern(txt);
+		}
+		return patternCache.getUnchecked(txt);
+	}
+
 }
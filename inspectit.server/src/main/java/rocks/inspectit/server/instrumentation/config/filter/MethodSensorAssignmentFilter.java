@@ -8,7 +8,6 @@ import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableTypeWithMe
 import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
 import rocks.inspectit.shared.all.instrumentation.classcache.Modifiers;
 import rocks.inspectit.shared.all.pattern.IMatchPattern;
-import rocks.inspectit.shared.all.pattern.PatternFactory;
 import rocks.inspectit.shared.cs.ci.assignment.impl.MethodSensorAssignment;
 
 /**
@@ -69,7 +68,7 @@ public class MethodSensorAssignmentFilter extends ClassSensorAssignmentFilter {
 				return false;
 			}
 
-			IMatchPattern pattern = PatternFactory.getPattern(methodSensorAssignment.getMethodName());
+			IMatchPattern pattern = getPattern(methodSensorAssignment.getMethodName());
 			return pattern.match(methodType.getName());
 		}
 	}
@@ -114,7 +113,7 @@ public class MethodSensorAssignmentFilter extends ClassSensorAssignmentFilter {
 
 			for (int i = 0; i < size; i++) {
 				String parameterPattern = methodSensorAssignment.getParameters().get(i);
-				IMatchPattern pattern = PatternFactory.getPattern(parameterPattern);
+				IMatchPattern pattern = getPattern(parameterPattern);
 
 				if (!pattern.match(methodType.getParameters().get(i))) {
 					return false;
@@ -155,7 +154,7 @@ public class MethodSensorAssignmentFilter extends ClassSensorAssignmentFilter {
 			return true;
 		}
 
-		IMatchPattern pattern = PatternFactory.getPattern(methodSensorAssignment.getAnnotation());
+		IMatchPattern pattern = getPattern(methodSensorAssignment.getAnnotation());
 		// if not check if the method has annotation
 		return checkAnnotations(methodType.getImmutableAnnotations(), pattern);
 	}
@@ -3,6 +3,7 @@ package rocks.inspectit.server.instrumentation.config.job;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -124,14 +125,15 @@ public abstract class AbstractConfigurationChangeJob implements Runnable {
 	 * Process the removed assignments. All instrumentation points affected by the any of these
 	 * assignments are first completely removed. All classes that have any point removed will be
 	 * re-analyzed against complete configuration in order to reset the possible points coming not
-	 * from removed assignments.
+	 * from removed assignments. Each affected class is re-analyzed only once, even if it was
+	 * affected by several removed assignments.
 	 *
 	 * @param classSensorAssignments
 	 *            Collection of removed {@link AbstractClassSensorAssignment}s.
 	 * @return Returns a {@link Collection} of {@link ImmutableClassType} which have been removed.
 	 */
 	protected Collection<ImmutableClassType> processRemovedAssignments(Collection<? extends AbstractClassSensorAssignment<?>> classSensorAssignments) {
-		Collection<ImmutableClassType> changedClassTypes = new ArrayList<>();
+		Collection<ImmutableClassType> changedClassTypes = new LinkedHashSet<>();
 
 		// process all class sensor assignments for removal
 		for (AbstractClassSensorAssignment<?> assignment : classSensorAssignments) {
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.communication.message.UpdatedInstrumentationMessage;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
@@ -24,7 +25,10 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IRegistrationService;
 
 /**
- * Provides {@link IAgentMessage} for the agent to fetch.
+ * Provides {@link IAgentMessage} for the agent to fetch. If the {@link AgentMessagePusher} is
+ * available, provided messages are additionally pushed to the subscribed agents in
+ * {@link AgentMessageBatch}es. A pushed batch is kept until the agent acknowledges it, so that not
+ * acknowledged messages are delivered again with the next batch or fetch.
  *
  * @author Marius Oehler
  *
@@ -49,6 +53,21 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 	 */
 	private final Map<Long, List<IAgentMessage<?>>> agentMessageMap = new HashMap<>();
 
+	/**
+	 * Map containing the pushed batches which have not been acknowledged by the agent yet.
+	 */
+	private final Map<Long, AgentMessageBatch> unacknowledgedBatches = new HashMap<>();
+
+	/**
+	 * Sequence of the batch ids.
+	 */
+	private long batchSequence;
+
+	/**
+	 * Pusher to inform about the provided messages, can be <code>null</code>.
+	 */
+	private AgentMessagePusher agentMessagePusher;
+
 	/**
 	 * Fetches all available messages for the agent with the given id. The returned list is an
 	 * ordered list, ordered by time (ascending -> index 0 is the oldest).
@@ -71,9 +90,69 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 		// update timestamp of method idents (resulting in a disabled method ident)
 		updateMethodIdentTimestamps(platformId, currentList);
 
+		// messages of a not acknowledged batch are delivered again
+		AgentMessageBatch unacknowledgedBatch = unacknowledgedBatches.remove(platformId);
+		if (null != unacknowledgedBatch) {
+			List<IAgentMessage<?>> messages = new ArrayList<>(unacknowledgedBatch.getMessages());
+			messages.addAll(currentList);
+			return messages;
+		}
+
 		return currentList;
 	}
 
+	/**
+	 * Creates the batch of all available messages for the agent with the given id. The messages of
+	 * the not acknowledged batch are included in the new batch, which replaces it. The batch is
+	 * kept until it's acknowledged with {@link #acknowledge(long, long)}.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @return {@link AgentMessageBatch} or <code>null</code> if there are no messages for the
+	 *         agent.
+	 */
+	public synchronized AgentMessageBatch createBatch(long platformId) {
+		List<IAgentMessage<?>> currentList = agentMessageMap.get(platformId);
+		AgentMessageBatch unacknowledgedBatch = unacknowledgedBatches.get(platformId);
+		if (CollectionUtils.isEmpty(currentList) && (null == unacknowledgedBatch)) {
+			return null;
+		}
+
+		List<IAgentMessage<?>> messages = new ArrayList<>();
+		if (null != unacknowledgedBatch) {
+			messages.addAll(unacknowledgedBatch.getMessages());
+		}
+		if (CollectionUtils.isNotEmpty(currentList)) {
+			// update timestamp of method idents (resulting in a disabled method ident)
+			updateMethodIdentTimestamps(platformId, currentList);
+			messages.addAll(currentList);
+			agentMessageMap.put(platformId, new ArrayList<IAgentMessage<?>>());
+		}
+
+		AgentMessageBatch batch = new AgentMessageBatch(++batchSequence, messages);
+		unacknowledgedBatches.put(platformId, batch);
+		return batch;
+	}
+
+	/**
+	 * Acknowledges that the agent with the given id received the batch with the given id.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @param batchId
+	 *            id of the received batch
+	 */
+	public synchronized void acknowledge(long platformId, long batchId) {
+		AgentMessageBatch unacknowledgedBatch = unacknowledgedBatches.get(platformId);
+		if ((null != unacknowledgedBatch) && (unacknowledgedBatch.getBatchId() == batchId)) {
+			unacknowledgedBatches.remove(platformId);
+
+			if (log.isDebugEnabled()) {
+				log.debug("Agent {} acknowledged message batch {}.", platformId, batchId);
+			}
+		}
+	}
+
 	/**
 	 * Updates the timestamp of all method idents matching the {@link InstrumentationDefinition}s in
 	 * the given message.
@@ -140,6 +219,10 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 		}
 
 		messageList.addAll(messages);
+
+		if (null != agentMessagePusher) {
+			agentMessagePusher.schedulePush(platformId);
+		}
 	}
 
 	/**
@@ -149,6 +232,7 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 	 *            id of the agent which messages should be removed
 	 */
 	public synchronized void clear(long platformId) {
+		unacknowledgedBatches.remove(platformId);
 		List<IAgentMessage<?>> messages = agentMessageMap.get(platformId);
 		if (CollectionUtils.isNotEmpty(messages)) {
 			if (log.isDebugEnabled()) {
@@ -159,6 +243,16 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 		}
 	}
 
+	/**
+	 * Sets {@link #agentMessagePusher}.
+	 *
+	 * @param agentMessagePusher
+	 *            New value for {@link #agentMessagePusher}
+	 */
+	synchronized void setAgentMessagePusher(AgentMessagePusher agentMessagePusher) {
+		this.agentMessagePusher = agentMessagePusher;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,178 @@
+package rocks.inspectit.server.messaging;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
+import rocks.inspectit.shared.all.communication.message.IAgentMessage;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Pushes the {@link IAgentMessage}s provided by the {@link AgentMessageProvider} to the agents over
+ * the open KryoNet connection. Agents subscribe with the {@link AgentMessageSubscription} and
+ * acknowledge received batches with the {@link AgentMessageAcknowledgement}. Messages provided in
+ * a short period are pushed together in one {@link AgentMessageBatch}. Agents without subscription
+ * still fetch the messages.
+ *
+ * @author Marius Oehler
+ *
+ */
+@Component
+public class AgentMessagePusher extends Listener {
+
+	/**
+	 * Time in milliseconds the push is delayed, so that messages provided in this period are
+	 * pushed in one batch.
+	 */
+	static final long PUSH_DELAY = 100L;
+
+	/**
+	 * Logger of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Provider of the messages.
+	 */
+	@Autowired
+	AgentMessageProvider messageProvider;
+
+	/**
+	 * KryoNet server the agents are connected to.
+	 */
+	@Autowired
+	Server server;
+
+	/**
+	 * Executor service executing the pushes.
+	 */
+	@Autowired
+	@Qualifier("scheduledExecutorService")
+	ScheduledExecutorService executorService;
+
+	/**
+	 * Connections of the subscribed agents.
+	 */
+	private final Map<Long, Connection> connections = new ConcurrentHashMap<>();
+
+	/**
+	 * Ids of the agents having a scheduled push.
+	 */
+	private final Set<Long> scheduledPushes = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+	/**
+	 * Registers the pusher to the server and to the message provider.
+	 */
+	@PostConstruct
+	public void init() {
+		server.addListener(this);
+		messageProvider.setAgentMessagePusher(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void received(Connection connection, Object object) {
+		if (object instanceof AgentMessageSubscription) {
+			long platformId = ((AgentMessageSubscription) object).getPlatformId();
+			connections.put(platformId, connection);
+
+			if (log.isDebugEnabled()) {
+				log.debug("Agent {} subscribed for pushed agent messages.", platformId);
+			}
+
+			// push messages that were provided before the subscription
+			schedulePush(platformId);
+		} else if (object instanceof AgentMessageAcknowledgement) {
+			AgentMessageAcknowledgement acknowledgement = (AgentMessageAcknowledgement) object;
+			messageProvider.acknowledge(acknowledgement.getPlatformId(), acknowledgement.getBatchId());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void disconnected(Connection connection) {
+		for (Iterator<Connection> it = connections.values().iterator(); it.hasNext();) {
+			if (it.next() == connection) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Schedules the push of the available messages to the agent with the given id. Has no effect
+	 * if the agent is not subscribed or the push is already scheduled.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 */
+	public void schedulePush(final long platformId) {
+		if (connections.containsKey(platformId) && scheduledPushes.add(platformId)) {
+			executorService.schedule(new Runnable() {
+				@Override
+				public void run() {
+					scheduledPushes.remove(platformId);
+					push(platformId);
+				}
+			}, PUSH_DELAY, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns if the agent with the given id is subscribed.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @return If the agent is subscribed.
+	 */
+	public boolean isSubscribed(long platformId) {
+		return connections.containsKey(platformId);
+	}
+
+	/**
+	 * Pushes the available messages to the agent with the given id. If the connection is closed
+	 * the messages stay available for the fetching.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 */
+	void push(long platformId) {
+		Connection connection = connections.get(platformId);
+		if ((null == connection) || !connection.isConnected()) {
+			return;
+		}
+
+		AgentMessageBatch batch = messageProvider.createBatch(platformId);
+		if (null == batch) {
+			return;
+		}
+
+		connection.sendTCP(batch);
+
+		if (log.isDebugEnabled()) {
+			log.debug("Pushed message batch {} with {} messages to agent {}.", batch.getBatchId(), batch.getMessages().size(), platformId);
+		}
+	}
+
+}
@@ -2,24 +2,42 @@ package rocks.inspectit.server.processor.impl;
 
 import javax.persistence.EntityManager;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.util.Pair;
 
 /**
- * Processor that connects error messages in the {@link ExceptionSensorData}.
+ * Processor that connects error messages in the {@link ExceptionSensorData} and resolves the stack
+ * traces that the agent did not send because it already sent a stack trace with the same
+ * fingerprint.
  *
  * @author Ivan Senic
  *
  */
 public class ExceptionMessageCmrProcessor extends AbstractCmrDataProcessor {
 
+	/**
+	 * Maximum amount of stack traces to keep for the resolving.
+	 */
+	private static final int MAX_STACK_TRACES = 50000;
+
+	/**
+	 * Known stack traces, key is the pair of platform ident and fingerprint.
+	 */
+	private final Cache<Pair<Long, Long>, String> stackTraces = CacheBuilder.newBuilder().maximumSize(MAX_STACK_TRACES).build();
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void processData(DefaultData defaultData, EntityManager entityManager) {
-		connectErrorMessagesInExceptionData((ExceptionSensorData) defaultData);
+		ExceptionSensorData exceptionSensorData = (ExceptionSensorData) defaultData;
+		resolveStackTraces(exceptionSensorData);
+		connectErrorMessagesInExceptionData(exceptionSensorData);
 	}
 
 	/**
@@ -44,4 +62,39 @@ public class ExceptionMessageCmrProcessor extends AbstractCmrDataProcessor {
 		}
 	}
 
+	/**
+	 * Registers the stack traces sent with a fingerprint and sets the stack trace to the exception
+	 * data that only have the fingerprint. Same string instance is shared between all exception
+	 * data having the same fingerprint. A stack trace sent again always replaces the known one, thus
+	 * fingerprints not resolvable because of a lost data or an evicted entry are resolved again as
+	 * soon as the agent re-sends the stack trace.
+	 *
+	 * @param exceptionSensorData
+	 *            Parent exception data, thus the one that has exception event CREATED.
+	 */
+	private void resolveStackTraces(ExceptionSensorData exceptionSensorData) {
+		ExceptionSensorData current = exceptionSensorData;
+		while (null != current) {
+			long fingerprint = current.getStackTraceFingerprint();
+			if (0 != fingerprint) {
+				Pair<Long, Long> key = new Pair<>(current.getPlatformIdent(), fingerprint);
+				if (null != current.getStackTrace()) {
+					String known = stackTraces.getIfPresent(key);
+					if (current.getStackTrace().equals(known)) {
+						current.setStackTrace(known);
+					} else {
+						stackTraces.put(key, current.getStackTrace());
+					}
+				} else {
+					// if unknown the agent re-sends the full stack trace in its resend interval
+					String known = stackTraces.getIfPresent(key);
+					if (null != known) {
+						current.setStackTrace(known);
+					}
+				}
+			}
+			current = current.getChild();
+		}
+	}
+
 }
@@ -1,12 +1,17 @@
 package rocks.inspectit.server.processor.impl;
 
+import java.util.Collections;
+import java.util.List;
+
 import javax.persistence.EntityManager;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import rocks.inspectit.server.cache.IBufferListener;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
 import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
@@ -32,6 +37,13 @@ public class IndexerCmrProcessor extends AbstractCmrDataProcessor {
 	@Autowired
 	IBufferTreeComponent<DefaultData> indexingTree;
 
+	/**
+	 * Buffer listeners informed about the directly indexed elements, as these elements never pass
+	 * the buffer.
+	 */
+	@Autowired(required = false)
+	List<IBufferListener<MethodSensorData>> bufferListeners = Collections.emptyList();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -39,6 +51,9 @@ public class IndexerCmrProcessor extends AbstractCmrDataProcessor {
 	protected void processData(DefaultData defaultData, EntityManager entityManager) {
 		try {
 			indexingTree.put(defaultData);
+			for (IBufferListener<MethodSensorData> bufferListener : bufferListeners) {
+				bufferListener.elementIndexed((MethodSensorData) defaultData);
+			}
 		} catch (IndexingException e) {
 			// should never happen
 			log.error(e.getMessage(), e);
@@ -67,4 +82,14 @@ public class IndexerCmrProcessor extends AbstractCmrDataProcessor {
 		this.indexingTree = indexingTree;
 	}
 
+	/**
+	 * Sets {@link #bufferListeners}.
+	 *
+	 * @param bufferListeners
+	 *            New value for {@link #bufferListeners}
+	 */
+	public void setBufferListeners(List<IBufferListener<MethodSensorData>> bufferListeners) {
+		this.bufferListeners = bufferListeners;
+	}
+
 }
@@ -14,6 +14,7 @@ import org.springframework.util.CollectionUtils;
 
 import rocks.inspectit.server.influx.builder.IPointBuilder;
 import rocks.inspectit.server.influx.dao.InfluxDBDao;
+import rocks.inspectit.server.influx.dao.InfluxPointWriter;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
@@ -24,6 +25,8 @@ import rocks.inspectit.shared.all.communication.data.TimerData;
  * The simple influx processor. Processor knows all available influx point builders. When the
  * default data comes the processor with check if influx is online and if point builder exists for
  * the given data type. If so an influx point will be created and inserted to {@link #influxDbDao}.
+ * If the pipelined writes are active, the points are passed to the {@link InfluxPointWriter}
+ * instead.
  *
  * @author Ivan Senic
  *
@@ -35,6 +38,12 @@ public class InfluxProcessor extends AbstractCmrDataProcessor {
 	 */
 	private InfluxDBDao influxDbDao;
 
+	/**
+	 * {@link InfluxPointWriter} for the pipelined writes.
+	 */
+	@Autowired
+	InfluxPointWriter influxPointWriter;
+
 	/**
 	 * Map of all builders.
 	 */
@@ -70,8 +79,14 @@ public class InfluxProcessor extends AbstractCmrDataProcessor {
 	protected void processData(DefaultData defaultData, EntityManager entityManager) {
 		IPointBuilder<DefaultData> defaultDataPointBuilder = builderMap.get(defaultData.getClass());
 		Collection<Builder> builders = defaultDataPointBuilder.createBuilders(defaultData);
-		for (Builder builder : builders) {
-			influxDbDao.insert(builder.build());
+		if ((null != influxPointWriter) && influxPointWriter.isActive()) {
+			for (Builder builder : builders) {
+				influxPointWriter.write(builder.build());
+			}
+		} else {
+			for (Builder builder : builders) {
+				influxDbDao.insert(builder.build());
+			}
 		}
 	}
 
@@ -95,7 +110,7 @@ public class InfluxProcessor extends AbstractCmrDataProcessor {
 	 *            Data to check.
 	 * @return True if data should be used with the pointer and sent to influx.
 	 */
-	private boolean isValidData(DefaultData defaultData) {
+	static boolean isValidData(DefaultData defaultData) {
 		if ((defaultData instanceof TimerData) && !((TimerData) defaultData).isCharting()) {
 			return false;
 		}
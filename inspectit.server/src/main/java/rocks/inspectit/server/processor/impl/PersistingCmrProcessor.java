@@ -1,5 +1,7 @@
 package rocks.inspectit.server.processor.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -8,10 +10,13 @@ import javax.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Value;
 
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.server.util.JpaUtil;
 import rocks.inspectit.shared.all.communication.DefaultData;
 
 /**
- * Processor that saves objects to database via {@link EntityManager}.
+ * Processor that saves objects to database via {@link EntityManager}. When many objects are
+ * processed at once they are persisted in batches of {@link #batchSize}, see
+ * {@link JpaUtil#persistAll(EntityManager, Iterable, int)}.
  *
  * @author Ivan Senic
  *
@@ -25,6 +30,12 @@ public class PersistingCmrProcessor extends AbstractCmrDataProcessor {
 	@Value("${influxdb.active}")
 	boolean influxActive;
 
+	/**
+	 * Amount of objects to persist before flushing the entity manager.
+	 */
+	@Value("${database.batchSize}")
+	int batchSize;
+
 	/**
 	 * List of classes that should be saved by this simple saver.
 	 */
@@ -43,6 +54,26 @@ public class PersistingCmrProcessor extends AbstractCmrDataProcessor {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Collects all objects that can be processed and persists them in batches.
+	 */
+	@Override
+	public void process(Collection<? extends DefaultData> defaultDatas, EntityManager entityManager) {
+		List<DefaultData> toPersist = new ArrayList<>(defaultDatas.size());
+		for (DefaultData defaultData : defaultDatas) {
+			if (canBeProcessed(defaultData)) {
+				defaultData.setId(0);
+				toPersist.add(defaultData);
+			}
+		}
+
+		if (!toPersist.isEmpty()) {
+			JpaUtil.persistAll(entityManager, toPersist, batchSize);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,81 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.influxdb.dto.Point.Builder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.CollectionUtils;
+
+import rocks.inspectit.server.alerting.StreamingThresholdChecker;
+import rocks.inspectit.server.influx.builder.IPointBuilder;
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Processor that passes the data to the {@link StreamingThresholdChecker}. Data is transformed to
+ * the same influx points as in the {@link InfluxProcessor}, but the points are only used for the
+ * threshold checks and thus this processor does not depend on the InfluxDB availability.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class StreamingAlertingProcessor extends AbstractCmrDataProcessor {
+
+	/**
+	 * {@link StreamingThresholdChecker} to pass the points to.
+	 */
+	private StreamingThresholdChecker streamingThresholdChecker;
+
+	/**
+	 * Map of all builders.
+	 */
+	private Map<Class<? extends DefaultData>, IPointBuilder<DefaultData>> builderMap;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param streamingThresholdChecker
+	 *            {@link StreamingThresholdChecker}
+	 * @param builders
+	 *            All available influx point builders.
+	 */
+	@Autowired
+	public StreamingAlertingProcessor(StreamingThresholdChecker streamingThresholdChecker, List<IPointBuilder<DefaultData>> builders) {
+		this.streamingThresholdChecker = streamingThresholdChecker;
+		if (CollectionUtils.isEmpty(builders)) {
+			builderMap = Collections.emptyMap();
+		} else {
+			builderMap = new HashMap<>();
+			for (IPointBuilder<DefaultData> builder : builders) {
+				for (Class<? extends DefaultData> clazz : builder.getDataClasses()) {
+					builderMap.put(clazz, builder);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processData(DefaultData defaultData, EntityManager entityManager) {
+		IPointBuilder<DefaultData> defaultDataPointBuilder = builderMap.get(defaultData.getClass());
+		for (Builder builder : defaultDataPointBuilder.createBuilders(defaultData)) {
+			streamingThresholdChecker.process(builder);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return streamingThresholdChecker.isActive() && builderMap.containsKey(defaultData.getClass()) && InfluxProcessor.isValidData(defaultData);
+	}
+
+}
@@ -0,0 +1,557 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+
+import io.opentracing.tag.Tags;
+import rocks.inspectit.server.processor.AbstractChainedCmrDataProcessor;
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.eum.EUMSpan;
+import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
+
+/**
+ * Processor that makes the decision which traces are kept after the trace has been completed (tail
+ * sampling). When active, the spans are not passed to the chained processors directly, but are
+ * held per trace in an assembly area. A trace is considered complete when the configured delay has
+ * passed after the root span arrived or when the trace timeout is reached. Complete traces are kept
+ * if:
+ * <ul>
+ * <li>the duration of the root span is over the latency threshold,
+ * <li>any span is tagged as error,
+ * <li>any span originates from the end user monitoring,
+ * <li>or the quota of kept traces per business transaction is not exhausted.
+ * </ul>
+ * Spans of kept traces are passed to the chained processors, spans of other traces are dropped.
+ * Spans arriving after the decision follow the decision of their trace. The processors chained
+ * here get all other data through the {@link TailSamplingGateCmrProcessor}s at their usual position
+ * in the processing. The held traces are decided when the CMR shuts down.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class TailSamplingCmrProcessor extends AbstractChainedCmrDataProcessor {
+
+	/**
+	 * Interval in milliseconds in which the complete traces are decided.
+	 */
+	static final long FLUSH_INTERVAL = 1000L;
+
+	/**
+	 * Period in milliseconds the quota of kept traces refers to.
+	 */
+	static final long QUOTA_PERIOD = 60000L;
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * If tail sampling is active.
+	 */
+	@Value("${tracing.tailSampling}")
+	boolean active;
+
+	/**
+	 * Maximal amount of traces held in the assembly area.
+	 */
+	@Value("${tracing.tailSampling.maxTraces}")
+	int maxTraces;
+
+	/**
+	 * Time in milliseconds to wait for the late spans after the root span arrived.
+	 */
+	@Value("${tracing.tailSampling.completionDelay}")
+	long completionDelay;
+
+	/**
+	 * Maximal time in milliseconds a trace is held in the assembly area.
+	 */
+	@Value("${tracing.tailSampling.traceTimeout}")
+	long traceTimeout;
+
+	/**
+	 * Duration in milliseconds over which a trace is always kept.
+	 */
+	@Value("${tracing.tailSampling.latencyThreshold}")
+	long latencyThreshold;
+
+	/**
+	 * Amount of other traces kept per business transaction in the {@link #QUOTA_PERIOD}.
+	 */
+	@Value("${tracing.tailSampling.quota}")
+	int quota;
+
+	/**
+	 * Executor service running the decision task and passing the kept traces to the chained
+	 * processors.
+	 */
+	@Autowired
+	@Qualifier("tailSamplingExecutorService")
+	ScheduledExecutorService executorService;
+
+	/**
+	 * Traces in the assembly area in the order of their arrival.
+	 */
+	private final Map<Long, Trace> traces = new LinkedHashMap<>();
+
+	/**
+	 * Decisions of the recently decided traces.
+	 */
+	private final Map<Long, Boolean> decisions = new LinkedHashMap<Long, Boolean>() {
+
+		/**
+		 * Generated UID.
+		 */
+		private static final long serialVersionUID = -2466394366375620123L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<Long, Boolean> eldest) {
+			return size() > maxTraces;
+		}
+	};
+
+	/**
+	 * Quota windows per business transaction.
+	 */
+	private final Map<String, QuotaWindow> quotaWindows = new HashMap<>();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param dataProcessors
+	 *            List of chained processors.
+	 */
+	public TailSamplingCmrProcessor(List<AbstractCmrDataProcessor> dataProcessors) {
+		super(dataProcessors);
+	}
+
+	/**
+	 * Starts the decision task.
+	 */
+	@PostConstruct
+	public void init() {
+		executorService.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					decideCompleteTraces(System.currentTimeMillis());
+				} catch (Exception e) {
+					// never let the scheduled task die
+					if (log.isErrorEnabled()) {
+						log.error("Unexpected exception occurred while deciding the complete traces.", e);
+					}
+				}
+			}
+		}, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Decides all traces held in the assembly area, so that the spans of the kept traces are not
+	 * lost on shutdown.
+	 */
+	@PreDestroy
+	public void flush() {
+		decideAllTraces(System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns if the data is subject to the tail sampling. Such data is passed to the chained
+	 * processors only if its trace is kept.
+	 *
+	 * @param defaultData
+	 *            Data to check.
+	 * @return If the data is subject to the tail sampling.
+	 */
+	public boolean isSampled(DefaultData defaultData) {
+		return active && (defaultData instanceof AbstractSpan);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processData(DefaultData defaultData, EntityManager entityManager) {
+		if (defaultData instanceof AbstractSpan) {
+			hold((AbstractSpan) defaultData, System.currentTimeMillis());
+		} else {
+			assignBusinessTransaction((InvocationSequenceData) defaultData);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The data is never passed directly, only the spans of the kept traces are.
+	 */
+	@Override
+	protected boolean shouldBePassedToChainedProcessors(DefaultData defaultData) {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return active && ((defaultData instanceof AbstractSpan) || (defaultData instanceof InvocationSequenceData));
+	}
+
+	/**
+	 * Holds the span in the assembly area. If the trace of the span has already been decided, the
+	 * span follows the decision. If the assembly area is full, the oldest trace is decided
+	 * immediately.
+	 *
+	 * @param span
+	 *            Span to hold.
+	 * @param currentTime
+	 *            The current time.
+	 */
+	void hold(AbstractSpan span, long currentTime) {
+		long traceId = span.getSpanIdent().getTraceId();
+		Trace evicted = null;
+		Boolean decision;
+		synchronized (this) {
+			decision = decisions.get(traceId);
+			if (null == decision) {
+				Trace trace = traces.get(traceId);
+				if (null == trace) {
+					if (traces.size() >= maxTraces) {
+						evicted = removeOldest(currentTime);
+					}
+					trace = new Trace(currentTime);
+					traces.put(traceId, trace);
+				}
+				trace.add(span, currentTime);
+			}
+		}
+
+		if (Boolean.TRUE.equals(decision)) {
+			passToChainedProcessors(span, null);
+		}
+		if (null != evicted) {
+			forward(evicted);
+		}
+	}
+
+	/**
+	 * Assigns the business transaction of the invocation to the trace the invocation belongs to.
+	 * As the invocation can arrive before the spans, the trace is created if there is space in the
+	 * assembly area.
+	 *
+	 * @param invocation
+	 *            Invocation sequence.
+	 */
+	void assignBusinessTransaction(InvocationSequenceData invocation) {
+		if ((null == invocation.getSpanIdent()) || (0 == invocation.getBusinessTransactionId())) {
+			return;
+		}
+
+		synchronized (this) {
+			long traceId = invocation.getSpanIdent().getTraceId();
+			Trace trace = traces.get(traceId);
+			if ((null == trace) && !decisions.containsKey(traceId) && (traces.size() < maxTraces)) {
+				trace = new Trace(System.currentTimeMillis());
+				traces.put(traceId, trace);
+			}
+			if (null != trace) {
+				trace.businessTransaction = invocation.getApplicationId() + "/" + invocation.getBusinessTransactionId();
+			}
+		}
+	}
+
+	/**
+	 * Decides all traces that are complete at the given time and passes the spans of the kept
+	 * traces to the chained processors.
+	 *
+	 * @param currentTime
+	 *            The current time.
+	 */
+	void decideCompleteTraces(long currentTime) {
+		List<Trace> kept = new ArrayList<>();
+		synchronized (this) {
+			for (Iterator<Entry<Long, Trace>> it = traces.entrySet().iterator(); it.hasNext();) {
+				Entry<Long, Trace> entry = it.next();
+				Trace trace = entry.getValue();
+				if (trace.isComplete(currentTime)) {
+					it.remove();
+					if (!trace.spans.isEmpty() && decide(entry.getKey(), trace, currentTime)) {
+						kept.add(trace);
+					}
+				}
+			}
+
+			for (Iterator<QuotaWindow> it = quotaWindows.values().iterator(); it.hasNext();) {
+				if ((currentTime - it.next().start) >= QUOTA_PERIOD) {
+					it.remove();
+				}
+			}
+		}
+
+		for (Trace trace : kept) {
+			forward(trace);
+		}
+	}
+
+	/**
+	 * Decides all traces in the assembly area regardless of their completion and passes the spans
+	 * of the kept traces to the chained processors.
+	 *
+	 * @param currentTime
+	 *            The current time.
+	 */
+	void decideAllTraces(long currentTime) {
+		List<Trace> kept = new ArrayList<>();
+		synchronized (this) {
+			for (Iterator<Entry<Long, Trace>> it = traces.entrySet().iterator(); it.hasNext();) {
+				Entry<Long, Trace> entry = it.next();
+				Trace trace = entry.getValue();
+				it.remove();
+				if (!trace.spans.isEmpty() && decide(entry.getKey(), trace, currentTime)) {
+					kept.add(trace);
+				}
+			}
+		}
+
+		for (Trace trace : kept) {
+			forward(trace);
+		}
+	}
+
+	/**
+	 * Returns the amount of traces held in the assembly area.
+	 *
+	 * @return Returns the amount of traces held in the assembly area.
+	 */
+	synchronized int getHeldTraceCount() {
+		return traces.size();
+	}
+
+	/**
+	 * Removes and decides the oldest trace in the assembly area. Must be called while holding the
+	 * lock.
+	 *
+	 * @param currentTime
+	 *            The current time.
+	 * @return The removed trace if it is kept, <code>null</code> otherwise.
+	 */
+	private Trace removeOldest(long currentTime) {
+		Iterator<Entry<Long, Trace>> it = traces.entrySet().iterator();
+		Entry<Long, Trace> oldest = it.next();
+		it.remove();
+		if (log.isDebugEnabled()) {
+			log.debug("Tail sampling assembly area is full, trace {} is decided before completion.", oldest.getKey());
+		}
+		Trace trace = oldest.getValue();
+		return (!trace.spans.isEmpty() && decide(oldest.getKey(), trace, currentTime)) ? trace : null;
+	}
+
+	/**
+	 * Decides if the trace is kept and remembers the decision. Must be called while holding the
+	 * lock.
+	 *
+	 * @param traceId
+	 *            Id of the trace.
+	 * @param trace
+	 *            Trace to decide.
+	 * @param currentTime
+	 *            The current time.
+	 * @return If the trace is kept.
+	 */
+	private boolean decide(long traceId, Trace trace, long currentTime) {
+		boolean keep = trace.error || trace.eum || (trace.duration >= latencyThreshold) || isInQuota(trace.getQuotaKey(), currentTime);
+		decisions.put(traceId, keep);
+		return keep;
+	}
+
+	/**
+	 * Checks if one more trace can be kept in the quota of the given key.
+	 *
+	 * @param key
+	 *            Quota key.
+	 * @param currentTime
+	 *            The current time.
+	 * @return If the trace is in quota.
+	 */
+	private boolean isInQuota(String key, long currentTime) {
+		QuotaWindow window = quotaWindows.get(key);
+		if ((null == window) || ((currentTime - window.start) >= QUOTA_PERIOD)) {
+			window = new QuotaWindow(currentTime);
+			quotaWindows.put(key, window);
+		}
+
+		if (window.count < quota) {
+			window.count++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Passes all spans of the trace to the chained processors. The chained processors do not get an
+	 * entity manager, as the spans are passed outside of the data saving. None of the processors
+	 * chained here uses it.
+	 *
+	 * @param trace
+	 *            Kept trace.
+	 */
+	private void forward(Trace trace) {
+		for (AbstractSpan span : trace.spans) {
+			passToChainedProcessors(span, null);
+		}
+	}
+
+	/**
+	 * Spans of one trace in the assembly area.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private final class Trace {
+
+		/**
+		 * Spans of the trace.
+		 */
+		private final List<AbstractSpan> spans = new ArrayList<>(4);
+
+		/**
+		 * Time the first span arrived.
+		 */
+		private final long firstArrival;
+
+		/**
+		 * Time the root span arrived or <code>-1</code> if it did not arrive yet.
+		 */
+		private long rootArrival = -1;
+
+		/**
+		 * Duration of the root span or the longest span if the root span did not arrive.
+		 */
+		private double duration;
+
+		/**
+		 * If any span is tagged as error.
+		 */
+		private boolean error;
+
+		/**
+		 * If any span originates from the end user monitoring.
+		 */
+		private boolean eum;
+
+		/**
+		 * Business transaction of the trace, <code>null</code> if not known.
+		 */
+		private String businessTransaction;
+
+		/**
+		 * Key of the root span method, used when the business transaction is not known.
+		 */
+		private String rootMethod;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param firstArrival
+		 *            Time the first span arrived.
+		 */
+		Trace(long firstArrival) {
+			this.firstArrival = firstArrival;
+		}
+
+		/**
+		 * Adds the span to the trace.
+		 *
+		 * @param span
+		 *            Span to add.
+		 * @param currentTime
+		 *            The current time.
+		 */
+		void add(AbstractSpan span, long currentTime) {
+			spans.add(span);
+			error |= String.valueOf(true).equals(span.getTags().get(Tags.ERROR.getKey()));
+			eum |= span instanceof EUMSpan;
+			if (span.isRoot()) {
+				rootArrival = currentTime;
+				duration = span.getDuration();
+				rootMethod = span.getPlatformIdent() + "/" + span.getMethodIdent();
+			} else if ((rootArrival < 0) && (span.getDuration() > duration)) {
+				duration = span.getDuration();
+			}
+		}
+
+		/**
+		 * Returns if the trace is complete at the given time.
+		 *
+		 * @param currentTime
+		 *            The current time.
+		 * @return If the trace is complete.
+		 */
+		boolean isComplete(long currentTime) {
+			return ((rootArrival >= 0) && ((currentTime - rootArrival) >= completionDelay)) || ((currentTime - firstArrival) >= traceTimeout);
+		}
+
+		/**
+		 * Returns the key of the quota the trace belongs to. This is the business transaction if
+		 * known, otherwise the method of the root span. Traces without both share one quota.
+		 *
+		 * @return Quota key.
+		 */
+		String getQuotaKey() {
+			if (null != businessTransaction) {
+				return businessTransaction;
+			}
+			return rootMethod;
+		}
+	}
+
+	/**
+	 * Amount of kept traces of one quota key in the current period.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static final class QuotaWindow {
+
+		/**
+		 * Start of the period.
+		 */
+		private final long start;
+
+		/**
+		 * Amount of kept traces.
+		 */
+		private int count;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param start
+		 *            Start of the period.
+		 */
+		QuotaWindow(long start) {
+			this.start = start;
+		}
+	}
+
+}
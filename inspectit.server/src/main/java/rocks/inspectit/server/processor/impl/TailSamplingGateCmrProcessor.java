@@ -0,0 +1,54 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.List;
+
+import rocks.inspectit.server.processor.AbstractChainedCmrDataProcessor;
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Processor that passes the data to the chained processors unless the data is subject to the tail
+ * sampling. This way the chained processors keep their position in the processing when the tail
+ * sampling is not active, while the spans of the kept traces are passed to them by the
+ * {@link TailSamplingCmrProcessor}.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class TailSamplingGateCmrProcessor extends AbstractChainedCmrDataProcessor {
+
+	/**
+	 * Tail sampling processor deciding which data is sampled.
+	 */
+	private final TailSamplingCmrProcessor tailSamplingCmrProcessor;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param tailSamplingCmrProcessor
+	 *            Tail sampling processor deciding which data is sampled.
+	 * @param dataProcessors
+	 *            List of chained processors.
+	 */
+	public TailSamplingGateCmrProcessor(TailSamplingCmrProcessor tailSamplingCmrProcessor, List<AbstractCmrDataProcessor> dataProcessors) {
+		super(dataProcessors);
+		this.tailSamplingCmrProcessor = tailSamplingCmrProcessor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean shouldBePassedToChainedProcessors(DefaultData defaultData) {
+		return !tailSamplingCmrProcessor.isSampled(defaultData);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return null != defaultData;
+	}
+
+}
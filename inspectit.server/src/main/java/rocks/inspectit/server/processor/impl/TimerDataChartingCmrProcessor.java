@@ -2,7 +2,6 @@ package rocks.inspectit.server.processor.impl;
 
 import java.util.List;
 
-import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -10,7 +9,6 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -20,10 +18,6 @@ import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.HttpInfo;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
-import rocks.inspectit.shared.all.serializer.SerializationException;
-import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
-import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
-import rocks.inspectit.shared.all.spring.logger.Log;
 
 /**
  * Processor that saves {@link TimerData} or {@link HttpTimerData} to database correctly if the
@@ -34,24 +28,12 @@ import rocks.inspectit.shared.all.spring.logger.Log;
  */
 public class TimerDataChartingCmrProcessor extends AbstractCmrDataProcessor {
 
-	/**
-	 * Log for this class.
-	 */
-	@Log
-	Logger log;
-
 	/**
 	 * {@link TimerDataAggregator} for {@link TimerData} aggregation.
 	 */
 	@Autowired
 	TimerDataAggregator timerDataAggregator;
 
-	/**
-	 * Serialization manager provider for getting the {@link SerializationManager}.
-	 */
-	@Autowired
-	private SerializationManagerProvider serializationManagerProvider;
-
 	/**
 	 * If writing to the influxDB is active. In that case we will not persist anything to the
 	 * relational database.
@@ -59,26 +41,15 @@ public class TimerDataChartingCmrProcessor extends AbstractCmrDataProcessor {
 	@Value("${influxdb.active}")
 	boolean influxActive;
 
-	/**
-	 * {@link SerializationManager} for cloning.
-	 */
-	SerializationManager serializationManager;
-
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void processData(DefaultData defaultData, EntityManager entityManager) {
 		if (defaultData instanceof HttpTimerData) {
-			try {
-				HttpTimerData original = (HttpTimerData) defaultData;
-				HttpInfo httpInfo = getHttpInfo(original, entityManager);
-				HttpTimerData clone = getClone(original);
-				clone.setHttpInfo(httpInfo);
-				entityManager.persist(clone);
-			} catch (SerializationException e) {
-				log.warn("TimerDataChartingCmrProcessor failed to clone the given HttpTimerData", e);
-			}
+			HttpTimerData original = (HttpTimerData) defaultData;
+			HttpInfo httpInfo = getHttpInfo(original, entityManager);
+			entityManager.persist(getChartingProjection(original, httpInfo));
 		} else {
 			timerDataAggregator.processTimerData((TimerData) defaultData);
 		}
@@ -93,19 +64,40 @@ public class TimerDataChartingCmrProcessor extends AbstractCmrDataProcessor {
 	}
 
 	/**
-	 * Creates the cloned {@link HttpTimerData} by using the kryo and {@link #serializationManager}.
-	 * Sets id of the clone to zero.
+	 * Creates the new {@link HttpTimerData} to be persisted for charting. Only the values needed for
+	 * the charting are copied from the original, thus the idents, time stamp and the timer values.
+	 * Id of the created object is zero.
 	 *
 	 * @param original
-	 *            Data to be cloned.
-	 * @return Cloned {@link HttpTimerData} with id zero.
-	 * @throws SerializationException
-	 *             If serialization fails.
+	 *            Data to copy values from. Not modified.
+	 * @param httpInfo
+	 *            {@link HttpInfo} to set to the created object.
+	 * @return New {@link HttpTimerData} with id zero.
 	 */
-	private synchronized HttpTimerData getClone(HttpTimerData original) throws SerializationException {
-		HttpTimerData httpTimerData = serializationManager.copy(original);
-		httpTimerData.setId(0L);
-		return httpTimerData;
+	private HttpTimerData getChartingProjection(HttpTimerData original, HttpInfo httpInfo) {
+		HttpTimerData projection = new HttpTimerData(original.getTimeStamp(), original.getPlatformIdent(), original.getSensorTypeIdent(), original.getMethodIdent());
+		projection.setHttpInfo(httpInfo);
+		projection.setCharting(original.isCharting());
+
+		projection.setCount(original.getCount());
+		projection.setDuration(original.getDuration());
+		projection.setVariance(original.getVariance());
+		projection.calculateMin(original.getMin());
+		projection.calculateMax(original.getMax());
+
+		if (original.isCpuMetricDataAvailable()) {
+			projection.setCpuDuration(original.getCpuDuration());
+			projection.calculateCpuMin(original.getCpuMin());
+			projection.calculateCpuMax(original.getCpuMax());
+		}
+		if (original.isExclusiveTimeDataAvailable()) {
+			projection.setExclusiveCount(original.getExclusiveCount());
+			projection.setExclusiveDuration(original.getExclusiveDuration());
+			projection.calculateExclusiveMin(original.getExclusiveMin());
+			projection.calculateExclusiveMax(original.getExclusiveMax());
+		}
+
+		return projection;
 	}
 
 	/**
@@ -152,12 +144,4 @@ public class TimerDataChartingCmrProcessor extends AbstractCmrDataProcessor {
 		}
 	}
 
-	/**
-	 * Post construct.
-	 */
-	@PostConstruct
-	protected void init() {
-		serializationManager = serializationManagerProvider.createSerializer();
-	}
-
 }
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +22,7 @@ import rocks.inspectit.server.dao.PlatformIdentDao;
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
+import rocks.inspectit.server.util.PlatformIdentCache;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
@@ -29,6 +31,7 @@ import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.AgentManagementErrorCodeEnum;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 
 /**
  * @author Patrice Bouillet
@@ -54,6 +57,12 @@ public class GlobalDataAccessService implements IGlobalDataAccessService {
 	@Autowired
 	DefaultDataDao defaultDataDao;
 
+	/**
+	 * {@link PlatformIdentCache} holding the versions of the agent changes.
+	 */
+	@Autowired
+	PlatformIdentCache platformIdentCache;
+
 	/**
 	 * {@link AgentStatusDataProvider}.
 	 */
@@ -100,6 +109,40 @@ public class GlobalDataAccessService implements IGlobalDataAccessService {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<PlatformIdent> getCompleteAgents(Collection<Long> ids) {
+		return platformIdentDao.findAllInitialized(new HashSet<>(ids));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public IdentsDelta getIdentsDelta(long version) {
+		// read version first, so that changes done in between are delivered again with next delta
+		long currentVersion = platformIdentCache.getVersion();
+
+		List<Long> changedPlatformIds;
+		List<Long> removedPlatformIds;
+		if (version <= 0) {
+			changedPlatformIds = new ArrayList<>();
+			for (PlatformIdent platformIdent : platformIdentDao.findAll()) {
+				changedPlatformIds.add(platformIdent.getId());
+			}
+			removedPlatformIds = Collections.emptyList();
+		} else {
+			changedPlatformIds = platformIdentCache.getChangedSince(version);
+			removedPlatformIds = platformIdentCache.getRemovedSince(version);
+		}
+
+		return new IdentsDelta(platformIdentCache.getEpoch(), currentVersion, changedPlatformIds, removedPlatformIds);
+	}
+
 	/**
 	 *
 	 * {@inheritDoc}
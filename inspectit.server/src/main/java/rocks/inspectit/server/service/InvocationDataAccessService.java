@@ -2,8 +2,11 @@ package rocks.inspectit.server.service;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Service;
 
 import rocks.inspectit.server.alerting.AlertRegistry;
 import rocks.inspectit.server.alerting.util.AlertingUtils;
+import rocks.inspectit.server.cache.impl.BufferChangeLog;
 import rocks.inspectit.server.dao.InvocationDataDao;
 import rocks.inspectit.server.influx.dao.InfluxDBDao;
 import rocks.inspectit.server.influx.util.InfluxQueryFactory;
@@ -28,6 +32,8 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IInvocationDataAccessService;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.data.cmr.Alert;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
 
 /**
  * @author Patrice Bouillet
@@ -64,6 +70,12 @@ public class InvocationDataAccessService implements IInvocationDataAccessService
 	@Autowired
 	private InfluxDBDao influxDBDao;
 
+	/**
+	 * Log of the indexed and evicted ids.
+	 */
+	@Autowired
+	private BufferChangeLog bufferChangeLog;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -117,6 +129,82 @@ public class InvocationDataAccessService implements IInvocationDataAccessService
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public BufferDelta<InvocationSequenceData> getInvocationSequenceOverviewDelta(long platformId, long methodId, int limit, BufferCursor cursor,
+			ResultComparator<InvocationSequenceData> resultComparator) {
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(cachedDataService);
+		}
+
+		// read the sequences before the query, so that elements indexed and evicted during the
+		// query are reported with the next delta
+		long indexSequence = bufferChangeLog.getIndexSequence();
+		long evictionSequence = bufferChangeLog.getEvictionSequence();
+		List<Long> indexedIds = null;
+		List<Long> evictedIds = null;
+		if ((null != cursor) && (cursor.getEpoch() == bufferChangeLog.getEpoch())) {
+			indexedIds = bufferChangeLog.getIndexedIdsSince(cursor.getIndexSequence());
+			evictedIds = bufferChangeLog.getEvictedIdsSince(cursor.getEvictionSequence());
+		}
+		boolean complete = (null == indexedIds) || (null == evictedIds);
+
+		List<InvocationSequenceData> data;
+		if (complete) {
+			data = invocationDataDao.getInvocationSequenceDetail(platformId, methodId, 0, resultComparator);
+			evictedIds = Collections.emptyList();
+		} else {
+			// only the elements indexed since the cursor are returned, the ones indexed after
+			// reading the ids are returned with the next delta
+			indexSequence = cursor.getIndexSequence() + indexedIds.size();
+			data = getIndexedInvocations(platformId, methodId, indexedIds, resultComparator);
+		}
+
+		int size = data.size();
+		if ((limit > -1) && (size > limit)) {
+			size = limit;
+		}
+		List<InvocationSequenceData> elements = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			elements.add(data.get(i).getClonedInvocationSequence());
+		}
+
+		return new BufferDelta<>(new BufferCursor(bufferChangeLog.getEpoch(), indexSequence, evictionSequence), complete, elements, evictedIds);
+	}
+
+	/**
+	 * Returns the invocations from the buffer having one of the given ids.
+	 *
+	 * @param platformId
+	 *            The ID of the platform.
+	 * @param methodId
+	 *            The ID of the method.
+	 * @param indexedIds
+	 *            Ids of the indexed elements.
+	 * @param resultComparator
+	 *            Comparator to sort the result with.
+	 * @return Invocations having one of the given ids, sorted.
+	 */
+	private List<InvocationSequenceData> getIndexedInvocations(long platformId, long methodId, List<Long> indexedIds, ResultComparator<InvocationSequenceData> resultComparator) {
+		if (indexedIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Set<Long> ids = new HashSet<>(indexedIds);
+		long minId = Collections.min(indexedIds).longValue();
+		List<InvocationSequenceData> data = invocationDataDao.getInvocationSequenceDetail(platformId, methodId, minId, resultComparator);
+		List<InvocationSequenceData> result = new ArrayList<>(Math.min(data.size(), ids.size()));
+		for (InvocationSequenceData invocationSequenceData : data) {
+			if (ids.contains(invocationSequenceData.getId())) {
+				result.add(invocationSequenceData);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
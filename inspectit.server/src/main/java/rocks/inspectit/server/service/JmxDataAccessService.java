@@ -1,5 +1,7 @@
 package rocks.inspectit.server.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -11,10 +13,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rocks.inspectit.server.dao.DefaultDataDao;
+import rocks.inspectit.server.instrumentation.NextGenInstrumentationManager;
+import rocks.inspectit.server.instrumentation.config.AgentCacheEntry;
 import rocks.inspectit.server.spring.aop.MethodLog;
+import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
 import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.ci.Environment;
+import rocks.inspectit.shared.cs.ci.sensor.jmx.JmxSensorConfig;
 import rocks.inspectit.shared.cs.cmr.service.IJmxDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.JmxSensorValueDataHelper;
 
 /**
  * Service class for retrieving {@link JmxSensorValueData} objects from the CMR.
@@ -36,6 +44,12 @@ public class JmxDataAccessService implements IJmxDataAccessService {
 	@Autowired
 	private DefaultDataDao defaultDataDao;
 
+	/**
+	 * Instrumentation manager holding the configuration of the connected agents.
+	 */
+	@Autowired
+	private NextGenInstrumentationManager nextGenInstrumentationManager;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -56,6 +70,64 @@ public class JmxDataAccessService implements IJmxDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<JmxSensorValueData> getJmxDataForCharting(JmxSensorValueData jmxSensorValueData, Date fromDate, Date toDate, long fillInterval, long defaultMaxFillDuration) {
+		if (fromDate.after(toDate)) {
+			return Collections.emptyList();
+		}
+
+		List<DefaultData> data = defaultDataDao.findByExampleFromToDate(jmxSensorValueData, fromDate, toDate);
+		List<JmxSensorValueData> values = new ArrayList<>(data.size());
+		for (DefaultData defaultData : data) {
+			values.add((JmxSensorValueData) defaultData);
+		}
+
+		long maxFillDuration = defaultMaxFillDuration;
+		JmxSensorConfig jmxSensorConfig = getJmxSensorConfig(jmxSensorValueData.getPlatformIdent());
+		if (null != jmxSensorConfig) {
+			if (!jmxSensorConfig.isReportOnlyChangedValues()) {
+				// agent sends every value, gaps mean that no data was collected
+				return values;
+			}
+			// unchanged values are sent latest with the first collection after the heartbeat
+			maxFillDuration = jmxSensorConfig.getHeartbeatInterval() + fillInterval;
+		}
+
+		// last value before the time frame is carried into it
+		JmxSensorValueData previous = null;
+		List<JmxSensorValueData> latest = defaultDataDao.getJmxDataOverview(jmxSensorValueData, new Date(0), new Date(fromDate.getTime() - 1));
+		if (!latest.isEmpty()) {
+			previous = latest.get(0);
+		}
+
+		return JmxSensorValueDataHelper.fillGaps(values, previous, fromDate, toDate, fillInterval, maxFillDuration);
+	}
+
+	/**
+	 * Returns the JMX sensor configuration of the environment currently assigned to the agent.
+	 *
+	 * @param platformId
+	 *            ID of the agent.
+	 * @return {@link JmxSensorConfig} or <code>null</code> if the agent is not connected or the
+	 *         configuration is not known.
+	 */
+	private JmxSensorConfig getJmxSensorConfig(long platformId) {
+		AgentCacheEntry agentCacheEntry = nextGenInstrumentationManager.getAgentCacheMap().get(Long.valueOf(platformId));
+		if (null == agentCacheEntry) {
+			return null;
+		}
+
+		Environment environment = agentCacheEntry.getConfigurationHolder().getEnvironment();
+		if (null == environment) {
+			return null;
+		}
+		return environment.getJmxSensorConfig();
+	}
+
 	/**
 	 * Is executed after dependency injection is done to perform any initialization.
 	 *
@@ -3,6 +3,7 @@ package rocks.inspectit.server.service.rest;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 
 import java.io.IOException;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.ModelAndView;
 
+import rocks.inspectit.server.influx.dao.InfluxPointWriter;
 import rocks.inspectit.server.service.rest.error.JsonError;
 import rocks.inspectit.shared.all.communication.data.cmr.CmrStatusData;
 import rocks.inspectit.shared.all.version.InvalidVersionException;
@@ -43,6 +45,12 @@ public class CmrRestfulService {
 	@Autowired
 	private ICmrManagementService cmrManagementService;
 
+	/**
+	 * Reference to the existing {@link InfluxPointWriter}.
+	 */
+	@Autowired
+	private InfluxPointWriter influxPointWriter;
+
 	/**
 	 * Handling of all the exceptions happening in this controller.
 	 *
@@ -86,6 +94,20 @@ public class CmrRestfulService {
 		return cmrManagementService.getCmrStatusData();
 	}
 
+	/**
+	 * Returns the statistics of the pipelined InfluxDB writes, like the amount of written and
+	 * dropped points and the write latency.
+	 * <p>
+	 * <i> Example URL: /cmr/influx/writeStatistics</i>
+	 *
+	 * @return Returns the InfluxDB write statistics.
+	 */
+	@RequestMapping(method = GET, value = "influx/writeStatistics")
+	@ResponseBody
+	public Map<String, Long> getInfluxWriteStatistics() {
+		return influxPointWriter.getStatistics();
+	}
+
 	/**
 	 * Header information for swagger requests.
 	 *
@@ -0,0 +1,403 @@
+package rocks.inspectit.server.service.rest;
+
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.ModelAndView;
+
+import rocks.inspectit.server.cache.impl.BufferChangeLog;
+import rocks.inspectit.server.dao.impl.BufferDataExportDaoImpl;
+import rocks.inspectit.server.service.rest.error.JsonError;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.eum.EUMSpan;
+import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.all.tracing.data.ClientSpan;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+
+/**
+ * Restful service provider for the streaming export of the buffer data. Data is written as
+ * newline delimited JSON (one object per line) while the buffer is being traversed, thus the
+ * result is never collected in memory.
+ * <p>
+ * Each endpoint supports incremental pulls. The cursor for the next pull is returned in the
+ * <i>X-Export-Epoch</i> and <i>X-Export-Sequence</i> headers and should be passed as the
+ * <i>epoch</i> and <i>sinceSequence</i> parameters. The sequence is assigned when the data is
+ * indexed in the buffer, thus no data is missed regardless of the order the ids were assigned in.
+ * If the <i>X-Export-Complete</i> header is <code>true</code> all data was exported, because no or
+ * an outdated cursor was passed. Data indexed during the complete export can be exported again with
+ * the next pull, thus the client should ignore data with the already received ids.
+ * <p>
+ * If the export fails after the data has started to be written, the last line is the error
+ * record, an object holding the <i>error</i> and <i>exceptionType</i> fields.
+ *
+ * @author Ivan Senic
+ *
+ */
+@Controller
+@RequestMapping(value = "/data/export")
+public class DataExportRestfulService {
+
+	/**
+	 * Content type of the newline delimited JSON.
+	 */
+	private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+	/**
+	 * Header holding the epoch of the buffer to pass with the next export.
+	 */
+	private static final String EPOCH_HEADER = "X-Export-Epoch";
+
+	/**
+	 * Header holding the sequence to pass with the next export.
+	 */
+	private static final String SEQUENCE_HEADER = "X-Export-Sequence";
+
+	/**
+	 * Header stating if all data was exported.
+	 */
+	private static final String COMPLETE_HEADER = "X-Export-Complete";
+
+	/**
+	 * Size of the buffer used for writing to the response.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Timer data classes. Sub-classes are exported with own endpoints.
+	 */
+	private static final Collection<Class<? extends DefaultData>> TIMER_CLASSES = Collections.<Class<? extends DefaultData>> singletonList(TimerData.class);
+
+	/**
+	 * SQL data classes.
+	 */
+	private static final Collection<Class<? extends DefaultData>> SQL_CLASSES = Collections.<Class<? extends DefaultData>> singletonList(SqlStatementData.class);
+
+	/**
+	 * Exception data classes.
+	 */
+	private static final Collection<Class<? extends DefaultData>> EXCEPTION_CLASSES = Collections.<Class<? extends DefaultData>> singletonList(ExceptionSensorData.class);
+
+	/**
+	 * HTTP data classes.
+	 */
+	private static final Collection<Class<? extends DefaultData>> HTTP_CLASSES = Collections.<Class<? extends DefaultData>> singletonList(HttpTimerData.class);
+
+	/**
+	 * Span classes.
+	 */
+	private static final Collection<Class<? extends DefaultData>> SPAN_CLASSES = Arrays.<Class<? extends DefaultData>> asList(ServerSpan.class, ClientSpan.class, EUMSpan.class);
+
+	/**
+	 * Object mapper, thread safe after configuration.
+	 */
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * The logger of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * {@link BufferDataExportDaoImpl}.
+	 */
+	@Autowired
+	BufferDataExportDaoImpl bufferDataExportDao;
+
+	/**
+	 * Log of the indexed ids providing the export sequence.
+	 */
+	@Autowired
+	BufferChangeLog bufferChangeLog;
+
+	/**
+	 * Handling of all the exceptions happening in this controller.
+	 *
+	 * @param exception
+	 *            Exception being thrown
+	 * @return {@link ModelAndView}
+	 */
+	@ExceptionHandler(Exception.class)
+	public ModelAndView handleAllException(Exception exception) {
+		return new JsonError(exception).asModelAndView();
+	}
+
+	/**
+	 * Streams the timer data.
+	 * <p>
+	 * <i> Example URL: /data/export/timers?agentId=1&epoch=1500000000000&sinceSequence=1000</i>
+	 * </p>
+	 *
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, only data indexed since is exported. If
+	 *            not given all data is exported.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	@RequestMapping(method = GET, value = "timers")
+	public void exportTimerData(@RequestParam(value = "agentId", required = false, defaultValue = "0") long agentId,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date toDate, @RequestParam(value = "epoch", required = false, defaultValue = "0") long epoch,
+			@RequestParam(value = "sinceSequence", required = false) Long sinceSequence,
+			HttpServletResponse response) throws IOException {
+		export(TIMER_CLASSES, agentId, fromDate, toDate, epoch, sinceSequence, response);
+	}
+
+	/**
+	 * Streams the SQL statement data.
+	 * <p>
+	 * <i> Example URL: /data/export/sql?agentId=1&epoch=1500000000000&sinceSequence=1000</i>
+	 * </p>
+	 *
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, only data indexed since is exported. If
+	 *            not given all data is exported.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	@RequestMapping(method = GET, value = "sql")
+	public void exportSqlData(@RequestParam(value = "agentId", required = false, defaultValue = "0") long agentId,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date toDate, @RequestParam(value = "epoch", required = false, defaultValue = "0") long epoch,
+			@RequestParam(value = "sinceSequence", required = false) Long sinceSequence,
+			HttpServletResponse response) throws IOException {
+		export(SQL_CLASSES, agentId, fromDate, toDate, epoch, sinceSequence, response);
+	}
+
+	/**
+	 * Streams the exception sensor data.
+	 * <p>
+	 * <i> Example URL: /data/export/exceptions?agentId=1&epoch=1500000000000&sinceSequence=1000</i>
+	 * </p>
+	 *
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, only data indexed since is exported. If
+	 *            not given all data is exported.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	@RequestMapping(method = GET, value = "exceptions")
+	public void exportExceptionData(@RequestParam(value = "agentId", required = false, defaultValue = "0") long agentId,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date toDate, @RequestParam(value = "epoch", required = false, defaultValue = "0") long epoch,
+			@RequestParam(value = "sinceSequence", required = false) Long sinceSequence,
+			HttpServletResponse response) throws IOException {
+		export(EXCEPTION_CLASSES, agentId, fromDate, toDate, epoch, sinceSequence, response);
+	}
+
+	/**
+	 * Streams the HTTP timer data.
+	 * <p>
+	 * <i> Example URL: /data/export/http?agentId=1&epoch=1500000000000&sinceSequence=1000</i>
+	 * </p>
+	 *
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, only data indexed since is exported. If
+	 *            not given all data is exported.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	@RequestMapping(method = GET, value = "http")
+	public void exportHttpData(@RequestParam(value = "agentId", required = false, defaultValue = "0") long agentId,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date toDate, @RequestParam(value = "epoch", required = false, defaultValue = "0") long epoch,
+			@RequestParam(value = "sinceSequence", required = false) Long sinceSequence,
+			HttpServletResponse response) throws IOException {
+		export(HTTP_CLASSES, agentId, fromDate, toDate, epoch, sinceSequence, response);
+	}
+
+	/**
+	 * Streams the spans.
+	 * <p>
+	 * <i> Example URL: /data/export/spans?agentId=1&epoch=1500000000000&sinceSequence=1000</i>
+	 * </p>
+	 *
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, only data indexed since is exported. If
+	 *            not given all data is exported.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	@RequestMapping(method = GET, value = "spans")
+	public void exportSpans(@RequestParam(value = "agentId", required = false, defaultValue = "0") long agentId,
+			@RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date fromDate,
+			@RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Date toDate, @RequestParam(value = "epoch", required = false, defaultValue = "0") long epoch,
+			@RequestParam(value = "sinceSequence", required = false) Long sinceSequence,
+			HttpServletResponse response) throws IOException {
+		export(SPAN_CLASSES, agentId, fromDate, toDate, epoch, sinceSequence, response);
+	}
+
+	/**
+	 * Writes the buffer data of the given classes to the response, one JSON object per line. The
+	 * cursor for the next export is set to the response headers before the data is written.
+	 * <p>
+	 * Once writing of the data has started the response can not be changed any more, thus a
+	 * failing export is terminated with the error record and the connection to the client that
+	 * can not be written to any more is aborted.
+	 *
+	 * @param objectClasses
+	 *            Classes of data to export.
+	 * @param agentId
+	 *            Agent ID. Zero means all agents.
+	 * @param fromDate
+	 *            Begin of time period.
+	 * @param toDate
+	 *            End of time period.
+	 * @param epoch
+	 *            Epoch returned with the last export.
+	 * @param sinceSequence
+	 *            Sequence returned with the last export, can be <code>null</code> to export all
+	 *            data.
+	 * @param response
+	 *            Response to write to.
+	 * @throws IOException
+	 *             If the response output stream can not be obtained.
+	 */
+	private void export(Collection<Class<? extends DefaultData>> objectClasses, long agentId, Date fromDate, Date toDate, long epoch, Long sinceSequence, HttpServletResponse response)
+			throws IOException {
+		// read the sequence before the export, elements indexed during a complete export are
+		// exported again with the next one
+		long sequence = bufferChangeLog.getIndexSequence();
+		List<Long> indexedIds = null;
+		if ((null != sinceSequence) && (epoch == bufferChangeLog.getEpoch())) {
+			indexedIds = bufferChangeLog.getIndexedIdsSince(sinceSequence.longValue());
+		}
+		if (null != indexedIds) {
+			sequence = sinceSequence.longValue() + indexedIds.size();
+		}
+
+		response.setContentType(NDJSON_CONTENT_TYPE);
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(EPOCH_HEADER, String.valueOf(bufferChangeLog.getEpoch()));
+		response.setHeader(SEQUENCE_HEADER, String.valueOf(sequence));
+		response.setHeader(COMPLETE_HEADER, String.valueOf(null == indexedIds));
+
+		final OutputStream outputStream = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+		try {
+			bufferDataExportDao.exportData(objectClasses, agentId, fromDate, toDate, indexedIds, new Consumer<DefaultData>() {
+				@Override
+				public void accept(DefaultData defaultData) {
+					try {
+						outputStream.write(objectMapper.writeValueAsBytes(defaultData));
+						outputStream.write('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			});
+			outputStream.flush();
+		} catch (UncheckedIOException | IOException e) {
+			// client can not be written to, nothing more to do than aborting
+			log.debug("Data export aborted as writing to the client failed.", e);
+		} catch (RuntimeException e) { // NOPMD
+			log.warn("Data export failed.", e);
+			writeErrorRecord(outputStream, e);
+		}
+	}
+
+	/**
+	 * Terminates the export stream with the error record.
+	 *
+	 * @param outputStream
+	 *            Stream to write to.
+	 * @param exception
+	 *            Cause of the error.
+	 */
+	private void writeErrorRecord(OutputStream outputStream, Exception exception) {
+		try {
+			outputStream.write(objectMapper.writeValueAsBytes(new JsonError(exception).asMap()));
+			outputStream.write('\n');
+			outputStream.flush();
+		} catch (IOException e) {
+			log.debug("Data export error record could not be written.", e);
+		}
+	}
+
+	/**
+	 * Header information for swagger requests.
+	 *
+	 * @param response
+	 *            Response information
+	 */
+	@ModelAttribute
+	public void setVaryResponseHeader(HttpServletResponse response) {
+		response.setHeader("Access-Control-Allow-Origin", "*");
+		response.setHeader("Access-Control-Allow-Headers", "Origin, X-Requested-With, Content-Type, Accept");
+	}
+}
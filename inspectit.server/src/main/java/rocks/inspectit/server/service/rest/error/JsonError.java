@@ -35,9 +35,17 @@ public class JsonError {
 	 */
 	public ModelAndView asModelAndView() {
 		MappingJacksonJsonView jsonView = new MappingJacksonJsonView();
+		return new ModelAndView(jsonView, asMap());
+	}
+
+	/**
+	 * @return Returns the map holding the information about the exception, that can be written as
+	 *         JSON object.
+	 */
+	public Map<String, String> asMap() {
 		Map<String, String> map = new HashMap<>();
 		map.put("error", exception.getMessage());
 		map.put("exceptionType", exception.getClass().getName());
-		return new ModelAndView(jsonView, map);
+		return map;
 	}
 }
@@ -10,12 +10,16 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.RollupAggregator;
 import rocks.inspectit.shared.cs.indexing.query.factory.impl.ExceptionSensorDataQueryFactory;
+import rocks.inspectit.shared.cs.indexing.query.factory.impl.HttpTimerDataQueryFactory;
 import rocks.inspectit.shared.cs.indexing.query.factory.impl.SqlStatementDataQueryFactory;
 import rocks.inspectit.shared.cs.indexing.query.factory.impl.TimerDataQueryFactory;
 import rocks.inspectit.shared.cs.indexing.query.provider.impl.StorageIndexQueryProvider;
@@ -55,6 +59,11 @@ public class CachingWriteDataProcessorProvider {
 	 */
 	private ExceptionSensorDataQueryFactory<StorageIndexQuery> exceptionSensorDataQueryFactory;
 
+	/**
+	 * {@link HttpTimerDataQueryFactory}.
+	 */
+	private HttpTimerDataQueryFactory<StorageIndexQuery> httpTimerDataQueryFactory;
+
 	/**
 	 * @return Returns {@link AbstractWriteDataProcessor} for caching the {@link TimerData} view.
 	 */
@@ -93,6 +102,45 @@ public class CachingWriteDataProcessorProvider {
 		return new QueryCachingDataProcessor<>(query, aggregator);
 	}
 
+	/**
+	 * @return Returns {@link AbstractWriteDataProcessor} for creating the {@link TimerData}
+	 *         rollups.
+	 */
+	@Bean
+	@Lazy
+	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+	public AbstractWriteDataProcessor getTimerDataRollupDataProcessor() {
+		IIndexQuery query = timerDataQueryFactory.getAggregatedTimerDataQuery(new TimerData(), null, null);
+		IAggregator<TimerData> aggregator = new RollupAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, RollupAggregator.DEFAULT_ROLLUP_PERIOD);
+		return new QueryCachingDataProcessor<>(query, aggregator);
+	}
+
+	/**
+	 * @return Returns {@link AbstractWriteDataProcessor} for creating the {@link SqlStatementData}
+	 *         rollups.
+	 */
+	@Bean
+	@Lazy
+	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+	public AbstractWriteDataProcessor getSqlDataRollupDataProcessor() {
+		IIndexQuery query = sqlStatementDataQueryFactory.getAggregatedSqlStatementsQuery(new SqlStatementData(), null, null);
+		IAggregator<SqlStatementData> aggregator = new RollupAggregator<>(Aggregators.SQL_STATEMENT_DATA_AGGREGATOR, RollupAggregator.DEFAULT_ROLLUP_PERIOD);
+		return new QueryCachingDataProcessor<>(query, aggregator);
+	}
+
+	/**
+	 * @return Returns {@link AbstractWriteDataProcessor} for creating the URI based
+	 *         {@link HttpTimerData} rollups.
+	 */
+	@Bean
+	@Lazy
+	@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+	public AbstractWriteDataProcessor getHttpDataRollupDataProcessor() {
+		IIndexQuery query = httpTimerDataQueryFactory.getFindAllHttpTimersQuery(new HttpTimerData(), null, null);
+		IAggregator<HttpTimerData> aggregator = new RollupAggregator<>(new HttpTimerDataAggregator(true, false), RollupAggregator.DEFAULT_ROLLUP_PERIOD);
+		return new QueryCachingDataProcessor<>(query, aggregator);
+	}
+
 	/**
 	 * Init.
 	 */
@@ -106,6 +154,9 @@ public class CachingWriteDataProcessorProvider {
 
 		exceptionSensorDataQueryFactory = new ExceptionSensorDataQueryFactory<>();
 		exceptionSensorDataQueryFactory.setIndexQueryProvider(storageIndexQueryProvider);
+
+		httpTimerDataQueryFactory = new HttpTimerDataQueryFactory<>();
+		httpTimerDataQueryFactory.setIndexQueryProvider(storageIndexQueryProvider);
 	}
 
 }
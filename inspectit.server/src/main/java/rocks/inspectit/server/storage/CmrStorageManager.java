@@ -9,14 +9,17 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -30,6 +33,7 @@ import org.apache.commons.lang.mutable.MutableLong;
 import org.apache.commons.lang.mutable.MutableObject;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -49,6 +53,7 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.all.version.VersionService;
 import rocks.inspectit.shared.cs.cmr.service.IServerStatusService;
 import rocks.inspectit.shared.cs.communication.data.cmr.WritingStatus;
+import rocks.inspectit.shared.cs.storage.AbstractStorageData;
 import rocks.inspectit.shared.cs.storage.IStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageData.StorageState;
@@ -84,6 +89,22 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 	 */
 	private static final int UPDATE_RATE = 30000;
 
+	/**
+	 * Number of time frame chunks the buffer data of one agent is split into when copying the
+	 * buffer to storage.
+	 */
+	private static final int COPY_BUFFER_CHUNKS = 100;
+
+	/**
+	 * Minimum time frame of one chunk when copying the buffer to storage in milliseconds.
+	 */
+	private static final long COPY_BUFFER_MIN_CHUNK_PERIOD = 1000L;
+
+	/**
+	 * Maximum amount of pending writing tasks when copying the buffer to storage.
+	 */
+	private static final int COPY_BUFFER_MAX_PENDING_WRITES = 10000;
+
 	/**
 	 * {@link DefaultDataDaoImpl}.
 	 */
@@ -140,6 +161,12 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 	 */
 	private String cmrVersion;
 
+	/**
+	 * If new storages should be written in the block compressed format.
+	 */
+	@Value("${storage.blockCompression}")
+	boolean blockCompression;
+
 	/**
 	 * Creates new storage.
 	 *
@@ -158,6 +185,7 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 		}
 		storageData.setId(getRandomUUIDString());
 		storageData.setCmrVersion(cmrVersion);
+		storageData.setFormatVersion(blockCompression ? AbstractStorageData.FORMAT_VERSION_BLOCK_COMPRESSED : AbstractStorageData.FORMAT_VERSION_RAW);
 		writeStorageDataToDisk(storageData);
 		existingStoragesSet.add(storageData);
 	}
@@ -398,14 +426,28 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 	 */
 	public void writeToStorage(StorageData storageData, Collection<? extends DefaultData> dataToWrite, Collection<AbstractDataProcessor> dataProcessors, boolean synchronously)
 			throws BusinessException, IOException, SerializationException {
+		StorageWriter writer = getStorageWriterForWrite(storageData);
+		if (synchronously) {
+			writer.processSynchronously(dataToWrite, dataProcessors);
+		} else {
+			writer.process(dataToWrite, dataProcessors);
+		}
+	}
+
+	/**
+	 * Returns the {@link StorageWriter} of the opened storage to write data to.
+	 *
+	 * @param storageData
+	 *            Storage to write.
+	 * @return {@link StorageWriter}, never <code>null</code>.
+	 * @throws BusinessException
+	 *             If storage is used as a recording storage or is already closed.
+	 */
+	private StorageWriter getStorageWriterForWrite(StorageData storageData) throws BusinessException {
 		StorageData local = getLocalStorageDataObject(storageData);
 		StorageWriter writer = openedStoragesMap.get(local);
 		if (writer != null) {
-			if (synchronously) {
-				writer.processSynchronously(dataToWrite, dataProcessors);
-			} else {
-				writer.process(dataToWrite, dataProcessors);
-			}
+			return writer;
 		} else if (Objects.equals(local, recorderStorageData)) {
 			throw new BusinessException("Write data to storage " + local + ".", StorageErrorCodeEnum.WRITE_FAILED);
 		} else if (local.getState() == StorageState.CLOSED) {
@@ -417,7 +459,10 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 	}
 
 	/**
-	 * Copies the content of the current CMR buffer to the Storage.
+	 * Copies the content of the current CMR buffer to the Storage. The data of each agent is read
+	 * from the buffer in time frame chunks and the next chunk is read only when the writing of the
+	 * previous one has caught up, thus the copy needs only constant extra memory no matter how big
+	 * the buffer is.
 	 *
 	 * @param storageData
 	 *            Storage to copy data to.
@@ -465,9 +510,22 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 				}
 			}
 
+			// chunk till the newest element if there is no time-frame limit
+			long endTime;
+			if (null != toDate) {
+				endTime = toDate.getTime();
+			} else {
+				DefaultData newestBufferElement = buffer.getNewestElement();
+				endTime = (null != newestBufferElement) ? newestBufferElement.getTimeStamp().getTime() : fromDate.getTime();
+			}
+
+			StorageWriter writer = getStorageWriterForWrite(local);
 			for (Long platformId : platformIdents) {
-				List<DefaultData> toWriteList = storageDataDao.getAllDefaultDataForAgent(platformId.longValue(), fromDate, toDate);
-				this.writeToStorage(local, toWriteList, dataProcessors, true);
+				AgentDataChunkIterator chunks = new AgentDataChunkIterator(platformId.longValue(), fromDate, toDate, endTime);
+				writer.processChunksSynchronously(chunks, dataProcessors, COPY_BUFFER_MAX_PENDING_WRITES);
+				if (log.isInfoEnabled()) {
+					log.info("Copied " + chunks.getElementCount() + " elements of the agent with id " + platformId + " to the storage " + local + ".");
+				}
 			}
 		}
 
@@ -1243,4 +1301,173 @@ public class CmrStorageManager extends StorageManager implements ApplicationList
 		return toStringBuilder.toString();
 	}
 
+	/**
+	 * Iterator that provides all data of one agent to be copied to storage in chunks. The buffer
+	 * data is read in time frame chunks, where each chunk is queried from the buffer only when
+	 * requested. The last chunk contains the agent data stored in the database. Empty chunks are
+	 * skipped.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private class AgentDataChunkIterator implements Iterator<List<DefaultData>> {
+
+		/**
+		 * Agent id.
+		 */
+		private final long platformId;
+
+		/**
+		 * Date to copy data from.
+		 */
+		private final Date fromDate;
+
+		/**
+		 * Date to copy data to, can be <code>null</code>.
+		 */
+		private final Date toDate;
+
+		/**
+		 * Time till the buffer is split in chunks, the last buffer chunk has no end date if
+		 * {@link #toDate} is <code>null</code>.
+		 */
+		private final long endTime;
+
+		/**
+		 * Time frame of one chunk.
+		 */
+		private final long chunkPeriod;
+
+		/**
+		 * Start time of the next buffer chunk.
+		 */
+		private long nextChunkStart;
+
+		/**
+		 * If all buffer chunks are loaded.
+		 */
+		private boolean bufferDone;
+
+		/**
+		 * If the database chunk is loaded.
+		 */
+		private boolean databaseDone;
+
+		/**
+		 * Next chunk to return, loaded by {@link #hasNext()}.
+		 */
+		private List<DefaultData> nextChunk;
+
+		/**
+		 * Amount of elements returned so far.
+		 */
+		private long elementCount;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param platformId
+		 *            Agent id.
+		 * @param fromDate
+		 *            Date to copy data from.
+		 * @param toDate
+		 *            Date to copy data to, can be <code>null</code>.
+		 * @param endTime
+		 *            Time till the buffer is split in chunks.
+		 */
+		AgentDataChunkIterator(long platformId, Date fromDate, Date toDate, long endTime) {
+			this.platformId = platformId;
+			this.fromDate = fromDate;
+			this.toDate = toDate;
+			this.endTime = endTime;
+			this.nextChunkStart = fromDate.getTime();
+			long range = Math.max(0L, endTime - nextChunkStart) + 1;
+			this.chunkPeriod = Math.max(COPY_BUFFER_MIN_CHUNK_PERIOD, (range + COPY_BUFFER_CHUNKS - 1) / COPY_BUFFER_CHUNKS);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			while ((null == nextChunk) && !databaseDone) {
+				nextChunk = loadNextChunk();
+			}
+			return null != nextChunk;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public List<DefaultData> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			List<DefaultData> chunk = nextChunk;
+			nextChunk = null;
+			elementCount += chunk.size();
+			return chunk;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Loads the next chunk.
+		 *
+		 * @return Loaded chunk or <code>null</code> if it's empty.
+		 */
+		private List<DefaultData> loadNextChunk() {
+			List<DefaultData> chunk;
+			if (!bufferDone) {
+				Date chunkFrom = (nextChunkStart == fromDate.getTime()) ? fromDate : new Date(nextChunkStart);
+				Date chunkTo;
+				long chunkEnd = nextChunkStart + chunkPeriod;
+				if (chunkEnd > endTime) {
+					chunkTo = toDate;
+					bufferDone = true;
+				} else {
+					// query is inclusive, so end just before the start of the next chunk
+					Timestamp timestamp = new Timestamp(chunkEnd - 1);
+					timestamp.setNanos(timestamp.getNanos() + 999999);
+					chunkTo = timestamp;
+				}
+				nextChunkStart = chunkEnd;
+
+				chunk = storageDataDao.getBufferDataForAgent(platformId, chunkFrom, chunkTo);
+
+				if (log.isDebugEnabled()) {
+					long done = Math.min(nextChunkStart, endTime) - fromDate.getTime();
+					long total = Math.max(1L, endTime - fromDate.getTime());
+					log.debug("Copying buffer data of the agent with id " + platformId + " to storage: " + ((done * 100) / total) + "% of the time frame, " + (elementCount + CollectionUtils.size(chunk))
+							+ " elements.");
+				}
+			} else {
+				chunk = storageDataDao.getDatabaseDataForAgent(platformId, fromDate, toDate);
+				databaseDone = true;
+			}
+
+			if (CollectionUtils.isEmpty(chunk)) {
+				return null;
+			}
+			return chunk;
+		}
+
+		/**
+		 * Gets {@link #elementCount}.
+		 *
+		 * @return {@link #elementCount}
+		 */
+		public long getElementCount() {
+			return elementCount;
+		}
+
+	}
+
 }
@@ -1,5 +1,8 @@
 package rocks.inspectit.server.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.persistence.EntityManager;
 
 /**
@@ -35,4 +38,58 @@ public final class JpaUtil {
 			entityManager.remove(merged);
 		}
 	}
+
+	/**
+	 * Persists all given objects using the given entity manager. After every <code>batchSize</code>
+	 * persisted objects the entity manager is flushed and the flushed objects are detached. This
+	 * way the inserts are executed as JDBC batches of the given size (if JDBC batching is active)
+	 * and the persistence context does not grow with the amount of persisted objects, which keeps
+	 * the dirty checking on the later flushes cheap.
+	 * <p>
+	 * Note that objects persisted by this method are not managed by the entity manager anymore
+	 * after the method returns.
+	 *
+	 * @param <T>
+	 *            type of object
+	 * @param entityManager
+	 *            {@link EntityManager} to be used for persisting.
+	 * @param objects
+	 *            Objects to persist.
+	 * @param batchSize
+	 *            Amount of objects to persist before flushing. If zero or negative all objects
+	 *            are flushed at once.
+	 */
+	public static <T> void persistAll(EntityManager entityManager, Iterable<? extends T> objects, int batchSize) {
+		List<T> batch = new ArrayList<>(Math.max(batchSize, 16));
+		for (T object : objects) {
+			entityManager.persist(object);
+			batch.add(object);
+
+			if ((batchSize > 0) && (batch.size() >= batchSize)) {
+				flushAndDetach(entityManager, batch);
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			flushAndDetach(entityManager, batch);
+		}
+	}
+
+	/**
+	 * Flushes the entity manager and detaches all given objects. The list is cleared afterwards.
+	 *
+	 * @param <T>
+	 *            type of object
+	 * @param entityManager
+	 *            {@link EntityManager} to flush.
+	 * @param objects
+	 *            Flushed objects to detach.
+	 */
+	private static <T> void flushAndDetach(EntityManager entityManager, List<T> objects) {
+		entityManager.flush();
+		for (T object : objects) {
+			entityManager.detach(object);
+		}
+		objects.clear();
+	}
 }
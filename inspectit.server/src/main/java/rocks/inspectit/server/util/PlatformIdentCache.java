@@ -1,16 +1,25 @@
 package rocks.inspectit.server.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 
 /**
  * Bean for caching the {@link PlatformIdent} objects, so that they don't have to be loaded from the
  * database all the time.
+ * <p>
+ * The cache additionally versions the changes of the agents, so that clients can synchronize only
+ * the agents changed since their last known version.
  *
  * @author Ivan Senic
  *
@@ -23,15 +32,46 @@ public class PlatformIdentCache {
 	 */
 	private Map<Long, PlatformIdent> cleanPlatformIdents = new ConcurrentHashMap<>();
 
+	/**
+	 * Identifies this instance of the cache. Versions of different instances (for example before
+	 * and after a CMR restart) can not be compared.
+	 */
+	private final long epoch = System.currentTimeMillis();
+
+	/**
+	 * Sequence of the versions.
+	 */
+	private final AtomicLong versionSequence = new AtomicLong();
+
+	/**
+	 * Version of the last change for each agent.
+	 */
+	private final Map<Long, Long> changeVersions = new ConcurrentHashMap<>();
+
+	/**
+	 * Version of the removal for each removed agent.
+	 */
+	private final Map<Long, Long> removalVersions = new ConcurrentHashMap<>();
 
 	/**
-	 * Marks platform ident dirty if the one with given ID is known to the cache.
+	 * Marks platform ident dirty if the one with given ID is known to the cache. If called in a
+	 * transaction, the platform ident is marked dirty again after the commit, so that the cache
+	 * and the clients don't keep the state loaded before the commit.
 	 *
 	 * @param platformIdentId
 	 *            {@link PlatformIdent} id.
 	 */
-	public void markDirty(long platformIdentId) {
-		cleanPlatformIdents.remove(platformIdentId);
+	public void markDirty(final long platformIdentId) {
+		changed(platformIdentId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					changed(platformIdentId);
+				}
+			});
+		}
 	}
 
 	/**
@@ -51,8 +91,11 @@ public class PlatformIdentCache {
 	 * @param platformIdent
 	 *            {@link PlatformIdent}.
 	 */
-	public void markClean(PlatformIdent platformIdent) {
+	public synchronized void markClean(PlatformIdent platformIdent) {
 		cleanPlatformIdents.put(platformIdent.getId(), platformIdent);
+		if (!changeVersions.containsKey(platformIdent.getId())) {
+			changeVersions.put(platformIdent.getId(), versionSequence.incrementAndGet());
+		}
 	}
 
 	/**
@@ -61,8 +104,10 @@ public class PlatformIdentCache {
 	 * @param platformIdent
 	 *            {@link PlatformIdent}.
 	 */
-	public void remove(PlatformIdent platformIdent) {
+	public synchronized void remove(PlatformIdent platformIdent) {
 		cleanPlatformIdents.remove(platformIdent.getId());
+		changeVersions.remove(platformIdent.getId());
+		removalVersions.put(platformIdent.getId(), versionSequence.incrementAndGet());
 	}
 
 	/**
@@ -74,4 +119,76 @@ public class PlatformIdentCache {
 		return cleanPlatformIdents.values();
 	}
 
+	/**
+	 * Gets {@link #epoch}.
+	 *
+	 * @return {@link #epoch}
+	 */
+	public long getEpoch() {
+		return this.epoch;
+	}
+
+	/**
+	 * Returns the current version. All changes known to the cache have the version lower or equal
+	 * to the returned one.
+	 *
+	 * @return Current version.
+	 */
+	public synchronized long getVersion() {
+		return versionSequence.get();
+	}
+
+	/**
+	 * Returns the ids of the agents changed after the given version.
+	 *
+	 * @param version
+	 *            Version to compare to.
+	 * @return Ids of the changed agents.
+	 */
+	public List<Long> getChangedSince(long version) {
+		return getIdsAfter(changeVersions, version);
+	}
+
+	/**
+	 * Returns the ids of the agents removed after the given version.
+	 *
+	 * @param version
+	 *            Version to compare to.
+	 * @return Ids of the removed agents.
+	 */
+	public List<Long> getRemovedSince(long version) {
+		return getIdsAfter(removalVersions, version);
+	}
+
+	/**
+	 * Removes the platform ident from the clean set and raises its change version.
+	 *
+	 * @param platformIdentId
+	 *            {@link PlatformIdent} id.
+	 */
+	private synchronized void changed(long platformIdentId) {
+		cleanPlatformIdents.remove(platformIdentId);
+		changeVersions.put(platformIdentId, versionSequence.incrementAndGet());
+		removalVersions.remove(platformIdentId);
+	}
+
+	/**
+	 * Returns the keys of the given version map that have the version higher than the given one.
+	 *
+	 * @param versions
+	 *            Map of agent ids to versions.
+	 * @param version
+	 *            Version to compare to.
+	 * @return Ids of the agents.
+	 */
+	private List<Long> getIdsAfter(Map<Long, Long> versions, long version) {
+		List<Long> ids = new ArrayList<>();
+		for (Entry<Long, Long> entry : versions.entrySet()) {
+			if (entry.getValue().longValue() > version) {
+				ids.add(entry.getKey());
+			}
+		}
+		return ids;
+	}
+
 }
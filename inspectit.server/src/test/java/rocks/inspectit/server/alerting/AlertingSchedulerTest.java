@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -58,6 +59,9 @@ public class AlertingSchedulerTest extends TestBase {
 	@Mock
 	ThresholdChecker thresholdChecker;
 
+	@Mock
+	StreamingThresholdChecker streamingThresholdChecker;
+
 	@Mock
 	ScheduledExecutorService executorService;
 
@@ -203,6 +207,78 @@ public class AlertingSchedulerTest extends TestBase {
 			assertThat(stateCaptor.getAllValues().get(2).getAlertingDefinition(), equalTo(definitionOne));
 		}
 
+		@Test
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public void checkExistingAlertingStatesBatched() throws Exception {
+			AlertingDefinition definitionOne = mock(AlertingDefinition.class);
+			AlertingDefinition definitionTwo = mock(AlertingDefinition.class);
+			when(definitionOne.getTimeRange(any(TimeUnit.class))).thenReturn(1L);
+			when(definitionTwo.getTimeRange(any(TimeUnit.class))).thenReturn(3600000L);
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionOne));
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionTwo));
+			alertingScheduler.batchChecks = true;
+
+			alertingScheduler.run();
+
+			ArgumentCaptor<List> statesCaptor = ArgumentCaptor.forClass(List.class);
+			verify(thresholdChecker).checkThresholds(statesCaptor.capture());
+			verifyNoMoreInteractions(thresholdChecker);
+			verifyZeroInteractions(executorService);
+			List<AlertingState> states = statesCaptor.getValue();
+			assertThat(states, hasSize(2));
+			assertThat(states.get(0).getAlertingDefinition(), equalTo(definitionOne));
+			assertThat(states.get(1).getAlertingDefinition(), equalTo(definitionTwo));
+		}
+
+		@Test
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public void checkExistingAlertingStatesStreaming() throws Exception {
+			AlertingDefinition definitionOne = mock(AlertingDefinition.class);
+			AlertingDefinition definitionTwo = mock(AlertingDefinition.class);
+			when(definitionOne.getTimeRange(any(TimeUnit.class))).thenReturn(1L);
+			when(definitionTwo.getTimeRange(any(TimeUnit.class))).thenReturn(3600000L);
+			alertingScheduler.streaming = true;
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionOne));
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionTwo));
+			doAnswer(new Answer<Void>() {
+				@Override
+				public Void answer(InvocationOnMock invocation) throws Throwable {
+					((AlertingState) invocation.getArguments()[0]).setLastCheckTime(((Long) invocation.getArguments()[1]).longValue());
+					return null;
+				}
+			}).when(streamingThresholdChecker).closeWindow(any(AlertingState.class), anyLong());
+
+			alertingScheduler.run(); // both are closed
+			Thread.sleep(10);
+			alertingScheduler.run(); // only first is closed
+
+			ArgumentCaptor<List> statesCaptor = ArgumentCaptor.forClass(List.class);
+			verify(streamingThresholdChecker, times(4)).updateAlertingStates(statesCaptor.capture());
+			assertThat((List<AlertingState>) statesCaptor.getValue(), hasSize(2));
+			ArgumentCaptor<AlertingState> stateCaptor = ArgumentCaptor.forClass(AlertingState.class);
+			verify(streamingThresholdChecker, times(3)).closeWindow(stateCaptor.capture(), anyLong());
+			verifyNoMoreInteractions(streamingThresholdChecker);
+			verifyZeroInteractions(thresholdChecker, executorService);
+			assertThat(stateCaptor.getAllValues().get(0).getAlertingDefinition(), equalTo(definitionOne));
+			assertThat(stateCaptor.getAllValues().get(1).getAlertingDefinition(), equalTo(definitionTwo));
+			assertThat(stateCaptor.getAllValues().get(2).getAlertingDefinition(), equalTo(definitionOne));
+		}
+
+		@Test
+		public void streamingCheckerThrowsException() throws Exception {
+			AlertingDefinition definitionOne = mock(AlertingDefinition.class);
+			AlertingDefinition definitionTwo = mock(AlertingDefinition.class);
+			alertingScheduler.streaming = true;
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionOne));
+			alertingScheduler.onApplicationEvent(new AlertingDefinitionCreatedEvent(this, definitionTwo));
+			doThrow(RuntimeException.class).when(streamingThresholdChecker).closeWindow(any(AlertingState.class), anyLong());
+
+			alertingScheduler.run();
+
+			verify(streamingThresholdChecker, times(2)).closeWindow(any(AlertingState.class), anyLong());
+			verifyZeroInteractions(thresholdChecker, executorService);
+		}
+
 		@Test
 		public void noAlertingStates() throws Exception {
 			alertingScheduler.run();
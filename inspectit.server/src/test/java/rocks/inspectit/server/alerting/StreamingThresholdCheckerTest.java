@@ -0,0 +1,256 @@
+package rocks.inspectit.server.alerting;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.influxdb.dto.Point;
+import org.influxdb.dto.Point.Builder;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.alerting.state.AlertingState;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.ci.AlertingDefinition;
+import rocks.inspectit.shared.cs.ci.AlertingDefinition.ThresholdType;
+
+/**
+ * Tests for the {@link StreamingThresholdChecker}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class StreamingThresholdCheckerTest extends TestBase {
+
+	private static final String MEASUREMENT = "measurement";
+
+	private static final String FIELD = "field";
+
+	@InjectMocks
+	StreamingThresholdChecker checker;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	AlertingStateLifecycleManager stateManager;
+
+	@Mock
+	AlertingDefinition alertingDefinition;
+
+	@Mock
+	ExecutorService executorService;
+
+	AlertingState alertingState;
+
+	/**
+	 * Tasks submitted to the executor service and not executed yet.
+	 */
+	List<Runnable> submittedTasks;
+
+	@BeforeMethod
+	public void init() {
+		submittedTasks = new ArrayList<>();
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				submittedTasks.add((Runnable) invocation.getArguments()[0]);
+				return null;
+			}
+		}).when(executorService).execute(any(Runnable.class));
+		when(alertingDefinition.getMeasurement()).thenReturn(MEASUREMENT);
+		when(alertingDefinition.getField()).thenReturn(FIELD);
+		when(alertingDefinition.getTags()).thenReturn(Collections.singletonMap("tag", "value"));
+		when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.UPPER_THRESHOLD);
+		when(alertingDefinition.getThreshold()).thenReturn(10D);
+		alertingState = new AlertingState(alertingDefinition);
+		alertingState.setLastCheckTime(1000L);
+		checker.updateAlertingStates(Arrays.asList(alertingState));
+	}
+
+	/**
+	 * Tests the {@link StreamingThresholdChecker#process(Builder)} method.
+	 */
+	public static class Process extends StreamingThresholdCheckerTest {
+
+		@Test
+		public void violationReportedOncePerWindow() {
+			checker.process(createBuilder(MEASUREMENT, "value", 5D));
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+			checker.process(createBuilder(MEASUREMENT, "value", 20D));
+			runSubmittedTasks();
+
+			verify(stateManager).violation(alertingState, 15D);
+			verifyNoMoreInteractions(stateManager);
+		}
+
+		@Test
+		public void violationReportedAgainInNextWindow() {
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+			checker.closeWindow(alertingState, 2000L);
+			checker.process(createBuilder(MEASUREMENT, "value", 20D));
+			runSubmittedTasks();
+
+			verify(stateManager).violation(alertingState, 15D);
+			verify(stateManager).violation(alertingState, 20D);
+			verifyNoMoreInteractions(stateManager);
+		}
+
+		@Test
+		public void violationReportedByExecutor() {
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+
+			verifyZeroInteractions(stateManager);
+			assertThat(submittedTasks, hasSize(1));
+			runSubmittedTasks();
+			verify(stateManager).violation(alertingState, 15D);
+			verifyNoMoreInteractions(stateManager);
+		}
+
+		@Test
+		public void verdictsReportedInOrder() {
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+			checker.closeWindow(alertingState, 2000L);
+			checker.process(createBuilder(MEASUREMENT, "value", 5D));
+			checker.closeWindow(alertingState, 3000L);
+
+			assertThat(submittedTasks, hasSize(1));
+			runSubmittedTasks();
+			InOrder inOrder = inOrder(stateManager);
+			inOrder.verify(stateManager).violation(alertingState, 15D);
+			inOrder.verify(stateManager).valid(alertingState);
+			verifyNoMoreInteractions(stateManager);
+		}
+
+		@Test
+		public void reportingFailed() {
+			doThrow(RuntimeException.class).when(stateManager).violation(alertingState, 15D);
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+			runSubmittedTasks();
+
+			checker.closeWindow(alertingState, 2000L);
+			checker.closeWindow(alertingState, 3000L);
+
+			runSubmittedTasks();
+			verify(stateManager).violation(alertingState, 15D);
+			verify(stateManager).noData(alertingState);
+			verifyNoMoreInteractions(stateManager);
+		}
+
+		@Test
+		public void otherTagValue() {
+			checker.process(createBuilder(MEASUREMENT, "otherValue", 15D));
+			runSubmittedTasks();
+
+			verifyZeroInteractions(stateManager);
+		}
+
+		@Test
+		public void otherMeasurement() {
+			checker.process(createBuilder("otherMeasurement", "value", 15D));
+			runSubmittedTasks();
+
+			verifyZeroInteractions(stateManager);
+		}
+
+		@Test
+		public void removedState() {
+			checker.updateAlertingStates(Collections.<AlertingState> emptyList());
+
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+			runSubmittedTasks();
+
+			verifyZeroInteractions(stateManager);
+		}
+	}
+
+	/**
+	 * Tests the {@link StreamingThresholdChecker#closeWindow(AlertingState, long)} method.
+	 */
+	public static class CloseWindow extends StreamingThresholdCheckerTest {
+
+		@Test
+		public void valid() {
+			checker.process(createBuilder(MEASUREMENT, "value", 5D));
+
+			checker.closeWindow(alertingState, 2000L);
+			runSubmittedTasks();
+
+			verify(stateManager).valid(alertingState);
+			verifyNoMoreInteractions(stateManager);
+			assertThat(alertingState.getLastCheckTime(), is(2000L));
+		}
+
+		@Test
+		public void noData() {
+			checker.closeWindow(alertingState, 2000L);
+			runSubmittedTasks();
+
+			verify(stateManager).noData(alertingState);
+			verifyNoMoreInteractions(stateManager);
+			assertThat(alertingState.getLastCheckTime(), is(2000L));
+		}
+
+		@Test
+		public void violated() {
+			checker.process(createBuilder(MEASUREMENT, "value", 15D));
+
+			checker.closeWindow(alertingState, 2000L);
+			runSubmittedTasks();
+
+			verify(stateManager).violation(alertingState, 15D);
+			verifyNoMoreInteractions(stateManager);
+			assertThat(alertingState.getLastCheckTime(), is(2000L));
+		}
+
+		@Test
+		public void neverChecked() {
+			alertingState.setLastCheckTime(-1L);
+			checker.process(createBuilder(MEASUREMENT, "value", 5D));
+
+			checker.closeWindow(alertingState, 2000L);
+			checker.closeWindow(alertingState, 3000L);
+			runSubmittedTasks();
+
+			verify(stateManager).noData(alertingState);
+			verifyNoMoreInteractions(stateManager);
+			assertThat(alertingState.getLastCheckTime(), is(3000L));
+		}
+	}
+
+	/**
+	 * Runs the tasks submitted to the executor service, including the ones submitted while
+	 * running.
+	 */
+	protected void runSubmittedTasks() {
+		while (!submittedTasks.isEmpty()) {
+			submittedTasks.remove(0).run();
+		}
+	}
+
+	protected Builder createBuilder(String measurement, String tagValue, double value) {
+		return Point.measurement(measurement).tag("tag", tagValue).addField(FIELD, value);
+	}
+
+}
@@ -1,7 +1,12 @@
 package rocks.inspectit.server.alerting;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,6 +15,9 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import org.influxdb.dto.QueryResult;
@@ -19,6 +27,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -252,4 +261,149 @@ public class ThresholdCheckerTest extends TestBase {
 		}
 
 	}
+
+	/**
+	 * Tests the {@link ThresholdChecker#checkThresholds(java.util.List)} method.
+	 */
+	public static class CheckThresholds extends ThresholdCheckerTest {
+
+		@Mock
+		AlertingDefinition alertingDefinition;
+
+		ExecutorService executor;
+
+		@BeforeMethod
+		public void init() {
+			executor = Executors.newFixedThreadPool(2);
+			thresholdChecker.executorService = executor;
+			thresholdChecker.batchSize = 2;
+			when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.UPPER_THRESHOLD);
+			when(alertingDefinition.getThreshold()).thenReturn(15D);
+			when(alertingDefinition.getTimeRange(TimeUnit.MILLISECONDS)).thenReturn(60000L);
+		}
+
+		@AfterMethod
+		public void shutdown() {
+			executor.shutdownNow();
+		}
+
+		@Test
+		public void batches() {
+			AlertingState stateOne = new AlertingState(alertingDefinition);
+			AlertingState stateTwo = new AlertingState(alertingDefinition);
+			AlertingState stateThree = new AlertingState(alertingDefinition);
+			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.query(any(String.class))).thenReturn(createQueryResult(createResult(20D), createResult(null)));
+
+			thresholdChecker.checkThresholds(Arrays.asList(stateOne, stateTwo, stateThree));
+
+			ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+			verify(influxDao, times(2)).query(queryCaptor.capture());
+			assertThat(queryCaptor.getAllValues(), containsInAnyOrder(containsString(";"), not(containsString(";"))));
+			verify(influxDao).isConnected();
+			verify(stateManager).violation(stateOne, 20D);
+			verify(stateManager).noData(stateTwo);
+			verify(stateManager).violation(stateThree, 20D);
+			verifyNoMoreInteractions(influxDao, stateManager);
+			for (AlertingState state : Arrays.asList(stateOne, stateTwo, stateThree)) {
+				assertThat(state.getLastCheckTime(), is(greaterThan(0L)));
+			}
+		}
+
+		@Test
+		public void statementError() {
+			AlertingState stateOne = new AlertingState(alertingDefinition);
+			AlertingState stateTwo = new AlertingState(alertingDefinition);
+			stateTwo.setLastCheckTime(1000L);
+			Result errorResult = new Result();
+			errorResult.setError("error");
+			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.query(any(String.class))).thenReturn(createQueryResult(createResult(10D), errorResult));
+
+			thresholdChecker.checkThresholds(Arrays.asList(stateOne, stateTwo));
+
+			verify(influxDao).query(any(String.class));
+			verify(influxDao).isConnected();
+			verify(stateManager).valid(stateOne);
+			verifyNoMoreInteractions(influxDao, stateManager);
+			assertThat(stateTwo.getLastCheckTime(), is(1000L));
+		}
+
+		@Test
+		public void queryErrorStatementsRetried() {
+			AlertingState stateOne = new AlertingState(alertingDefinition);
+			AlertingState stateTwo = new AlertingState(alertingDefinition);
+			QueryResult errorQueryResult = new QueryResult();
+			errorQueryResult.setError("error");
+			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.query(any(String.class))).thenReturn(errorQueryResult, createQueryResult(createResult(20D)), createQueryResult(createResult(10D)));
+
+			thresholdChecker.checkThresholds(Arrays.asList(stateOne, stateTwo));
+
+			ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+			verify(influxDao, times(3)).query(queryCaptor.capture());
+			assertThat(queryCaptor.getAllValues().get(0), containsString(";"));
+			assertThat(queryCaptor.getAllValues().get(1), not(containsString(";")));
+			assertThat(queryCaptor.getAllValues().get(2), not(containsString(";")));
+			verify(influxDao).isConnected();
+			verify(stateManager).violation(stateOne, 20D);
+			verify(stateManager).valid(stateTwo);
+			verifyNoMoreInteractions(influxDao, stateManager);
+		}
+
+		@Test
+		public void noQueryResult() {
+			AlertingState stateOne = new AlertingState(alertingDefinition);
+			stateOne.setLastCheckTime(1000L);
+			AlertingState stateTwo = new AlertingState(alertingDefinition);
+			stateTwo.setLastCheckTime(1000L);
+			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.query(any(String.class))).thenReturn(null, null, createQueryResult());
+
+			thresholdChecker.checkThresholds(Arrays.asList(stateOne, stateTwo));
+
+			verify(influxDao, times(3)).query(any(String.class));
+			verify(influxDao).isConnected();
+			verifyNoMoreInteractions(influxDao);
+			verifyZeroInteractions(stateManager);
+			assertThat(stateOne.getLastCheckTime(), is(1000L));
+			assertThat(stateTwo.getLastCheckTime(), is(1000L));
+		}
+
+		@Test
+		public void influxDisconnected() {
+			when(influxDao.isConnected()).thenReturn(false);
+
+			thresholdChecker.checkThresholds(Arrays.asList(new AlertingState(alertingDefinition)));
+
+			verify(influxDao).isConnected();
+			verifyNoMoreInteractions(influxDao);
+			verifyZeroInteractions(stateManager);
+		}
+
+		@Test
+		public void nothingToCheck() {
+			thresholdChecker.checkThresholds(Collections.<AlertingState> emptyList());
+
+			verifyZeroInteractions(influxDao, stateManager);
+		}
+
+		private QueryResult createQueryResult(Result... results) {
+			QueryResult queryResult = new QueryResult();
+			queryResult.setResults(Arrays.asList(results));
+			return queryResult;
+		}
+
+		private Result createResult(Double value) {
+			Result result = new Result();
+			if (null != value) {
+				Object[] values = { "12:00", value };
+				Series series = new Series();
+				series.setValues(Arrays.asList(Arrays.asList(values)));
+				series.setColumns(Arrays.asList(new String[] { "time", "value" }));
+				result.setSeries(Arrays.asList(series));
+			}
+			return result;
+		}
+	}
 }
@@ -10,6 +10,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 
@@ -21,6 +23,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.server.cache.IBufferElement;
+import rocks.inspectit.server.cache.IBufferListener;
 import rocks.inspectit.server.test.AbstractTestNGLogSupport;
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.communication.DefaultData;
@@ -131,6 +134,40 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 		assertThat(buffer.getEvictedElemenets(), is(elements / 2));
 	}
 
+	/**
+	 * Tests that the listeners are informed about the added, evicted and cleared elements.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void bufferListeners() throws Exception {
+		when(bufferProperties.getInitialBufferSize()).thenReturn(4L);
+		when(bufferProperties.getEvictionOccupancyPercentage()).thenReturn(0.1f);
+		when(bufferProperties.getEvictionFragmentSizePercentage()).thenReturn(0.5f);
+		buffer.postConstruct();
+		IBufferListener<DefaultData> bufferListener = mock(IBufferListener.class);
+		buffer.bufferListeners = Collections.singletonList(bufferListener);
+
+		DefaultData[] data = new DefaultData[4];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = mock(DefaultData.class);
+			IBufferElement<DefaultData> bufferElement = new BufferElement<>(data[i]);
+			bufferElement.setBufferElementSize(1L);
+			buffer.put(bufferElement);
+			verify(bufferListener).elementAdded(data[i]);
+		}
+		buffer.setCurrentSize(4L);
+
+		buffer.evict();
+
+		verify(bufferListener).elementsEvicted(Arrays.asList(data[0], data[1]));
+
+		buffer.clearAll();
+
+		verify(bufferListener).bufferCleared();
+	}
+
 	/**
 	 * Tests that size of the elements is correctly analyzed and added to the buffer size.
 	 *
@@ -268,6 +305,9 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 
 		DefaultData defaultData = mock(DefaultData.class);
 		when(defaultData.getObjectSize(objectSizes)).thenReturn(1L);
+		@SuppressWarnings("unchecked")
+		IBufferListener<DefaultData> bufferListener = mock(IBufferListener.class);
+		buffer.bufferListeners = Collections.singletonList(bufferListener);
 
 		// start analyzer
 		BufferAnalyzer bufferAnalyzer = new BufferAnalyzer(buffer);
@@ -309,6 +349,7 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 
 		assertThat(buffer.getIndexedElements(), is(elements));
 		verify(indexingTree, times((int) elements)).put(defaultData);
+		verify(bufferListener, times((int) elements)).elementIndexed(defaultData);
 	}
 
 	/**
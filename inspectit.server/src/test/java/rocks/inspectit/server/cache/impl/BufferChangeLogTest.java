@@ -0,0 +1,128 @@
+package rocks.inspectit.server.cache.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link BufferChangeLog}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class BufferChangeLogTest extends TestBase {
+
+	BufferChangeLog changeLog;
+
+	@BeforeMethod
+	public void init() {
+		changeLog = new BufferChangeLog(3, 3);
+	}
+
+	public static class ElementIndexed extends BufferChangeLogTest {
+
+		@Test
+		public void allElementsLogged() {
+			long sequence = changeLog.getIndexSequence();
+
+			changeLog.elementIndexed(createInvocation(3L));
+			changeLog.elementIndexed(createTimerData(1L));
+
+			assertThat(changeLog.getIndexSequence(), is(sequence + 2));
+			assertThat(changeLog.getIndexedIdsSince(sequence), contains(3L, 1L));
+			assertThat(changeLog.getIndexedIdsSince(sequence + 1), contains(1L));
+			assertThat(changeLog.getIndexedIdsSince(sequence + 2), is(empty()));
+		}
+
+		@Test
+		public void capacityExceeded() {
+			for (long id = 1; id <= 4; id++) {
+				changeLog.elementIndexed(createInvocation(id));
+			}
+
+			assertThat(changeLog.getIndexedIdsSince(0L), is(nullValue()));
+			assertThat(changeLog.getIndexedIdsSince(1L), contains(2L, 3L, 4L));
+		}
+
+		@Test
+		public void futureSequence() {
+			changeLog.elementIndexed(createInvocation(1L));
+
+			assertThat(changeLog.getIndexedIdsSince(2L), is(nullValue()));
+		}
+	}
+
+	public static class ElementsEvicted extends BufferChangeLogTest {
+
+		@Test
+		public void invocationsLogged() {
+			long sequence = changeLog.getEvictionSequence();
+
+			changeLog.elementsEvicted(Arrays.<MethodSensorData> asList(createInvocation(1L), createTimerData(2L), createInvocation(3L)));
+
+			assertThat(changeLog.getEvictionSequence(), is(sequence + 2));
+			assertThat(changeLog.getEvictedIdsSince(sequence), contains(1L, 3L));
+			assertThat(changeLog.getEvictedIdsSince(sequence + 1), contains(3L));
+			assertThat(changeLog.getEvictedIdsSince(sequence + 2), is(empty()));
+		}
+
+		@Test
+		public void capacityExceeded() {
+			changeLog.elementsEvicted(Arrays.<MethodSensorData> asList(createInvocation(1L), createInvocation(2L)));
+			changeLog.elementsEvicted(Arrays.<MethodSensorData> asList(createInvocation(3L), createInvocation(4L)));
+
+			assertThat(changeLog.getEvictedIdsSince(0L), is(nullValue()));
+			assertThat(changeLog.getEvictedIdsSince(1L), contains(2L, 3L, 4L));
+		}
+
+		@Test
+		public void futureSequence() {
+			changeLog.elementsEvicted(Collections.<MethodSensorData> singletonList(createInvocation(1L)));
+
+			assertThat(changeLog.getEvictedIdsSince(2L), is(nullValue()));
+		}
+	}
+
+	public static class BufferCleared extends BufferChangeLogTest {
+
+		@Test
+		public void oldSequenceInvalid() {
+			changeLog.elementIndexed(createInvocation(1L));
+			changeLog.elementsEvicted(Collections.<MethodSensorData> singletonList(createInvocation(1L)));
+
+			changeLog.bufferCleared();
+
+			assertThat(changeLog.getIndexedIdsSince(0L), is(nullValue()));
+			assertThat(changeLog.getIndexedIdsSince(1L), is(empty()));
+			assertThat(changeLog.getEvictedIdsSince(0L), is(nullValue()));
+			assertThat(changeLog.getEvictedIdsSince(1L), is(empty()));
+		}
+	}
+
+	protected InvocationSequenceData createInvocation(long id) {
+		InvocationSequenceData invocation = new InvocationSequenceData();
+		invocation.setId(id);
+		return invocation;
+	}
+
+	protected TimerData createTimerData(long id) {
+		TimerData timerData = new TimerData();
+		timerData.setId(id);
+		return timerData;
+	}
+
+}
@@ -0,0 +1,193 @@
+package rocks.inspectit.server.cache.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+
+/**
+ * Tests the {@link MaterializedAggregation}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class MaterializedAggregationTest extends TestBase {
+
+	private static final long PLATFORM_IDENT = 1L;
+
+	private static final long METHOD_IDENT = 10L;
+
+	MaterializedAggregation<TimerData> aggregation;
+
+	@BeforeMethod
+	public void init() {
+		aggregation = new MaterializedAggregation<>(Aggregators.TIMER_DATA_AGGREGATOR, TimerData.class, AggregatedTimerData.class);
+	}
+
+	public static class Add extends MaterializedAggregationTest {
+
+		@Test
+		public void aggregated() {
+			aggregation.add(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d));
+			aggregation.add(createTimerData(2L, PLATFORM_IDENT, METHOD_IDENT, 30d));
+
+			List<TimerData> results = aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT);
+
+			assertThat(results, hasSize(1));
+			TimerData result = results.get(0);
+			assertThat(result.getCount(), is(2L));
+			assertThat(result.getDuration(), is(40d));
+			assertThat(result.getMin(), is(10d));
+			assertThat(result.getMax(), is(30d));
+		}
+
+		@Test
+		public void subclassNotAggregated() {
+			HttpTimerData httpTimerData = new HttpTimerData();
+			httpTimerData.setPlatformIdent(PLATFORM_IDENT);
+			httpTimerData.setMethodIdent(METHOD_IDENT);
+
+			aggregation.add(httpTimerData);
+
+			assertThat(aggregation.getResults(0, 0), is(empty()));
+		}
+
+		@Test
+		public void generationsMerged() {
+			aggregation.add(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d));
+			aggregation.add(createTimerData(1L << MaterializedAggregation.GENERATION_SHIFT, PLATFORM_IDENT, METHOD_IDENT, 30d));
+
+			List<TimerData> results = aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT);
+
+			assertThat(results, hasSize(1));
+			assertThat(results.get(0).getCount(), is(2L));
+			assertThat(results.get(0).getMin(), is(10d));
+			assertThat(results.get(0).getMax(), is(30d));
+		}
+
+		@Test
+		public void resultsNotChanged() {
+			aggregation.add(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d));
+			List<TimerData> results = aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT);
+
+			aggregation.add(createTimerData(2L, PLATFORM_IDENT, METHOD_IDENT, 30d));
+
+			assertThat(results.get(0).getCount(), is(1L));
+			assertThat(aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT).get(0), is(not(sameInstance(results.get(0)))));
+		}
+	}
+
+	public static class GetResults extends MaterializedAggregationTest {
+
+		@Test
+		public void filtered() {
+			aggregation.add(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d));
+			aggregation.add(createTimerData(2L, PLATFORM_IDENT, METHOD_IDENT + 1, 10d));
+			aggregation.add(createTimerData(3L, PLATFORM_IDENT + 1, METHOD_IDENT + 2, 10d));
+
+			assertThat(aggregation.getResults(0, 0), hasSize(3));
+			assertThat(aggregation.getResults(PLATFORM_IDENT, 0), hasSize(2));
+			assertThat(aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT), hasSize(1));
+			assertThat(aggregation.getResults(PLATFORM_IDENT + 1, METHOD_IDENT), is(empty()));
+		}
+	}
+
+	public static class Remove extends MaterializedAggregationTest {
+
+		@Test
+		public void minMaxRecalculated() {
+			TimerData first = createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d);
+			TimerData second = createTimerData(2L, PLATFORM_IDENT, METHOD_IDENT, 30d);
+			TimerData third = createTimerData(3L, PLATFORM_IDENT, METHOD_IDENT, 20d);
+			aggregation.add(first);
+			aggregation.add(second);
+			aggregation.add(third);
+
+			aggregation.remove(Arrays.asList(first, second));
+
+			List<TimerData> results = aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT);
+			assertThat(results, hasSize(1));
+			TimerData result = results.get(0);
+			assertThat(result.getCount(), is(1L));
+			assertThat(result.getDuration(), is(20d));
+			assertThat(result.getMin(), is(20d));
+			assertThat(result.getMax(), is(20d));
+		}
+
+		@Test
+		public void keyRemoved() {
+			TimerData timerData = createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d);
+			aggregation.add(timerData);
+
+			aggregation.remove(Collections.singletonList(timerData));
+
+			assertThat(aggregation.getResults(0, 0), is(empty()));
+			assertThat(aggregation.getKeyCount(), is(0));
+		}
+
+		@Test
+		public void equalNotRemoved() {
+			TimerData timerData = createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d);
+			aggregation.add(timerData);
+
+			aggregation.remove(Collections.singletonList(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d)));
+
+			assertThat(aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT), hasSize(1));
+		}
+
+		@Test
+		public void addAfterRemoval() {
+			TimerData timerData = createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d);
+			aggregation.add(timerData);
+			aggregation.remove(Collections.singletonList(timerData));
+
+			aggregation.add(createTimerData(2L, PLATFORM_IDENT, METHOD_IDENT, 30d));
+
+			List<TimerData> results = aggregation.getResults(PLATFORM_IDENT, METHOD_IDENT);
+			assertThat(results, hasSize(1));
+			assertThat(results.get(0).getMin(), is(30d));
+		}
+	}
+
+	public static class Clear extends MaterializedAggregationTest {
+
+		@Test
+		public void cleared() {
+			aggregation.add(createTimerData(1L, PLATFORM_IDENT, METHOD_IDENT, 10d));
+
+			aggregation.clear();
+
+			assertThat(aggregation.getResults(0, 0), is(empty()));
+			assertThat(aggregation.getKeyCount(), is(0));
+		}
+	}
+
+	protected TimerData createTimerData(long id, long platformIdent, long methodIdent, double duration) {
+		TimerData timerData = new TimerData();
+		timerData.setId(id);
+		timerData.setPlatformIdent(platformIdent);
+		timerData.setMethodIdent(methodIdent);
+		timerData.setCount(1L);
+		timerData.setDuration(duration);
+		timerData.calculateMin(duration);
+		timerData.calculateMax(duration);
+		return timerData;
+	}
+
+}
@@ -5,8 +5,11 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
@@ -148,6 +151,25 @@ public class EnvironmentUpdateEventTest extends TestBase {
 			assertThat(removed, is(empty()));
 		}
 
+		@Test
+		public void computedOnce() {
+			when(old.getId()).thenReturn(ID);
+			when(updated.getId()).thenReturn(ID);
+			SpecialMethodSensorAssignment functionalAssignment = mock(SpecialMethodSensorAssignment.class);
+
+			when(functionalAssignmentFactory.getSpecialAssignments(old)).thenReturn(Collections.singletonList(functionalAssignment));
+			when(functionalAssignmentFactory.getSpecialAssignments(updated)).thenReturn(Collections.<SpecialMethodSensorAssignment> emptyList());
+
+			EnvironmentUpdateEvent event = new EnvironmentUpdateEvent(this, old, updated, null, null);
+
+			Collection<AbstractClassSensorAssignment<?>> first = event.getRemovedSensorAssignments(functionalAssignmentFactory);
+			Collection<AbstractClassSensorAssignment<?>> second = event.getRemovedSensorAssignments(functionalAssignmentFactory);
+
+			assertThat(second, is(sameInstance(first)));
+			verify(functionalAssignmentFactory, times(1)).getSpecialAssignments(old);
+			verify(functionalAssignmentFactory, times(1)).getSpecialAssignments(updated);
+		}
+
 	}
 
 	public static class GetAddedSensorAssignments extends EnvironmentUpdateEventTest {
@@ -0,0 +1,183 @@
+package rocks.inspectit.server.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.cache.impl.BufferAggregates;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.query.factory.impl.SqlStatementDataQueryFactory;
+
+/**
+ * Tests the {@link BufferSqlDataDaoImpl}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class BufferSqlDataDaoImplTest extends TestBase {
+
+	private static final long PLATFORM_ID = 10L;
+
+	@InjectMocks
+	BufferSqlDataDaoImpl sqlDataDao;
+
+	@Mock
+	IBufferTreeComponent<SqlStatementData> indexingTree;
+
+	@Mock
+	SqlStatementDataQueryFactory<IIndexQuery> sqlDataQueryFactory;
+
+	BufferAggregates bufferAggregates;
+
+	/**
+	 * SQL statements in the indexing tree.
+	 */
+	List<SqlStatementData> indexedData;
+
+	@BeforeMethod
+	public void init() {
+		bufferAggregates = new BufferAggregates();
+		indexedData = new ArrayList<>();
+		setInstanceValue(sqlDataDao, "bufferAggregates", bufferAggregates);
+		setInstanceValue(sqlDataDao, "indexingTree", indexingTree);
+		when(indexingTree.query(any(IIndexQuery.class), any(ForkJoinPool.class))).thenAnswer(new Answer<List<SqlStatementData>>() {
+			@Override
+			public List<SqlStatementData> answer(InvocationOnMock invocation) throws Throwable {
+				return new ArrayList<>(indexedData);
+			}
+		});
+	}
+
+	public static class GetAggregatedSqlStatements extends BufferSqlDataDaoImplTest {
+
+		@Test
+		public void standaloneAndInvocationData() {
+			buffer(createSql(1L, "select a", 10d));
+			InvocationSequenceData invocation = createInvocation(2L, createSql(3L, "select a", 20d), createSql(4L, "select b", 5d));
+			buffer(invocation);
+
+			Map<String, String> materialized = toMap(sqlDataDao.getAggregatedSqlStatements(template()));
+
+			assertThat(materialized, is(toMap(sqlDataDao.getAggregatedSqlStatements(template(), new Date(0L), new Date()))));
+			assertThat(materialized.size(), is(2));
+			assertThat(materialized, hasEntry("select a", "2/30.0"));
+			assertThat(materialized, hasEntry("select b", "1/5.0"));
+		}
+
+		@Test
+		public void invocationEvicted() {
+			buffer(createSql(1L, "select a", 10d));
+			InvocationSequenceData invocation = createInvocation(2L, createSql(3L, "select a", 20d), createSql(4L, "select b", 5d));
+			buffer(invocation);
+
+			evict(invocation);
+			Map<String, String> materialized = toMap(sqlDataDao.getAggregatedSqlStatements(template()));
+
+			assertThat(materialized, is(toMap(sqlDataDao.getAggregatedSqlStatements(template(), new Date(0L), new Date()))));
+			assertThat(materialized.size(), is(1));
+			assertThat(materialized, hasEntry("select a", "1/10.0"));
+		}
+	}
+
+	/**
+	 * Passes the element to the buffer and indexes the data found in invocation directly, the same
+	 * way it is done on the CMR.
+	 *
+	 * @param element
+	 *            Element to put to the buffer.
+	 */
+	protected void buffer(MethodSensorData element) {
+		bufferAggregates.elementAdded(element);
+		if (element instanceof SqlStatementData) {
+			indexedData.add((SqlStatementData) element);
+		} else if (element instanceof InvocationSequenceData) {
+			for (InvocationSequenceData child : ((InvocationSequenceData) element).getNestedSequences()) {
+				indexedData.add(child.getSqlStatementData());
+				bufferAggregates.elementIndexed(child.getSqlStatementData());
+			}
+		}
+		bufferAggregates.elementIndexed(element);
+	}
+
+	/**
+	 * Evicts the invocation from the buffer, the indexing tree cleaning removes the data found in
+	 * the invocation.
+	 *
+	 * @param invocation
+	 *            Invocation to evict.
+	 */
+	protected void evict(InvocationSequenceData invocation) {
+		for (InvocationSequenceData child : invocation.getNestedSequences()) {
+			indexedData.remove(child.getSqlStatementData());
+		}
+		bufferAggregates.elementsEvicted(Collections.<MethodSensorData> singletonList(invocation));
+	}
+
+	protected SqlStatementData template() {
+		SqlStatementData template = new SqlStatementData();
+		template.setPlatformIdent(PLATFORM_ID);
+		return template;
+	}
+
+	protected SqlStatementData createSql(long id, String sql, double duration) {
+		SqlStatementData sqlStatementData = new SqlStatementData(new Timestamp(System.currentTimeMillis()), PLATFORM_ID, 1L, 1L, sql);
+		sqlStatementData.setId(id);
+		sqlStatementData.setCount(1L);
+		sqlStatementData.setDuration(duration);
+		return sqlStatementData;
+	}
+
+	protected InvocationSequenceData createInvocation(long id, SqlStatementData... sqlStatements) {
+		InvocationSequenceData invocation = new InvocationSequenceData(new Timestamp(System.currentTimeMillis()), PLATFORM_ID, 1L, 1L);
+		invocation.setId(id);
+		List<InvocationSequenceData> nestedSequences = new ArrayList<>();
+		for (SqlStatementData sqlStatementData : sqlStatements) {
+			sqlStatementData.addInvocationParentId(id);
+			InvocationSequenceData child = new InvocationSequenceData(sqlStatementData.getTimeStamp(), PLATFORM_ID, 1L, 1L);
+			child.setSqlStatementData(sqlStatementData);
+			nestedSequences.add(child);
+		}
+		invocation.setNestedSequences(nestedSequences);
+		return invocation;
+	}
+
+	/**
+	 * Maps the SQL string of the aggregated results to the count and duration.
+	 *
+	 * @param results
+	 *            Aggregated results.
+	 * @return Map of SQL string to count and duration.
+	 */
+	protected Map<String, String> toMap(List<SqlStatementData> results) {
+		Map<String, String> map = new HashMap<>();
+		for (SqlStatementData result : results) {
+			map.put(result.getSql(), result.getCount() + "/" + result.getDuration());
+		}
+		return map;
+	}
+
+}
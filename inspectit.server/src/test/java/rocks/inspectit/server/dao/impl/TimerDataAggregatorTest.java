@@ -16,9 +16,14 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.persistence.EntityManager;
 
@@ -129,6 +134,69 @@ public class TimerDataAggregatorTest extends AbstractTestNGLogSupport {
 		assertThat(argument.getValue().getMethodIdent(), is(timerData1.getMethodIdent()));
 	}
 
+	/**
+	 * Tests that data of different methods is never aggregated together, even if the methods
+	 * would have the same 32-bit hash.
+	 */
+	@Test
+	public void noCollision() {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		TimerData timerData1 = new TimerData(timestamp, 1L, 20L, 0L);
+		TimerData timerData2 = new TimerData(timestamp, 0L, 20L, 31L);
+
+		aggregator.processTimerData(timerData1);
+		aggregator.processTimerData(timerData2);
+
+		assertThat(aggregator.getElementCount(), is(2));
+
+		aggregator.removeAndPersistAll();
+
+		ArgumentCaptor<DatabaseAggregatedTimerData> argument = ArgumentCaptor.forClass(DatabaseAggregatedTimerData.class);
+		verify(entityManager, times(2)).persist(argument.capture());
+		assertThat(argument.getAllValues().get(0).getMethodIdent(), is(0L));
+		assertThat(argument.getAllValues().get(1).getMethodIdent(), is(31L));
+		assertThat(aggregator.getElementCount(), is(0));
+	}
+
+	/**
+	 * Tests that concurrent aggregation of the same method does not lose any data.
+	 */
+	@Test
+	public void concurrentAggregation() throws Exception {
+		aggregator.aggregationPeriod = Long.MAX_VALUE;
+		final TimerData timerData = new TimerData(new Timestamp(System.currentTimeMillis()), 10L, 20L, 30L);
+		timerData.setCount(1L);
+		timerData.setDuration(1d);
+
+		final int threads = 4;
+		final int perThread = 10000;
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < perThread; j++) {
+							aggregator.processTimerData(timerData);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		aggregator.removeAndPersistAll();
+
+		ArgumentCaptor<DatabaseAggregatedTimerData> argument = ArgumentCaptor.forClass(DatabaseAggregatedTimerData.class);
+		verify(entityManager, times(1)).persist(argument.capture());
+		assertThat(argument.getValue().getCount(), is((long) threads * perThread));
+	}
+
 	/**
 	 * Test for the validity of aggregation.
 	 */
@@ -0,0 +1,249 @@
+package rocks.inspectit.server.influx.dao;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.influxdb.dto.Point;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link InfluxPointWriter}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class InfluxPointWriterTest extends TestBase {
+
+	@InjectMocks
+	InfluxPointWriter writer;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	InfluxDBDao influxDbDao;
+
+	@Mock
+	ScheduledExecutorService executorService;
+
+	@Mock
+	ScheduledFuture<?> writingFuture;
+
+	Runnable writingTask;
+
+	@BeforeMethod
+	public void init() {
+		doReturn(writingFuture).when(executorService).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+		writer.queueSize = 3;
+		writer.batchSize = 2;
+		writer.retries = 1;
+		writer.init();
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(executorService).scheduleWithFixedDelay(captor.capture(), eq(InfluxPointWriter.FLUSH_INTERVAL), eq(InfluxPointWriter.FLUSH_INTERVAL), eq(TimeUnit.MILLISECONDS));
+		writingTask = captor.getValue();
+		when(influxDbDao.isConnected()).thenReturn(true);
+	}
+
+	public static class Write extends InfluxPointWriterTest {
+
+		@Test
+		public void groupedByMeasurement() {
+			Point first = createPoint("first", 1L);
+			Point second = createPoint("second", 2L);
+			Point third = createPoint("first", 3L);
+			writer.write(first);
+			writer.write(second);
+			writer.write(third);
+
+			writingTask.run();
+
+			verify(influxDbDao).writeRecords(first.lineProtocol() + "\n" + second.lineProtocol());
+			verify(influxDbDao).writeRecords(third.lineProtocol());
+			assertThat(writer.getStatistics(), hasEntry("writtenPoints", 3L));
+			assertThat(writer.getStatistics(), hasEntry("writeRequests", 2L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 0L));
+		}
+
+		@Test
+		public void groupedByMeasurementInBatch() {
+			writer.batchSize = 3;
+			Point first = createPoint("first", 1L);
+			Point second = createPoint("second", 2L);
+			Point third = createPoint("first", 3L);
+			writer.write(first);
+			writer.write(second);
+			writer.write(third);
+
+			writingTask.run();
+
+			verify(influxDbDao).isConnected();
+			verify(influxDbDao).writeRecords(first.lineProtocol() + "\n" + third.lineProtocol() + "\n" + second.lineProtocol());
+			verifyNoMoreInteractions(influxDbDao);
+		}
+
+		@Test
+		public void queueFull() {
+			for (int i = 0; i < 4; i++) {
+				writer.write(createPoint("measurement", i));
+			}
+
+			assertThat(writer.getStatistics(), hasEntry("queuedPoints", 3L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 1L));
+		}
+
+		@Test
+		public void retried() {
+			Point point = createPoint("measurement", 1L);
+			doThrow(new RuntimeException()).doNothing().when(influxDbDao).writeRecords(anyString());
+			writer.write(point);
+
+			writingTask.run();
+
+			verify(influxDbDao, times(2)).writeRecords(point.lineProtocol());
+			assertThat(writer.getStatistics(), hasEntry("writtenPoints", 1L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 0L));
+		}
+
+		@Test
+		public void droppedAfterRetries() {
+			doThrow(new RuntimeException()).when(influxDbDao).writeRecords(anyString());
+			writer.write(createPoint("measurement", 1L));
+
+			writingTask.run();
+
+			verify(influxDbDao, times(2)).writeRecords(anyString());
+			assertThat(writer.getStatistics(), hasEntry("writtenPoints", 0L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 1L));
+		}
+
+		@Test
+		public void interruptedWhileRetrying() {
+			doThrow(new RuntimeException()).when(influxDbDao).writeRecords(anyString());
+			writer.write(createPoint("measurement", 1L));
+
+			Thread.currentThread().interrupt();
+			writingTask.run();
+
+			assertThat(Thread.interrupted(), is(true));
+			verify(influxDbDao).writeRecords(anyString());
+			assertThat(writer.getStatistics(), hasEntry("writtenPoints", 0L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 1L));
+		}
+
+		@Test
+		public void disconnected() {
+			when(influxDbDao.isConnected()).thenReturn(false);
+			writer.write(createPoint("measurement", 1L));
+
+			writingTask.run();
+
+			verify(influxDbDao).isConnected();
+			verifyNoMoreInteractions(influxDbDao);
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 1L));
+			assertThat(writer.getStatistics(), hasEntry("queuedPoints", 0L));
+		}
+
+		@Test
+		public void nullPoint() {
+			writer.write(null);
+
+			writingTask.run();
+
+			verifyNoMoreInteractions(influxDbDao);
+			assertThat(writer.getStatistics(), hasEntry("queuedPoints", 0L));
+		}
+	}
+
+	public static class Destroy extends InfluxPointWriterTest {
+
+		@Test
+		public void queuedPointsWritten() {
+			doAnswer(new Answer<Object>() {
+				@Override
+				public Object answer(InvocationOnMock invocation) throws Throwable {
+					((Runnable) invocation.getArguments()[0]).run();
+					return null;
+				}
+			}).when(executorService).submit(any(Runnable.class));
+			Point first = createPoint("measurement", 1L);
+			Point second = createPoint("measurement", 2L);
+			Point third = createPoint("measurement", 3L);
+			writer.write(first);
+			writer.write(second);
+			writer.write(third);
+
+			writer.destroy();
+
+			verify(writingFuture).cancel(false);
+			verify(influxDbDao).writeRecords(first.lineProtocol() + "\n" + second.lineProtocol());
+			verify(influxDbDao).writeRecords(third.lineProtocol());
+			assertThat(writer.getStatistics(), hasEntry("writtenPoints", 3L));
+			assertThat(writer.getStatistics(), hasEntry("queuedPoints", 0L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 0L));
+		}
+
+		@Test
+		public void executorShutDown() {
+			doThrow(new RejectedExecutionException()).when(executorService).submit(any(Runnable.class));
+			writer.write(createPoint("measurement", 1L));
+
+			writer.destroy();
+
+			verify(writingFuture).cancel(false);
+			verifyNoMoreInteractions(influxDbDao);
+			assertThat(writer.getStatistics(), hasEntry("queuedPoints", 0L));
+			assertThat(writer.getStatistics(), hasEntry("droppedPoints", 1L));
+		}
+	}
+
+	public static class GetMeasurement extends InfluxPointWriterTest {
+
+		@Test
+		public void withTags() {
+			assertThat(InfluxPointWriter.getMeasurement("measurement,tag=value field=1 1"), is("measurement"));
+		}
+
+		@Test
+		public void withoutTags() {
+			assertThat(InfluxPointWriter.getMeasurement("measurement field=1 1"), is("measurement"));
+		}
+
+		@Test
+		public void escaped() {
+			assertThat(InfluxPointWriter.getMeasurement("my\\ measure\\,ment,tag=value field=1 1"), is("my\\ measure\\,ment"));
+		}
+	}
+
+	protected Point createPoint(String measurement, long time) {
+		return Point.measurement(measurement).tag("tag", "value").addField("field", time).time(time, TimeUnit.MILLISECONDS).build();
+	}
+
+}
@@ -212,6 +212,107 @@ public class FqnIndexerTest extends TestBase {
 			}
 		}
 
+		@Test
+		public void wildcardPatternStarFirst() {
+			ClassType stringType = new ClassType(String.class.getName());
+			ClassType objectType = new ClassType(Object.class.getName());
+			ClassType thisType = new ClassType(FqnIndexer.class.getName());
+			indexer.index(stringType);
+			indexer.index(thisType);
+			indexer.index(new ClassType("a"));
+			indexer.index(new ClassType("java.nolang"));
+			indexer.index(objectType);
+			WildcardMatchPattern wildcardMatchPattern = new WildcardMatchPattern("*String");
+
+			Collection<ClassType> results = indexer.findByPattern(wildcardMatchPattern);
+
+			assertThat(results, hasSize(1));
+			for (ClassType classType : results) {
+				assertThat(wildcardMatchPattern.match(classType.getFQN()), is(true));
+			}
+		}
+
+		@Test
+		public void wildcardPatternStarFirstAndMiddle() {
+			ClassType stringType = new ClassType(String.class.getName());
+			ClassType objectType = new ClassType(Object.class.getName());
+			ClassType thisType = new ClassType(FqnIndexer.class.getName());
+			indexer.index(stringType);
+			indexer.index(thisType);
+			indexer.index(new ClassType("a"));
+			indexer.index(new ClassType("java.nolang"));
+			indexer.index(objectType);
+			WildcardMatchPattern wildcardMatchPattern = new WildcardMatchPattern("*lang*String");
+
+			Collection<ClassType> results = indexer.findByPattern(wildcardMatchPattern);
+
+			assertThat(results, hasSize(1));
+			for (ClassType classType : results) {
+				assertThat(wildcardMatchPattern.match(classType.getFQN()), is(true));
+			}
+		}
+
+		@Test
+		public void wildcardPatternStarFirstAfterRemove() {
+			ClassType stringType = new ClassType(String.class.getName());
+			ClassType objectType = new ClassType(Object.class.getName());
+			ClassType thisType = new ClassType(FqnIndexer.class.getName());
+			indexer.index(stringType);
+			indexer.index(thisType);
+			indexer.index(new ClassType("a"));
+			indexer.index(new ClassType("java.nolang"));
+			indexer.index(objectType);
+			indexer.remove(stringType);
+			WildcardMatchPattern wildcardMatchPattern = new WildcardMatchPattern("*String");
+
+			Collection<ClassType> results = indexer.findByPattern(wildcardMatchPattern);
+
+			assertThat(results, hasSize(0));
+			for (ClassType classType : results) {
+				assertThat(wildcardMatchPattern.match(classType.getFQN()), is(true));
+			}
+		}
+
+		@Test
+		public void wildcardPatternStartsAndEndsWith() {
+			ClassType stringType = new ClassType(String.class.getName());
+			ClassType objectType = new ClassType(Object.class.getName());
+			ClassType thisType = new ClassType(FqnIndexer.class.getName());
+			indexer.index(stringType);
+			indexer.index(thisType);
+			indexer.index(new ClassType("a"));
+			indexer.index(new ClassType("java.nolang"));
+			indexer.index(objectType);
+			WildcardMatchPattern wildcardMatchPattern = new WildcardMatchPattern("java.*t");
+
+			Collection<ClassType> results = indexer.findByPattern(wildcardMatchPattern);
+
+			assertThat(results, hasSize(1));
+			for (ClassType classType : results) {
+				assertThat(wildcardMatchPattern.match(classType.getFQN()), is(true));
+			}
+		}
+
+		@Test
+		public void wildcardPatternOnlyStar() {
+			ClassType stringType = new ClassType(String.class.getName());
+			ClassType objectType = new ClassType(Object.class.getName());
+			ClassType thisType = new ClassType(FqnIndexer.class.getName());
+			indexer.index(stringType);
+			indexer.index(thisType);
+			indexer.index(new ClassType("a"));
+			indexer.index(new ClassType("java.nolang"));
+			indexer.index(objectType);
+			WildcardMatchPattern wildcardMatchPattern = new WildcardMatchPattern("*");
+
+			Collection<ClassType> results = indexer.findByPattern(wildcardMatchPattern);
+
+			assertThat(results, hasSize(5));
+			for (ClassType classType : results) {
+				assertThat(wildcardMatchPattern.match(classType.getFQN()), is(true));
+			}
+		}
+
 		@Test
 		public void equalsPattern() {
 			ClassType stringType = new ClassType(String.class.getName());
@@ -6,7 +6,10 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -20,6 +23,7 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -172,6 +176,100 @@ public class AgentMessageProviderTest extends TestBase {
 		}
 	}
 
+	/**
+	 * Tests the {@link AgentMessageProvider#createBatch(long)} method.
+	 */
+	public static class CreateBatch extends AgentMessageProviderTest {
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void successful() {
+			IAgentMessage<?> messageOne = mock(IAgentMessage.class);
+			IAgentMessage<?> messageTwo = mock(IAgentMessage.class);
+			messageProvider.provideMessages(10L, Arrays.asList(messageOne, messageTwo));
+
+			AgentMessageBatch batch = messageProvider.createBatch(10L);
+
+			assertThat(batch.getMessages(), contains(messageOne, messageTwo));
+			assertThat(messageProvider.createBatch(10L).getMessages(), contains(messageOne, messageTwo));
+		}
+
+		@Test
+		public void noMessages() {
+			AgentMessageBatch batch = messageProvider.createBatch(10L);
+
+			assertThat(batch, is(nullValue()));
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void unacknowledgedMessagesIncluded() {
+			IAgentMessage<?> messageOne = mock(IAgentMessage.class);
+			IAgentMessage<?> messageTwo = mock(IAgentMessage.class);
+			messageProvider.provideMessage(10L, messageOne);
+			AgentMessageBatch firstBatch = messageProvider.createBatch(10L);
+			messageProvider.provideMessage(10L, messageTwo);
+
+			AgentMessageBatch secondBatch = messageProvider.createBatch(10L);
+
+			assertThat(secondBatch.getBatchId(), is(not(firstBatch.getBatchId())));
+			assertThat(secondBatch.getMessages(), contains(messageOne, messageTwo));
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void unacknowledgedMessagesFetched() {
+			IAgentMessage<?> messageOne = mock(IAgentMessage.class);
+			IAgentMessage<?> messageTwo = mock(IAgentMessage.class);
+			messageProvider.provideMessage(10L, messageOne);
+			messageProvider.createBatch(10L);
+			messageProvider.provideMessage(10L, messageTwo);
+
+			Collection<IAgentMessage<?>> result = messageProvider.fetchMessages(10L);
+
+			assertThat(result, contains(messageOne, messageTwo));
+			assertThat(messageProvider.createBatch(10L), is(nullValue()));
+		}
+
+		@Test
+		public void pushScheduled() {
+			AgentMessagePusher pusher = mock(AgentMessagePusher.class);
+			messageProvider.setAgentMessagePusher(pusher);
+
+			messageProvider.provideMessage(10L, mock(IAgentMessage.class));
+
+			verify(pusher).schedulePush(10L);
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentMessageProvider#acknowledge(long, long)} method.
+	 */
+	public static class Acknowledge extends AgentMessageProviderTest {
+
+		@Test
+		public void successful() {
+			messageProvider.provideMessage(10L, mock(IAgentMessage.class));
+			AgentMessageBatch batch = messageProvider.createBatch(10L);
+
+			messageProvider.acknowledge(10L, batch.getBatchId());
+
+			assertThat(messageProvider.createBatch(10L), is(nullValue()));
+			assertThat(messageProvider.fetchMessages(10L), is(empty()));
+		}
+
+		@Test
+		public void unknownBatch() {
+			IAgentMessage<?> message = mock(IAgentMessage.class);
+			messageProvider.provideMessage(10L, message);
+			AgentMessageBatch batch = messageProvider.createBatch(10L);
+
+			messageProvider.acknowledge(10L, batch.getBatchId() + 1);
+
+			assertThat(messageProvider.createBatch(10L).getMessages(), contains(message));
+		}
+	}
+
 	/**
 	 * Tests the
 	 * {@link AgentMessageProvider#onApplicationEvent(org.springframework.context.ApplicationEvent)}
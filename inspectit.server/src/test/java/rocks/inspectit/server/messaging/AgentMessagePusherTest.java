@@ -0,0 +1,181 @@
+package rocks.inspectit.server.messaging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
+import rocks.inspectit.shared.all.communication.message.IAgentMessage;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link AgentMessagePusher} class.
+ *
+ * @author Marius Oehler
+ *
+ */
+@SuppressWarnings("PMD")
+public class AgentMessagePusherTest extends TestBase {
+
+	@InjectMocks
+	AgentMessagePusher messagePusher;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	AgentMessageProvider messageProvider;
+
+	@Mock
+	Server server;
+
+	@Mock
+	ScheduledExecutorService executorService;
+
+	@Mock
+	Connection connection;
+
+	/**
+	 * Tests the {@link AgentMessagePusher#init()} method.
+	 */
+	public static class Init extends AgentMessagePusherTest {
+
+		@Test
+		public void successful() {
+			messagePusher.init();
+
+			verify(server).addListener(messagePusher);
+			verify(messageProvider).setAgentMessagePusher(messagePusher);
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentMessagePusher#received(Connection, Object)} method.
+	 */
+	public static class Received extends AgentMessagePusherTest {
+
+		@Test
+		public void subscription() {
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+
+			assertThat(messagePusher.isSubscribed(10L), is(true));
+			verify(executorService).schedule(any(Runnable.class), eq(AgentMessagePusher.PUSH_DELAY), eq(TimeUnit.MILLISECONDS));
+		}
+
+		@Test
+		public void acknowledgement() {
+			messagePusher.received(connection, new AgentMessageAcknowledgement(10L, 5L));
+
+			verify(messageProvider).acknowledge(10L, 5L);
+			verifyZeroInteractions(executorService);
+		}
+
+		@Test
+		public void unknownObject() {
+			messagePusher.received(connection, new Object());
+
+			verifyZeroInteractions(messageProvider, executorService);
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentMessagePusher#disconnected(Connection)} method.
+	 */
+	public static class Disconnected extends AgentMessagePusherTest {
+
+		@Test
+		public void connectionRemoved() {
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+
+			messagePusher.disconnected(connection);
+
+			assertThat(messagePusher.isSubscribed(10L), is(false));
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentMessagePusher#schedulePush(long)} method.
+	 */
+	public static class SchedulePush extends AgentMessagePusherTest {
+
+		@Test
+		public void notSubscribed() {
+			messagePusher.schedulePush(10L);
+
+			verifyZeroInteractions(executorService);
+		}
+
+		@Test
+		public void scheduledOnce() {
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+
+			messagePusher.schedulePush(10L);
+			messagePusher.schedulePush(10L);
+
+			verify(executorService).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+			verifyNoMoreInteractions(executorService);
+		}
+
+		@Test
+		public void pushed() {
+			AgentMessageBatch batch = new AgentMessageBatch(1L, Collections.<IAgentMessage<?>> emptyList());
+			when(connection.isConnected()).thenReturn(true);
+			when(messageProvider.createBatch(10L)).thenReturn(batch);
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+			ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+			verify(executorService).schedule(runnableCaptor.capture(), anyLong(), any(TimeUnit.class));
+
+			runnableCaptor.getValue().run();
+
+			verify(connection).sendTCP(batch);
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentMessagePusher#push(long)} method.
+	 */
+	public static class Push extends AgentMessagePusherTest {
+
+		@Test
+		public void notConnected() {
+			when(connection.isConnected()).thenReturn(false);
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+
+			messagePusher.push(10L);
+
+			verify(messageProvider, never()).createBatch(10L);
+		}
+
+		@Test
+		public void noBatch() {
+			when(connection.isConnected()).thenReturn(true);
+			messagePusher.received(connection, new AgentMessageSubscription(10L));
+
+			messagePusher.push(10L);
+
+			verify(messageProvider).createBatch(10L);
+			verify(connection, never()).sendTCP(any());
+		}
+	}
+}
@@ -6,8 +6,11 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -15,6 +18,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import javax.persistence.EntityManager;
@@ -24,6 +28,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -33,6 +38,7 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.server.cache.IBuffer;
 import rocks.inspectit.server.cache.IBufferElement;
+import rocks.inspectit.server.cache.IBufferListener;
 import rocks.inspectit.server.dao.impl.TimerDataAggregator;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
 import rocks.inspectit.server.storage.CmrStorageManager;
@@ -49,8 +55,6 @@ import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
-import rocks.inspectit.shared.all.serializer.SerializationException;
-import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
 import rocks.inspectit.shared.cs.storage.recording.RecordingState;
@@ -83,10 +87,10 @@ public class CmrDataProcessorsTest {
 	private TimerDataAggregator timerDataAggregator;
 
 	@Mock
-	private SerializationManager serializationManager;
+	private AbstractCmrDataProcessor chainedProcessor;
 
 	@Mock
-	private AbstractCmrDataProcessor chainedProcessor;
+	private IBufferListener<MethodSensorData> bufferListener;
 
 	@Mock
 	private EntityManager entityManager;
@@ -181,6 +185,44 @@ public class CmrDataProcessorsTest {
 		assertThat(child.getErrorMessage(), is("parentMsg"));
 	}
 
+	/**
+	 * Tests the {@link ExceptionMessageCmrProcessor} resolving of the stack traces by fingerprint.
+	 */
+	@Test
+	public void exceptionMessageProcessorStackTraceFingerprint() {
+		ExceptionMessageCmrProcessor processor = new ExceptionMessageCmrProcessor();
+
+		ExceptionSensorData first = new ExceptionSensorData();
+		first.setPlatformIdent(1L);
+		first.setStackTrace(new String("stackTrace"));
+		first.setStackTraceFingerprint(10L);
+		processor.process(first, entityManager);
+
+		// only fingerprint sent
+		ExceptionSensorData second = new ExceptionSensorData();
+		second.setPlatformIdent(1L);
+		second.setStackTraceFingerprint(10L);
+		processor.process(second, entityManager);
+		assertThat(second.getStackTrace(), is(sameInstance(first.getStackTrace())));
+
+		// same text shares the instance
+		ExceptionSensorData third = new ExceptionSensorData();
+		third.setPlatformIdent(1L);
+		third.setStackTrace(new String("stackTrace"));
+		third.setStackTraceFingerprint(10L);
+		processor.process(third, entityManager);
+		assertThat(third.getStackTrace(), is(sameInstance(first.getStackTrace())));
+
+		// other platform not resolved
+		ExceptionSensorData otherPlatform = new ExceptionSensorData();
+		otherPlatform.setPlatformIdent(2L);
+		otherPlatform.setStackTraceFingerprint(10L);
+		processor.process(otherPlatform, entityManager);
+		assertThat(otherPlatform.getStackTrace(), is(nullValue()));
+
+		verifyZeroInteractions(entityManager);
+	}
+
 	/**
 	 * Tests the {@link IndexerCmrProcessor}.
 	 */
@@ -190,10 +232,11 @@ public class CmrDataProcessorsTest {
 		IndexerCmrProcessor processor = new IndexerCmrProcessor();
 		processor.log = log;
 		processor.indexingTree = indexingTree;
+		processor.bufferListeners = Collections.singletonList(bufferListener);
 
 		// don't fail on null
 		processor.process((DefaultData) null, entityManager);
-		verifyZeroInteractions(log, indexingTree, entityManager);
+		verifyZeroInteractions(log, indexingTree, entityManager, bufferListener);
 
 		// don't allow system sensor data
 		processor.process(new CpuInformationData(), entityManager);
@@ -218,6 +261,8 @@ public class CmrDataProcessorsTest {
 		when(invocationAwareData.isOnlyFoundOutsideInvocations()).thenReturn(false);
 		processor.process(invocationAwareData, entityManager);
 		verify(indexingTree, times(1)).put(invocationAwareData);
+		verify(bufferListener, times(1)).elementIndexed(invocationAwareData);
+		verifyNoMoreInteractions(bufferListener);
 
 		// survive indexing exception
 		when(indexingTree.put(indexingTree.put(invocationAwareData))).thenThrow(IndexingException.class);
@@ -280,6 +325,31 @@ public class CmrDataProcessorsTest {
 		verifyNoMoreInteractions(entityManager);
 	}
 
+	/**
+	 * Tests that the {@link PersistingCmrProcessor} persists collection of objects in batches.
+	 */
+	@Test
+	public void persistingCmrProcessorBatch() {
+		PersistingCmrProcessor processor = new PersistingCmrProcessor(Collections.<Class<? extends DefaultData>> singletonList(TimerData.class));
+		processor.batchSize = 2;
+
+		TimerData timerData1 = new TimerData();
+		TimerData timerData2 = new TimerData();
+		TimerData timerData3 = new TimerData();
+		processor.process(Arrays.asList(timerData1, new SqlStatementData(), timerData2, timerData3), entityManager);
+
+		InOrder inOrder = inOrder(entityManager);
+		inOrder.verify(entityManager, times(1)).persist(timerData1);
+		inOrder.verify(entityManager, times(1)).persist(timerData2);
+		inOrder.verify(entityManager, times(1)).flush();
+		inOrder.verify(entityManager, times(1)).persist(timerData3);
+		inOrder.verify(entityManager, times(1)).flush();
+		verify(entityManager, times(1)).detach(timerData1);
+		verify(entityManager, times(1)).detach(timerData2);
+		verify(entityManager, times(1)).detach(timerData3);
+		verifyNoMoreInteractions(entityManager);
+	}
+
 	/**
 	 * Tests the {@link SystemIn}.
 	 */
@@ -338,10 +408,9 @@ public class CmrDataProcessorsTest {
 	 * Tests the {@link TimerDataChartingCmrProcessor}.
 	 */
 	@Test
-	public void chartingProcessor() throws CloneNotSupportedException, SerializationException {
+	public void chartingProcessor() {
 		TimerDataChartingCmrProcessor processor = new TimerDataChartingCmrProcessor();
 		processor.timerDataAggregator = timerDataAggregator;
-		processor.serializationManager = serializationManager;
 
 		// set up entity manager for quering
 		CriteriaBuilder build = mock(CriteriaBuilder.class, RETURNS_SMART_NULLS);
@@ -362,8 +431,12 @@ public class CmrDataProcessorsTest {
 		HttpInfo originalInfo = mock(HttpInfo.class, RETURNS_SMART_NULLS);
 		HttpTimerData httpTimerData = mock(HttpTimerData.class);
 		when(httpTimerData.getHttpInfo()).thenReturn(originalInfo);
-		HttpTimerData clone = mock(HttpTimerData.class);
-		when(serializationManager.copy(Matchers.<HttpTimerData> any())).thenReturn(clone);
+		when(httpTimerData.getPlatformIdent()).thenReturn(10L);
+		when(httpTimerData.getMethodIdent()).thenReturn(20L);
+		when(httpTimerData.getCount()).thenReturn(3L);
+		when(httpTimerData.getDuration()).thenReturn(30d);
+		when(httpTimerData.getMin()).thenReturn(5d);
+		when(httpTimerData.getMax()).thenReturn(15d);
 		HttpInfo httpInfo = mock(HttpInfo.class);
 		when(query.getResultList()).thenReturn(Collections.singletonList(httpInfo));
 
@@ -381,24 +454,35 @@ public class CmrDataProcessorsTest {
 		processor.process(httpTimerData, entityManager);
 		// timer to aggregator
 		verify(timerDataAggregator, times(1)).processTimerData(timerData);
-		// http to entityManager
-		verify(clone, times(1)).setHttpInfo(httpInfo);
-		verify(entityManager, times(1)).persist(clone);
+		// http projection to entityManager
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(entityManager, times(1)).persist(captor.capture());
 		verifyNoMoreInteractions(timerDataAggregator);
 
-		// correct ID set on the clone
-		verify(clone, times(1)).setId(0);
+		HttpTimerData projection = captor.getValue();
+		assertThat(projection, is(not(sameInstance(httpTimerData))));
+		assertThat(projection.getId(), is(0L));
+		assertThat(projection.getHttpInfo(), is(sameInstance(httpInfo)));
+		assertThat(projection.getPlatformIdent(), is(10L));
+		assertThat(projection.getMethodIdent(), is(20L));
+		assertThat(projection.getCount(), is(3L));
+		assertThat(projection.getDuration(), is(30d));
+		assertThat(projection.getMin(), is(5d));
+		assertThat(projection.getMax(), is(15d));
+		assertThat(projection.isCpuMetricDataAvailable(), is(false));
+
+		// original not touched
 		verify(httpTimerData, times(0)).setId(0);
+		verify(httpTimerData, times(0)).setHttpInfo(Matchers.<HttpInfo> any());
 	}
 
 	/**
 	 * Tests the {@link TimerDataChartingCmrProcessor} when influx is active.
 	 */
 	@Test
-	public void chartingProcessorInfluxActive() throws CloneNotSupportedException, SerializationException {
+	public void chartingProcessorInfluxActive() {
 		TimerDataChartingCmrProcessor processor = new TimerDataChartingCmrProcessor();
 		processor.timerDataAggregator = timerDataAggregator;
-		processor.serializationManager = serializationManager;
 		processor.influxActive = true;
 
 		// don't write
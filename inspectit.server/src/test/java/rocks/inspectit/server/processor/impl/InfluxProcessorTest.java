@@ -21,6 +21,7 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.server.influx.builder.IPointBuilder;
 import rocks.inspectit.server.influx.dao.InfluxDBDao;
+import rocks.inspectit.server.influx.dao.InfluxPointWriter;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
@@ -40,6 +41,9 @@ public class InfluxProcessorTest extends TestBase {
 	@Mock
 	InfluxDBDao influxDBDao;
 
+	@Mock
+	InfluxPointWriter influxPointWriter;
+
 	@Mock
 	EntityManager entityManager;
 
@@ -67,6 +71,26 @@ public class InfluxProcessorTest extends TestBase {
 			verifyZeroInteractions(entityManager);
 		}
 
+		@Test
+		public void pipelined() {
+			InvocationSequenceData invocationData = new InvocationSequenceData();
+			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxPointWriter.isActive()).thenReturn(true);
+			doReturn(Collections.singleton(InvocationSequenceData.class)).when(pointBuilder).getDataClasses();
+			when(pointBuilder.createBuilders(invocationData)).thenReturn(Collections.singleton(builder));
+			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
+			processor.influxPointWriter = influxPointWriter;
+
+			processor.process(invocationData, entityManager);
+
+			verify(influxDBDao).isConnected();
+			verifyNoMoreInteractions(influxDBDao);
+			ArgumentCaptor<Point> pointCaptor = ArgumentCaptor.forClass(Point.class);
+			verify(influxPointWriter).write(pointCaptor.capture());
+			assertThat(pointCaptor.getValue().lineProtocol(), is(builder.build().lineProtocol()));
+			verifyZeroInteractions(entityManager);
+		}
+
 		@Test
 		public void noBuilders() {
 			InvocationSequenceData invocationData = new InvocationSequenceData();
@@ -0,0 +1,117 @@
+package rocks.inspectit.server.processor.impl;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.influxdb.dto.Point;
+import org.influxdb.dto.Point.Builder;
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.alerting.StreamingThresholdChecker;
+import rocks.inspectit.server.influx.builder.IPointBuilder;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link StreamingAlertingProcessor}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class StreamingAlertingProcessorTest extends TestBase {
+
+	StreamingAlertingProcessor processor;
+
+	@Mock
+	StreamingThresholdChecker streamingThresholdChecker;
+
+	@Mock
+	EntityManager entityManager;
+
+	@Mock
+	IPointBuilder<DefaultData> pointBuilder;
+
+	Builder builder = Point.measurement("test").addField("test", 1).time(1, TimeUnit.MILLISECONDS);
+
+	Builder otherBuilder = Point.measurement("other").addField("test", 1).time(1, TimeUnit.MILLISECONDS);
+
+	public static class Process extends StreamingAlertingProcessorTest {
+
+		@Test
+		public void processed() {
+			InvocationSequenceData invocationData = new InvocationSequenceData();
+			when(streamingThresholdChecker.isActive()).thenReturn(true);
+			doReturn(Collections.singleton(InvocationSequenceData.class)).when(pointBuilder).getDataClasses();
+			when(pointBuilder.createBuilders(invocationData)).thenReturn(Arrays.asList(builder, otherBuilder));
+			processor = new StreamingAlertingProcessor(streamingThresholdChecker, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
+
+			processor.process(invocationData, entityManager);
+
+			verify(streamingThresholdChecker).isActive();
+			verify(streamingThresholdChecker).process(builder);
+			verify(streamingThresholdChecker).process(otherBuilder);
+			verifyNoMoreInteractions(streamingThresholdChecker);
+			verifyZeroInteractions(entityManager);
+		}
+
+		@Test
+		public void notActive() {
+			InvocationSequenceData invocationData = new InvocationSequenceData();
+			when(streamingThresholdChecker.isActive()).thenReturn(false);
+			doReturn(Collections.singleton(InvocationSequenceData.class)).when(pointBuilder).getDataClasses();
+			processor = new StreamingAlertingProcessor(streamingThresholdChecker, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
+
+			processor.process(invocationData, entityManager);
+
+			verify(streamingThresholdChecker).isActive();
+			verifyNoMoreInteractions(streamingThresholdChecker);
+			verify(pointBuilder).getDataClasses();
+			verifyNoMoreInteractions(pointBuilder);
+			verifyZeroInteractions(entityManager);
+		}
+
+		@Test
+		public void noBuilders() {
+			InvocationSequenceData invocationData = new InvocationSequenceData();
+			when(streamingThresholdChecker.isActive()).thenReturn(true);
+			processor = new StreamingAlertingProcessor(streamingThresholdChecker, Collections.<IPointBuilder<DefaultData>> emptyList());
+
+			processor.process(invocationData, entityManager);
+
+			verify(streamingThresholdChecker).isActive();
+			verifyNoMoreInteractions(streamingThresholdChecker);
+			verifyZeroInteractions(entityManager);
+		}
+
+		@Test
+		public void invalidData() {
+			TimerData timerData = new TimerData();
+			timerData.setCharting(false);
+			when(streamingThresholdChecker.isActive()).thenReturn(true);
+			doReturn(Collections.singleton(TimerData.class)).when(pointBuilder).getDataClasses();
+			processor = new StreamingAlertingProcessor(streamingThresholdChecker, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
+
+			processor.process(timerData, entityManager);
+
+			verify(streamingThresholdChecker).isActive();
+			verifyNoMoreInteractions(streamingThresholdChecker);
+			verify(pointBuilder).getDataClasses();
+			verifyNoMoreInteractions(pointBuilder);
+			verifyZeroInteractions(entityManager);
+		}
+	}
+
+}
@@ -0,0 +1,289 @@
+package rocks.inspectit.server.processor.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.opentracing.tag.Tags;
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.eum.EUMSpan;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
+import rocks.inspectit.shared.all.tracing.data.ClientSpan;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+
+/**
+ * Tests the {@link TailSamplingCmrProcessor}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class TailSamplingCmrProcessorTest extends TestBase {
+
+	private static final long TRACE_ID = 10L;
+
+	TailSamplingCmrProcessor processor;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	AbstractCmrDataProcessor chainedProcessor;
+
+	@Mock
+	EntityManager entityManager;
+
+	@BeforeMethod
+	public void init() {
+		processor = new TailSamplingCmrProcessor(Collections.singletonList(chainedProcessor));
+		processor.log = log;
+		processor.active = true;
+		processor.maxTraces = 2;
+		processor.completionDelay = 1000L;
+		processor.traceTimeout = 10000L;
+		processor.latencyThreshold = 500L;
+		processor.quota = 0;
+	}
+
+	public static class Process extends TailSamplingCmrProcessorTest {
+
+		@Test
+		public void notActive() {
+			processor.active = false;
+			AbstractSpan span = createSpan(TRACE_ID, TRACE_ID, 0L, 10D);
+
+			processor.process(span, entityManager);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.isSampled(span), is(false));
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void noSpan() {
+			TimerData timerData = new TimerData();
+
+			processor.process(timerData, entityManager);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.isSampled(timerData), is(false));
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void invocationNotPassed() {
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setSpanIdent(new SpanIdent(TRACE_ID, TRACE_ID));
+			invocation.setApplicationId(1);
+			invocation.setBusinessTransactionId(2);
+
+			processor.process(invocation, entityManager);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.isSampled(invocation), is(false));
+			assertThat(processor.getHeldTraceCount(), is(1));
+		}
+
+		@Test
+		public void spanHeld() {
+			AbstractSpan span = createSpan(TRACE_ID, TRACE_ID, 0L, 10D);
+
+			processor.process(span, entityManager);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.isSampled(span), is(true));
+			assertThat(processor.getHeldTraceCount(), is(1));
+		}
+	}
+
+	public static class DecideCompleteTraces extends TailSamplingCmrProcessorTest {
+
+		@Test
+		public void slowTraceKept() {
+			AbstractSpan child = createSpan(1L, TRACE_ID, TRACE_ID, 10D);
+			AbstractSpan root = createSpan(TRACE_ID, TRACE_ID, 0L, 600D);
+			processor.hold(child, 0L);
+			processor.hold(root, 100L);
+
+			processor.decideCompleteTraces(1100L);
+
+			verify(chainedProcessor).process(child, null);
+			verify(chainedProcessor).process(root, null);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void fastTraceDropped() {
+			processor.hold(createSpan(TRACE_ID, TRACE_ID, 0L, 10D), 0L);
+
+			processor.decideCompleteTraces(1000L);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void errorTraceKept() {
+			AbstractSpan child = createSpan(1L, TRACE_ID, TRACE_ID, 10D);
+			child.addTag(Tags.ERROR.getKey(), "true");
+			AbstractSpan root = createSpan(TRACE_ID, TRACE_ID, 0L, 20D);
+			processor.hold(child, 0L);
+			processor.hold(root, 0L);
+
+			processor.decideCompleteTraces(1000L);
+
+			verify(chainedProcessor).process(child, null);
+			verify(chainedProcessor).process(root, null);
+		}
+
+		@Test
+		public void eumTraceKept() {
+			EUMSpan eumSpan = mock(EUMSpan.class);
+			when(eumSpan.getSpanIdent()).thenReturn(new SpanIdent(1L, TRACE_ID));
+			AbstractSpan root = createSpan(TRACE_ID, TRACE_ID, 0L, 20D);
+			processor.hold(eumSpan, 0L);
+			processor.hold(root, 0L);
+
+			processor.decideCompleteTraces(1000L);
+
+			verify(chainedProcessor).process(eumSpan, null);
+			verify(chainedProcessor).process(root, null);
+		}
+
+		@Test
+		public void notCompleteBeforeDelay() {
+			processor.hold(createSpan(TRACE_ID, TRACE_ID, 0L, 600D), 0L);
+
+			processor.decideCompleteTraces(999L);
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.getHeldTraceCount(), is(1));
+		}
+
+		@Test
+		public void timeoutWithoutRoot() {
+			AbstractSpan child = createSpan(1L, TRACE_ID, TRACE_ID, 600D);
+			processor.hold(child, 0L);
+
+			processor.decideCompleteTraces(9999L);
+			verifyZeroInteractions(chainedProcessor);
+
+			processor.decideCompleteTraces(10000L);
+			verify(chainedProcessor).process(child, null);
+		}
+
+		@Test
+		public void quotaPerBusinessTransaction() {
+			processor.quota = 1;
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setSpanIdent(new SpanIdent(TRACE_ID, TRACE_ID));
+			invocation.setApplicationId(1);
+			invocation.setBusinessTransactionId(2);
+			processor.process(invocation, entityManager);
+			AbstractSpan first = createSpan(TRACE_ID, TRACE_ID, 0L, 10D);
+			processor.hold(first, 0L);
+			InvocationSequenceData otherInvocation = new InvocationSequenceData();
+			otherInvocation.setSpanIdent(new SpanIdent(TRACE_ID + 1, TRACE_ID + 1));
+			otherInvocation.setApplicationId(1);
+			otherInvocation.setBusinessTransactionId(2);
+			processor.process(otherInvocation, entityManager);
+			AbstractSpan second = createSpan(TRACE_ID + 1, TRACE_ID + 1, 0L, 10D);
+			processor.hold(second, 0L);
+
+			processor.decideCompleteTraces(1000L);
+
+			verify(chainedProcessor).process(first, null);
+			verifyNoMoreInteractions(chainedProcessor);
+		}
+
+		@Test
+		public void lateSpanFollowsDecision() {
+			processor.hold(createSpan(TRACE_ID, TRACE_ID, 0L, 600D), 0L);
+			processor.decideCompleteTraces(1000L);
+			AbstractSpan late = createSpan(1L, TRACE_ID, TRACE_ID, 10D);
+
+			processor.hold(late, 2000L);
+
+			verify(chainedProcessor).process(late, null);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void oldestDecidedWhenFull() {
+			AbstractSpan first = createSpan(1L, 1L, 0L, 600D);
+			processor.hold(first, 0L);
+			processor.hold(createSpan(2L, 2L, 0L, 600D), 0L);
+
+			processor.hold(createSpan(3L, 3L, 0L, 600D), 0L);
+
+			verify(chainedProcessor).process(first, null);
+			verifyNoMoreInteractions(chainedProcessor);
+			assertThat(processor.getHeldTraceCount(), is(2));
+		}
+	}
+
+	public static class Flush extends TailSamplingCmrProcessorTest {
+
+		@Test
+		public void incompleteTracesDecided() {
+			AbstractSpan slow = createSpan(1L, 1L, 0L, 600D);
+			AbstractSpan childWithoutRoot = createSpan(3L, 2L, 2L, 600D);
+			processor.hold(slow, System.currentTimeMillis());
+			processor.hold(childWithoutRoot, System.currentTimeMillis());
+
+			processor.flush();
+
+			verify(chainedProcessor).process(slow, null);
+			verify(chainedProcessor).process(childWithoutRoot, null);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void fastTraceDropped() {
+			processor.hold(createSpan(TRACE_ID, TRACE_ID, 0L, 10D), System.currentTimeMillis());
+
+			processor.flush();
+
+			verifyZeroInteractions(chainedProcessor);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+
+		@Test
+		public void lateSpanFollowsDecision() {
+			processor.hold(createSpan(TRACE_ID, TRACE_ID, 0L, 600D), System.currentTimeMillis());
+			processor.flush();
+			AbstractSpan late = createSpan(1L, TRACE_ID, TRACE_ID, 10D);
+
+			processor.hold(late, System.currentTimeMillis());
+
+			verify(chainedProcessor).process(late, null);
+			assertThat(processor.getHeldTraceCount(), is(0));
+		}
+	}
+
+	protected AbstractSpan createSpan(long id, long traceId, long parentId, double duration) {
+		AbstractSpan span = (0 == parentId) ? new ServerSpan() : new ClientSpan();
+		span.setSpanIdent(new SpanIdent(id, traceId));
+		span.setParentSpanId(parentId);
+		span.setDuration(duration);
+		return span;
+	}
+
+}
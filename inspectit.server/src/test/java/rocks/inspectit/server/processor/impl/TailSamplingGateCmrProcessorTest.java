@@ -0,0 +1,68 @@
+package rocks.inspectit.server.processor.impl;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+
+/**
+ * Tests the {@link TailSamplingGateCmrProcessor}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class TailSamplingGateCmrProcessorTest extends TestBase {
+
+	TailSamplingGateCmrProcessor processor;
+
+	@Mock
+	TailSamplingCmrProcessor tailSamplingCmrProcessor;
+
+	@Mock
+	AbstractCmrDataProcessor chainedProcessor;
+
+	@Mock
+	EntityManager entityManager;
+
+	@BeforeMethod
+	public void init() {
+		processor = new TailSamplingGateCmrProcessor(tailSamplingCmrProcessor, Collections.singletonList(chainedProcessor));
+	}
+
+	public static class Process extends TailSamplingGateCmrProcessorTest {
+
+		@Test
+		public void notSampled() {
+			TimerData timerData = new TimerData();
+			when(tailSamplingCmrProcessor.isSampled(timerData)).thenReturn(false);
+
+			processor.process(timerData, entityManager);
+
+			verify(chainedProcessor).process(timerData, entityManager);
+		}
+
+		@Test
+		public void sampled() {
+			ServerSpan span = new ServerSpan();
+			when(tailSamplingCmrProcessor.isSampled(span)).thenReturn(true);
+
+			processor.process(span, entityManager);
+
+			verifyZeroInteractions(chainedProcessor);
+		}
+	}
+
+}
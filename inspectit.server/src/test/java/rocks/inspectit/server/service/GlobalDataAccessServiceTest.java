@@ -1,11 +1,15 @@
 package rocks.inspectit.server.service;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,11 +25,13 @@ import rocks.inspectit.server.dao.DefaultDataDao;
 import rocks.inspectit.server.dao.PlatformIdentDao;
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
+import rocks.inspectit.server.util.PlatformIdentCache;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData.AgentConnection;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 
 @SuppressWarnings("PMD")
 public class GlobalDataAccessServiceTest extends TestBase {
@@ -111,4 +117,44 @@ public class GlobalDataAccessServiceTest extends TestBase {
 			assertThat(event.getPlatformId(), is(platformId));
 		}
 	}
+
+	/**
+	 * Tests the {@link GlobalDataAccessService#getIdentsDelta(long)} method.
+	 */
+	public static class GetIdentsDelta extends GlobalDataAccessServiceTest {
+
+		@Mock
+		PlatformIdentCache platformIdentCache;
+
+		@Test
+		public void allAgents() {
+			PlatformIdent platformIdent = new PlatformIdent();
+			platformIdent.setId(10L);
+			when(platformIdentDao.findAll()).thenReturn(Collections.singletonList(platformIdent));
+			when(platformIdentCache.getEpoch()).thenReturn(1L);
+			when(platformIdentCache.getVersion()).thenReturn(5L);
+
+			IdentsDelta delta = globalDataAccessService.getIdentsDelta(0L);
+
+			assertThat(delta.getEpoch(), is(1L));
+			assertThat(delta.getVersion(), is(5L));
+			assertThat(delta.getChangedPlatformIds(), contains(10L));
+			assertThat(delta.getRemovedPlatformIds(), is(empty()));
+		}
+
+		@Test
+		public void changedAgents() {
+			when(platformIdentCache.getEpoch()).thenReturn(1L);
+			when(platformIdentCache.getVersion()).thenReturn(5L);
+			when(platformIdentCache.getChangedSince(3L)).thenReturn(Collections.singletonList(10L));
+			when(platformIdentCache.getRemovedSince(3L)).thenReturn(Collections.singletonList(20L));
+
+			IdentsDelta delta = globalDataAccessService.getIdentsDelta(3L);
+
+			assertThat(delta.getVersion(), is(5L));
+			assertThat(delta.getChangedPlatformIds(), contains(10L));
+			assertThat(delta.getRemovedPlatformIds(), contains(20L));
+			verify(platformIdentDao, never()).findAll();
+		}
+	}
 }
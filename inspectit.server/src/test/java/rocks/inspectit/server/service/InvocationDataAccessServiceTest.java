@@ -0,0 +1,176 @@
+package rocks.inspectit.server.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.cache.impl.BufferChangeLog;
+import rocks.inspectit.server.dao.InvocationDataDao;
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
+
+/**
+ * Tests the {@link InvocationDataAccessService}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class InvocationDataAccessServiceTest extends TestBase {
+
+	private static final long EPOCH = 1L;
+
+	@InjectMocks
+	InvocationDataAccessService service;
+
+	@Mock
+	InvocationDataDao invocationDataDao;
+
+	@Mock
+	BufferChangeLog bufferChangeLog;
+
+	@Mock
+	ICachedDataService cachedDataService;
+
+	@Mock
+	ResultComparator<InvocationSequenceData> resultComparator;
+
+	@BeforeMethod
+	public void init() {
+		when(bufferChangeLog.getEpoch()).thenReturn(EPOCH);
+		when(bufferChangeLog.getIndexSequence()).thenReturn(20L);
+		when(bufferChangeLog.getEvictionSequence()).thenReturn(5L);
+	}
+
+	public static class GetInvocationSequenceOverviewDelta extends InvocationDataAccessServiceTest {
+
+		@Test
+		public void noCursor() {
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 2L, 0L, resultComparator)).thenReturn(Arrays.asList(createInvocation(10L), createInvocation(30L), createInvocation(20L)));
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 2L, 2, null, resultComparator);
+
+			assertThat(delta.isComplete(), is(true));
+			assertThat(delta.getElements(), hasSize(2));
+			assertThat(delta.getElements().get(0).getId(), is(10L));
+			assertThat(delta.getElements().get(1).getId(), is(30L));
+			assertThat(delta.getEvictedIds(), is(empty()));
+			assertThat(delta.getCursor().getEpoch(), is(EPOCH));
+			assertThat(delta.getCursor().getIndexSequence(), is(20L));
+			assertThat(delta.getCursor().getEvictionSequence(), is(5L));
+		}
+
+		@Test
+		public void changesSinceCursor() {
+			when(bufferChangeLog.getIndexedIdsSince(10L)).thenReturn(Arrays.asList(42L, 40L, 41L));
+			when(bufferChangeLog.getEvictedIdsSince(3L)).thenReturn(Collections.singletonList(7L));
+			// 43 is indexed after the ids were read
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 0L, 40L, resultComparator)).thenReturn(Arrays.asList(createInvocation(40L), createInvocation(42L), createInvocation(43L)));
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, -1, new BufferCursor(EPOCH, 10L, 3L), resultComparator);
+
+			assertThat(delta.isComplete(), is(false));
+			assertThat(delta.getElements(), hasSize(2));
+			assertThat(delta.getElements().get(0).getId(), is(40L));
+			assertThat(delta.getElements().get(1).getId(), is(42L));
+			assertThat(delta.getEvictedIds(), contains(7L));
+			assertThat(delta.getCursor().getIndexSequence(), is(13L));
+			assertThat(delta.getCursor().getEvictionSequence(), is(5L));
+			verify(resultComparator).setCachedDataService(cachedDataService);
+		}
+
+		@Test
+		public void lowerIdIndexedLater() {
+			when(bufferChangeLog.getIndexedIdsSince(10L)).thenReturn(Collections.singletonList(5L));
+			when(bufferChangeLog.getEvictedIdsSince(3L)).thenReturn(Collections.<Long> emptyList());
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 0L, 5L, resultComparator)).thenReturn(Arrays.asList(createInvocation(5L), createInvocation(100L)));
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, -1, new BufferCursor(EPOCH, 10L, 3L), resultComparator);
+
+			assertThat(delta.isComplete(), is(false));
+			assertThat(delta.getElements(), hasSize(1));
+			assertThat(delta.getElements().get(0).getId(), is(5L));
+			assertThat(delta.getCursor().getIndexSequence(), is(11L));
+		}
+
+		@Test
+		public void cursorKeptWithoutChanges() {
+			when(bufferChangeLog.getIndexedIdsSince(20L)).thenReturn(Collections.<Long> emptyList());
+			when(bufferChangeLog.getEvictedIdsSince(5L)).thenReturn(Collections.<Long> emptyList());
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, 10, new BufferCursor(EPOCH, 20L, 5L), resultComparator);
+
+			assertThat(delta.isComplete(), is(false));
+			assertThat(delta.getElements(), is(empty()));
+			assertThat(delta.getCursor().getIndexSequence(), is(20L));
+			verify(invocationDataDao, never()).getInvocationSequenceDetail(anyLong(), anyLong(), anyLong(), Matchers.<ResultComparator<InvocationSequenceData>> any());
+		}
+
+		@Test
+		public void indexedIdsNotRetained() {
+			when(bufferChangeLog.getIndexedIdsSince(10L)).thenReturn(null);
+			when(bufferChangeLog.getEvictedIdsSince(3L)).thenReturn(Collections.<Long> emptyList());
+			List<InvocationSequenceData> invocations = Collections.singletonList(createInvocation(10L));
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 0L, 0L, resultComparator)).thenReturn(invocations);
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, 10, new BufferCursor(EPOCH, 10L, 3L), resultComparator);
+
+			assertThat(delta.isComplete(), is(true));
+			assertThat(delta.getElements(), hasSize(1));
+			assertThat(delta.getCursor().getIndexSequence(), is(20L));
+		}
+
+		@Test
+		public void evictionsNotRetained() {
+			when(bufferChangeLog.getIndexedIdsSince(10L)).thenReturn(Collections.<Long> emptyList());
+			when(bufferChangeLog.getEvictedIdsSince(3L)).thenReturn(null);
+			List<InvocationSequenceData> invocations = Collections.singletonList(createInvocation(10L));
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 0L, 0L, resultComparator)).thenReturn(invocations);
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, 10, new BufferCursor(EPOCH, 10L, 3L), resultComparator);
+
+			assertThat(delta.isComplete(), is(true));
+			assertThat(delta.getElements(), hasSize(1));
+			assertThat(delta.getEvictedIds(), is(empty()));
+			assertThat(delta.getCursor().getIndexSequence(), is(20L));
+		}
+
+		@Test
+		public void otherEpoch() {
+			when(invocationDataDao.getInvocationSequenceDetail(1L, 0L, 0L, resultComparator)).thenReturn(Collections.<InvocationSequenceData> emptyList());
+
+			BufferDelta<InvocationSequenceData> delta = service.getInvocationSequenceOverviewDelta(1L, 0L, 10, new BufferCursor(EPOCH + 1, 50L, 3L), resultComparator);
+
+			assertThat(delta.isComplete(), is(true));
+			assertThat(delta.getCursor().getEpoch(), is(EPOCH));
+			assertThat(delta.getCursor().getIndexSequence(), is(20L));
+		}
+	}
+
+	protected InvocationSequenceData createInvocation(long id) {
+		InvocationSequenceData invocation = new InvocationSequenceData();
+		invocation.setId(id);
+		return invocation;
+	}
+
+}
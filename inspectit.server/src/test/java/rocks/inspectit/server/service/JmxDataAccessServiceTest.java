@@ -0,0 +1,130 @@
+package rocks.inspectit.server.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.dao.DefaultDataDao;
+import rocks.inspectit.server.instrumentation.NextGenInstrumentationManager;
+import rocks.inspectit.server.instrumentation.config.AgentCacheEntry;
+import rocks.inspectit.server.instrumentation.config.ConfigurationHolder;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.ci.Environment;
+import rocks.inspectit.shared.cs.ci.sensor.jmx.JmxSensorConfig;
+
+/**
+ * Tests the {@link JmxDataAccessService}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class JmxDataAccessServiceTest extends TestBase {
+
+	private static final long PLATFORM_ID = 10L;
+
+	@InjectMocks
+	JmxDataAccessService service;
+
+	@Mock
+	DefaultDataDao defaultDataDao;
+
+	@Mock
+	NextGenInstrumentationManager nextGenInstrumentationManager;
+
+	@Mock
+	AgentCacheEntry agentCacheEntry;
+
+	@Mock
+	ConfigurationHolder configurationHolder;
+
+	@Mock
+	Environment environment;
+
+	JmxSensorValueData template;
+
+	@BeforeMethod
+	public void init() {
+		template = new JmxSensorValueData();
+		template.setPlatformIdent(PLATFORM_ID);
+		when(agentCacheEntry.getConfigurationHolder()).thenReturn(configurationHolder);
+		when(configurationHolder.getEnvironment()).thenReturn(environment);
+		when(defaultDataDao.getJmxDataOverview(any(JmxSensorValueData.class), any(Date.class), any(Date.class))).thenReturn(Collections.<JmxSensorValueData> emptyList());
+	}
+
+	public static class GetJmxDataForCharting extends JmxDataAccessServiceTest {
+
+		@Test
+		public void agentNotConnected() {
+			when(nextGenInstrumentationManager.getAgentCacheMap()).thenReturn(Collections.<Long, AgentCacheEntry> emptyMap());
+			mockValues(createValue("1", 0L));
+
+			List<JmxSensorValueData> result = service.getJmxDataForCharting(template, new Date(0L), new Date(30000L), 5000L, 10000L);
+
+			assertThat(times(result), contains(0L, 5000L, 10000L));
+		}
+
+		@Test
+		public void allValuesReported() {
+			JmxSensorConfig jmxSensorConfig = new JmxSensorConfig();
+			jmxSensorConfig.setReportOnlyChangedValues(false);
+			mockConfig(jmxSensorConfig);
+			mockValues(createValue("1", 0L));
+
+			List<JmxSensorValueData> result = service.getJmxDataForCharting(template, new Date(0L), new Date(30000L), 5000L, 10000L);
+
+			assertThat(times(result), contains(0L));
+		}
+
+		@Test
+		public void onlyChangedValuesReported() {
+			JmxSensorConfig jmxSensorConfig = new JmxSensorConfig();
+			jmxSensorConfig.setReportOnlyChangedValues(true);
+			jmxSensorConfig.setHeartbeatInterval(15000L);
+			mockConfig(jmxSensorConfig);
+			mockValues(createValue("1", 0L));
+
+			List<JmxSensorValueData> result = service.getJmxDataForCharting(template, new Date(0L), new Date(60000L), 5000L, 10000L);
+
+			assertThat(times(result), contains(0L, 5000L, 10000L, 15000L, 20000L));
+		}
+	}
+
+	protected void mockConfig(JmxSensorConfig jmxSensorConfig) {
+		when(nextGenInstrumentationManager.getAgentCacheMap()).thenReturn(Collections.singletonMap(PLATFORM_ID, agentCacheEntry));
+		when(environment.getJmxSensorConfig()).thenReturn(jmxSensorConfig);
+	}
+
+	protected void mockValues(JmxSensorValueData... values) {
+		List<DefaultData> data = new ArrayList<>();
+		Collections.addAll(data, values);
+		when(defaultDataDao.findByExampleFromToDate(any(DefaultData.class), any(Date.class), any(Date.class))).thenReturn(data);
+	}
+
+	protected JmxSensorValueData createValue(String value, long time) {
+		return new JmxSensorValueData(1L, value, new Timestamp(time), PLATFORM_ID, 1L);
+	}
+
+	protected List<Long> times(List<JmxSensorValueData> values) {
+		List<Long> times = new ArrayList<>();
+		for (JmxSensorValueData value : values) {
+			times.add(value.getTimeStamp().getTime());
+		}
+		return times;
+	}
+
+}
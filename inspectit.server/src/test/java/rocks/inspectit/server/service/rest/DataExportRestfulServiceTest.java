@@ -0,0 +1,198 @@
+package rocks.inspectit.server.service.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.cache.IBufferListener;
+import rocks.inspectit.server.cache.impl.BufferChangeLog;
+import rocks.inspectit.server.dao.impl.BufferDataExportDaoImpl;
+import rocks.inspectit.server.processor.impl.IndexerCmrProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+
+/**
+ * Tests the {@link DataExportRestfulService}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings({ "PMD", "unchecked" })
+public class DataExportRestfulServiceTest extends TestBase {
+
+	@InjectMocks
+	DataExportRestfulService service;
+
+	@Mock
+	BufferDataExportDaoImpl bufferDataExportDao;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	IBufferTreeComponent<DefaultData> indexingTree;
+
+	BufferChangeLog bufferChangeLog;
+
+	IndexerCmrProcessor indexerCmrProcessor;
+
+	/**
+	 * Data in the indexing tree.
+	 */
+	List<DefaultData> indexedData;
+
+	@BeforeMethod
+	public void init() throws Exception {
+		bufferChangeLog = new BufferChangeLog();
+		service.bufferChangeLog = bufferChangeLog;
+		indexedData = new ArrayList<>();
+
+		indexerCmrProcessor = new IndexerCmrProcessor();
+		indexerCmrProcessor.setIndexingTree(indexingTree);
+		indexerCmrProcessor.setBufferListeners(Collections.<IBufferListener<MethodSensorData>> singletonList(bufferChangeLog));
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				indexedData.add((DefaultData) invocation.getArguments()[0]);
+				return null;
+			}
+		}).when(indexingTree).put(any(DefaultData.class));
+
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				Collection<Long> ids = (Collection<Long>) invocation.getArguments()[4];
+				Consumer<DefaultData> consumer = (Consumer<DefaultData>) invocation.getArguments()[5];
+				for (DefaultData defaultData : indexedData) {
+					if ((null == ids) || ids.contains(defaultData.getId())) {
+						consumer.accept(defaultData);
+					}
+				}
+				return null;
+			}
+		}).when(bufferDataExportDao).exportData(Matchers.<Collection<Class<? extends DefaultData>>> any(), anyLong(), any(Date.class), any(Date.class), anyCollectionOf(Long.class), any(Consumer.class));
+	}
+
+	public static class ExportTimerData extends DataExportRestfulServiceTest {
+
+		@Test
+		public void completeExport() throws IOException {
+			indexBuffered(createTimerData(1L));
+			indexInInvocation(createTimerData(2L));
+
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			service.exportTimerData(0L, null, null, 0L, null, response);
+
+			assertThat(response.getHeader("X-Export-Complete"), is("true"));
+			assertThat(response.getHeader("X-Export-Epoch"), is(String.valueOf(bufferChangeLog.getEpoch())));
+			assertThat(response.getHeader("X-Export-Sequence"), is(String.valueOf(bufferChangeLog.getIndexSequence())));
+			assertThat(exportedIds(response), containsInAnyOrder(1L, 2L));
+		}
+
+		@Test
+		public void incrementalExportWithInvocationData() throws IOException {
+			indexBuffered(createTimerData(1L));
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			service.exportTimerData(0L, null, null, 0L, null, response);
+			long epoch = Long.parseLong(response.getHeader("X-Export-Epoch"));
+			long sequence = Long.parseLong(response.getHeader("X-Export-Sequence"));
+
+			indexInInvocation(createTimerData(3L));
+			indexBuffered(createTimerData(2L));
+			response = new MockHttpServletResponse();
+			service.exportTimerData(0L, null, null, epoch, sequence, response);
+
+			assertThat(response.getHeader("X-Export-Complete"), is("false"));
+			assertThat(response.getHeader("X-Export-Sequence"), is(String.valueOf(sequence + 2)));
+			assertThat(exportedIds(response), contains(3L, 2L));
+
+			response = new MockHttpServletResponse();
+			service.exportTimerData(0L, null, null, epoch, sequence + 2, response);
+
+			assertThat(response.getHeader("X-Export-Complete"), is("false"));
+			assertThat(exportedIds(response), is(empty()));
+		}
+
+		@Test
+		public void otherEpoch() throws IOException {
+			indexBuffered(createTimerData(1L));
+			indexInInvocation(createTimerData(2L));
+
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			service.exportTimerData(0L, null, null, bufferChangeLog.getEpoch() - 1, 0L, response);
+
+			assertThat(response.getHeader("X-Export-Complete"), is("true"));
+			assertThat(exportedIds(response), containsInAnyOrder(1L, 2L));
+		}
+	}
+
+	/**
+	 * Indexes the data as the buffer indexing thread does.
+	 *
+	 * @param timerData
+	 *            Data to index.
+	 */
+	protected void indexBuffered(TimerData timerData) {
+		indexedData.add(timerData);
+		bufferChangeLog.elementIndexed(timerData);
+	}
+
+	/**
+	 * Indexes the data only found in invocation through the {@link IndexerCmrProcessor}.
+	 *
+	 * @param timerData
+	 *            Data to index.
+	 */
+	protected void indexInInvocation(TimerData timerData) {
+		timerData.addInvocationParentId(100L);
+		indexerCmrProcessor.process(timerData, null);
+	}
+
+	protected TimerData createTimerData(long id) {
+		TimerData timerData = new TimerData(new Timestamp(System.currentTimeMillis()), 10L, 20L, 30L);
+		timerData.setId(id);
+		timerData.setCount(1L);
+		return timerData;
+	}
+
+	protected List<Long> exportedIds(MockHttpServletResponse response) throws IOException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<Long> ids = new ArrayList<>();
+		for (String line : response.getContentAsString().split("\n")) {
+			if (!line.isEmpty()) {
+				ids.add(objectMapper.readTree(line).get("id").getLongValue());
+			}
+		}
+		return ids;
+	}
+
+}
@@ -1,10 +1,12 @@
 package rocks.inspectit.server.storage;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -18,12 +20,15 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.lang.mutable.MutableInt;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -384,30 +389,85 @@ public class CmrStorageManagerTest extends AbstractTestNGLogSupport {
 		storageData = new StorageData();
 		storageData.setName("Test");
 
-		DefaultData defaultData = mock(DefaultData.class);
-		Timestamp timestamp = mock(Timestamp.class);
-		when(defaultData.getTimeStamp()).thenReturn(timestamp);
-		when(buffer.getOldestElement()).thenReturn(defaultData);
+		DefaultData oldest = mock(DefaultData.class);
+		when(oldest.getTimeStamp()).thenReturn(new Timestamp(1000L));
+		when(buffer.getOldestElement()).thenReturn(oldest);
+		DefaultData newest = mock(DefaultData.class);
+		when(newest.getTimeStamp()).thenReturn(new Timestamp(1500L));
+		when(buffer.getNewestElement()).thenReturn(newest);
 
-		List<DefaultData> data = Collections.singletonList(mock(DefaultData.class));
+		DefaultData bufferData = mock(DefaultData.class);
+		DefaultData databaseData = mock(DefaultData.class);
 		Collection<AbstractDataProcessor> processors = Collections.singleton(mock(AbstractDataProcessor.class));
 		Long platformId = 10L;
 		List<Long> platformIdents = Collections.singletonList(platformId);
-		storageManager = spy(storageManager);
-		when(storageDataDao.getAllDefaultDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any())).thenReturn(data);
+		when(storageDataDao.getBufferDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any())).thenReturn(Collections.singletonList(bufferData));
+		when(storageDataDao.getDatabaseDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any())).thenReturn(Collections.singletonList(databaseData));
+		final List<DefaultData> written = new ArrayList<>();
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				Iterator<? extends Collection<? extends DefaultData>> chunks = (Iterator<? extends Collection<? extends DefaultData>>) invocation.getArguments()[0];
+				while (chunks.hasNext()) {
+					written.addAll(chunks.next());
+				}
+				return null;
+			}
+		}).when(storageWriter).processChunksSynchronously(Matchers.<Iterator<? extends Collection<? extends DefaultData>>> any(), eq(processors), anyInt());
 
 		// first with no auto-finalize
 		storageManager.copyBufferToStorage(storageData, platformIdents, processors, false);
-		verify(storageDataDao, times(1)).getAllDefaultDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any());
-		verify(storageManager, times(1)).writeToStorage(storageData, data, processors, true);
+		verify(storageDataDao, times(1)).getBufferDataForAgent(platformId, new Date(1000L), null);
+		verify(storageDataDao, times(1)).getDatabaseDataForAgent(platformId, new Date(1000L), null);
+		assertThat(written, contains(bufferData, databaseData));
 
 		// first with auto-finalize
 		storageManager.copyBufferToStorage(storageData, platformIdents, processors, true);
-		verify(storageDataDao, times(2)).getAllDefaultDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any());
-		verify(storageManager, times(2)).writeToStorage(storageData, data, processors, true);
+		verify(storageWriter, times(2)).processChunksSynchronously(Matchers.<Iterator<? extends Collection<? extends DefaultData>>> any(), eq(processors), anyInt());
+		assertThat(written, hasSize(4));
 		assertThat(storageManager.isStorageClosed(storageData), is(true));
 	}
 
+	/**
+	 * Tests that the copy buffer action reads the buffer in chunks.
+	 */
+	@Test
+	public void copyBufferToStorageChunks() throws IOException, SerializationException, BusinessException {
+		storageData = new StorageData();
+		storageData.setName("Test");
+
+		DefaultData oldest = mock(DefaultData.class);
+		when(oldest.getTimeStamp()).thenReturn(new Timestamp(0L));
+		when(buffer.getOldestElement()).thenReturn(oldest);
+		DefaultData newest = mock(DefaultData.class);
+		when(newest.getTimeStamp()).thenReturn(new Timestamp(250000L));
+		when(buffer.getNewestElement()).thenReturn(newest);
+
+		Collection<AbstractDataProcessor> processors = Collections.singleton(mock(AbstractDataProcessor.class));
+		Long platformId = 10L;
+		when(storageDataDao.getBufferDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any())).thenReturn(Collections.<DefaultData> singletonList(mock(DefaultData.class)));
+		final MutableInt chunkCount = new MutableInt();
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				Iterator<?> chunks = (Iterator<?>) invocation.getArguments()[0];
+				while (chunks.hasNext()) {
+					chunks.next();
+					chunkCount.increment();
+				}
+				return null;
+			}
+		}).when(storageWriter).processChunksSynchronously(Matchers.<Iterator<? extends Collection<? extends DefaultData>>> any(), eq(processors), anyInt());
+
+		storageManager.copyBufferToStorage(storageData, Collections.singletonList(platformId), processors, false);
+
+		verify(storageDataDao, times(100)).getBufferDataForAgent(eq(platformId), Matchers.<Date> any(), Matchers.<Date> any());
+		// first chunk from the oldest, last with no limit
+		verify(storageDataDao, times(1)).getBufferDataForAgent(eq(platformId), eq(new Date(0L)), Matchers.<Date> any());
+		verify(storageDataDao, times(1)).getBufferDataForAgent(eq(platformId), Matchers.<Date> any(), (Date) Matchers.isNull());
+		assertThat(chunkCount.intValue(), is(100));
+	}
+
 	/**
 	 * Tests copy data to storage action.
 	 */
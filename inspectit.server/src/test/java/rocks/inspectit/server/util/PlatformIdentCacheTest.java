@@ -1,7 +1,9 @@
 package rocks.inspectit.server.util;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -163,4 +165,44 @@ public class PlatformIdentCacheTest extends TestBase {
 		}
 	}
 
+	public class ChangedSince extends PlatformIdentCacheTest {
+
+		@Test
+		public void markedClean() {
+			when(platformIdent.getId()).thenReturn(PLATFORM_ID);
+
+			platformIdentCache.markClean(platformIdent);
+
+			assertThat(platformIdentCache.getChangedSince(0L), contains(PLATFORM_ID));
+			assertThat(platformIdentCache.getChangedSince(platformIdentCache.getVersion()), is(empty()));
+		}
+
+		@Test
+		public void markedDirty() {
+			when(platformIdent.getId()).thenReturn(PLATFORM_ID);
+			when(platformIdent2.getId()).thenReturn(1212L);
+			platformIdentCache.markClean(platformIdent);
+			platformIdentCache.markClean(platformIdent2);
+			long version = platformIdentCache.getVersion();
+
+			platformIdentCache.markDirty(platformIdent);
+
+			assertThat(platformIdentCache.getChangedSince(version), contains(PLATFORM_ID));
+			assertThat(platformIdentCache.getVersion(), is(greaterThan(version)));
+		}
+
+		@Test
+		public void removed() {
+			when(platformIdent.getId()).thenReturn(PLATFORM_ID);
+			platformIdentCache.markClean(platformIdent);
+			long version = platformIdentCache.getVersion();
+
+			platformIdentCache.remove(platformIdent);
+
+			assertThat(platformIdentCache.getChangedSince(0L), is(empty()));
+			assertThat(platformIdentCache.getRemovedSince(version), contains(PLATFORM_ID));
+			assertThat(platformIdentCache.getRemovedSince(platformIdentCache.getVersion()), is(empty()));
+		}
+	}
+
 }
@@ -35,6 +35,13 @@ public class ExceptionSensorData extends InvocationAwareData {
 	 */
 	private String stackTrace;
 
+	/**
+	 * Fingerprint of the stack trace computed by the agent. If the agent already sent the stack
+	 * trace with the same fingerprint, the {@link #stackTrace} is not sent and has to be resolved
+	 * via fingerprint. Value <code>0</code> denotes that no fingerprint is available.
+	 */
+	private long stackTraceFingerprint;
+
 	/**
 	 * The {@link ExceptionEvent} indicating by which event this object was created.
 	 */
@@ -134,6 +141,25 @@ public class ExceptionSensorData extends InvocationAwareData {
 		this.stackTrace = stackTrace;
 	}
 
+	/**
+	 * Gets {@link #stackTraceFingerprint}.
+	 *
+	 * @return {@link #stackTraceFingerprint}
+	 */
+	public long getStackTraceFingerprint() {
+		return stackTraceFingerprint;
+	}
+
+	/**
+	 * Sets {@link #stackTraceFingerprint}.
+	 *
+	 * @param stackTraceFingerprint
+	 *            New value for {@link #stackTraceFingerprint}
+	 */
+	public void setStackTraceFingerprint(long stackTraceFingerprint) {
+		this.stackTraceFingerprint = stackTraceFingerprint;
+	}
+
 	/**
 	 * Gets {@link #exceptionEvent}.
 	 *
@@ -224,7 +250,7 @@ public class ExceptionSensorData extends InvocationAwareData {
 	@Override
 	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
 		long size = super.getObjectSize(objectSizes, doAlign);
-		size += objectSizes.getPrimitiveTypesSize(6, 0, 0, 0, 1, 0);
+		size += objectSizes.getPrimitiveTypesSize(6, 0, 0, 0, 2, 0);
 		size += objectSizes.getSizeOf(errorMessage);
 		size += objectSizes.getSizeOf(cause);
 		size += objectSizes.getSizeOf(stackTrace);
@@ -249,6 +275,7 @@ public class ExceptionSensorData extends InvocationAwareData {
 		result = (prime * result) + ((child == null) ? 0 : child.hashCode());
 		result = (prime * result) + ((exceptionEvent == null) ? 0 : exceptionEvent.hashCode());
 		result = (prime * result) + ((stackTrace == null) ? 0 : stackTrace.hashCode());
+		result = (prime * result) + (int) (stackTraceFingerprint ^ (stackTraceFingerprint >>> 32));
 		result = (prime * result) + (int) (throwableIdentityHashCode ^ (throwableIdentityHashCode >>> 32));
 		result = (prime * result) + ((throwableType == null) ? 0 : throwableType.hashCode());
 		return result;
@@ -297,6 +324,9 @@ public class ExceptionSensorData extends InvocationAwareData {
 		} else if (!stackTrace.equals(other.stackTrace)) {
 			return false;
 		}
+		if (stackTraceFingerprint != other.stackTraceFingerprint) {
+			return false;
+		}
 		if (throwableIdentityHashCode != other.throwableIdentityHashCode) {
 			return false;
 		}
@@ -0,0 +1,66 @@
+package rocks.inspectit.shared.all.communication.message;
+
+/**
+ * Sent by the agent to the CMR to acknowledge that an {@link AgentMessageBatch} has been received.
+ *
+ * @author Marius Oehler
+ *
+ */
+public class AgentMessageAcknowledgement {
+
+	/**
+	 * Id of the agent.
+	 */
+	private long platformId;
+
+	/**
+	 * Id of the received batch.
+	 */
+	private long batchId;
+
+	/**
+	 * No-arg constructor for serialization.
+	 */
+	public AgentMessageAcknowledgement() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param platformId
+	 *            Id of the agent.
+	 * @param batchId
+	 *            Id of the received batch.
+	 */
+	public AgentMessageAcknowledgement(long platformId, long batchId) {
+		this.platformId = platformId;
+		this.batchId = batchId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+
+	/**
+	 * Gets {@link #batchId}.
+	 *
+	 * @return {@link #batchId}
+	 */
+	public long getBatchId() {
+		return this.batchId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageAcknowledgement [platformId=" + this.platformId + ", batchId=" + this.batchId + "]";
+	}
+
+}
@@ -0,0 +1,70 @@
+package rocks.inspectit.shared.all.communication.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of {@link IAgentMessage}s pushed by the CMR to the agent over the already open connection.
+ * The agent acknowledges the receiving of the batch with the {@link AgentMessageAcknowledgement}.
+ *
+ * @author Marius Oehler
+ *
+ */
+public class AgentMessageBatch {
+
+	/**
+	 * Id of the batch, unique per CMR.
+	 */
+	private long batchId;
+
+	/**
+	 * Messages of the batch, ordered by time (ascending -> index 0 is the oldest).
+	 */
+	private List<IAgentMessage<?>> messages;
+
+	/**
+	 * No-arg constructor for serialization.
+	 */
+	public AgentMessageBatch() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param batchId
+	 *            Id of the batch.
+	 * @param messages
+	 *            Messages of the batch.
+	 */
+	public AgentMessageBatch(long batchId, List<IAgentMessage<?>> messages) {
+		this.batchId = batchId;
+		this.messages = new ArrayList<IAgentMessage<?>>(messages);
+	}
+
+	/**
+	 * Gets {@link #batchId}.
+	 *
+	 * @return {@link #batchId}
+	 */
+	public long getBatchId() {
+		return this.batchId;
+	}
+
+	/**
+	 * Gets {@link #messages}.
+	 *
+	 * @return {@link #messages}
+	 */
+	public List<IAgentMessage<?>> getMessages() {
+		return this.messages;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageBatch [batchId=" + this.batchId + ", messages=" + this.messages + "]";
+	}
+
+}
@@ -0,0 +1,51 @@
+package rocks.inspectit.shared.all.communication.message;
+
+/**
+ * Sent by the agent to the CMR over the open connection in order to receive the
+ * {@link IAgentMessage}s as pushed {@link AgentMessageBatch}es. The subscription is valid as long
+ * as the connection is open.
+ *
+ * @author Marius Oehler
+ *
+ */
+public class AgentMessageSubscription {
+
+	/**
+	 * Id of the subscribing agent.
+	 */
+	private long platformId;
+
+	/**
+	 * No-arg constructor for serialization.
+	 */
+	public AgentMessageSubscription() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param platformId
+	 *            Id of the subscribing agent.
+	 */
+	public AgentMessageSubscription(long platformId) {
+		this.platformId = platformId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageSubscription [platformId=" + this.platformId + "]";
+	}
+
+}
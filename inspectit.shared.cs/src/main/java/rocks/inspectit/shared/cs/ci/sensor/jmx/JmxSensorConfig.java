@@ -1,6 +1,6 @@
 package rocks.inspectit.shared.cs.ci.sensor.jmx;
 
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -25,6 +25,11 @@ public class JmxSensorConfig implements ISensorConfig {
 	 */
 	public static final String SENSOR_NAME = "JMX Sensor";
 
+	/**
+	 * Default interval in milliseconds in which the unchanged attribute values are sent.
+	 */
+	public static final long DEFAULT_HEARTBEAT_INTERVAL = 60000L;
+
 	/**
 	 * Implementing class name.
 	 */
@@ -46,6 +51,24 @@ public class JmxSensorConfig implements ISensorConfig {
 	@XmlAttribute(name = "forceMBeanServerCreation")
 	private boolean forceMBeanServer = false;
 
+	/**
+	 * Option to send only the attribute values that changed since the last collection. Unchanged
+	 * values are still sent every {@link #heartbeatInterval} milliseconds.
+	 * <p>
+	 * <code>false</code> by default.
+	 */
+	@XmlAttribute(name = "reportOnlyChangedValues")
+	private boolean reportOnlyChangedValues = false;
+
+	/**
+	 * Interval in milliseconds in which the unchanged attribute values are sent when only changed
+	 * values are reported.
+	 * <p>
+	 * <code>60000</code> by default.
+	 */
+	@XmlAttribute(name = "heartbeatInterval")
+	private long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -67,7 +90,11 @@ public class JmxSensorConfig implements ISensorConfig {
 	 */
 	@Override
 	public Map<String, Object> getParameters() {
-		return Collections.<String, Object> singletonMap("forceMBeanServer", forceMBeanServer);
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("forceMBeanServer", forceMBeanServer);
+		parameters.put("reportOnlyChangedValues", reportOnlyChangedValues);
+		parameters.put("heartbeatInterval", heartbeatInterval);
+		return parameters;
 	}
 
 	/**
@@ -108,6 +135,44 @@ public class JmxSensorConfig implements ISensorConfig {
 		this.forceMBeanServer = forceMBeanServer;
 	}
 
+	/**
+	 * Gets {@link #reportOnlyChangedValues}.
+	 *
+	 * @return {@link #reportOnlyChangedValues}
+	 */
+	public boolean isReportOnlyChangedValues() {
+		return this.reportOnlyChangedValues;
+	}
+
+	/**
+	 * Sets {@link #reportOnlyChangedValues}.
+	 *
+	 * @param reportOnlyChangedValues
+	 *            New value for {@link #reportOnlyChangedValues}
+	 */
+	public void setReportOnlyChangedValues(boolean reportOnlyChangedValues) {
+		this.reportOnlyChangedValues = reportOnlyChangedValues;
+	}
+
+	/**
+	 * Gets {@link #heartbeatInterval}.
+	 *
+	 * @return {@link #heartbeatInterval}
+	 */
+	public long getHeartbeatInterval() {
+		return this.heartbeatInterval;
+	}
+
+	/**
+	 * Sets {@link #heartbeatInterval}.
+	 *
+	 * @param heartbeatInterval
+	 *            New value for {@link #heartbeatInterval}
+	 */
+	public void setHeartbeatInterval(long heartbeatInterval) {
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -117,6 +182,8 @@ public class JmxSensorConfig implements ISensorConfig {
 		int result = 1;
 		result = (prime * result) + (this.active ? 1231 : 1237);
 		result = (prime * result) + (this.forceMBeanServer ? 1231 : 1237);
+		result = (prime * result) + (this.reportOnlyChangedValues ? 1231 : 1237);
+		result = (prime * result) + (int) (this.heartbeatInterval ^ (this.heartbeatInterval >>> 32));
 		return result;
 	}
 
@@ -141,6 +208,12 @@ public class JmxSensorConfig implements ISensorConfig {
 		if (this.forceMBeanServer != other.forceMBeanServer) {
 			return false;
 		}
+		if (this.reportOnlyChangedValues != other.reportOnlyChangedValues) {
+			return false;
+		}
+		if (this.heartbeatInterval != other.heartbeatInterval) {
+			return false;
+		}
 		return true;
 	}
 
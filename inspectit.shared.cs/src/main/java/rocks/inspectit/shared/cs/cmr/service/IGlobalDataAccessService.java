@@ -11,6 +11,7 @@ import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.exception.BusinessException;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 
 /**
  * Interface used to define all methods which clients (be it graphical/textual) can access the
@@ -48,6 +49,29 @@ public interface IGlobalDataAccessService {
 	 */
 	PlatformIdent getCompleteAgent(long id) throws BusinessException;
 
+	/**
+	 * Returns the platform idents with complete sensor/method tree for all given IDs in one call.
+	 * IDs of not existing agents are ignored.
+	 *
+	 * @param ids
+	 *            Ids of wanted agents.
+	 * @return Agents with complete tree.
+	 */
+	List<PlatformIdent> getCompleteAgents(Collection<Long> ids);
+
+	/**
+	 * Returns the ids of the agents whose idents have been added, changed or removed since the
+	 * given version. Passing the version of the last returned delta allows synchronizing only the
+	 * changed agents with {@link #getCompleteAgents(Collection)}. If the epoch of the returned
+	 * delta differs from the last known one, the versions are not comparable and the delta for
+	 * the version <code>0</code> containing all agents must be loaded.
+	 *
+	 * @param version
+	 *            Version of the last synchronization or <code>0</code> for all agents.
+	 * @return {@link IdentsDelta}
+	 */
+	IdentsDelta getIdentsDelta(long version);
+
 	/**
 	 * Deletes the Agent completely.
 	 *
@@ -9,6 +9,8 @@ import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
 
 /**
  * Service interface which defines the methods to retrieve data objects based on the invocation
@@ -79,6 +81,31 @@ public interface IInvocationDataAccessService {
 	 */
 	List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, Date fromDate, Date toDate, ResultComparator<InvocationSequenceData> resultComparator);
 
+	/**
+	 * Returns the changes of the invocation overview since the given cursor. Only the
+	 * {@link InvocationSequenceData} objects added since the cursor and the ids of the evicted
+	 * ones are returned, so that the live overview can be refreshed without loading the complete
+	 * overview. If the changes are not available for the cursor, the delta is complete and
+	 * contains the complete overview. The returned objects contain no associations to other
+	 * objects.
+	 *
+	 * @param platformId
+	 *            The ID of the platform. If the zero value is passed, looking for the objects will
+	 *            be done in all platforms.
+	 * @param methodId
+	 *            The ID of the method. If the zero value is passed, looking for the objects will
+	 *            be done for all methods.
+	 * @param limit
+	 *            The limit/size of the overview. Value <code>-1</code> means no limit.
+	 * @param cursor
+	 *            Cursor of the last delta. Pass <code>null</code> to get the complete overview.
+	 * @param resultComparator
+	 *            Comparator that will be used to sort the results. Can be <code>null</code> and in
+	 *            that case no sorting will be done.
+	 * @return Returns the changes of the invocation overview.
+	 */
+	BufferDelta<InvocationSequenceData> getInvocationSequenceOverviewDelta(long platformId, long methodId, int limit, BufferCursor cursor, ResultComparator<InvocationSequenceData> resultComparator);
+
 	/**
 	 * Returns a list of {@link InvocationSequenceData} objects which contain no associations to
 	 * other objects in given time frame. Thus this list can be used to get an overview of the
@@ -38,4 +38,28 @@ public interface IJmxDataAccessService {
 	 * @return The list of jmx value data.
 	 */
 	List<JmxSensorValueData> getJmxDataOverview(JmxSensorValueData jmxSensorValueData, Date fromDate, Date toDate);
-}
\ No newline at end of file
+
+	/**
+	 * Returns the captured jmx data of one attribute in a time frame for charting. In the
+	 * template, the platform id, sensor type id and jmx definition id are extracted. As agents can
+	 * be configured to send only the changed values, the gaps between the captured values are
+	 * filled with copies of the last value, including the last value captured before the time
+	 * frame. If the JMX sensor configuration of the agent is known, gaps are filled only when the
+	 * agent reports only changed values and the maximum fill duration is derived from the
+	 * configured heartbeat interval.
+	 *
+	 * @param jmxSensorValueData
+	 *            The template containing the platform, sensor type and jmx definition id.
+	 * @param fromDate
+	 *            Date to include data from.
+	 * @param toDate
+	 *            Date to include data to.
+	 * @param fillInterval
+	 *            Interval in milliseconds of the values filled into the gaps.
+	 * @param defaultMaxFillDuration
+	 *            Maximum duration in milliseconds a value is carried forward when the JMX sensor
+	 *            configuration of the agent is not known, longer gaps are not filled.
+	 * @return The list of jmx value data sorted by time stamp.
+	 */
+	List<JmxSensorValueData> getJmxDataForCharting(JmxSensorValueData jmxSensorValueData, Date fromDate, Date toDate, long fillInterval, long defaultMaxFillDuration);
+}
@@ -1,10 +1,11 @@
 package rocks.inspectit.shared.cs.cmr.service.cache;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -14,13 +15,12 @@ import rocks.inspectit.shared.all.cmr.model.MethodIdent;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.cmr.model.SensorTypeIdent;
 import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
-import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.communication.data.cmr.ApplicationData;
 import rocks.inspectit.shared.all.communication.data.cmr.BusinessTransactionData;
-import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.util.Pair;
 import rocks.inspectit.shared.cs.cmr.service.IBusinessContextManagementService;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 
 /**
  * The default implementation of the cached ident objects. Provides a protected-visible method to
@@ -36,12 +36,6 @@ import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
 @Component
 public class CachedDataService implements InitializingBean, ICachedDataService {
 
-	/**
-	 * Logger for the class. Needed to be directly assigned, because this class is used on the UI
-	 * with no Spring to enhance it.
-	 */
-	private static final Logger LOG = LoggerFactory.getLogger(CachedDataService.class);
-
 	/**
 	 * Delegated service.
 	 */
@@ -92,6 +86,21 @@ public class CachedDataService implements InitializingBean, ICachedDataService {
 	 */
 	private final Map<Pair<Integer, Integer>, BusinessTransactionData> businessTransactionsMap = new ConcurrentHashMap<Pair<Integer, Integer>, BusinessTransactionData>();
 
+	/**
+	 * Version passed to get all idents.
+	 */
+	private static final long NO_VERSION = 0L;
+
+	/**
+	 * Epoch of the last idents synchronization.
+	 */
+	private long identsEpoch;
+
+	/**
+	 * Version of the last idents synchronization.
+	 */
+	private long identsVersion = NO_VERSION;
+
 	/**
 	 * No-args constructor.
 	 */
@@ -235,35 +244,72 @@ public class CachedDataService implements InitializingBean, ICachedDataService {
 	}
 
 	/**
-	 * Internal refresh of the idents. Currently everything is loaded again.
+	 * Internal refresh of the idents. Only the agents added, changed or removed since the last
+	 * refresh are synchronized. Everything is loaded again only on the first refresh or when the
+	 * CMR versions can not be compared any more (e.g. the CMR has been restarted).
 	 */
-	protected void refreshIdents() {
-		Map<PlatformIdent, AgentStatusData> agentMap = globalDataAccessService.getAgentsOverview();
-		platformMap.clear();
-		methodMap.clear();
-		sensorTypeMap.clear();
-		jmxDefinitionDataMap.clear();
-
-		for (PlatformIdent overview : agentMap.keySet()) {
-			PlatformIdent platformIdent;
-			try {
-				platformIdent = globalDataAccessService.getCompleteAgent(overview.getId());
-			} catch (BusinessException e) {
-				LOG.warn("Exception occurred trying to refresh sensor information for the agent " + overview.getAgentName() + ".", e);
-				continue;
+	protected synchronized void refreshIdents() {
+		long version = identsVersion;
+		IdentsDelta delta = globalDataAccessService.getIdentsDelta(version);
+		if ((NO_VERSION != version) && (delta.getEpoch() != identsEpoch)) {
+			version = NO_VERSION;
+			delta = globalDataAccessService.getIdentsDelta(version);
+		}
+
+		List<Long> removedPlatformIds = new ArrayList<>(delta.getRemovedPlatformIds());
+		if (NO_VERSION == version) {
+			// complete delta, all not contained agents are removed
+			for (Long platformId : platformMap.keySet()) {
+				if (!delta.getChangedPlatformIds().contains(platformId)) {
+					removedPlatformIds.add(platformId);
+				}
+			}
+		}
+
+		for (Long platformId : removedPlatformIds) {
+			PlatformIdent removed = platformMap.remove(platformId);
+			if (null != removed) {
+				removeIdents(removed);
+			}
+		}
+
+		if (CollectionUtils.isNotEmpty(delta.getChangedPlatformIds())) {
+			for (PlatformIdent platformIdent : globalDataAccessService.getCompleteAgents(delta.getChangedPlatformIds())) {
+				PlatformIdent old = platformMap.get(platformIdent.getId());
+				refreshData(platformIdent);
+				if ((null != old) && (old != platformIdent)) {
+					removeIdents(old);
+				}
 			}
-			platformMap.put(platformIdent.getId(), platformIdent);
+		}
+
+		identsEpoch = delta.getEpoch();
+		identsVersion = delta.getVersion();
+	}
 
-			for (MethodIdent methodIdent : platformIdent.getMethodIdents()) {
-				methodMap.put(methodIdent.getId(), methodIdent);
+	/**
+	 * Removes the idents of the given agent from the cache. Idents that have been replaced in the
+	 * meantime by the idents of a newer agent object are kept.
+	 *
+	 * @param platformIdent
+	 *            Agent to remove the idents for.
+	 */
+	private void removeIdents(PlatformIdent platformIdent) {
+		for (MethodIdent methodIdent : platformIdent.getMethodIdents()) {
+			if (methodMap.get(methodIdent.getId()) == methodIdent) {
+				methodMap.remove(methodIdent.getId());
 			}
+		}
 
-			for (SensorTypeIdent sensorTypeIdent : platformIdent.getSensorTypeIdents()) {
-				sensorTypeMap.put(sensorTypeIdent.getId(), sensorTypeIdent);
+		for (SensorTypeIdent sensorTypeIdent : platformIdent.getSensorTypeIdents()) {
+			if (sensorTypeMap.get(sensorTypeIdent.getId()) == sensorTypeIdent) {
+				sensorTypeMap.remove(sensorTypeIdent.getId());
 			}
+		}
 
-			for (JmxDefinitionDataIdent jmxDefinitionDataIdent : platformIdent.getJmxDefinitionDataIdents()) {
-				jmxDefinitionDataMap.put(jmxDefinitionDataIdent.getId(), jmxDefinitionDataIdent);
+		for (JmxDefinitionDataIdent jmxDefinitionDataIdent : platformIdent.getJmxDefinitionDataIdents()) {
+			if (jmxDefinitionDataMap.get(jmxDefinitionDataIdent.getId()) == jmxDefinitionDataIdent) {
+				jmxDefinitionDataMap.remove(jmxDefinitionDataIdent.getId());
 			}
 		}
 	}
@@ -0,0 +1,120 @@
+package rocks.inspectit.shared.cs.communication.data;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+
+/**
+ * Helper class for preparing the {@link JmxSensorValueData} objects of one attribute for charting.
+ *
+ * @author Ivan Senic
+ *
+ */
+public final class JmxSensorValueDataHelper {
+
+	/**
+	 * Amount of fill intervals a gap must be longer than to be filled.
+	 */
+	public static final int MIN_GAP_FILL_INTERVALS = 2;
+
+	/**
+	 * Private constructor for utility class.
+	 */
+	private JmxSensorValueDataHelper() {
+	}
+
+	/**
+	 * Fills the gaps between the values of one attribute with copies of the last value. Agents
+	 * can be configured to send only changed values, thus a missing value means that the value
+	 * did not change. Only gaps longer than {@value #MIN_GAP_FILL_INTERVALS} fill intervals are
+	 * filled, so that no values are added between the values of agents sending every value with
+	 * a cadence slightly longer than the fill interval. The copies are created every fill
+	 * interval, starting with the from date or one fill interval after a value, but never later
+	 * than the max fill duration after the value they copy. Longer gaps stay empty as the agent
+	 * sends unchanged values in the heartbeat interval.
+	 *
+	 * @param values
+	 *            Values of the attribute in the time frame.
+	 * @param previous
+	 *            Last value before the time frame. Can be <code>null</code>.
+	 * @param fromDate
+	 *            Start of the time frame.
+	 * @param toDate
+	 *            End of the time frame.
+	 * @param fillInterval
+	 *            Interval in milliseconds of the filled values. If not positive, the values are
+	 *            returned as they are.
+	 * @param maxFillDuration
+	 *            Maximum duration in milliseconds a value is carried forward.
+	 * @return Values sorted by time stamp with the gaps filled.
+	 */
+	public static List<JmxSensorValueData> fillGaps(List<JmxSensorValueData> values, JmxSensorValueData previous, Date fromDate, Date toDate, long fillInterval, long maxFillDuration) {
+		if (fillInterval <= 0) {
+			return values;
+		}
+
+		List<JmxSensorValueData> sorted = new ArrayList<>(values);
+		Collections.sort(sorted, new Comparator<JmxSensorValueData>() {
+			@Override
+			public int compare(JmxSensorValueData o1, JmxSensorValueData o2) {
+				return o1.getTimeStamp().compareTo(o2.getTimeStamp());
+			}
+		});
+
+		List<JmxSensorValueData> result = new ArrayList<>(sorted.size());
+		JmxSensorValueData last = previous;
+		long fillFrom = fromDate.getTime();
+		for (JmxSensorValueData value : sorted) {
+			fill(result, last, fillFrom, value.getTimeStamp().getTime(), false, fillInterval, maxFillDuration);
+			result.add(value);
+			last = value;
+			fillFrom = value.getTimeStamp().getTime() + fillInterval;
+		}
+		fill(result, last, fillFrom, toDate.getTime(), true, fillInterval, maxFillDuration);
+
+		return result;
+	}
+
+	/**
+	 * Adds the copies of the last value to the result if the gap is long enough.
+	 *
+	 * @param result
+	 *            List to add the copies to.
+	 * @param last
+	 *            Value to copy. Can be <code>null</code>.
+	 * @param fillFrom
+	 *            Time of the first copy.
+	 * @param gapEnd
+	 *            End of the gap, time of the next value or the end of the time frame.
+	 * @param gapEndIncluded
+	 *            If a copy can be created at the end of the gap.
+	 * @param fillInterval
+	 *            Interval in milliseconds of the copies.
+	 * @param maxFillDuration
+	 *            Maximum duration in milliseconds the value is carried forward.
+	 */
+	private static void fill(List<JmxSensorValueData> result, JmxSensorValueData last, long fillFrom, long gapEnd, boolean gapEndIncluded, long fillInterval, long maxFillDuration) {
+		if (null == last) {
+			return;
+		}
+
+		long lastTime = last.getTimeStamp().getTime();
+		if ((gapEnd - lastTime) <= (MIN_GAP_FILL_INTERVALS * fillInterval)) {
+			return;
+		}
+
+		long fillTo = gapEndIncluded ? gapEnd + 1 : gapEnd;
+		long limit = Math.min(fillTo, lastTime + maxFillDuration + 1);
+		for (long time = fillFrom; time < limit; time += fillInterval) {
+			JmxSensorValueData copy = new JmxSensorValueData(last);
+			copy.setTimeStamp(new Timestamp(time));
+			result.add(copy);
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+package rocks.inspectit.shared.cs.communication.data.cmr;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * Position of the client in the buffer content. Passed to the CMR when asking for the buffer
+ * changes, so that only the elements indexed and the ids evicted since are returned.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class BufferCursor implements Serializable {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = 6027310987461230871L;
+
+	/**
+	 * Identifies the buffer instance of the CMR. Cursors of different epochs can not be compared.
+	 */
+	private long epoch;
+
+	/**
+	 * Index sequence of the elements already seen. All elements indexed in the buffer before this
+	 * sequence have been seen.
+	 */
+	private long indexSequence;
+
+	/**
+	 * Sequence of the evictions already seen.
+	 */
+	private long evictionSequence;
+
+	/**
+	 * No-arguments constructor.
+	 */
+	public BufferCursor() {
+	}
+
+	/**
+	 * @param epoch
+	 *            Identifies the buffer instance of the CMR.
+	 * @param indexSequence
+	 *            Index sequence of the elements already seen.
+	 * @param evictionSequence
+	 *            Sequence of the evictions already seen.
+	 */
+	public BufferCursor(long epoch, long indexSequence, long evictionSequence) {
+		this.epoch = epoch;
+		this.indexSequence = indexSequence;
+		this.evictionSequence = evictionSequence;
+	}
+
+	/**
+	 * Gets {@link #epoch}.
+	 *
+	 * @return {@link #epoch}
+	 */
+	public long getEpoch() {
+		return this.epoch;
+	}
+
+	/**
+	 * Gets {@link #indexSequence}.
+	 *
+	 * @return {@link #indexSequence}
+	 */
+	public long getIndexSequence() {
+		return this.indexSequence;
+	}
+
+	/**
+	 * Gets {@link #evictionSequence}.
+	 *
+	 * @return {@link #evictionSequence}
+	 */
+	public long getEvictionSequence() {
+		return this.evictionSequence;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
+		toStringBuilder.append("epoch", epoch);
+		toStringBuilder.append("indexSequence", indexSequence);
+		toStringBuilder.append("evictionSequence", evictionSequence);
+		return toStringBuilder.toString();
+	}
+
+}
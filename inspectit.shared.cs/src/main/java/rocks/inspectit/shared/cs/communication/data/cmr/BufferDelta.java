@@ -0,0 +1,122 @@
+package rocks.inspectit.shared.cs.communication.data.cmr;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Changes of the buffer content since a {@link BufferCursor}. If the changes can not be provided
+ * for the passed cursor, the delta is {@link #complete} and the elements replace all elements
+ * known to the client.
+ *
+ * @author Ivan Senic
+ *
+ * @param <E>
+ *            Type of the elements.
+ */
+public class BufferDelta<E extends DefaultData> implements Serializable {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -4460148035513896615L;
+
+	/**
+	 * Cursor to pass when asking for the next delta.
+	 */
+	private BufferCursor cursor;
+
+	/**
+	 * If the elements are the complete result and not only the added ones.
+	 */
+	private boolean complete;
+
+	/**
+	 * Elements added since the cursor or all elements if the delta is {@link #complete}. Elements
+	 * indexed while the complete result was loaded can be returned again with the next delta, thus
+	 * the client should replace elements with the same id.
+	 */
+	private List<E> elements = Collections.emptyList();
+
+	/**
+	 * Ids of the elements evicted since the cursor.
+	 */
+	private List<Long> evictedIds = Collections.emptyList();
+
+	/**
+	 * No-arguments constructor.
+	 */
+	public BufferDelta() {
+	}
+
+	/**
+	 * @param cursor
+	 *            Cursor to pass when asking for the next delta.
+	 * @param complete
+	 *            If the elements are the complete result and not only the added ones.
+	 * @param elements
+	 *            Elements added since the cursor or all elements if the delta is complete.
+	 * @param evictedIds
+	 *            Ids of the elements evicted since the cursor.
+	 */
+	public BufferDelta(BufferCursor cursor, boolean complete, List<E> elements, List<Long> evictedIds) {
+		this.cursor = cursor;
+		this.complete = complete;
+		this.elements = elements;
+		this.evictedIds = evictedIds;
+	}
+
+	/**
+	 * Gets {@link #cursor}.
+	 *
+	 * @return {@link #cursor}
+	 */
+	public BufferCursor getCursor() {
+		return this.cursor;
+	}
+
+	/**
+	 * Gets {@link #complete}.
+	 *
+	 * @return {@link #complete}
+	 */
+	public boolean isComplete() {
+		return this.complete;
+	}
+
+	/**
+	 * Gets {@link #elements}.
+	 *
+	 * @return {@link #elements}
+	 */
+	public List<E> getElements() {
+		return this.elements;
+	}
+
+	/**
+	 * Gets {@link #evictedIds}.
+	 *
+	 * @return {@link #evictedIds}
+	 */
+	public List<Long> getEvictedIds() {
+		return this.evictedIds;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
+		toStringBuilder.append("cursor", cursor);
+		toStringBuilder.append("complete", complete);
+		toStringBuilder.append("elements", elements.size());
+		toStringBuilder.append("evictedIds", evictedIds.size());
+		return toStringBuilder.toString();
+	}
+
+}
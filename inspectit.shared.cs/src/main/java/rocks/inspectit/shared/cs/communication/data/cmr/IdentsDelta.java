@@ -0,0 +1,118 @@
+package rocks.inspectit.shared.cs.communication.data.cmr;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
+
+/**
+ * Describes the changes of the agents and their idents on the CMR since a given version. The
+ * complete agents can be loaded in bulk for the {@link #changedPlatformIds}.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class IdentsDelta implements Serializable {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -2735472385726342331L;
+
+	/**
+	 * Identifies the versioning instance of the CMR. Versions of different epochs can not be
+	 * compared, thus when the epoch changes the complete idents must be synchronized.
+	 */
+	private long epoch;
+
+	/**
+	 * Version the delta is valid for. Should be passed when asking for the next delta.
+	 */
+	private long version;
+
+	/**
+	 * Ids of the {@link PlatformIdent}s that have been added or changed.
+	 */
+	private List<Long> changedPlatformIds = Collections.emptyList();
+
+	/**
+	 * Ids of the {@link PlatformIdent}s that have been removed.
+	 */
+	private List<Long> removedPlatformIds = Collections.emptyList();
+
+	/**
+	 * No-arguments constructor.
+	 */
+	public IdentsDelta() {
+	}
+
+	/**
+	 * @param epoch
+	 *            Identifies the versioning instance of the CMR.
+	 * @param version
+	 *            Version the delta is valid for.
+	 * @param changedPlatformIds
+	 *            Ids of the {@link PlatformIdent}s that have been added or changed.
+	 * @param removedPlatformIds
+	 *            Ids of the {@link PlatformIdent}s that have been removed.
+	 */
+	public IdentsDelta(long epoch, long version, List<Long> changedPlatformIds, List<Long> removedPlatformIds) {
+		this.epoch = epoch;
+		this.version = version;
+		this.changedPlatformIds = changedPlatformIds;
+		this.removedPlatformIds = removedPlatformIds;
+	}
+
+	/**
+	 * Gets {@link #epoch}.
+	 *
+	 * @return {@link #epoch}
+	 */
+	public long getEpoch() {
+		return this.epoch;
+	}
+
+	/**
+	 * Gets {@link #version}.
+	 *
+	 * @return {@link #version}
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets {@link #changedPlatformIds}.
+	 *
+	 * @return {@link #changedPlatformIds}
+	 */
+	public List<Long> getChangedPlatformIds() {
+		return this.changedPlatformIds;
+	}
+
+	/**
+	 * Gets {@link #removedPlatformIds}.
+	 *
+	 * @return {@link #removedPlatformIds}
+	 */
+	public List<Long> getRemovedPlatformIds() {
+		return this.removedPlatformIds;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
+		toStringBuilder.append("epoch", epoch);
+		toStringBuilder.append("version", version);
+		toStringBuilder.append("changedPlatformIds", changedPlatformIds);
+		toStringBuilder.append("removedPlatformIds", removedPlatformIds);
+		return toStringBuilder.toString();
+	}
+
+}
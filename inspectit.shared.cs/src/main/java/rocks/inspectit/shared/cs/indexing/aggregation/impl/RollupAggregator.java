@@ -0,0 +1,237 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.IAggregatedData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+
+/**
+ * Aggregator that aggregates the elements with the given {@link IAggregator}, but separately for
+ * each period of time (rollup). The time stamp of each aggregated object is set to the start of
+ * its period, thus the rollups can be filtered by time and aggregated again with the original
+ * {@link IAggregator}.
+ *
+ * @author Ivan Senic
+ *
+ * @param <E>
+ *            Type of data being aggregated.
+ */
+public class RollupAggregator<E extends DefaultData> implements IAggregator<E> {
+
+	/**
+	 * Default rollup period. Storage rollups are always created with this period.
+	 */
+	public static final long DEFAULT_ROLLUP_PERIOD = TimeUnit.MINUTES.toMillis(15);
+
+	/**
+	 * Aggregator used for each period.
+	 */
+	private final IAggregator<E> aggregator;
+
+	/**
+	 * Period length in milliseconds.
+	 */
+	private final long period;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param aggregator
+	 *            Aggregator used for each period. Must not be <code>null</code>.
+	 * @param period
+	 *            Period length in milliseconds. Must be positive.
+	 */
+	public RollupAggregator(IAggregator<E> aggregator, long period) {
+		if (null == aggregator) {
+			throw new IllegalArgumentException("Aggregator can not be null.");
+		}
+		if (period <= 0) {
+			throw new IllegalArgumentException("Rollup period must be positive, given period is " + period + ".");
+		}
+		this.aggregator = aggregator;
+		this.period = period;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void aggregate(IAggregatedData<E> aggregatedObject, E objectToAdd) {
+		aggregator.aggregate(aggregatedObject, objectToAdd);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IAggregatedData<E> getClone(E object) {
+		IAggregatedData<E> clone = aggregator.getClone(object);
+		clone.getData().setTimeStamp(new Timestamp(getPeriodStart(object)));
+		return clone;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getAggregationKey(E object) {
+		return new RollupKey(getPeriodStart(object), aggregator.getAggregationKey(object));
+	}
+
+	/**
+	 * Returns the start of the period the given element belongs to.
+	 *
+	 * @param object
+	 *            Element.
+	 * @return Start of the period in milliseconds.
+	 */
+	private long getPeriodStart(E object) {
+		long time = (null != object.getTimeStamp()) ? object.getTimeStamp().getTime() : 0L;
+		return getPeriodStart(time, period);
+	}
+
+	/**
+	 * Returns the start of the period the given time belongs to.
+	 *
+	 * @param time
+	 *            Time in milliseconds.
+	 * @param period
+	 *            Period length in milliseconds.
+	 * @return Start of the period in milliseconds.
+	 */
+	public static long getPeriodStart(long time, long period) {
+		return time - Math.floorMod(time, period);
+	}
+
+	/**
+	 * Gets {@link #aggregator}.
+	 *
+	 * @return {@link #aggregator}
+	 */
+	public IAggregator<E> getAggregator() {
+		return aggregator;
+	}
+
+	/**
+	 * Gets {@link #period}.
+	 *
+	 * @return {@link #period}
+	 */
+	public long getPeriod() {
+		return period;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		// must be constant because of the caching
+		result = (prime * result) + this.getClass().getName().hashCode();
+		result = (prime * result) + aggregator.hashCode();
+		result = (prime * result) + (int) (period ^ (period >>> 32));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		RollupAggregator<?> other = (RollupAggregator<?>) obj;
+		if (period != other.period) {
+			return false;
+		}
+		return aggregator.equals(other.aggregator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "RollupAggregator [aggregator=" + aggregator + ", period=" + period + "]";
+	}
+
+	/**
+	 * Aggregation key combining the period start and the key of the original aggregator.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static final class RollupKey {
+
+		/**
+		 * Period start.
+		 */
+		private final long periodStart;
+
+		/**
+		 * Key of the original aggregator.
+		 */
+		private final Object key;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param periodStart
+		 *            Period start.
+		 * @param key
+		 *            Key of the original aggregator.
+		 */
+		RollupKey(long periodStart, Object key) {
+			this.periodStart = periodStart;
+			this.key = key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = (prime * result) + (int) (periodStart ^ (periodStart >>> 32));
+			result = (prime * result) + ((key == null) ? 0 : key.hashCode());
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			RollupKey other = (RollupKey) obj;
+			if (periodStart != other.periodStart) {
+				return false;
+			}
+			if (key == null) {
+				return other.key == null;
+			}
+			return key.equals(other.key);
+		}
+	}
+
+}
@@ -1,6 +1,9 @@
 package rocks.inspectit.shared.cs.indexing.buffer;
 
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
 
 import rocks.inspectit.shared.cs.indexing.ITreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
@@ -54,4 +57,16 @@ public interface IBufferTreeComponent<E> extends ITreeComponent<E, E> {
 	 */
 	long getNumberOfElements();
 
+	/**
+	 * Passes all indexed elements that comply the given query to the consumer. Unlike the
+	 * {@link #query(IIndexQuery)}, the results are not collected to a list, thus this method can be
+	 * used for streaming any amount of elements. Elements are passed in no specific order.
+	 *
+	 * @param query
+	 *            Query to match the elements against.
+	 * @param consumer
+	 *            Consumer to pass each matching element to.
+	 */
+	void forEach(IIndexQuery query, Consumer<? super E> consumer);
+
 }
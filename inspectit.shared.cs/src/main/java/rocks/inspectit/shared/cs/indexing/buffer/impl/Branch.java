@@ -3,8 +3,12 @@ package rocks.inspectit.shared.cs.indexing.buffer.impl;
 import java.util.ArrayList;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang.ArrayUtils;
 
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.AbstractBranch;
 import rocks.inspectit.shared.cs.indexing.ITreeComponent;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferBranchIndexer;
@@ -119,6 +123,50 @@ public class Branch<E extends DefaultData> extends AbstractBranch<E, E> implemen
 		return sum;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEach(IIndexQuery query, Consumer<? super E> consumer) {
+		Object[] keys = getBranchIndexer().getKeys(query);
+		if (ArrayUtils.isEmpty(keys)) {
+			// if key can not be created go through all components
+			for (ITreeComponent<E, E> treeComponent : getComponentMap().values()) {
+				forEach(treeComponent, query, consumer);
+			}
+		} else {
+			for (Object key : keys) {
+				if (null != key) {
+					ITreeComponent<E, E> treeComponent = getComponentMap().get(key);
+					if (null != treeComponent) {
+						forEach(treeComponent, query, consumer);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes the elements of the given tree component that comply the query to the consumer. If
+	 * the component is not a buffer tree component, its query results are passed.
+	 *
+	 * @param treeComponent
+	 *            Tree component.
+	 * @param query
+	 *            Query.
+	 * @param consumer
+	 *            Consumer.
+	 */
+	private void forEach(ITreeComponent<E, E> treeComponent, IIndexQuery query, Consumer<? super E> consumer) {
+		if (treeComponent instanceof IBufferTreeComponent) {
+			((IBufferTreeComponent<E>) treeComponent).forEach(query, consumer);
+		} else {
+			for (E element : treeComponent.query(query)) {
+				consumer.accept(element);
+			}
+		}
+	}
+
 	/**
 	 * @return the bufferBranchIndexer
 	 */
@@ -9,6 +9,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
@@ -130,6 +131,21 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 		return results;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEach(IIndexQuery query, Consumer<? super E> consumer) {
+		for (WeakReference<E> weakReference : map.values()) {
+			if (null != weakReference) {
+				E element = weakReference.get();
+				if ((null != element) && element.isQueryComplied(query)) {
+					consumer.accept(element);
+				}
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
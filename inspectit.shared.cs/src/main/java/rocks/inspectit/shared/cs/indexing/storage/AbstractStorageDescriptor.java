@@ -22,6 +22,9 @@ public abstract class AbstractStorageDescriptor implements IStorageDescriptor {
 		if ((this.getSize() - other.getSize()) != 0) {
 			return (int) (this.getSize() - other.getSize());
 		}
+		if ((this.getBlockDataOffset() - other.getBlockDataOffset()) != 0) {
+			return this.getBlockDataOffset() - other.getBlockDataOffset();
+		}
 		return 0;
 	}
 
@@ -5,6 +5,11 @@ package rocks.inspectit.shared.cs.indexing.storage;
  * provides information where in the file the data is located ({@link #getPosition()}), what is the
  * data size ({@link #getSize()} and what is the channel ID where the data is saved (
  * {@link #getChannelId()}.
+ * <p>
+ * For the block compressed storages the position and size describe the complete compressed
+ * block(s). If the descriptor points to one object in the block, the {@link #getBlockDataOffset()}
+ * and {@link #getBlockDataSize()} describe where the object is located in the uncompressed data of
+ * the block. Otherwise the descriptor points to the complete data of the blocks.
  *
  * @author Ivan Senic
  *
@@ -43,4 +48,30 @@ public interface IStorageDescriptor extends Comparable<IStorageDescriptor> {
 	 */
 	void setPositionAndSize(long position, long size);
 
-}
\ No newline at end of file
+	/**
+	 * @return the offset of the data in the uncompressed block
+	 */
+	int getBlockDataOffset();
+
+	/**
+	 * @return the size of the data in the uncompressed block, or <code>0</code> if the descriptor
+	 *         is not pointing to the data in the block
+	 */
+	int getBlockDataSize();
+
+	/**
+	 * Sets the position and size of the block in the file and the location of the data in the
+	 * uncompressed block for this descriptor.
+	 *
+	 * @param position
+	 *            the position of the block to set
+	 * @param size
+	 *            the size of the block to set
+	 * @param blockDataOffset
+	 *            the offset of the data in the uncompressed block
+	 * @param blockDataSize
+	 *            the size of the data in the uncompressed block
+	 */
+	void setBlockPositionAndSize(long position, long size, int blockDataOffset, int blockDataSize);
+
+}
@@ -364,7 +364,7 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 		sizeInBytes += objectSizes.getSizeOfArray(idArray.length);
 		sizeInBytes += size * objectSizes.getPrimitiveTypesSize(0, 0, 1, 0, 0, 0);
 		sizeInBytes += objectSizes.getSizeOfArray(descriptorArray.length);
-		sizeInBytes += size * (objectSizes.alignTo8Bytes(objectSizes.getSizeOfObjectHeader() + objectSizes.getPrimitiveTypesSize(0, 0, 1, 0, 1, 0)));
+		sizeInBytes += size * (objectSizes.alignTo8Bytes(objectSizes.getSizeOfObjectHeader() + objectSizes.getPrimitiveTypesSize(0, 0, 3, 0, 1, 0)));
 		// ignore locks
 		return objectSizes.alignTo8Bytes(sizeInBytes);
 	}
@@ -144,13 +144,15 @@ public class LeafWithNoDescriptors<E extends DefaultData> implements IStorageTre
 		size += objectSizes.getPrimitiveTypesSize(2, 0, 1, 0, 0, 0);
 		size += objectSizes.getSizeOf(descriptors);
 		// manually calculate the descriptor size
-		long descriptorSize = objectSizes.alignTo8Bytes(objectSizes.getSizeOfObjectObject() + objectSizes.getPrimitiveTypesSize(0, 0, 1, 0, 1, 0));
+		long descriptorSize = objectSizes.alignTo8Bytes(objectSizes.getSizeOfObjectObject() + objectSizes.getPrimitiveTypesSize(0, 0, 3, 0, 1, 0));
 		size += descriptors.size() * descriptorSize;
 		return objectSizes.alignTo8Bytes(size);
 	}
 
 	/**
-	 * Adds the written position and size by updating the existing {@link #descriptors} list.
+	 * Adds the written position and size by updating the existing {@link #descriptors} list. If the
+	 * position and size are already covered by one of the descriptors, as it's the case for all
+	 * elements written to the same compressed block, nothing is added.
 	 *
 	 * @param position
 	 *            Position that was written.
@@ -158,6 +160,11 @@ public class LeafWithNoDescriptors<E extends DefaultData> implements IStorageTre
 	 *            Size.
 	 */
 	private synchronized void addPositionAndSize(long position, long size) {
+		for (SimpleStorageDescriptor storageDescriptor : descriptors) {
+			if ((storageDescriptor.getPosition() <= position) && ((position + size) <= (storageDescriptor.getPosition() + storageDescriptor.getSize()))) {
+				return;
+			}
+		}
 		for (SimpleStorageDescriptor storageDescriptor : descriptors) {
 			if (((storageDescriptor.getSize() + size) < MAX_RANGE_SIZE) && storageDescriptor.join(position, size)) {
 				return;
@@ -254,6 +261,32 @@ public class LeafWithNoDescriptors<E extends DefaultData> implements IStorageTre
 			addPositionAndSize(position, size);
 		}
 
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int getBlockDataOffset() {
+			return 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int getBlockDataSize() {
+			return 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Leaf always returns all of its data, thus only the complete block is added.
+		 */
+		@Override
+		public void setBlockPositionAndSize(long position, long size, int blockDataOffset, int blockDataSize) {
+			addPositionAndSize(position, size);
+		}
+
 	}
 
 	/**
@@ -6,6 +6,10 @@ import org.apache.commons.lang.builder.ToStringBuilder;
  * Simple storage descriptor stores only position as long and size as int value, since this is
  * enough information to read a object if file is known. File specification will be done by
  * {@link StorageLeaf}s directly.
+ * <p>
+ * If the storage is block compressed, the position and size describe the compressed block that
+ * holds the object, while the {@link #blockDataOffset} and {@link #blockDataSize} describe where
+ * the object is located in the uncompressed data of the block.
  *
  * @author Ivan Senic
  *
@@ -22,6 +26,17 @@ public class SimpleStorageDescriptor {
 	 */
 	private int size;
 
+	/**
+	 * Offset of the data in the uncompressed block.
+	 */
+	private int blockDataOffset;
+
+	/**
+	 * Size of the data in the uncompressed block. Zero if descriptor is not pointing to the data in
+	 * the block.
+	 */
+	private int blockDataSize;
+
 	/**
 	 * No-arg constructor.
 	 */
@@ -45,7 +60,8 @@ public class SimpleStorageDescriptor {
 	 * Joins the position and size information if possible contained in other descriptor. This
 	 * method will return true if the join was successfully done, and false if no join was done. The
 	 * join is possible only if the given position and size is pointing to the data that is next to
-	 * the data currently described in {@link SimpleStorageDescriptor}.
+	 * the data currently described in {@link SimpleStorageDescriptor}. Descriptors pointing to the
+	 * data in the block can not be joined.
 	 *
 	 * @param other
 	 *            Descriptor to join
@@ -53,6 +69,9 @@ public class SimpleStorageDescriptor {
 	 *         was done.
 	 */
 	public boolean join(SimpleStorageDescriptor other) {
+		if (0 != other.getBlockDataSize()) {
+			return false;
+		}
 		return join(other.getPosition(), other.getSize());
 	}
 
@@ -60,7 +79,8 @@ public class SimpleStorageDescriptor {
 	 * Joins the position and size information if possible. This method will return true if the join
 	 * was successfully done, and false if no join was done. The join is possible only if the given
 	 * position and size is pointing to the data that is next to the data currently described in
-	 * {@link SimpleStorageDescriptor}.
+	 * {@link SimpleStorageDescriptor}. Descriptor pointing to the data in the block can not be
+	 * joined.
 	 *
 	 * @param otherPosition
 	 *            Position
@@ -70,7 +90,9 @@ public class SimpleStorageDescriptor {
 	 *         was done.
 	 */
 	public boolean join(long otherPosition, long otherSize) {
-		if ((this.position + this.size) == otherPosition) {
+		if (0 != blockDataSize) {
+			return false;
+		} else if ((this.position + this.size) == otherPosition) {
 			this.size += otherSize;
 			return true;
 		} else if ((otherPosition + otherSize) == this.position) {
@@ -111,6 +133,36 @@ public class SimpleStorageDescriptor {
 		this.size = size;
 	}
 
+	/**
+	 * @return the blockDataOffset
+	 */
+	public int getBlockDataOffset() {
+		return blockDataOffset;
+	}
+
+	/**
+	 * @param blockDataOffset
+	 *            the blockDataOffset to set
+	 */
+	public void setBlockDataOffset(int blockDataOffset) {
+		this.blockDataOffset = blockDataOffset;
+	}
+
+	/**
+	 * @return the blockDataSize
+	 */
+	public int getBlockDataSize() {
+		return blockDataSize;
+	}
+
+	/**
+	 * @param blockDataSize
+	 *            the blockDataSize to set
+	 */
+	public void setBlockDataSize(int blockDataSize) {
+		this.blockDataSize = blockDataSize;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -120,6 +172,8 @@ public class SimpleStorageDescriptor {
 		int result = 1;
 		result = (prime * result) + (int) (position ^ (position >>> 32));
 		result = (prime * result) + size;
+		result = (prime * result) + blockDataOffset;
+		result = (prime * result) + blockDataSize;
 		return result;
 	}
 
@@ -144,6 +198,12 @@ public class SimpleStorageDescriptor {
 		if (size != other.size) {
 			return false;
 		}
+		if (blockDataOffset != other.blockDataOffset) {
+			return false;
+		}
+		if (blockDataSize != other.blockDataSize) {
+			return false;
+		}
 		return true;
 	}
 
@@ -155,6 +215,8 @@ public class SimpleStorageDescriptor {
 		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
 		toStringBuilder.append("position", position);
 		toStringBuilder.append("size", size);
+		toStringBuilder.append("blockDataOffset", blockDataOffset);
+		toStringBuilder.append("blockDataSize", blockDataSize);
 		return toStringBuilder.toString();
 	}
 }
@@ -77,7 +77,8 @@ public class StorageDescriptor extends AbstractStorageDescriptor {
 	 * only if the two descriptors are actually describing the data in the same channel that are
 	 * next to each other. There is no difference if the other descriptor is pointing to the data
 	 * after or before this descriptor. After successful join the joined data descriptor will be
-	 * represented by this descriptor.
+	 * represented by this descriptor. Descriptors pointing to the data in the block can not be
+	 * joined.
 	 *
 	 * @param other
 	 *            Descriptor information to join.
@@ -85,7 +86,7 @@ public class StorageDescriptor extends AbstractStorageDescriptor {
 	 *         was done.
 	 */
 	public boolean join(IStorageDescriptor other) {
-		if (this.getChannelId() != other.getChannelId()) {
+		if ((this.getChannelId() != other.getChannelId()) || (0 != other.getBlockDataSize())) {
 			return false;
 		} else {
 			return join(other.getPosition(), other.getSize());
@@ -161,8 +162,34 @@ public class StorageDescriptor extends AbstractStorageDescriptor {
 	 */
 	@Override
 	public void setPositionAndSize(long position, long size) {
+		setBlockPositionAndSize(position, size, 0, 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getBlockDataOffset() {
+		return simpleStorageDescriptor.getBlockDataOffset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getBlockDataSize() {
+		return simpleStorageDescriptor.getBlockDataSize();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setBlockPositionAndSize(long position, long size, int blockDataOffset, int blockDataSize) {
 		simpleStorageDescriptor.setPosition(position);
 		simpleStorageDescriptor.setSize((int) size);
+		simpleStorageDescriptor.setBlockDataOffset(blockDataOffset);
+		simpleStorageDescriptor.setBlockDataSize(blockDataSize);
 	}
 
 	/**
@@ -214,6 +241,8 @@ public class StorageDescriptor extends AbstractStorageDescriptor {
 		toStringBuilder.append("channelId", channelId);
 		toStringBuilder.append("position", simpleStorageDescriptor.getPosition());
 		toStringBuilder.append("size", simpleStorageDescriptor.getSize());
+		toStringBuilder.append("blockDataOffset", simpleStorageDescriptor.getBlockDataOffset());
+		toStringBuilder.append("blockDataSize", simpleStorageDescriptor.getBlockDataSize());
 		return toStringBuilder.toString();
 	}
 
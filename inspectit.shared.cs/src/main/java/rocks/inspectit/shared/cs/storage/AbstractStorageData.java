@@ -15,6 +15,16 @@ public abstract class AbstractStorageData implements IStorageData, Serializable
 	 */
 	private static final long serialVersionUID = -8161482616652852623L;
 
+	/**
+	 * Format version where each object is written as raw serialized bytes.
+	 */
+	public static final int FORMAT_VERSION_RAW = 0;
+
+	/**
+	 * Format version where each object is written as one compressed block.
+	 */
+	public static final int FORMAT_VERSION_BLOCK_COMPRESSED = 1;
+
 	/**
 	 * Storage ID.
 	 */
@@ -40,6 +50,11 @@ public abstract class AbstractStorageData implements IStorageData, Serializable
 	 */
 	private String cmrVersion;
 
+	/**
+	 * Version of the format the data is written in.
+	 */
+	private int formatVersion = FORMAT_VERSION_RAW;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -146,6 +161,34 @@ public abstract class AbstractStorageData implements IStorageData, Serializable
 		this.cmrVersion = cmrVersion;
 	}
 
+	/**
+	 * Gets {@link #formatVersion}.
+	 *
+	 * @return {@link #formatVersion}
+	 */
+	@Override
+	public int getFormatVersion() {
+		return formatVersion;
+	}
+
+	/**
+	 * Sets {@link #formatVersion}.
+	 *
+	 * @param formatVersion
+	 *            New value for {@link #formatVersion}
+	 */
+	public void setFormatVersion(int formatVersion) {
+		this.formatVersion = formatVersion;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isBlockCompressed() {
+		return FORMAT_VERSION_BLOCK_COMPRESSED == formatVersion;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -62,4 +62,21 @@ public interface IStorageData {
 	 */
 	String getCmrVersion();
 
+	/**
+	 * Returns the version of the format the data of the storage is written in. Storages created
+	 * before the format version was introduced have the version
+	 * {@link AbstractStorageData#FORMAT_VERSION_RAW}.
+	 *
+	 * @return Returns the version of the format the data of the storage is written in.
+	 */
+	int getFormatVersion();
+
+	/**
+	 * Returns if the data of the storage is written in compressed blocks that have to be read with
+	 * the {@link rocks.inspectit.shared.cs.storage.nio.stream.CompressedBlockDataReader}.
+	 *
+	 * @return Returns if the data of the storage is written in compressed blocks.
+	 */
+	boolean isBlockCompressed();
+
 }
@@ -58,6 +58,7 @@ public class LocalStorageData extends AbstractStorageData {
 		this.setDescription(storageData.getDescription());
 		this.setDiskSize(storageData.getDiskSize());
 		this.setCmrVersion(storageData.getCmrVersion());
+		this.setFormatVersion(storageData.getFormatVersion());
 		this.labelList = storageData.getLabelList();
 
 	}
@@ -203,6 +203,39 @@ public class StorageIndexingTreeHandler {
 		writeTasksInProcess.remove(writeTask);
 	}
 
+	/**
+	 * Signals to the {@link StorageIndexingTreeHandler} that the data of the write task has been
+	 * successfully written as part of the compressed block.
+	 * <p>
+	 * Internally this method will update the {@link IStorageDescriptor} for the given
+	 * {@link DefaultData} object in the write task with the block information, and remove the task
+	 * from the set of tasks being currently processed.
+	 *
+	 * @param writeTask
+	 *            Write task that succeeded.
+	 * @param position
+	 *            Write position of the block.
+	 * @param size
+	 *            Write size of the block.
+	 * @param blockDataOffset
+	 *            Offset of the task data in the uncompressed block.
+	 * @param blockDataSize
+	 *            Size of the task data in the uncompressed block.
+	 */
+	public void writeSuccessful(WriteTask writeTask, long position, long size, int blockDataOffset, int blockDataSize) {
+		// get the data from the map
+		TreeDescriptorPair treeDescriptorPair = writeTasksInProcess.get(writeTask);
+		if (null != treeDescriptorPair) {
+			IStorageDescriptor storageDescriptor = treeDescriptorPair.getStorageDescriptor();
+			// update the descriptor with the information provided
+			if (null != storageDescriptor) {
+				storageDescriptor.setBlockPositionAndSize(position, size, blockDataOffset, blockDataSize);
+			}
+		}
+		// remove the entry in map after the data has been updated in indexing tree
+		writeTasksInProcess.remove(writeTask);
+	}
+
 	/**
 	 * Signals to the {@link StorageIndexingTreeHandler} that the write has failed.
 	 * <p>
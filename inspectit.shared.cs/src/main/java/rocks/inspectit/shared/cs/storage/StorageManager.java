@@ -12,6 +12,7 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.zip.GZIPInputStream;
@@ -38,6 +39,7 @@ import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.RollupAggregator;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageDescriptor;
 import rocks.inspectit.shared.cs.storage.util.DeleteFileVisitor;
@@ -696,6 +698,49 @@ public abstract class StorageManager {
 		return result;
 	}
 
+	/**
+	 * Defines if the query can be answered from the storage rollups. Rollups are only useful when
+	 * the data is aggregated and the interval is set, as otherwise the complete result can be
+	 * cached (see {@link #canBeCached(IIndexQuery, IAggregator)}).
+	 *
+	 * @param indexQuery
+	 *            Query.
+	 * @param aggregator
+	 *            Aggregator.
+	 * @return True if the rollups can be used for the query.
+	 */
+	public boolean canUseRollups(IIndexQuery indexQuery, IAggregator<?> aggregator) {
+		return (null != aggregator) && indexQuery.isIntervalSet();
+	}
+
+	/**
+	 * Returns hash for the rollup data created with the given query and rollup aggregator. The
+	 * interval of the query is not taken into account, as rollups are always created for the
+	 * complete storage.
+	 *
+	 * @param indexQuery
+	 *            {@link IIndexQuery}, must not be <code>null</code>
+	 * @param rollupAggregator
+	 *            {@link RollupAggregator}
+	 * @return Hash
+	 */
+	public int getRollupDataHash(IIndexQuery indexQuery, RollupAggregator<?> rollupAggregator) {
+		if (null == indexQuery) {
+			throw new IllegalArgumentException("Can not create rollup data hash when index query is null.");
+		}
+
+		Timestamp fromDate = indexQuery.getFromDate();
+		Timestamp toDate = indexQuery.getToDate();
+		try {
+			indexQuery.setFromDate(null);
+			indexQuery.setToDate(null);
+			return getCachedDataHash(indexQuery, rollupAggregator);
+		} finally {
+			indexQuery.setFromDate(fromDate);
+			indexQuery.setToDate(toDate);
+		}
+	}
+
 	/**
 	 * Gets {@link #serializationManagerProvider}.
 	 *
@@ -1,5 +1,6 @@
 package rocks.inspectit.shared.cs.storage;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.ref.SoftReference;
@@ -13,9 +14,12 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
@@ -44,6 +48,7 @@ import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 import rocks.inspectit.shared.cs.communication.data.cmr.WritingStatus;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
 import rocks.inspectit.shared.cs.storage.nio.WriteReadCompletionRunnable;
+import rocks.inspectit.shared.cs.storage.nio.stream.CompressedBlockOutputStream;
 import rocks.inspectit.shared.cs.storage.nio.write.WritingChannelManager;
 import rocks.inspectit.shared.cs.storage.processor.AbstractDataProcessor;
 import rocks.inspectit.shared.cs.storage.processor.write.AbstractWriteDataProcessor;
@@ -69,6 +74,18 @@ public class StorageWriter implements IWriter {
 	 */
 	private static final int FINALIZATION_TASKS_SLEEP_TIME = 500;
 
+	/**
+	 * Size of the uncompressed data in bytes after which the open block of a channel is compressed
+	 * and written. Equals the window size of the deflate, so bigger blocks would only increase the
+	 * amount of data that has to be decompressed when reading one object.
+	 */
+	private static final int BLOCK_SIZE = 32 * 1024;
+
+	/**
+	 * Time in milliseconds after which the open block is written even if it is not full.
+	 */
+	private static final long BLOCK_FLUSH_DELAY = 1000;
+
 	/**
 	 * Total amount of tasks submitted to {@link #writingExecutorService}.
 	 */
@@ -118,6 +135,23 @@ public class StorageWriter implements IWriter {
 	 */
 	BlockingQueue<ISerializer> serializerQueue = new LinkedBlockingQueue<>();
 
+	/**
+	 * Queue for {@link CompressedBlockOutputStream}s that are available. Used only when the storage
+	 * is written in the block compressed format.
+	 */
+	private Queue<CompressedBlockOutputStream> blockOutputStreamQueue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Blocks currently being filled with the data, mapped by the channel ID. Used only when the
+	 * storage is written in the block compressed format.
+	 */
+	private ConcurrentHashMap<Integer, OpenBlock> openBlocks = new ConcurrentHashMap<>(32, 0.75f, 4);
+
+	/**
+	 * If the storage is written in the block compressed format.
+	 */
+	volatile boolean blockCompressed;
+
 	/**
 	 * {@link ExecutorService} for writing tasks.
 	 */
@@ -169,6 +203,11 @@ public class StorageWriter implements IWriter {
 	 */
 	private ScheduledFuture<?> checkWritingStatusFuture;
 
+	/**
+	 * Future for the task of writing the open blocks that are not full.
+	 */
+	private ScheduledFuture<?> flushBlocksFuture;
+
 	/**
 	 * The set of the currently active writing tasks represented by {@link FutureTask}. When this
 	 * set is empty, it means that no writing tasks is currently being executed.
@@ -254,6 +293,96 @@ public class StorageWriter implements IWriter {
 		}
 	}
 
+	/**
+	 * Processes the write of the data provided in chunks, with the bounded amount of pending
+	 * writing tasks. After each chunk is processed, this method waits until there is not more than
+	 * given amount of pending writing tasks created by it. Thus, the next chunk is requested from
+	 * the iterator only when the writing has caught up, so that the memory used for the writing is
+	 * bounded no matter how much data is written in total. Method returns only when all data is
+	 * written.
+	 * <p>
+	 * The processors are prepared once before the first chunk and flushed once after the last
+	 * chunk, so processors that aggregate data work over all chunks in the same way as when
+	 * {@link #process(Collection, Collection)} would be called with all data.
+	 *
+	 * @param chunks
+	 *            Iterator providing the chunks of data to write. Next chunk will be requested only
+	 *            when the previous one has been processed.
+	 * @param processors
+	 *            List of processors. Can be null, and in this case direct write will be executed.
+	 * @param maxPendingWrites
+	 *            Maximum amount of pending writing tasks before next chunk is processed.
+	 */
+	public void processChunksSynchronously(Iterator<? extends Collection<? extends DefaultData>> chunks, Collection<AbstractDataProcessor> processors, int maxPendingWrites) {
+		boolean withProcessors = (null != processors) && !processors.isEmpty();
+		List<Future<Void>> pendingWrites = new ArrayList<>();
+
+		if (withProcessors) {
+			for (AbstractDataProcessor processor : processors) {
+				processor.setStorageWriter(this);
+			}
+		}
+
+		try {
+			while (chunks.hasNext()) {
+				for (DefaultData defaultData : chunks.next()) {
+					if (withProcessors) {
+						for (AbstractDataProcessor processor : processors) {
+							pendingWrites.addAll(processor.process(defaultData));
+						}
+					} else {
+						pendingWrites.add(this.write(defaultData));
+					}
+				}
+				waitForPendingWrites(pendingWrites, maxPendingWrites);
+			}
+		} finally {
+			if (withProcessors) {
+				for (AbstractDataProcessor processor : processors) {
+					pendingWrites.addAll(processor.flush());
+					processor.setStorageWriter(null);
+				}
+			}
+		}
+
+		waitForPendingWrites(pendingWrites, 0);
+	}
+
+	/**
+	 * Waits until the amount of not finished futures in the given list is not bigger than the
+	 * given maximum. Finished futures are removed from the list. Waiting is done on the oldest
+	 * futures first, as they are expected to be finished first.
+	 *
+	 * @param pendingWrites
+	 *            Futures of the writing tasks.
+	 * @param maxPendingWrites
+	 *            Maximum amount of futures that can stay not finished.
+	 */
+	private void waitForPendingWrites(List<Future<Void>> pendingWrites, int maxPendingWrites) {
+		for (Iterator<Future<Void>> it = pendingWrites.iterator(); it.hasNext();) {
+			Future<Void> future = it.next();
+			// null is returned by the write when writing is not active
+			if ((null == future) || future.isDone()) {
+				it.remove();
+			}
+		}
+
+		int toWait = pendingWrites.size() - maxPendingWrites;
+		if (toWait > 0) {
+			List<Future<Void>> oldest = pendingWrites.subList(0, toWait);
+			for (Future<Void> future : oldest) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.interrupted();
+				} catch (ExecutionException e) {
+					log.warn("Writing task failed during the chunked write.", e.getCause());
+				}
+			}
+			oldest.clear();
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -305,6 +434,7 @@ public class StorageWriter implements IWriter {
 	public synchronized boolean prepareForWrite(StorageData storageData) throws IOException {
 		if (!writingOn) {
 			this.storageData = storageData;
+			blockCompressed = storageData.isBlockCompressed();
 			writingFolderPath = storageManager.getStoragePath(storageData);
 			// if path does not exists create
 			if (!Files.exists(writingFolderPath)) {
@@ -324,6 +454,22 @@ public class StorageWriter implements IWriter {
 				}
 			}, 30, 30, TimeUnit.SECONDS);
 
+			// write not full blocks periodically, executed by the writing executor so that the
+			// executor shutdown waits for it
+			if (blockCompressed) {
+				flushBlocksFuture = writingExecutorService.scheduleWithFixedDelay(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							flushOpenBlocks(false);
+						} catch (Throwable t) { // NOPMD
+							// the executor service would stop the rescheduling
+							log.error("Unknown exception occurred during writing of the open blocks", t);
+						}
+					}
+				}, BLOCK_FLUSH_DELAY, BLOCK_FLUSH_DELAY, TimeUnit.MILLISECONDS);
+			}
+
 			for (AbstractWriteDataProcessor processor : writeDataProcessors) {
 				try {
 					processor.onPrepare(storageManager, this, storageData);
@@ -407,8 +553,20 @@ public class StorageWriter implements IWriter {
 			waitForPendingWritingTasks();
 
 			// shut the executor
+			if (null != flushBlocksFuture) {
+				flushBlocksFuture.cancel(false);
+			}
 			shutdownWritingExecutorService();
 
+			// write the not full blocks, so that the indexing tree handler can finish
+			flushOpenBlocks(true);
+
+			// release the compression resources
+			CompressedBlockOutputStream blockOutputStream;
+			while (null != (blockOutputStream = blockOutputStreamQueue.poll())) {
+				blockOutputStream.close();
+			}
+
 			if (doFinalize) {
 				finalizeWrite();
 			}
@@ -578,6 +736,16 @@ public class StorageWriter implements IWriter {
 		 */
 		private Map<?, ?> kryoPreferences;
 
+		/**
+		 * Offset of the data in the uncompressed block, when the storage is block compressed.
+		 */
+		private int blockDataOffset;
+
+		/**
+		 * Size of the data in the uncompressed block, when the storage is block compressed.
+		 */
+		private int blockDataSize;
+
 		/**
 		 * Default constructor. Object to be written.
 		 *
@@ -642,6 +810,21 @@ public class StorageWriter implements IWriter {
 					return;
 				}
 
+				if (blockCompressed) {
+					// data is written later together with the other data of the channel block
+					try {
+						addToOpenBlock(this, channelId, data, serializer);
+					} catch (SerializationException e) {
+						indexingTreeHandler.writeFailed(this);
+						if (log.isWarnEnabled()) {
+							log.warn("Serialization for the object " + data + " failed. Data will be skipped.", e);
+						}
+					} finally {
+						serializerQueue.add(serializer);
+					}
+					return;
+				}
+
 				extendedByteBufferOutputStream = streamProvider.getExtendedByteBufferOutputStream();
 				try {
 					Output output = new Output(extendedByteBufferOutputStream);
@@ -650,13 +833,13 @@ public class StorageWriter implements IWriter {
 				} catch (SerializationException e) {
 					extendedByteBufferOutputStream.close();
 					indexingTreeHandler.writeFailed(this);
-					serializerQueue.add(serializer);
 					if (log.isWarnEnabled()) {
 						log.warn("Serialization for the object " + data + " failed. Data will be skipped.", e);
 					}
 					return;
+				} finally {
+					serializerQueue.add(serializer);
 				}
-				serializerQueue.add(serializer);
 
 				// final reference needed because of the runnable
 				int buffersToWrite = extendedByteBufferOutputStream.getBuffersCount();
@@ -706,6 +889,290 @@ public class StorageWriter implements IWriter {
 
 	}
 
+	/**
+	 * Serializes the data of the write task to the open block of the channel. If the block gets
+	 * full it is written.
+	 *
+	 * @param writeTask
+	 *            Write task the data belongs to.
+	 * @param channelId
+	 *            Channel to write to.
+	 * @param data
+	 *            Data to write.
+	 * @param serializer
+	 *            Serializer to use.
+	 * @throws SerializationException
+	 *             If serialization fails. The data is then not added to the block.
+	 */
+	private void addToOpenBlock(WriteTask writeTask, int channelId, DefaultData data, ISerializer serializer) throws SerializationException {
+		Integer channelKey = Integer.valueOf(channelId);
+		OpenBlock fullBlock = null;
+		while (true) {
+			OpenBlock openBlock = openBlocks.get(channelKey);
+			if (null == openBlock) {
+				openBlock = new OpenBlock(channelId);
+				OpenBlock existing = openBlocks.putIfAbsent(channelKey, openBlock);
+				if (null != existing) {
+					openBlock = existing;
+				}
+			}
+			synchronized (openBlock) {
+				if (openBlock.isClosed()) {
+					// block was written in the meantime
+					continue;
+				}
+				openBlock.add(writeTask, data, serializer);
+				if (openBlock.getDataSize() >= BLOCK_SIZE) {
+					openBlock.close();
+					openBlocks.remove(channelKey, openBlock);
+					fullBlock = openBlock;
+				}
+				break;
+			}
+		}
+
+		if (null != fullBlock) {
+			writeBlock(fullBlock);
+		}
+	}
+
+	/**
+	 * Writes the open blocks.
+	 *
+	 * @param all
+	 *            If <code>true</code> all blocks are written, otherwise only the blocks opened more
+	 *            than {@value #BLOCK_FLUSH_DELAY} milliseconds ago.
+	 */
+	private void flushOpenBlocks(boolean all) {
+		long openedBefore = System.currentTimeMillis() - BLOCK_FLUSH_DELAY;
+		for (OpenBlock openBlock : openBlocks.values()) {
+			if (!all && (openBlock.getOpenTime() > openedBefore)) {
+				continue;
+			}
+			synchronized (openBlock) {
+				if (openBlock.isClosed()) {
+					continue;
+				}
+				openBlock.close();
+				openBlocks.remove(Integer.valueOf(openBlock.getChannelId()), openBlock);
+			}
+			writeBlock(openBlock);
+		}
+	}
+
+	/**
+	 * Compresses the closed block and writes it to the disk. When the write is done all write
+	 * tasks of the block are reported to the {@link #indexingTreeHandler}.
+	 *
+	 * @param block
+	 *            Block to write.
+	 */
+	private void writeBlock(OpenBlock block) {
+		final List<WriteTask> writeTasks = block.getWriteTasks();
+		CompressedBlockOutputStream blockOutputStream = blockOutputStreamQueue.poll();
+		if (null == blockOutputStream) {
+			blockOutputStream = new CompressedBlockOutputStream();
+		}
+		ExtendedByteBufferOutputStream extendedByteBufferOutputStream = null;
+		try {
+			extendedByteBufferOutputStream = streamProvider.getExtendedByteBufferOutputStream();
+			block.writeTo(blockOutputStream);
+			blockOutputStream.writeBlock(extendedByteBufferOutputStream);
+			extendedByteBufferOutputStream.flush(false);
+
+			// final reference needed because of the runnable
+			int buffersToWrite = extendedByteBufferOutputStream.getBuffersCount();
+			final ExtendedByteBufferOutputStream finalOutputStream = extendedByteBufferOutputStream;
+			WriteReadCompletionRunnable completionRunnable = new WriteReadCompletionRunnable(buffersToWrite) {
+				@Override
+				public void run() {
+					finalOutputStream.close();
+					for (WriteTask writeTask : writeTasks) {
+						if (isCompleted()) {
+							indexingTreeHandler.writeSuccessful(writeTask, getAttemptedWriteReadPosition(), getAttemptedWriteReadSize(), writeTask.blockDataOffset, writeTask.blockDataSize);
+						} else {
+							indexingTreeHandler.writeFailed(writeTask);
+						}
+					}
+				}
+			};
+
+			// write to disk
+			Path channelPath = storageManager.getChannelPath(storageData, block.getChannelId());
+			openedChannelPaths.add(channelPath);
+			// position and size will be set in the completion runnable
+			writingChannelManager.write(extendedByteBufferOutputStream, channelPath, completionRunnable);
+		} catch (Throwable t) { // NOPMD
+			// catch any exception, as the tasks of the block would otherwise stay in process
+			if (null != extendedByteBufferOutputStream) {
+				extendedByteBufferOutputStream.close();
+			}
+			for (WriteTask writeTask : writeTasks) {
+				indexingTreeHandler.writeFailed(writeTask);
+			}
+			log.error("Exception occurred while attempting to write compressed block to disk", t);
+		} finally {
+			blockOutputStream.reset();
+			blockOutputStreamQueue.add(blockOutputStream);
+		}
+	}
+
+	/**
+	 * Block of one channel that is being filled with the serialized data of the write tasks. The
+	 * block is not thread safe, access must be synchronized on the block.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static class OpenBlock {
+
+		/**
+		 * Channel ID.
+		 */
+		private final int channelId;
+
+		/**
+		 * Time the block was opened.
+		 */
+		private final long openTime = System.currentTimeMillis();
+
+		/**
+		 * Serialized data of the write tasks.
+		 */
+		private final BlockData blockData = new BlockData();
+
+		/**
+		 * Write tasks which data is in the block.
+		 */
+		private final List<WriteTask> writeTasks = new ArrayList<>();
+
+		/**
+		 * If block is closed and no data can be added.
+		 */
+		private boolean closed;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param channelId
+		 *            Channel ID.
+		 */
+		OpenBlock(int channelId) {
+			this.channelId = channelId;
+		}
+
+		/**
+		 * Serializes the data of the write task to the block and records the location of the data
+		 * in the write task.
+		 *
+		 * @param writeTask
+		 *            Write task.
+		 * @param data
+		 *            Data to serialize.
+		 * @param serializer
+		 *            Serializer to use.
+		 * @throws SerializationException
+		 *             If serialization fails. The block is then left unchanged.
+		 */
+		void add(WriteTask writeTask, DefaultData data, ISerializer serializer) throws SerializationException {
+			int offset = blockData.size();
+			boolean added = false;
+			try {
+				serializer.serialize(data, new Output(blockData), writeTask.kryoPreferences);
+				added = true;
+			} finally {
+				if (!added) {
+					blockData.truncate(offset);
+				}
+			}
+			writeTask.blockDataOffset = offset;
+			writeTask.blockDataSize = blockData.size() - offset;
+			writeTasks.add(writeTask);
+		}
+
+		/**
+		 * Writes the block data to the given stream.
+		 *
+		 * @param outputStream
+		 *            Stream to write to.
+		 * @throws IOException
+		 *             If writing fails.
+		 */
+		void writeTo(OutputStream outputStream) throws IOException {
+			blockData.writeTo(outputStream);
+		}
+
+		/**
+		 * Closes the block.
+		 */
+		void close() {
+			closed = true;
+		}
+
+		/**
+		 * @return If block is closed.
+		 */
+		boolean isClosed() {
+			return closed;
+		}
+
+		/**
+		 * @return Size of the data in the block.
+		 */
+		int getDataSize() {
+			return blockData.size();
+		}
+
+		/**
+		 * @return Channel ID.
+		 */
+		int getChannelId() {
+			return channelId;
+		}
+
+		/**
+		 * @return Time the block was opened.
+		 */
+		long getOpenTime() {
+			return openTime;
+		}
+
+		/**
+		 * @return Write tasks which data is in the block.
+		 */
+		List<WriteTask> getWriteTasks() {
+			return writeTasks;
+		}
+
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream} that can discard the bytes written after the given size.
+	 *
+	 * @author Ivan Senic
+	 *
+	 */
+	private static class BlockData extends ByteArrayOutputStream {
+
+		/**
+		 * Default constructor.
+		 */
+		BlockData() {
+			super(BLOCK_SIZE + (BLOCK_SIZE >> 2));
+		}
+
+		/**
+		 * Discards all bytes after the given size.
+		 *
+		 * @param size
+		 *            Size to truncate to.
+		 */
+		synchronized void truncate(int size) {
+			count = size;
+		}
+
+	}
+
 	/**
 	 * Writing future task that will remove itself from the {@link StorageWriter#activeWritingTasks}
 	 * set after the completion of runnable it has been assigned.
@@ -0,0 +1,335 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageDescriptor;
+
+/**
+ * Reader for the data described by {@link IStorageDescriptor}s in the block compressed storage
+ * files written with the {@link CompressedBlockOutputStream}.
+ * <p>
+ * A descriptor either points to one object in a block (the block data size of the descriptor is
+ * not zero), or to the complete data of one or more consecutive blocks. The reader first provides
+ * the ranges of the files that hold all needed blocks via {@link #getReadRanges()}. When the
+ * stream with the bytes of one or more ranges is opened with {@link #open(InputStream, List)},
+ * every block is decompressed only once and {@link #next()} moves to the next part of the block
+ * data to deserialize: the complete block data if block is covered by a descriptor pointing to
+ * complete blocks, otherwise the data of each descriptor pointing to the block.
+ * <p>
+ * The {@link #close()} method must be called after the reader has been used, in order to release
+ * the native resources of the decompression.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class CompressedBlockDataReader implements Closeable {
+
+	/**
+	 * Comparator ordering descriptors by channel, position and offset in the block.
+	 */
+	private static final Comparator<IStorageDescriptor> DESCRIPTOR_COMPARATOR = new Comparator<IStorageDescriptor>() {
+
+		@Override
+		public int compare(IStorageDescriptor o1, IStorageDescriptor o2) {
+			if (o1.getChannelId() != o2.getChannelId()) {
+				return Integer.compare(o1.getChannelId(), o2.getChannelId());
+			}
+			if (o1.getPosition() != o2.getPosition()) {
+				return Long.compare(o1.getPosition(), o2.getPosition());
+			}
+			return Integer.compare(o1.getBlockDataOffset(), o2.getBlockDataOffset());
+		}
+	};
+
+	/**
+	 * Ranges of the files that need to be read.
+	 */
+	private final List<IStorageDescriptor> readRanges = new ArrayList<>();
+
+	/**
+	 * Descriptors pointing to the data in blocks, mapped by channel and block position.
+	 */
+	private final Map<Integer, Map<Long, List<IStorageDescriptor>>> blockDataDescriptors = new HashMap<>();
+
+	/**
+	 * Descriptors pointing to the complete blocks, mapped by channel.
+	 */
+	private final Map<Integer, List<IStorageDescriptor>> completeBlocksDescriptors = new HashMap<>();
+
+	/**
+	 * Stream of the blocks currently read.
+	 */
+	private CompressedBlockInputStream blockInputStream;
+
+	/**
+	 * Iterator over the ranges of the currently read stream.
+	 */
+	private Iterator<IStorageDescriptor> rangeIterator;
+
+	/**
+	 * Range currently read.
+	 */
+	private IStorageDescriptor currentRange;
+
+	/**
+	 * Position of the next block in the file.
+	 */
+	private long nextBlockPosition;
+
+	/**
+	 * End position of the current range in the file.
+	 */
+	private long rangeEnd;
+
+	/**
+	 * If the complete data of current block still needs to be provided.
+	 */
+	private boolean completeBlockPending;
+
+	/**
+	 * Descriptors pointing to the data in the current block.
+	 */
+	private List<IStorageDescriptor> currentBlockDescriptors = Collections.emptyList();
+
+	/**
+	 * Index of the next descriptor to provide in {@link #currentBlockDescriptors}.
+	 */
+	private int currentBlockDescriptorIndex;
+
+	/**
+	 * Offset of the current data in the {@link #getData()} array.
+	 */
+	private int offset;
+
+	/**
+	 * Length of the current data.
+	 */
+	private int length;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param descriptors
+	 *            Descriptors describing the data to read.
+	 */
+	public CompressedBlockDataReader(List<IStorageDescriptor> descriptors) {
+		List<IStorageDescriptor> sorted = new ArrayList<>(descriptors);
+		Collections.sort(sorted, DESCRIPTOR_COMPARATOR);
+
+		StorageDescriptor readRange = null;
+		for (IStorageDescriptor descriptor : sorted) {
+			Integer channelId = Integer.valueOf(descriptor.getChannelId());
+			if (0 != descriptor.getBlockDataSize()) {
+				Map<Long, List<IStorageDescriptor>> channelDescriptors = blockDataDescriptors.get(channelId);
+				if (null == channelDescriptors) {
+					channelDescriptors = new HashMap<>();
+					blockDataDescriptors.put(channelId, channelDescriptors);
+				}
+				Long position = Long.valueOf(descriptor.getPosition());
+				List<IStorageDescriptor> blockDescriptors = channelDescriptors.get(position);
+				if (null == blockDescriptors) {
+					blockDescriptors = new ArrayList<>(1);
+					channelDescriptors.put(position, blockDescriptors);
+				}
+				blockDescriptors.add(descriptor);
+			} else {
+				List<IStorageDescriptor> channelDescriptors = completeBlocksDescriptors.get(channelId);
+				if (null == channelDescriptors) {
+					channelDescriptors = new ArrayList<>();
+					completeBlocksDescriptors.put(channelId, channelDescriptors);
+				}
+				channelDescriptors.add(descriptor);
+			}
+
+			// range covers all overlapping or adjacent blocks
+			long end = descriptor.getPosition() + descriptor.getSize();
+			if ((null != readRange) && (readRange.getChannelId() == descriptor.getChannelId()) && (descriptor.getPosition() <= (readRange.getPosition() + readRange.getSize()))) {
+				if (end > (readRange.getPosition() + readRange.getSize())) {
+					readRange.setPositionAndSize(readRange.getPosition(), end - readRange.getPosition());
+				}
+			} else {
+				readRange = new StorageDescriptor(descriptor.getChannelId(), descriptor.getPosition(), descriptor.getSize());
+				readRanges.add(readRange);
+			}
+		}
+	}
+
+	/**
+	 * Returns the ranges of the files holding all the blocks the descriptors point to, sorted by
+	 * channel and position. Each block is contained in exactly one range.
+	 *
+	 * @return Returns the ranges of the files holding all the blocks the descriptors point to.
+	 */
+	public List<IStorageDescriptor> getReadRanges() {
+		return Collections.unmodifiableList(readRanges);
+	}
+
+	/**
+	 * Opens the stream for reading. The stream must provide bytes of the given ranges one after
+	 * another. Any previously opened stream is closed.
+	 *
+	 * @param inputStream
+	 *            Stream providing the bytes of the ranges.
+	 * @param ranges
+	 *            Ranges contained in the stream, must be from the {@link #getReadRanges()}.
+	 * @throws IOException
+	 *             If closing of the previous stream fails.
+	 */
+	public void open(InputStream inputStream, List<IStorageDescriptor> ranges) throws IOException {
+		close();
+		blockInputStream = new CompressedBlockInputStream(inputStream);
+		rangeIterator = ranges.iterator();
+		currentRange = null;
+		nextBlockPosition = 0;
+		rangeEnd = 0;
+		completeBlockPending = false;
+		currentBlockDescriptors = Collections.emptyList();
+		currentBlockDescriptorIndex = 0;
+	}
+
+	/**
+	 * Moves to the next data to be deserialized. The data is then available in the
+	 * {@link #getData()} array, starting at {@link #getOffset()} with the length of
+	 * {@link #getLength()}.
+	 *
+	 * @return <code>true</code> if there is data to be deserialized, <code>false</code> if all data
+	 *         of the opened stream has been provided.
+	 * @throws IOException
+	 *             If reading fails, the stream ends before all blocks of the range are read or the
+	 *             descriptor points outside of the block.
+	 */
+	public boolean next() throws IOException {
+		while (true) {
+			if (completeBlockPending) {
+				completeBlockPending = false;
+				offset = 0;
+				length = blockInputStream.getBlockSize();
+				return true;
+			}
+			if (currentBlockDescriptorIndex < currentBlockDescriptors.size()) {
+				IStorageDescriptor descriptor = currentBlockDescriptors.get(currentBlockDescriptorIndex++);
+				offset = descriptor.getBlockDataOffset();
+				length = descriptor.getBlockDataSize();
+				if ((offset < 0) || ((offset + length) > blockInputStream.getBlockSize())) {
+					throw new IOException("Descriptor " + descriptor + " points outside of the block with size " + blockInputStream.getBlockSize() + ".");
+				}
+				return true;
+			}
+			if (!readNextBlock()) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Returns the array holding the current data. Note that the array is reused for the next block.
+	 *
+	 * @return Returns the array holding the current data.
+	 */
+	public byte[] getData() {
+		return blockInputStream.getBlock();
+	}
+
+	/**
+	 * Gets {@link #offset}.
+	 *
+	 * @return {@link #offset}
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Gets {@link #length}.
+	 *
+	 * @return {@link #length}
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		if (null != blockInputStream) {
+			blockInputStream.close();
+			blockInputStream = null;
+		}
+	}
+
+	/**
+	 * Reads the next block of the opened ranges and finds the descriptors pointing to it.
+	 *
+	 * @return <code>true</code> if block was read, <code>false</code> if all ranges have been read.
+	 * @throws IOException
+	 *             If reading fails or the stream ends before all blocks of the range are read.
+	 */
+	private boolean readNextBlock() throws IOException {
+		while (nextBlockPosition >= rangeEnd) {
+			if (!rangeIterator.hasNext()) {
+				return false;
+			}
+			currentRange = rangeIterator.next();
+			nextBlockPosition = currentRange.getPosition();
+			rangeEnd = currentRange.getPosition() + currentRange.getSize();
+		}
+
+		long blockPosition = nextBlockPosition;
+		int blockSize = blockInputStream.nextBlock();
+		if (blockSize < 0) {
+			throw new EOFException("End of stream reached before all blocks of the range " + currentRange + " were read.");
+		}
+		nextBlockPosition += blockSize;
+
+		Integer channelId = Integer.valueOf(currentRange.getChannelId());
+		completeBlockPending = isCoveredByCompleteBlocksDescriptor(channelId, blockPosition);
+		currentBlockDescriptorIndex = 0;
+		currentBlockDescriptors = Collections.emptyList();
+		if (!completeBlockPending) {
+			Map<Long, List<IStorageDescriptor>> channelDescriptors = blockDataDescriptors.get(channelId);
+			if (null != channelDescriptors) {
+				List<IStorageDescriptor> blockDescriptors = channelDescriptors.get(Long.valueOf(blockPosition));
+				if (null != blockDescriptors) {
+					currentBlockDescriptors = blockDescriptors;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the block at the given position is covered by the descriptor pointing to the
+	 * complete blocks.
+	 *
+	 * @param channelId
+	 *            Channel of the block.
+	 * @param blockPosition
+	 *            Position of the block.
+	 * @return <code>true</code> if the complete data of the block is needed.
+	 */
+	private boolean isCoveredByCompleteBlocksDescriptor(Integer channelId, long blockPosition) {
+		List<IStorageDescriptor> channelDescriptors = completeBlocksDescriptors.get(channelId);
+		if (null != channelDescriptors) {
+			for (IStorageDescriptor descriptor : channelDescriptors) {
+				if ((descriptor.getPosition() <= blockPosition) && (blockPosition < (descriptor.getPosition() + descriptor.getSize()))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
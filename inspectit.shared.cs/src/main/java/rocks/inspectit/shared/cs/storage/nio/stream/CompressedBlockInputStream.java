@@ -0,0 +1,267 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Input stream that reads the blocks written by the {@link CompressedBlockOutputStream} from the
+ * wrapped stream and provides the original data. The wrapped stream must be positioned at the
+ * start of a block and contain only complete blocks.
+ * <p>
+ * The {@link #close()} method must be called after the stream has been used, in order to release
+ * the native resources of the {@link Inflater}. Closing this stream closes the wrapped stream as
+ * well.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class CompressedBlockInputStream extends InputStream {
+
+	/**
+	 * Wrapped stream.
+	 */
+	private final InputStream inputStream;
+
+	/**
+	 * Inflater used for decompression.
+	 */
+	private final Inflater inflater = new Inflater(true);
+
+	/**
+	 * Header bytes.
+	 */
+	private final byte[] header = new byte[CompressedBlockOutputStream.HEADER_SIZE];
+
+	/**
+	 * Data of the current block.
+	 */
+	private byte[] block = new byte[0];
+
+	/**
+	 * Compressed data of the current block.
+	 */
+	private byte[] compressedBlock = new byte[0];
+
+	/**
+	 * Read position in the {@link #block}.
+	 */
+	private int position;
+
+	/**
+	 * Amount of valid bytes in the {@link #block}.
+	 */
+	private int limit;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param inputStream
+	 *            Stream to read the blocks from.
+	 */
+	public CompressedBlockInputStream(InputStream inputStream) {
+		this.inputStream = inputStream;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException {
+		if ((position >= limit) && !readBlock()) {
+			return -1;
+		}
+		return block[position++] & 0xFF;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (0 == len) {
+			return 0;
+		}
+		if ((position >= limit) && !readBlock()) {
+			return -1;
+		}
+		int read = Math.min(len, limit - position);
+		System.arraycopy(block, position, b, off, read);
+		position += read;
+		return read;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the current block is consumed, returns the available bytes of the wrapped stream, as any
+	 * byte there denotes that at least one more block is available.
+	 */
+	@Override
+	public int available() throws IOException {
+		if (position < limit) {
+			return limit - position;
+		}
+		return inputStream.available();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		inputStream.close();
+	}
+
+	/**
+	 * Reads the next block from the wrapped stream, discarding the not read data of the current
+	 * block. After the call the complete data of the block is available via {@link #getBlock()}
+	 * and reading continues from the start of the block.
+	 *
+	 * @return Size of the block in the wrapped stream including the header, or <code>-1</code> if
+	 *         the end of the wrapped stream has been reached.
+	 * @throws IOException
+	 *             If reading fails or the block is corrupted.
+	 */
+	public int nextBlock() throws IOException {
+		int first = inputStream.read();
+		if (first < 0) {
+			return -1;
+		}
+		header[0] = (byte) first;
+		readFully(header, 1, header.length - 1);
+
+		int payloadSize = getInt(header, 1);
+		int originalSize = getInt(header, 5);
+		if ((payloadSize < 0) || (originalSize < 0) || ((CompressedBlockOutputStream.BLOCK_STORED == header[0]) && (payloadSize != originalSize))) {
+			throw new IOException("Invalid compressed block header, payload size " + payloadSize + " and original size " + originalSize + ".");
+		}
+		if (block.length < originalSize) {
+			block = new byte[originalSize];
+		}
+
+		if (CompressedBlockOutputStream.BLOCK_STORED == header[0]) {
+			readFully(block, 0, payloadSize);
+		} else if (CompressedBlockOutputStream.BLOCK_DEFLATE == header[0]) {
+			if (compressedBlock.length < payloadSize) {
+				compressedBlock = new byte[payloadSize];
+			}
+			readFully(compressedBlock, 0, payloadSize);
+			inflate(payloadSize, originalSize);
+		} else {
+			throw new IOException("Unknown compressed block type " + header[0] + ".");
+		}
+
+		position = 0;
+		limit = originalSize;
+		return CompressedBlockOutputStream.HEADER_SIZE + payloadSize;
+	}
+
+	/**
+	 * Returns the array holding the data of the current block. Only the first
+	 * {@link #getBlockSize()} bytes are valid. Note that the array is reused when the next block is
+	 * read.
+	 *
+	 * @return Returns the array holding the data of the current block.
+	 */
+	public byte[] getBlock() {
+		return block;
+	}
+
+	/**
+	 * Returns the size of the uncompressed data of the current block.
+	 *
+	 * @return Returns the size of the uncompressed data of the current block.
+	 */
+	public int getBlockSize() {
+		return limit;
+	}
+
+	/**
+	 * Reads the next not empty block from the wrapped stream.
+	 *
+	 * @return <code>true</code> if block was read, <code>false</code> if the end of the wrapped
+	 *         stream has been reached.
+	 * @throws IOException
+	 *             If reading fails or the block is corrupted.
+	 */
+	private boolean readBlock() throws IOException {
+		// loop as empty blocks are possible
+		do {
+			if (nextBlock() < 0) {
+				return false;
+			}
+		} while (0 == limit);
+		return true;
+	}
+
+	/**
+	 * Inflates the {@link #compressedBlock} to the {@link #block}.
+	 *
+	 * @param payloadSize
+	 *            Size of the compressed data.
+	 * @param originalSize
+	 *            Expected size of the inflated data.
+	 * @throws IOException
+	 *             If data can not be inflated.
+	 */
+	private void inflate(int payloadSize, int originalSize) throws IOException {
+		inflater.reset();
+		inflater.setInput(compressedBlock, 0, payloadSize);
+		int inflated = 0;
+		try {
+			while (inflated < originalSize) {
+				int count = inflater.inflate(block, inflated, originalSize - inflated);
+				if ((0 == count) && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Compressed block can not be inflated.", e);
+		}
+		if (inflated != originalSize) {
+			throw new IOException("Compressed block inflated to " + inflated + " bytes, expected " + originalSize + ".");
+		}
+	}
+
+	/**
+	 * Reads exactly the given amount of bytes from the wrapped stream.
+	 *
+	 * @param bytes
+	 *            Array to read to.
+	 * @param offset
+	 *            Offset in the array.
+	 * @param length
+	 *            Amount of bytes to read.
+	 * @throws IOException
+	 *             If reading fails or the end of stream is reached before all bytes are read.
+	 */
+	private void readFully(byte[] bytes, int offset, int length) throws IOException {
+		int read = 0;
+		while (read < length) {
+			int count = inputStream.read(bytes, offset + read, length - read);
+			if (count < 0) {
+				throw new EOFException("End of stream reached in the middle of the compressed block.");
+			}
+			read += count;
+		}
+	}
+
+	/**
+	 * Gets the big-endian integer from the array.
+	 *
+	 * @param bytes
+	 *            Array.
+	 * @param offset
+	 *            Offset in array.
+	 * @return Integer value.
+	 */
+	private static int getInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+
+}
@@ -0,0 +1,230 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Output stream that collects all bytes written to it and writes them as one compressed block to
+ * the given {@link OutputStream} when {@link #writeBlock(OutputStream)} is called.
+ * <p>
+ * Each block is self-contained and starts with a header of {@value #HEADER_SIZE} bytes: one byte
+ * describing the block type ({@link #BLOCK_STORED} or {@link #BLOCK_DEFLATE}), followed by the
+ * size of the block payload and the size of the original data, both as big-endian integers. If the
+ * compression does not reduce the size of the data, the block is stored uncompressed. Since blocks
+ * are independent, any sequence of complete blocks can be read with the
+ * {@link CompressedBlockInputStream}.
+ * <p>
+ * The stream is not thread safe and is meant to be reused for writing many blocks by one thread at
+ * a time. The {@link #close()} method must be called when the stream is not needed any more, in
+ * order to release the native resources of the {@link Deflater}.
+ *
+ * @author Ivan Senic
+ *
+ */
+public class CompressedBlockOutputStream extends OutputStream {
+
+	/**
+	 * Size of the block header in bytes.
+	 */
+	public static final int HEADER_SIZE = 9;
+
+	/**
+	 * Block type for the not compressed data.
+	 */
+	public static final byte BLOCK_STORED = 0;
+
+	/**
+	 * Block type for the data compressed with the raw deflate.
+	 */
+	public static final byte BLOCK_DEFLATE = 1;
+
+	/**
+	 * Initial size of the buffers.
+	 */
+	private static final int INITIAL_BUFFER_SIZE = 4096;
+
+	/**
+	 * Max size of the buffers kept after the block has been written. Bigger buffers are released,
+	 * so that one big object does not occupy memory for the life time of the stream.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+	/**
+	 * Deflater used for compression.
+	 */
+	private final Deflater deflater;
+
+	/**
+	 * Buffer holding the data of the current block.
+	 */
+	private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+	/**
+	 * Buffer for the compressed data.
+	 */
+	private byte[] compressedBuffer = new byte[INITIAL_BUFFER_SIZE];
+
+	/**
+	 * Amount of bytes in the {@link #buffer}.
+	 */
+	private int count;
+
+	/**
+	 * Header bytes.
+	 */
+	private final byte[] header = new byte[HEADER_SIZE];
+
+	/**
+	 * Default constructor. Uses the {@link Deflater#BEST_SPEED} compression level.
+	 */
+	public CompressedBlockOutputStream() {
+		this(Deflater.BEST_SPEED);
+	}
+
+	/**
+	 * Secondary constructor.
+	 *
+	 * @param level
+	 *            Compression level of the {@link Deflater}.
+	 */
+	public CompressedBlockOutputStream(int level) {
+		this.deflater = new Deflater(level, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int b) throws IOException {
+		ensureCapacity(count + 1);
+		buffer[count++] = (byte) b;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureCapacity(count + len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	/**
+	 * Compresses all bytes written since the last block and writes them as one block to the given
+	 * output stream. Does nothing if no bytes were written.
+	 *
+	 * @param outputStream
+	 *            Stream to write the block to.
+	 * @return Total amount of bytes written to the given stream, including the header.
+	 * @throws IOException
+	 *             If writing to the given stream fails.
+	 */
+	public int writeBlock(OutputStream outputStream) throws IOException {
+		if (0 == count) {
+			return 0;
+		}
+
+		if (compressedBuffer.length < count) {
+			compressedBuffer = new byte[count];
+		}
+
+		deflater.reset();
+		deflater.setInput(buffer, 0, count);
+		deflater.finish();
+		int compressedCount = 0;
+		while (!deflater.finished() && (compressedCount < count)) {
+			compressedCount += deflater.deflate(compressedBuffer, compressedCount, count - compressedCount);
+		}
+
+		int written;
+		if (deflater.finished() && (compressedCount < count)) {
+			writeHeader(outputStream, BLOCK_DEFLATE, compressedCount, count);
+			outputStream.write(compressedBuffer, 0, compressedCount);
+			written = HEADER_SIZE + compressedCount;
+		} else {
+			writeHeader(outputStream, BLOCK_STORED, count, count);
+			outputStream.write(buffer, 0, count);
+			written = HEADER_SIZE + count;
+		}
+
+		count = 0;
+		if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+			buffer = new byte[INITIAL_BUFFER_SIZE];
+		}
+		if (compressedBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+			compressedBuffer = new byte[INITIAL_BUFFER_SIZE];
+		}
+		return written;
+	}
+
+	/**
+	 * Discards all bytes written since the last block.
+	 */
+	public void reset() {
+		count = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Releases the native resources of the deflater.
+	 */
+	@Override
+	public void close() {
+		deflater.end();
+	}
+
+	/**
+	 * Writes the block header.
+	 *
+	 * @param outputStream
+	 *            Stream to write to.
+	 * @param type
+	 *            Block type.
+	 * @param payloadSize
+	 *            Size of the payload following the header.
+	 * @param originalSize
+	 *            Size of the original data.
+	 * @throws IOException
+	 *             If writing fails.
+	 */
+	private void writeHeader(OutputStream outputStream, byte type, int payloadSize, int originalSize) throws IOException {
+		header[0] = type;
+		putInt(header, 1, payloadSize);
+		putInt(header, 5, originalSize);
+		outputStream.write(header, 0, HEADER_SIZE);
+	}
+
+	/**
+	 * Ensures that the {@link #buffer} can hold the given amount of bytes.
+	 *
+	 * @param capacity
+	 *            Needed capacity.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length << 1));
+		}
+	}
+
+	/**
+	 * Puts the integer in big-endian order to the array.
+	 *
+	 * @param bytes
+	 *            Array.
+	 * @param offset
+	 *            Offset in array.
+	 * @param value
+	 *            Value to put.
+	 */
+	private static void putInt(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) (value >>> 24);
+		bytes[offset + 1] = (byte) (value >>> 16);
+		bytes[offset + 2] = (byte) (value >>> 8);
+		bytes[offset + 3] = (byte) value;
+	}
+
+}
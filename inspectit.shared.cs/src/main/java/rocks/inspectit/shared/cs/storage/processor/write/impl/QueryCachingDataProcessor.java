@@ -11,6 +11,7 @@ import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.all.serializer.util.KryoSerializationPreferences;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.RollupAggregator;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageManager;
 import rocks.inspectit.shared.cs.storage.StorageWriter;
@@ -18,6 +19,11 @@ import rocks.inspectit.shared.cs.storage.processor.write.AbstractWriteDataProces
 
 /**
  * Processor that can create a cached result set for a storage with given query and aggregator.
+ * <p>
+ * If the processor is created with the {@link RollupAggregator}, the result set contains the
+ * aggregation for each rollup period and is cached under the
+ * {@link StorageManager#getRollupDataHash(IIndexQuery, RollupAggregator)}. Such rollups are used
+ * to answer the aggregation queries with the interval set without loading all the data.
  *
  * @author Ivan Senic
  *
@@ -96,7 +102,22 @@ public class QueryCachingDataProcessor<E extends DefaultData> extends AbstractWr
 		for (Map.Entry<Long, AggregationPerformer<E>> entry : aggregationPerformerMap.entrySet()) {
 			query.setPlatformIdent(entry.getKey().longValue());
 			AggregationPerformer<E> aggregationPerformer = entry.getValue();
-			storageManager.cacheStorageData(storageData, aggregationPerformer.getResultList(), storageManager.getCachedDataHash(query, aggregator));
+			storageManager.cacheStorageData(storageData, aggregationPerformer.getResultList(), getHash(storageManager));
+		}
+	}
+
+	/**
+	 * Returns the hash the results are cached with for the current query.
+	 *
+	 * @param storageManager
+	 *            {@link StorageManager}
+	 * @return Hash
+	 */
+	private int getHash(StorageManager storageManager) {
+		if (aggregator instanceof RollupAggregator) {
+			return storageManager.getRollupDataHash(query, (RollupAggregator<E>) aggregator);
+		} else {
+			return storageManager.getCachedDataHash(query, aggregator);
 		}
 	}
 
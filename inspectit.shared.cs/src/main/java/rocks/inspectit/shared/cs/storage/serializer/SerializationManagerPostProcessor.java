@@ -128,6 +128,9 @@ import rocks.inspectit.shared.cs.communication.comparator.SqlStatementDataCompar
 import rocks.inspectit.shared.cs.communication.comparator.TimerDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.data.cmr.Alert;
 import rocks.inspectit.shared.cs.communication.data.cmr.AlertClosingReason;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 import rocks.inspectit.shared.cs.communication.data.cmr.RecordingData;
 import rocks.inspectit.shared.cs.communication.data.cmr.WritingStatus;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.ExceptionDataAggregator;
@@ -460,6 +463,13 @@ public class SerializationManagerPostProcessor implements BeanPostProcessor {
 		// INSPECTIT-2458
 		kryo.register(RemoteAsyncApacheHttpClientSensorConfig.class, new FieldSerializer<>(kryo, RemoteAsyncApacheHttpClientSensorConfig.class), nextRegistrationId++);
 		kryo.register(ApacheClientExchangeHandlerSensorConfig.class, new FieldSerializer<>(kryo, ApacheClientExchangeHandlerSensorConfig.class), nextRegistrationId++);
+
+		// delta synchronization of the idents, not saved to disk
+		kryo.register(IdentsDelta.class, new FieldSerializer<IdentsDelta>(kryo, IdentsDelta.class), nextRegistrationId++);
+
+		// cursor based refresh of the buffer data, not saved to disk
+		kryo.register(BufferCursor.class, new FieldSerializer<BufferCursor>(kryo, BufferCursor.class), nextRegistrationId++);
+		kryo.register(BufferDelta.class, new FieldSerializer<BufferDelta<?>>(kryo, BufferDelta.class), nextRegistrationId++);
 	}
 
 }
@@ -22,13 +22,13 @@ import org.testng.annotations.Test;
 import rocks.inspectit.shared.all.cmr.model.MethodIdent;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.cmr.model.SensorTypeIdent;
-import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.communication.data.cmr.ApplicationData;
 import rocks.inspectit.shared.all.communication.data.cmr.BusinessTransactionData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.testbase.TestBase;
 import rocks.inspectit.shared.cs.cmr.service.IBusinessContextManagementService;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 
 /**
  * Testing the caching abilities of {@link CachedDataService}.
@@ -55,6 +55,8 @@ public class CachedDataServiceTest extends TestBase {
 	 * Tests the Idents cache.
 	 */
 	public static class IdentsCacheTest extends CachedDataServiceTest {
+		private static final long EPOCH = 1L;
+		private static final long VERSION = 5L;
 		private static final long PLATFORM_ID = 10L;
 		private PlatformIdent platformIdent;
 		private static final long METHOD_SENSOR_ID = 20L;
@@ -67,8 +69,9 @@ public class CachedDataServiceTest extends TestBase {
 			platformIdent = mock(PlatformIdent.class);
 			when(platformIdent.getId()).thenReturn(PLATFORM_ID);
 
-			when(globalDataAccessService.getAgentsOverview()).thenReturn(Collections.<PlatformIdent, AgentStatusData> singletonMap(platformIdent, null));
-			when(globalDataAccessService.getCompleteAgent(PLATFORM_ID)).thenReturn(platformIdent);
+			when(globalDataAccessService.getIdentsDelta(0L)).thenReturn(new IdentsDelta(EPOCH, VERSION, Collections.singletonList(PLATFORM_ID), Collections.<Long> emptyList()));
+			when(globalDataAccessService.getIdentsDelta(VERSION)).thenReturn(new IdentsDelta(EPOCH, VERSION, Collections.<Long> emptyList(), Collections.<Long> emptyList()));
+			when(globalDataAccessService.getCompleteAgents(Collections.singletonList(PLATFORM_ID))).thenReturn(Collections.singletonList(platformIdent));
 
 			methodIdent = mock(MethodIdent.class);
 			when(methodIdent.getId()).thenReturn(METHOD_SENSOR_ID);
@@ -85,20 +88,61 @@ public class CachedDataServiceTest extends TestBase {
 			assertThat(cachedDataService.getMethodIdentForId(METHOD_SENSOR_ID), is(equalTo(methodIdent)));
 			assertThat(cachedDataService.getSensorTypeIdentForId(SENSOR_ID), is(equalTo(sensorType)));
 
-			verify(globalDataAccessService, times(1)).getAgentsOverview();
-			verify(globalDataAccessService, times(1)).getCompleteAgent(PLATFORM_ID);
+			verify(globalDataAccessService, times(1)).getIdentsDelta(0L);
+			verify(globalDataAccessService, times(1)).getCompleteAgents(Collections.singletonList(PLATFORM_ID));
 			verifyNoMoreInteractions(globalDataAccessService);
 
 			assertThat(cachedDataService.getPlatformIdentForId(100L), is(nullValue()));
 			assertThat(cachedDataService.getMethodIdentForId(100L), is(nullValue()));
 			assertThat(cachedDataService.getSensorTypeIdentForId(100L), is(nullValue()));
 
-			verify(globalDataAccessService, times(4)).getAgentsOverview();
-			verify(globalDataAccessService, times(4)).getCompleteAgent(PLATFORM_ID);
+			// only deltas are loaded on a miss
+			verify(globalDataAccessService, times(3)).getIdentsDelta(VERSION);
+			verify(globalDataAccessService, times(1)).getCompleteAgents(Collections.singletonList(PLATFORM_ID));
 			verifyNoMoreInteractions(globalDataAccessService);
 
 			verifyNoMoreInteractions(businessContextService);
 		}
+
+		@Test
+		public void changedAgent() throws BusinessException {
+			cachedDataService.getPlatformIdentForId(PLATFORM_ID);
+			PlatformIdent changedPlatformIdent = mock(PlatformIdent.class);
+			when(changedPlatformIdent.getId()).thenReturn(PLATFORM_ID);
+			MethodIdent newMethodIdent = mock(MethodIdent.class);
+			when(newMethodIdent.getId()).thenReturn(100L);
+			when(changedPlatformIdent.getMethodIdents()).thenReturn(Collections.singleton(newMethodIdent));
+			when(globalDataAccessService.getIdentsDelta(VERSION)).thenReturn(new IdentsDelta(EPOCH, VERSION + 1, Collections.singletonList(PLATFORM_ID), Collections.<Long> emptyList()));
+			when(globalDataAccessService.getCompleteAgents(Collections.singletonList(PLATFORM_ID))).thenReturn(Collections.singletonList(changedPlatformIdent));
+
+			assertThat(cachedDataService.getMethodIdentForId(100L), is(equalTo(newMethodIdent)));
+			assertThat(cachedDataService.getPlatformIdentForId(PLATFORM_ID), is(equalTo(changedPlatformIdent)));
+			assertThat(cachedDataService.getMethodIdentForId(METHOD_SENSOR_ID), is(nullValue()));
+			assertThat(cachedDataService.getSensorTypeIdentForId(SENSOR_ID), is(nullValue()));
+		}
+
+		@Test
+		public void removedAgent() throws BusinessException {
+			cachedDataService.getPlatformIdentForId(PLATFORM_ID);
+			when(globalDataAccessService.getIdentsDelta(VERSION)).thenReturn(new IdentsDelta(EPOCH, VERSION + 1, Collections.<Long> emptyList(), Collections.singletonList(PLATFORM_ID)));
+
+			cachedDataService.triggerRefreshIdents();
+
+			assertThat(cachedDataService.getMethodIdentForId(METHOD_SENSOR_ID), is(nullValue()));
+			verify(globalDataAccessService, times(1)).getCompleteAgents(Collections.singletonList(PLATFORM_ID));
+		}
+
+		@Test
+		public void epochChanged() throws BusinessException {
+			cachedDataService.getPlatformIdentForId(PLATFORM_ID);
+			when(globalDataAccessService.getIdentsDelta(VERSION)).thenReturn(new IdentsDelta(EPOCH + 1, VERSION, Collections.<Long> emptyList(), Collections.<Long> emptyList()));
+
+			cachedDataService.triggerRefreshIdents();
+
+			verify(globalDataAccessService, times(2)).getIdentsDelta(0L);
+			verify(globalDataAccessService, times(2)).getCompleteAgents(Collections.singletonList(PLATFORM_ID));
+			assertThat(cachedDataService.getMethodIdentForId(METHOD_SENSOR_ID), is(equalTo(methodIdent)));
+		}
 	}
 
 	/**
@@ -0,0 +1,117 @@
+package rocks.inspectit.shared.cs.communication.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link JmxSensorValueDataHelper}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class JmxSensorValueDataHelperTest extends TestBase {
+
+	public static class FillGaps extends JmxSensorValueDataHelperTest {
+
+		@Test
+		public void gapsFilled() {
+			JmxSensorValueData first = createValue("1", 1000L);
+			JmxSensorValueData second = createValue("2", 4000L);
+
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(Arrays.asList(second, first), null, new Date(0L), new Date(7000L), 1000L, 10000L);
+
+			assertThat(times(result), contains(1000L, 2000L, 3000L, 4000L, 5000L, 6000L, 7000L));
+			assertThat(values(result), contains("1", "1", "1", "2", "2", "2", "2"));
+			assertThat(result.get(0), is(sameInstance(first)));
+			assertThat(result.get(3), is(sameInstance(second)));
+		}
+
+		@Test
+		public void previousCarriedIntoTimeFrame() {
+			JmxSensorValueData previous = createValue("0", 500L);
+
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(Collections.singletonList(createValue("1", 3000L)), previous, new Date(1000L), new Date(3000L), 1000L, 10000L);
+
+			assertThat(times(result), contains(1000L, 2000L, 3000L));
+			assertThat(values(result), contains("0", "0", "1"));
+		}
+
+		@Test
+		public void maxFillDurationRespected() {
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(Collections.singletonList(createValue("1", 1000L)), null, new Date(0L), new Date(10000L), 1000L, 2000L);
+
+			assertThat(times(result), contains(1000L, 2000L, 3000L));
+		}
+
+		@Test
+		public void cadenceLongerThanFillIntervalNotFilled() {
+			List<JmxSensorValueData> values = Arrays.asList(createValue("1", 0L), createValue("2", 6000L), createValue("3", 12000L));
+
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(values, null, new Date(0L), new Date(16000L), 5000L, 120000L);
+
+			assertThat(times(result), contains(0L, 6000L, 12000L));
+		}
+
+		@Test
+		public void onlyLongGapsFilled() {
+			List<JmxSensorValueData> values = Arrays.asList(createValue("1", 0L), createValue("2", 6000L), createValue("3", 30000L));
+
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(values, null, new Date(0L), new Date(30000L), 5000L, 120000L);
+
+			assertThat(times(result), contains(0L, 6000L, 11000L, 16000L, 21000L, 26000L, 30000L));
+		}
+
+		@Test
+		public void noValues() {
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(Collections.<JmxSensorValueData> emptyList(), null, new Date(0L), new Date(10000L), 1000L, 2000L);
+
+			assertThat(result, hasSize(0));
+		}
+
+		@Test
+		public void noFillInterval() {
+			List<JmxSensorValueData> values = Collections.singletonList(createValue("1", 1000L));
+
+			List<JmxSensorValueData> result = JmxSensorValueDataHelper.fillGaps(values, null, new Date(0L), new Date(10000L), 0L, 2000L);
+
+			assertThat(result, is(sameInstance(values)));
+		}
+	}
+
+	protected JmxSensorValueData createValue(String value, long time) {
+		return new JmxSensorValueData(1L, value, new Timestamp(time), 1L, 1L);
+	}
+
+	protected List<Long> times(List<JmxSensorValueData> values) {
+		List<Long> times = new ArrayList<>();
+		for (JmxSensorValueData value : values) {
+			times.add(value.getTimeStamp().getTime());
+		}
+		return times;
+	}
+
+	protected List<String> values(List<JmxSensorValueData> values) {
+		List<String> result = new ArrayList<>();
+		for (JmxSensorValueData value : values) {
+			result.add(value.getValue());
+		}
+		return result;
+	}
+
+}
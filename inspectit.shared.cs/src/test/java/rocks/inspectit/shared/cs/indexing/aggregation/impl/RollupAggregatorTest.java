@@ -0,0 +1,136 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+
+/**
+ * Tests the {@link RollupAggregator}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class RollupAggregatorTest {
+
+	private static final long PERIOD = 1000L;
+
+	private RollupAggregator<TimerData> rollupAggregator = new RollupAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, PERIOD);
+
+	public static class GetPeriodStart extends RollupAggregatorTest {
+
+		@Test
+		public void periodStart() {
+			assertThat(RollupAggregator.getPeriodStart(1000L, PERIOD), is(1000L));
+			assertThat(RollupAggregator.getPeriodStart(1999L, PERIOD), is(1000L));
+			assertThat(RollupAggregator.getPeriodStart(2000L, PERIOD), is(2000L));
+		}
+
+		@Test
+		public void negativeTime() {
+			assertThat(RollupAggregator.getPeriodStart(-1L, PERIOD), is(-1000L));
+		}
+	}
+
+	public static class Aggregate extends RollupAggregatorTest {
+
+		@Test
+		public void separatedByPeriod() {
+			AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(rollupAggregator);
+			aggregationPerformer.processElement(createTimerData(1L, 1100L, 10d));
+			aggregationPerformer.processElement(createTimerData(1L, 1900L, 20d));
+			aggregationPerformer.processElement(createTimerData(1L, 2100L, 30d));
+			aggregationPerformer.processElement(createTimerData(2L, 1500L, 40d));
+
+			List<TimerData> results = aggregationPerformer.getResultList();
+
+			assertThat(results, hasSize(3));
+			for (TimerData result : results) {
+				if ((result.getMethodIdent() == 1L) && (result.getTimeStamp().getTime() == 1000L)) {
+					assertThat(result.getCount(), is(2L));
+					assertThat(result.getDuration(), is(30d));
+				} else if (result.getMethodIdent() == 1L) {
+					assertThat(result.getTimeStamp().getTime(), is(2000L));
+					assertThat(result.getCount(), is(1L));
+				} else {
+					assertThat(result.getTimeStamp().getTime(), is(1000L));
+					assertThat(result.getCount(), is(1L));
+				}
+			}
+		}
+
+		@Test
+		public void rollupsAggregatedAgain() {
+			List<TimerData> data = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				data.add(createTimerData(1L, i * 350L, i));
+			}
+			AggregationPerformer<TimerData> rollupPerformer = new AggregationPerformer<>(rollupAggregator);
+			rollupPerformer.processCollection(data);
+			AggregationPerformer<TimerData> directPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+			directPerformer.processCollection(data);
+
+			AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+			aggregationPerformer.processCollection(rollupPerformer.getResultList());
+			List<TimerData> results = aggregationPerformer.getResultList();
+			TimerData expected = directPerformer.getResultList().get(0);
+
+			assertThat(rollupPerformer.getResultList(), hasSize(4));
+			assertThat(results, hasSize(1));
+			assertThat(results.get(0).getCount(), is(expected.getCount()));
+			assertThat(results.get(0).getDuration(), is(expected.getDuration()));
+			assertThat(results.get(0).getMin(), is(expected.getMin()));
+			assertThat(results.get(0).getMax(), is(expected.getMax()));
+		}
+	}
+
+	public static class HashCode extends RollupAggregatorTest {
+
+		@Test
+		public void samePeriod() {
+			RollupAggregator<TimerData> other = new RollupAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, PERIOD);
+
+			assertThat(other.hashCode(), is(rollupAggregator.hashCode()));
+			assertThat(other, is(rollupAggregator));
+		}
+
+		@Test
+		public void differentPeriod() {
+			RollupAggregator<TimerData> other = new RollupAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, PERIOD * 2);
+
+			assertThat(other.hashCode(), is(not(rollupAggregator.hashCode())));
+			assertThat(other, is(not(rollupAggregator)));
+		}
+	}
+
+	/**
+	 * Creates timer data.
+	 *
+	 * @param methodIdent
+	 *            Method ident.
+	 * @param time
+	 *            Time stamp.
+	 * @param duration
+	 *            Duration.
+	 * @return Timer data.
+	 */
+	protected TimerData createTimerData(long methodIdent, long time, double duration) {
+		TimerData timerData = new TimerData(new Timestamp(time), 10L, 20L, methodIdent);
+		timerData.setCount(1L);
+		timerData.setDuration(duration);
+		timerData.calculateMin(duration);
+		timerData.calculateMax(duration);
+		return timerData;
+	}
+
+}
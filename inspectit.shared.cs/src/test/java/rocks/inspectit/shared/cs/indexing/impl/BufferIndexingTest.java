@@ -1,6 +1,8 @@
 package rocks.inspectit.shared.cs.indexing.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
@@ -17,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -369,6 +372,53 @@ public class BufferIndexingTest {
 		}
 	}
 
+	/**
+	 * Same test as queryDifferentLevels() except with passing results to the consumer.
+	 *
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	@Test
+	public void queryDifferentLevelsForEach() throws IndexingException {
+		BufferBranchIndexer<DefaultData> sensorTypeIndexer = new BufferBranchIndexer<>(new SensorTypeIdentIndexer<>());
+		BufferBranchIndexer<DefaultData> objectTypeIndexer = new BufferBranchIndexer<>(new ObjectTypeIndexer<>(), sensorTypeIndexer);
+		BufferBranchIndexer<DefaultData> platformTypeIndexer = new BufferBranchIndexer<>(new PlatformIdentIndexer<>(), objectTypeIndexer);
+		IBufferTreeComponent<DefaultData> rootBranch = new Branch<>(platformTypeIndexer);
+
+		TimerData defaultData1 = mock(TimerData.class);
+		when(defaultData1.getId()).thenReturn(1L);
+		when(defaultData1.getPlatformIdent()).thenReturn(10L);
+		when(defaultData1.getSensorTypeIdent()).thenReturn(10L);
+		when(defaultData1.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(defaultData1);
+
+		SqlStatementData defaultData2 = mock(SqlStatementData.class);
+		when(defaultData2.getId()).thenReturn(2L);
+		when(defaultData2.getPlatformIdent()).thenReturn(10L);
+		when(defaultData2.getSensorTypeIdent()).thenReturn(20L);
+		when(defaultData2.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(defaultData2);
+
+		indexQuery.setPlatformIdent(10L);
+
+		final List<DefaultData> results = new ArrayList<>();
+		Consumer<DefaultData> consumer = new Consumer<DefaultData>() {
+			@Override
+			public void accept(DefaultData t) {
+				results.add(t);
+			}
+		};
+		rootBranch.forEach(indexQuery, consumer);
+		assertThat(results, containsInAnyOrder((DefaultData) defaultData1, defaultData2));
+
+		indexQuery.setPlatformIdent(10L);
+		indexQuery.setSensorTypeIdent(10L);
+
+		results.clear();
+		rootBranch.forEach(indexQuery, consumer);
+		assertThat(results, contains((DefaultData) defaultData1));
+	}
+
 	/**
 	 * Test a removal of one element from the indexing tree.
 	 *
@@ -103,6 +103,22 @@ public class StorageIndexingTreeHandlerTest {
 		verify(storageDescriptor, times(1)).setPositionAndSize(position, size);
 	}
 
+	@Test
+	public void successfulBlockWrite() throws IndexingException {
+		IStorageDescriptor storageDescriptor = mock(IStorageDescriptor.class);
+		when(storageDescriptor.getChannelId()).thenReturn(1);
+		DefaultData defaultData = mock(DefaultData.class);
+		when(indexingTree.put(defaultData)).thenReturn(storageDescriptor);
+		WriteTask writeTask = mock(WriteTask.class);
+		when(writeTask.getData()).thenReturn(defaultData);
+
+		indexingTreeHandler.startWrite(writeTask);
+		indexingTreeHandler.writeSuccessful(writeTask, 20L, 30L, 40, 50);
+
+		assertThat(indexingTreeHandler.getWriteTaskInProgressCount(), is(0));
+		verify(storageDescriptor, times(1)).setBlockPositionAndSize(20L, 30L, 40, 50);
+	}
+
 	@Test
 	public void failedWrite() throws IndexingException {
 		IStorageDescriptor storageDescriptor = mock(IStorageDescriptor.class);
@@ -6,6 +6,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -27,9 +29,12 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeMethod;
@@ -246,6 +251,61 @@ public class StorageWriterTest {
 		verify(serializerQueue, times(1)).add(serializer);
 	}
 
+	@Test
+	public void writeTaskBlockCompressedFailedSerialization() throws SerializationException {
+		storageWriter.blockCompressed = true;
+		TimerData timerData = new TimerData();
+		WriteTask writeTask = storageWriter.new WriteTask(timerData, Collections.emptyMap());
+		doThrow(SerializationException.class).when(serializer).serialize(anyObject(), Matchers.<Output> anyObject(), Matchers.<Map<?, ?>> anyObject());
+
+		writeTask.run();
+
+		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
+		verify(serializerQueue, times(1)).add(serializer);
+		verifyZeroInteractions(writingChannelManager, streamProvider);
+	}
+
+	@Test
+	public void writeTaskBlockCompressedTasksShareBlock() throws Exception {
+		storageWriter.blockCompressed = true;
+		serializeBytes(20 * 1024);
+		when(extendedByteBufferOutputStream.getBuffersCount()).thenReturn(1);
+		WriteTask first = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		WriteTask second = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+
+		first.run();
+		verifyZeroInteractions(writingChannelManager);
+		second.run();
+
+		ArgumentCaptor<WriteReadCompletionRunnable> captor = ArgumentCaptor.forClass(WriteReadCompletionRunnable.class);
+		verify(writingChannelManager, times(1)).write(eq(extendedByteBufferOutputStream), Matchers.<Path> anyObject(), captor.capture());
+		verify(serializerQueue, times(2)).add(serializer);
+		WriteReadCompletionRunnable completionRunnable = captor.getValue();
+		completionRunnable.setAttemptedWriteReadPosition(10L);
+		completionRunnable.setAttemptedWriteReadSize(100L);
+		completionRunnable.markSuccess();
+		completionRunnable.run();
+
+		verify(storageIndexingTreeHandler, times(1)).writeSuccessful(first, 10L, 100L, 0, 20 * 1024);
+		verify(storageIndexingTreeHandler, times(1)).writeSuccessful(second, 10L, 100L, 20 * 1024, 20 * 1024);
+		verify(extendedByteBufferOutputStream, times(1)).close();
+	}
+
+	@Test
+	public void writeTaskBlockCompressedExceptionDuringWrite() throws Exception {
+		storageWriter.blockCompressed = true;
+		serializeBytes(40 * 1024);
+		doThrow(IOException.class).when(writingChannelManager).write(Matchers.<ExtendedByteBufferOutputStream> anyObject(), Matchers.<Path> anyObject(),
+				Matchers.<WriteReadCompletionRunnable> anyObject());
+		WriteTask writeTask = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+
+		writeTask.run();
+
+		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
+		verify(extendedByteBufferOutputStream, times(1)).close();
+		verify(serializerQueue, times(1)).add(serializer);
+	}
+
 	@Test
 	public void objectWriteNoSerializerAvailable() throws InterruptedException {
 		when(serializerQueue.take()).thenReturn(null);
@@ -276,6 +336,24 @@ public class StorageWriterTest {
 		verifyZeroInteractions(writingChannelManager, extendedByteBufferOutputStream);
 	}
 
+	/**
+	 * Makes the serializer write the given amount of bytes for each object.
+	 *
+	 * @param size
+	 *            Amount of bytes.
+	 */
+	private void serializeBytes(final int size) throws SerializationException {
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				Output output = (Output) invocation.getArguments()[1];
+				output.writeBytes(new byte[size]);
+				output.flush();
+				return null;
+			}
+		}).when(serializer).serialize(anyObject(), Matchers.<Output> anyObject(), Matchers.<Map<?, ?>> anyObject());
+	}
+
 	@AfterTest
 	public void cleanUp() throws IOException {
 		if (Files.exists(testPath)) {
@@ -0,0 +1,201 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageDescriptor;
+
+/**
+ * Tests the {@link CompressedBlockDataReader}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class CompressedBlockDataReaderTest {
+
+	private static final int CHANNEL_ID = 3;
+
+	private static final int OBJECTS_PER_BLOCK = 4;
+
+	private static final int BLOCKS = 3;
+
+	private CompressedBlockOutputStream blockOutputStream;
+
+	/**
+	 * Bytes of the file holding the blocks.
+	 */
+	private byte[] file;
+
+	/**
+	 * Descriptors of all written objects, each pointing to the data in the block.
+	 */
+	private List<StorageDescriptor> descriptors;
+
+	/**
+	 * Descriptors of the blocks.
+	 */
+	private List<StorageDescriptor> blocks;
+
+	@BeforeMethod
+	public void init() throws IOException {
+		blockOutputStream = new CompressedBlockOutputStream();
+		descriptors = new ArrayList<>();
+		blocks = new ArrayList<>();
+		ByteArrayOutputStream fileStream = new ByteArrayOutputStream();
+		for (int block = 0; block < BLOCKS; block++) {
+			long position = fileStream.size();
+			int offset = 0;
+			List<StorageDescriptor> blockDescriptors = new ArrayList<>();
+			for (int i = 0; i < OBJECTS_PER_BLOCK; i++) {
+				byte[] data = getObject((block * OBJECTS_PER_BLOCK) + i).getBytes();
+				blockOutputStream.write(data);
+				StorageDescriptor descriptor = new StorageDescriptor(CHANNEL_ID);
+				descriptor.setBlockPositionAndSize(0, 0, offset, data.length);
+				blockDescriptors.add(descriptor);
+				offset += data.length;
+			}
+			int size = blockOutputStream.writeBlock(fileStream);
+			for (StorageDescriptor descriptor : blockDescriptors) {
+				descriptor.setBlockPositionAndSize(position, size, descriptor.getBlockDataOffset(), descriptor.getBlockDataSize());
+			}
+			descriptors.addAll(blockDescriptors);
+			blocks.add(new StorageDescriptor(CHANNEL_ID, position, size));
+		}
+		file = fileStream.toByteArray();
+	}
+
+	@AfterMethod
+	public void close() {
+		blockOutputStream.close();
+	}
+
+	public static class GetReadRanges extends CompressedBlockDataReaderTest {
+
+		@Test
+		public void sameBlock() {
+			CompressedBlockDataReader reader = new CompressedBlockDataReader(Arrays.<IStorageDescriptor> asList(descriptors.get(1), descriptors.get(0)));
+
+			assertThat(reader.getReadRanges(), hasSize(1));
+			assertThat(reader.getReadRanges().get(0), is((IStorageDescriptor) blocks.get(0)));
+		}
+
+		@Test
+		public void adjacentBlocksJoined() {
+			CompressedBlockDataReader reader = new CompressedBlockDataReader(Arrays.<IStorageDescriptor> asList(descriptors.get(OBJECTS_PER_BLOCK), descriptors.get(0)));
+
+			assertThat(reader.getReadRanges(), hasSize(1));
+			IStorageDescriptor range = reader.getReadRanges().get(0);
+			assertThat(range.getPosition(), is(0L));
+			assertThat(range.getSize(), is(blocks.get(0).getSize() + blocks.get(1).getSize()));
+		}
+
+		@Test
+		public void separatedBlocks() {
+			CompressedBlockDataReader reader = new CompressedBlockDataReader(Arrays.<IStorageDescriptor> asList(descriptors.get(2 * OBJECTS_PER_BLOCK), descriptors.get(0)));
+
+			assertThat(reader.getReadRanges(), contains((IStorageDescriptor) blocks.get(0), blocks.get(2)));
+		}
+	}
+
+	public static class Next extends CompressedBlockDataReaderTest {
+
+		@Test
+		public void objectsInBlocks() throws IOException {
+			List<IStorageDescriptor> wanted = Arrays.<IStorageDescriptor> asList(descriptors.get(9), descriptors.get(2), descriptors.get(0));
+
+			List<String> result = readAll(wanted);
+
+			assertThat(result, contains(getObject(0), getObject(2), getObject(9)));
+		}
+
+		@Test
+		public void completeBlock() throws IOException {
+			List<IStorageDescriptor> wanted = Arrays.<IStorageDescriptor> asList(blocks.get(1));
+
+			List<String> result = readAll(wanted);
+
+			assertThat(result, contains(getObject(4) + getObject(5) + getObject(6) + getObject(7)));
+		}
+
+		@Test
+		public void completeBlockCoversObjects() throws IOException {
+			List<IStorageDescriptor> wanted = Arrays.<IStorageDescriptor> asList(descriptors.get(5), blocks.get(1), descriptors.get(0));
+
+			List<String> result = readAll(wanted);
+
+			assertThat(result, contains(getObject(0), getObject(4) + getObject(5) + getObject(6) + getObject(7)));
+		}
+
+		@Test
+		public void rangeByRange() throws IOException {
+			List<IStorageDescriptor> wanted = Arrays.<IStorageDescriptor> asList(descriptors.get(9), descriptors.get(0));
+			List<String> result = new ArrayList<>();
+
+			try (CompressedBlockDataReader reader = new CompressedBlockDataReader(wanted)) {
+				List<IStorageDescriptor> ranges = new ArrayList<>(reader.getReadRanges());
+				Collections.reverse(ranges);
+				for (IStorageDescriptor range : ranges) {
+					reader.open(new ByteArrayInputStream(file, (int) range.getPosition(), (int) range.getSize()), Collections.singletonList(range));
+					while (reader.next()) {
+						result.add(new String(reader.getData(), reader.getOffset(), reader.getLength()));
+					}
+				}
+			}
+
+			assertThat(result, contains(getObject(9), getObject(0)));
+		}
+
+		@Test(expectedExceptions = IOException.class)
+		public void incompleteRange() throws IOException {
+			List<IStorageDescriptor> wanted = Arrays.<IStorageDescriptor> asList(descriptors.get(0));
+
+			try (CompressedBlockDataReader reader = new CompressedBlockDataReader(wanted)) {
+				reader.open(new ByteArrayInputStream(new byte[0]), reader.getReadRanges());
+				reader.next();
+			}
+		}
+
+		private List<String> readAll(List<IStorageDescriptor> wanted) throws IOException {
+			List<String> result = new ArrayList<>();
+			try (CompressedBlockDataReader reader = new CompressedBlockDataReader(wanted)) {
+				ByteArrayOutputStream ranges = new ByteArrayOutputStream();
+				for (IStorageDescriptor range : reader.getReadRanges()) {
+					ranges.write(file, (int) range.getPosition(), (int) range.getSize());
+				}
+				reader.open(new ByteArrayInputStream(ranges.toByteArray()), reader.getReadRanges());
+				while (reader.next()) {
+					result.add(new String(reader.getData(), reader.getOffset(), reader.getLength()));
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the object stored at the given index.
+	 *
+	 * @param index
+	 *            Index.
+	 * @return Object data.
+	 */
+	protected String getObject(int index) {
+		return "object-" + index + "-aaaaaaaaaaaaaaaa".substring(0, 1 + (index % 16));
+	}
+
+}
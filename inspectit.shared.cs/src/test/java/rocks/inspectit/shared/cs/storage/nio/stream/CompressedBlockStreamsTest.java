@@ -0,0 +1,191 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link CompressedBlockOutputStream} and {@link CompressedBlockInputStream}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class CompressedBlockStreamsTest {
+
+	private CompressedBlockOutputStream blockOutputStream;
+
+	private Random random = new Random();
+
+	@BeforeMethod
+	public void init() {
+		blockOutputStream = new CompressedBlockOutputStream();
+	}
+
+	@AfterMethod
+	public void close() {
+		blockOutputStream.close();
+	}
+
+	public static class WriteBlock extends CompressedBlockStreamsTest {
+
+		@Test
+		public void compressed() throws IOException {
+			byte[] data = new byte[10000];
+			Arrays.fill(data, (byte) 7);
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+			blockOutputStream.write(data);
+			int written = blockOutputStream.writeBlock(outputStream);
+
+			assertThat(written, is(outputStream.size()));
+			assertThat(written, is(lessThan(data.length)));
+			assertThat(outputStream.toByteArray()[0], is(CompressedBlockOutputStream.BLOCK_DEFLATE));
+		}
+
+		@Test
+		public void stored() throws IOException {
+			byte[] data = new byte[1000];
+			random.nextBytes(data);
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+			blockOutputStream.write(data);
+			int written = blockOutputStream.writeBlock(outputStream);
+
+			assertThat(written, is(data.length + CompressedBlockOutputStream.HEADER_SIZE));
+			assertThat(outputStream.toByteArray()[0], is(CompressedBlockOutputStream.BLOCK_STORED));
+		}
+
+		@Test
+		public void nothingWritten() throws IOException {
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+			int written = blockOutputStream.writeBlock(outputStream);
+
+			assertThat(written, is(0));
+			assertThat(outputStream.size(), is(0));
+		}
+	}
+
+	public static class Read extends CompressedBlockStreamsTest {
+
+		@Test(invocationCount = 20)
+		public void roundTrip() throws IOException {
+			ByteArrayOutputStream original = new ByteArrayOutputStream();
+			ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+			int blockCount = 1 + random.nextInt(20);
+			for (int i = 0; i < blockCount; i++) {
+				byte[] data = createData(random.nextInt(4096), random.nextBoolean());
+				original.write(data);
+				blockOutputStream.write(data);
+				blockOutputStream.writeBlock(blocks);
+			}
+
+			byte[] result = readAll(blocks.toByteArray(), 0);
+
+			assertThat(result, is(equalTo(original.toByteArray())));
+		}
+
+		@Test
+		public void fromSecondBlock() throws IOException {
+			byte[] first = createData(500, true);
+			byte[] second = createData(700, false);
+			ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+			blockOutputStream.write(first);
+			int firstBlockSize = blockOutputStream.writeBlock(blocks);
+			blockOutputStream.write(second);
+			blockOutputStream.writeBlock(blocks);
+
+			// same as reading with the descriptor pointing to the second block only
+			byte[] result = readAll(blocks.toByteArray(), firstBlockSize);
+
+			assertThat(result, is(equalTo(second)));
+		}
+
+		@Test(expectedExceptions = IOException.class)
+		public void incompleteBlock() throws IOException {
+			ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+			blockOutputStream.write(createData(500, true));
+			blockOutputStream.writeBlock(blocks);
+			byte[] bytes = Arrays.copyOf(blocks.toByteArray(), blocks.size() - 1);
+
+			readAll(bytes, 0);
+		}
+
+		@Test(expectedExceptions = IOException.class)
+		public void unknownBlockType() throws IOException {
+			ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+			blockOutputStream.write(createData(500, true));
+			blockOutputStream.writeBlock(blocks);
+			byte[] bytes = blocks.toByteArray();
+			bytes[0] = 5;
+
+			readAll(bytes, 0);
+		}
+
+		@Test
+		public void nextBlock() throws IOException {
+			byte[] first = createData(500, true);
+			byte[] second = createData(700, false);
+			ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+			blockOutputStream.write(first);
+			int firstBlockSize = blockOutputStream.writeBlock(blocks);
+			blockOutputStream.write(second);
+			int secondBlockSize = blockOutputStream.writeBlock(blocks);
+
+			try (CompressedBlockInputStream inputStream = new CompressedBlockInputStream(new ByteArrayInputStream(blocks.toByteArray()))) {
+				assertThat(inputStream.nextBlock(), is(firstBlockSize));
+				assertThat(Arrays.copyOf(inputStream.getBlock(), inputStream.getBlockSize()), is(equalTo(first)));
+				assertThat(inputStream.nextBlock(), is(secondBlockSize));
+				assertThat(Arrays.copyOf(inputStream.getBlock(), inputStream.getBlockSize()), is(equalTo(second)));
+				assertThat(inputStream.nextBlock(), is(-1));
+			}
+		}
+
+		private byte[] readAll(byte[] bytes, int offset) throws IOException {
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			try (CompressedBlockInputStream inputStream = new CompressedBlockInputStream(new ByteArrayInputStream(bytes, offset, bytes.length - offset))) {
+				byte[] buffer = new byte[333];
+				int read;
+				while ((read = inputStream.read(buffer)) >= 0) {
+					result.write(buffer, 0, read);
+				}
+				assertThat(inputStream.available(), is(0));
+			}
+			return result.toByteArray();
+		}
+	}
+
+	/**
+	 * Creates the data for the block.
+	 *
+	 * @param size
+	 *            Size of data.
+	 * @param compressible
+	 *            If data should be compressible.
+	 * @return Data.
+	 */
+	protected byte[] createData(int size, boolean compressible) {
+		byte[] data = new byte[size];
+		if (compressible) {
+			for (int i = 0; i < size; i++) {
+				data[i] = (byte) (i % 16);
+			}
+		} else {
+			random.nextBytes(data);
+		}
+		return data;
+	}
+
+}
@@ -13,6 +13,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IPropertyListener;
 import org.eclipse.ui.forms.IFormColors;
@@ -186,6 +187,16 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 		 */
 		private Combo forceCombo;
 
+		/**
+		 * If only changed values should be reported.
+		 */
+		private Button reportOnlyChangedButton;
+
+		/**
+		 * Spinner for the heartbeat interval in seconds.
+		 */
+		private Spinner heartbeatSpinner;
+
 		/**
 		 * Default constructor.
 		 *
@@ -229,10 +240,30 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 			createInfoLabel(parent, toolkit,
 					"Defines if inspectIT should force the creation of the default MBean server. On some application servers forcing the creation can be problematic. On the other hand, if the creation is not forced and no application component is creating the MBean server(s), then monitoring of the MBeans will not be possible as the server(s) will not created.");
 
+			toolkit.createLabel(parent, "Report only changed values:").setLayoutData(getIndentGridData());
+			reportOnlyChangedButton = toolkit.createButton(parent, "Yes", SWT.CHECK);
+			createInfoLabel(parent, toolkit,
+					"Defines if the agent should send only the attribute values that changed since the last collection. Unchanged values are still sent in the heartbeat interval. When charting, the gaps between the sent values are filled with the last value.");
+
+			toolkit.createLabel(parent, "Heartbeat interval (s):").setLayoutData(getIndentGridData());
+			heartbeatSpinner = new Spinner(parent, SWT.BORDER);
+			heartbeatSpinner.setMinimum(5);
+			heartbeatSpinner.setMaximum(3600);
+			heartbeatSpinner.setIncrement(5);
+			heartbeatSpinner.setPageIncrement(60);
+			toolkit.adapt(heartbeatSpinner, false, false);
+			createInfoLabel(parent, toolkit, "Interval in seconds in which the unchanged attribute values are sent when only changed values are reported.");
+
 			activeButton.addSelectionListener(new SelectionAdapter() {
 				@Override
 				public void widgetSelected(SelectionEvent e) {
-					forceCombo.setEnabled(activeButton.getSelection());
+					updateEnabledState();
+				}
+			});
+			reportOnlyChangedButton.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					updateEnabledState();
 				}
 			});
 
@@ -249,6 +280,8 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 		public void addDirtyListener(Listener listener) {
 			activeButton.addListener(SWT.Selection, listener);
 			forceCombo.addListener(SWT.Selection, listener);
+			reportOnlyChangedButton.addListener(SWT.Selection, listener);
+			heartbeatSpinner.addListener(SWT.Modify, listener);
 		}
 
 		/**
@@ -258,6 +291,8 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 		public void update() {
 			sensorConfig.setActive(activeButton.getSelection());
 			sensorConfig.setForceMBeanServer((Boolean) forceCombo.getData(forceCombo.getText()));
+			sensorConfig.setReportOnlyChangedValues(reportOnlyChangedButton.getSelection());
+			sensorConfig.setHeartbeatInterval(heartbeatSpinner.getSelection() * 1000L);
 		}
 
 		/**
@@ -265,7 +300,9 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 		 */
 		private void fillValue() {
 			activeButton.setSelection(sensorConfig.isActive());
-			forceCombo.setEnabled(sensorConfig.isActive());
+			reportOnlyChangedButton.setSelection(sensorConfig.isReportOnlyChangedValues());
+			heartbeatSpinner.setSelection((int) (sensorConfig.getHeartbeatInterval() / 1000L));
+			updateEnabledState();
 			int index;
 			if (sensorConfig.isForceMBeanServer()) {
 				index = forceCombo.indexOf(FORCE_TEXT);
@@ -275,6 +312,16 @@ public class JmxSensorOptionsPart extends SectionPart implements IPropertyListen
 			forceCombo.select(index);
 		}
 
+		/**
+		 * Enables the option controls depending on the selections.
+		 */
+		private void updateEnabledState() {
+			boolean active = activeButton.getSelection();
+			forceCombo.setEnabled(active);
+			reportOnlyChangedButton.setEnabled(active);
+			heartbeatSpinner.setEnabled(active && reportOnlyChangedButton.getSelection());
+		}
+
 		/**
 		 * Updates the sensor config if it's relating to the same class.
 		 *
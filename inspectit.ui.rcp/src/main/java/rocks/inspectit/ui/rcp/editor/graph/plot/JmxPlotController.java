@@ -27,7 +27,8 @@ import rocks.inspectit.shared.all.cmr.model.JmxDefinitionDataIdent;
 import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
-import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.ci.sensor.jmx.JmxSensorConfig;
+import rocks.inspectit.shared.cs.cmr.service.IJmxDataAccessService;
 import rocks.inspectit.shared.cs.cmr.service.cache.CachedDataService;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.JmxSensorValueDataAggregator;
@@ -49,6 +50,19 @@ import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
  */
 public class JmxPlotController extends AbstractPlotController {
 
+	/**
+	 * Interval of the values filled into the gaps, matches the collection interval of the JMX
+	 * sensor.
+	 */
+	private static final long FILL_INTERVAL = 5000L;
+
+	/**
+	 * Maximum duration the last value is carried forward if the configuration of the agent is not
+	 * known. Agents reporting only changed values still send unchanged values with the heartbeat,
+	 * so longer gaps mean no data was collected.
+	 */
+	private static final long DEFAULT_MAX_FILL_DURATION = JmxSensorConfig.DEFAULT_HEARTBEAT_INTERVAL + FILL_INTERVAL;
+
 	/**
 	 * The {@link YIntervalSeriesImproved}.
 	 */
@@ -106,9 +120,9 @@ public class JmxPlotController extends AbstractPlotController {
 	private JmxDefinitionDataIdent currentJmxIdent;
 
 	/**
-	 * The global data access service.
+	 * The JMX data access service.
 	 */
-	private IGlobalDataAccessService globalDataAccessService;
+	private IJmxDataAccessService jmxDataAccessService;
 
 	/**
 	 * Used aggregator.
@@ -128,7 +142,7 @@ public class JmxPlotController extends AbstractPlotController {
 		template.setJmxSensorDefinitionDataIdentId(inputDefinition.getIdDefinition().getJmxDefinitionId());
 
 		cachedDataService = inputDefinition.getRepositoryDefinition().getCachedDataService();
-		globalDataAccessService = inputDefinition.getRepositoryDefinition().getGlobalDataAccessService();
+		jmxDataAccessService = inputDefinition.getRepositoryDefinition().getJmxDataAccessService();
 
 		currentJmxIdent = cachedDataService.getJmxDefinitionDataIdentForId(inputDefinition.getIdDefinition().getJmxDefinitionId());
 
@@ -199,7 +213,8 @@ public class JmxPlotController extends AbstractPlotController {
 
 	/**
 	 * Loads the {@link JmxSensorValueData} objects which were created between the given
-	 * {@link Date} objects.
+	 * {@link Date} objects. Gaps of the agents reporting only changed values are filled by the
+	 * service.
 	 *
 	 * @param from
 	 *            the start date
@@ -207,9 +222,8 @@ public class JmxPlotController extends AbstractPlotController {
 	 *            the end date
 	 * @return list of {@link JmxSensorValueData} objects
 	 */
-	@SuppressWarnings("unchecked")
 	private List<JmxSensorValueData> loadJmxData(Date from, Date to) {
-		return (List<JmxSensorValueData>) globalDataAccessService.getDataObjectsFromToDate(template, from, to);
+		return jmxDataAccessService.getJmxDataForCharting(template, from, to, FILL_INTERVAL, DEFAULT_MAX_FILL_DURATION);
 	}
 
 	/**
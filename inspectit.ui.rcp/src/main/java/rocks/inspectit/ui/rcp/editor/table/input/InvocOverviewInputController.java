@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -46,6 +47,8 @@ import rocks.inspectit.shared.cs.communication.comparator.InvocationSequenceData
 import rocks.inspectit.shared.cs.communication.comparator.MethodSensorDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.data.InvocationSequenceDataHelper;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
 import rocks.inspectit.shared.cs.data.invocationtree.InvocationTreeBuilder;
 import rocks.inspectit.shared.cs.data.invocationtree.InvocationTreeBuilder.Mode;
 import rocks.inspectit.shared.cs.data.invocationtree.InvocationTreeElement;
@@ -199,6 +202,12 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	 */
 	private boolean autoUpdate = LiveMode.ACTIVE_DEFAULT;
 
+	/**
+	 * Cursor of the last live refresh, <code>null</code> if the next live refresh has to load the
+	 * complete overview.
+	 */
+	private BufferCursor liveCursor;
+
 	/**
 	 * Empty styled string.
 	 */
@@ -327,6 +336,7 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 				} else {
 					InvocOverviewInputController.this.resultComparator = defaultComparator;
 				}
+				liveCursor = null; // NOPMD
 				loadDataFromService();
 			}
 		};
@@ -372,6 +382,7 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
+				liveCursor = null; // NOPMD
 			}
 			break;
 		default:
@@ -396,6 +407,7 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	@Override
 	public void setLimit(int limit) {
 		this.limit = limit;
+		this.liveCursor = null; // NOPMD
 	}
 
 	/**
@@ -415,20 +427,16 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	 * Reloads the data from the service.
 	 */
 	private void loadDataFromService() {
-		List<InvocationSequenceData> invocData;
+		if (autoUpdate) {
+			loadChangesFromService();
+			return;
+		}
 
-		if (!autoUpdate) {
-			if (template.getMethodIdent() != IdDefinition.ID_NOT_USED) {
-				invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), template.getMethodIdent(), limit, fromDate, toDate, resultComparator);
-			} else {
-				invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), limit, fromDate, toDate, resultComparator);
-			}
+		List<InvocationSequenceData> invocData;
+		if (template.getMethodIdent() != IdDefinition.ID_NOT_USED) {
+			invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), template.getMethodIdent(), limit, fromDate, toDate, resultComparator);
 		} else {
-			if (template.getMethodIdent() != IdDefinition.ID_NOT_USED) {
-				invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), template.getMethodIdent(), limit, resultComparator);
-			} else {
-				invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), limit, resultComparator);
-			}
+			invocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), limit, fromDate, toDate, resultComparator);
 		}
 
 		// why this? so only update with new data if returned collection is not empty, i would say
@@ -442,6 +450,66 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 		}
 	}
 
+	/**
+	 * Loads only the invocations added and evicted since the last live refresh and merges them to
+	 * the displayed ones. Loads the complete overview if the changes can not be merged.
+	 */
+	private void loadChangesFromService() {
+		BufferDelta<InvocationSequenceData> delta = dataAccessService.getInvocationSequenceOverviewDelta(template.getPlatformIdent(), template.getMethodIdent(), limit, liveCursor,
+				resultComparator);
+		if (!delta.isComplete() && !mergeChanges(delta)) {
+			delta = dataAccessService.getInvocationSequenceOverviewDelta(template.getPlatformIdent(), template.getMethodIdent(), limit, null, resultComparator);
+		}
+
+		if (delta.isComplete()) {
+			invocationSequenceData.clear();
+			invocationSequenceData.addAll(delta.getElements());
+		}
+		liveCursor = delta.getCursor();
+	}
+
+	/**
+	 * Merges the changes to the displayed invocations.
+	 *
+	 * @param delta
+	 *            Changes since the last live refresh.
+	 * @return <code>false</code> if the changes can not be merged, because a displayed invocation
+	 *         was evicted and the overview is limited, thus not displayed invocations would take
+	 *         its place.
+	 */
+	private boolean mergeChanges(BufferDelta<InvocationSequenceData> delta) {
+		boolean limited = (limit > -1) && (invocationSequenceData.size() >= limit);
+		Set<Long> evictedIds = new HashSet<>(delta.getEvictedIds());
+		Set<Long> addedIds = new HashSet<>();
+		for (InvocationSequenceData added : delta.getElements()) {
+			addedIds.add(added.getId());
+		}
+
+		List<InvocationSequenceData> merged = new ArrayList<>(invocationSequenceData.size() + delta.getElements().size());
+		for (InvocationSequenceData displayed : invocationSequenceData) {
+			if (evictedIds.contains(displayed.getId())) {
+				if (limited) {
+					return false;
+				}
+			} else if (!addedIds.contains(displayed.getId())) {
+				// elements loaded with the complete result can be returned again
+				merged.add(displayed);
+			}
+		}
+		merged.addAll(delta.getElements());
+
+		// the comparator used remotely must stay without the local cached data service
+		ResultComparator<InvocationSequenceData> localComparator = new ResultComparator<>(resultComparator.getComparator(), cachedDataService, resultComparator.isAscending());
+		Collections.sort(merged, localComparator);
+		if ((limit > -1) && (merged.size() > limit)) {
+			merged = merged.subList(0, limit);
+		}
+
+		invocationSequenceData.clear();
+		invocationSequenceData.addAll(merged);
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1,6 +1,7 @@
 package rocks.inspectit.ui.rcp.repository.service.storage;
 
 import java.io.IOException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -13,6 +14,7 @@ import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.RollupAggregator;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
@@ -229,6 +231,12 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 					}
 				}
 			}
+		} else if (storageManager.canUseRollups(storageIndexQuery, aggregator)) {
+			returnList = loadDataFromRollups(storageIndexQuery, aggregator);
+			if (null == returnList) {
+				// storage has no rollups for this query
+				returnList = loadData(storageIndexQuery, aggregator);
+			}
 		} else {
 			returnList = loadData(storageIndexQuery, aggregator);
 		}
@@ -246,6 +254,101 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 		return returnList;
 	}
 
+	/**
+	 * Answers the aggregation query with the interval set from the rollups written at the storage
+	 * finalization. Rollup periods completely in the interval are aggregated from the rollups,
+	 * while the parts of the interval not covering a complete period are loaded the regular way.
+	 * <p>
+	 * The interval of the query includes both the from and the to date. The rollups cover the
+	 * interval from the rollups start (inclusive) to the rollups end (exclusive), the parts before
+	 * and after are again queried with both dates included. As the regular query needs the from
+	 * date to be before the to date, such a part must span at least two milliseconds, otherwise
+	 * the neighboring period is loaded the regular way as well.
+	 *
+	 * @param storageIndexQuery
+	 *            Query with the interval set.
+	 * @param aggregator
+	 *            {@link IAggregator}
+	 * @return Aggregated results or <code>null</code> if the rollups can not be used for the
+	 *         query.
+	 */
+	private List<E> loadDataFromRollups(StorageIndexQuery storageIndexQuery, IAggregator<E> aggregator) {
+		long period = RollupAggregator.DEFAULT_ROLLUP_PERIOD;
+		Timestamp fromDate = storageIndexQuery.getFromDate();
+		Timestamp toDate = storageIndexQuery.getToDate();
+		if ((null == fromDate) || (null == toDate)) {
+			return null;
+		}
+
+		// start of the first and end (exclusive) of the last period completely in the interval
+		long rollupsStart = RollupAggregator.getPeriodStart((fromDate.getTime() + period) - 1, period);
+		long rollupsEnd = RollupAggregator.getPeriodStart(toDate.getTime() + 1, period);
+
+		// the parts [fromDate, rollupsStart - 1] and [rollupsEnd, toDate] are loaded the regular
+		// way, a part of a single millisecond would not be a valid interval
+		if (fromDate.getTime() == (rollupsStart - 1)) {
+			rollupsStart += period;
+		}
+		if (toDate.getTime() == rollupsEnd) {
+			rollupsEnd -= period;
+		}
+		if (rollupsStart >= rollupsEnd) {
+			return null;
+		}
+
+		int hash = storageManager.getRollupDataHash(storageIndexQuery, new RollupAggregator<>(aggregator, period));
+		List<E> rollups = getCachedData(hash);
+		if (null == rollups) {
+			return null;
+		}
+
+		AggregationPerformer<E> aggregationPerformer = new AggregationPerformer<>(aggregator);
+		for (E rollup : rollups) {
+			long time = rollup.getTimeStamp().getTime();
+			if ((time >= rollupsStart) && (time < rollupsEnd)) {
+				aggregationPerformer.processElement(rollup);
+			}
+		}
+
+		try {
+			if (fromDate.getTime() < rollupsStart) {
+				storageIndexQuery.setToDate(new Timestamp(rollupsStart - 1));
+				aggregationPerformer.processCollection(loadData(storageIndexQuery, aggregator));
+			}
+			if (rollupsEnd < toDate.getTime()) {
+				storageIndexQuery.setFromDate(new Timestamp(rollupsEnd));
+				storageIndexQuery.setToDate(toDate);
+				aggregationPerformer.processCollection(loadData(storageIndexQuery, aggregator));
+			}
+		} finally {
+			storageIndexQuery.setFromDate(fromDate);
+			storageIndexQuery.setToDate(toDate);
+		}
+
+		return aggregationPerformer.getResultList();
+	}
+
+	/**
+	 * Returns the data cached for the storage under given hash. Data is loaded from the CMR or
+	 * locally if the storage is fully downloaded.
+	 *
+	 * @param hash
+	 *            Hash
+	 * @return Cached data or <code>null</code> if the data is not cached or can not be loaded.
+	 */
+	private List<E> getCachedData(int hash) {
+		try {
+			if (!localStorageData.isFullyDownloaded()) {
+				return dataRetriever.getCachedDataViaHttp(getCmrRepositoryDefinition(), new StorageData(localStorageData), hash);
+			} else {
+				return dataRetriever.getCachedDataLocally(localStorageData, hash);
+			}
+		} catch (BusinessException | IOException | SerializationException e) { // NOPMD NOCHK
+			// ignore cause we can still load results in other way
+			return null;
+		}
+	}
+
 	/**
 	 * Caches result set on the CMR for the given storage under given hash.
 	 *
@@ -22,6 +22,7 @@ import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.AgentManagementErrorCodeEnum;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.cmr.IdentsDelta;
 import rocks.inspectit.shared.cs.indexing.query.provider.impl.StorageIndexQueryProvider;
 import rocks.inspectit.shared.cs.indexing.restriction.impl.IndexQueryRestrictionFactory;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
@@ -76,6 +77,36 @@ public class StorageGlobalDataAccessService extends AbstractStorageService<Defau
 		throw new BusinessException("Load the agent with the ID=" + id + ".", AgentManagementErrorCodeEnum.AGENT_DOES_NOT_EXIST);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<PlatformIdent> getCompleteAgents(Collection<Long> ids) {
+		List<PlatformIdent> result = new ArrayList<>();
+		for (PlatformIdent platformIdent : agents) {
+			if (ids.contains(platformIdent.getId())) {
+				result.add(platformIdent);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Agents in the storage never change, thus only the first delta contains the agents.
+	 */
+	@Override
+	public IdentsDelta getIdentsDelta(long version) {
+		List<Long> changedPlatformIds = new ArrayList<>();
+		if (version <= 0) {
+			for (PlatformIdent platformIdent : agents) {
+				changedPlatformIds.add(platformIdent.getId());
+			}
+		}
+		return new IdentsDelta(0L, 1L, changedPlatformIds, Collections.<Long> emptyList());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -2,6 +2,7 @@ package rocks.inspectit.ui.rcp.repository.service.storage;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -10,6 +11,8 @@ import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.cs.cmr.service.IInvocationDataAccessService;
 import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferCursor;
+import rocks.inspectit.shared.cs.communication.data.cmr.BufferDelta;
 import rocks.inspectit.shared.cs.indexing.query.factory.impl.InvocationSequenceDataQueryFactory;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
@@ -40,6 +43,18 @@ public class StorageInvocationDataAccessService extends AbstractStorageService<I
 		return this.getInvocationSequenceOverview(platformId, methodId, limit, null, null, resultComparator);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Storage data does not change, thus the complete overview is always returned.
+	 */
+	@Override
+	public BufferDelta<InvocationSequenceData> getInvocationSequenceOverviewDelta(long platformId, long methodId, int limit, BufferCursor cursor,
+			ResultComparator<InvocationSequenceData> resultComparator) {
+		List<InvocationSequenceData> elements = this.getInvocationSequenceOverview(platformId, methodId, limit, resultComparator);
+		return new BufferDelta<>(new BufferCursor(), true, elements, Collections.<Long> emptyList());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
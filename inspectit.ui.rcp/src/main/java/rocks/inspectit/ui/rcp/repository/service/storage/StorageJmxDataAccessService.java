@@ -11,6 +11,7 @@ import java.util.List;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
 import rocks.inspectit.shared.cs.cmr.service.IJmxDataAccessService;
+import rocks.inspectit.shared.cs.communication.data.JmxSensorValueDataHelper;
 import rocks.inspectit.shared.cs.indexing.query.provider.impl.StorageIndexQueryProvider;
 import rocks.inspectit.shared.cs.indexing.restriction.impl.IndexQueryRestrictionFactory;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
@@ -121,6 +122,23 @@ public class StorageJmxDataAccessService extends AbstractStorageService<JmxSenso
 		return queryJmxData(template, fromDate, toDate, true);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<JmxSensorValueData> getJmxDataForCharting(JmxSensorValueData template, Date fromDate, Date toDate, long fillInterval, long defaultMaxFillDuration) {
+		if (fromDate.after(toDate)) {
+			return Collections.emptyList();
+		}
+
+		List<JmxSensorValueData> values = queryJmxData(template, fromDate, toDate, false);
+		List<JmxSensorValueData> latest = queryJmxData(template, new Date(0), new Date(fromDate.getTime() - 1), true);
+		JmxSensorValueData previous = latest.isEmpty() ? null : latest.get(0);
+
+		// configuration of the agent at the time of recording is not known
+		return JmxSensorValueDataHelper.fillGaps(values, previous, fromDate, toDate, fillInterval, defaultMaxFillDuration);
+	}
+
 	/**
 	 * @param indexingTree
 	 *            the indexingTree to set
@@ -1,5 +1,6 @@
 package rocks.inspectit.ui.rcp.storage.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,6 +16,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -56,6 +59,7 @@ import rocks.inspectit.shared.cs.storage.LocalStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageFileType;
 import rocks.inspectit.shared.cs.storage.StorageManager;
+import rocks.inspectit.shared.cs.storage.nio.stream.CompressedBlockDataReader;
 import rocks.inspectit.shared.cs.storage.nio.stream.InputStreamProvider;
 import rocks.inspectit.shared.cs.storage.util.RangeDescriptor;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
@@ -69,6 +73,11 @@ import rocks.inspectit.ui.rcp.storage.http.TransferDataMonitor;
  */
 public class DataRetriever {
 
+	/**
+	 * Pattern for the start of the range in the Content-Range header of the multipart part.
+	 */
+	private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("content-range:\\s*bytes\\s+(\\d+)-", Pattern.CASE_INSENSITIVE);
+
 	/**
 	 * Amount of serializers to be available to this class.
 	 */
@@ -144,6 +153,11 @@ public class DataRetriever {
 		HttpClient httpClient = new DefaultHttpClient();
 		for (Map.Entry<Integer, List<IStorageDescriptor>> entry : separateFilesGroup.entrySet()) {
 			HttpGet httpGet = new HttpGet(serverUri + storageManager.getHttpFileLocation(storageData, entry.getKey()));
+			if (storageData.isBlockCompressed()) {
+				this.<E> getBlockCompressedDataViaHttp(httpClient, httpGet, entry.getValue(), receivedData);
+				continue;
+			}
+
 			StringBuilder rangeHeader = new StringBuilder("bytes=");
 
 			RangeDescriptor rangeDescriptor = null;
@@ -190,6 +204,7 @@ public class DataRetriever {
 							E element = (E) object;
 							receivedData.add(element);
 						}
+						input.close();
 						nextPart = multipartStream.readBoundary();
 					}
 				} else {
@@ -239,6 +254,10 @@ public class DataRetriever {
 	 */
 	@SuppressWarnings("unchecked")
 	public <E extends DefaultData> List<E> getDataLocally(LocalStorageData localStorageData, List<IStorageDescriptor> descriptors) throws IOException, SerializationException {
+		if (localStorageData.isBlockCompressed()) {
+			return getBlockCompressedDataLocally(localStorageData, descriptors);
+		}
+
 		Map<Integer, List<IStorageDescriptor>> separateFilesGroup = createFilesGroup(descriptors);
 		List<IStorageDescriptor> optimizedDescriptors = new ArrayList<>();
 		for (Map.Entry<Integer, List<IStorageDescriptor>> entry : separateFilesGroup.entrySet()) {
@@ -652,6 +671,174 @@ public class DataRetriever {
 		return filesMap;
 	}
 
+	/**
+	 * Retrieves the data described in the descriptors from one data file of the block compressed
+	 * storage on the CMR. Every needed block is downloaded and decompressed only once.
+	 *
+	 * @param <E>
+	 *            Type of the objects are wanted.
+	 * @param httpClient
+	 *            {@link HttpClient} to use.
+	 * @param httpGet
+	 *            {@link HttpGet} for the data file.
+	 * @param descriptors
+	 *            Descriptors pointing to the data file.
+	 * @param receivedData
+	 *            List to add the received objects to.
+	 * @throws SerializationException
+	 *             If {@link SerializationException} occurs.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E extends DefaultData> void getBlockCompressedDataViaHttp(HttpClient httpClient, HttpGet httpGet, List<IStorageDescriptor> descriptors, List<E> receivedData)
+			throws IOException, SerializationException {
+		CompressedBlockDataReader blockDataReader = new CompressedBlockDataReader(descriptors);
+		List<IStorageDescriptor> readRanges = blockDataReader.getReadRanges();
+		StringBuilder rangeHeader = new StringBuilder("bytes=");
+		for (int i = 0; i < readRanges.size(); i++) {
+			if (i > 0) {
+				rangeHeader.append(',');
+			}
+			rangeHeader.append(new RangeDescriptor(readRanges.get(i)));
+		}
+		httpGet.addHeader("Range", rangeHeader.toString());
+
+		ISerializer serializer = null;
+		try {
+			serializer = serializerQueue.take();
+		} catch (InterruptedException e) {
+			Thread.interrupted();
+		}
+		InputStream inputStream = null;
+		try {
+			HttpResponse response = httpClient.execute(httpGet);
+			HttpEntity entity = response.getEntity();
+			if (MultipartEntityUtil.isMultipart(entity)) {
+				inputStream = entity.getContent();
+				@SuppressWarnings("deprecation")
+				// all non-deprecated constructors have default modifier
+				MultipartStream multipartStream = new MultipartStream(inputStream, MultipartEntityUtil.getBoundary(entity).getBytes());
+				boolean nextPart = multipartStream.skipPreamble();
+				int partIndex = 0;
+				while (nextPart) {
+					IStorageDescriptor readRange = getReadRange(multipartStream.readHeaders(), readRanges, partIndex);
+					ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+					multipartStream.readBodyData(byteArrayOutputStream);
+					blockDataReader.open(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), Collections.singletonList(readRange));
+					this.<E> deserializeBlockData(blockDataReader, serializer, receivedData);
+					partIndex++;
+					nextPart = multipartStream.readBoundary();
+				}
+			} else {
+				blockDataReader.open(new ByteArrayInputStream(EntityUtils.toByteArray(entity)), readRanges);
+				this.<E> deserializeBlockData(blockDataReader, serializer, receivedData);
+			}
+		} finally {
+			if (null != inputStream) {
+				inputStream.close();
+			}
+			blockDataReader.close();
+			serializerQueue.add(serializer);
+		}
+	}
+
+	/**
+	 * Retrieves the data described in the descriptors from the offline-available block compressed
+	 * storage. Every needed block is read and decompressed only once.
+	 *
+	 * @param <E>
+	 *            Type of the objects are wanted.
+	 * @param localStorageData
+	 *            {@link LocalStorageData} that points to the wanted storage.
+	 * @param descriptors
+	 *            Descriptors.
+	 * @return List of objects in the supplied generic type.
+	 * @throws SerializationException
+	 *             If {@link SerializationException} occurs.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 */
+	private <E extends DefaultData> List<E> getBlockCompressedDataLocally(LocalStorageData localStorageData, List<IStorageDescriptor> descriptors) throws IOException, SerializationException {
+		List<E> receivedData = new ArrayList<>(descriptors.size());
+		CompressedBlockDataReader blockDataReader = new CompressedBlockDataReader(descriptors);
+
+		ISerializer serializer = null;
+		try {
+			serializer = serializerQueue.take();
+		} catch (InterruptedException e) {
+			Thread.interrupted();
+		}
+		try {
+			List<IStorageDescriptor> readRanges = blockDataReader.getReadRanges();
+			blockDataReader.open(streamProvider.getExtendedByteBufferInputStream(localStorageData, readRanges), readRanges);
+			this.<E> deserializeBlockData(blockDataReader, serializer, receivedData);
+		} finally {
+			blockDataReader.close();
+			serializerQueue.add(serializer);
+		}
+		return receivedData;
+	}
+
+	/**
+	 * Deserializes all objects provided by the opened {@link CompressedBlockDataReader}.
+	 *
+	 * @param <E>
+	 *            Type of the objects are wanted.
+	 * @param blockDataReader
+	 *            Opened reader.
+	 * @param serializer
+	 *            Serializer to use.
+	 * @param receivedData
+	 *            List to add the objects to.
+	 * @throws SerializationException
+	 *             If {@link SerializationException} occurs.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E extends DefaultData> void deserializeBlockData(CompressedBlockDataReader blockDataReader, ISerializer serializer, List<E> receivedData) throws IOException, SerializationException {
+		while (blockDataReader.next()) {
+			Input input = new Input(blockDataReader.getData(), blockDataReader.getOffset(), blockDataReader.getLength());
+			while (KryoUtil.hasMoreBytes(input)) {
+				Object object = serializer.deserialize(input);
+				E element = (E) object;
+				receivedData.add(element);
+			}
+		}
+	}
+
+	/**
+	 * Returns the range the multipart part belongs to. The range is found by the start given in the
+	 * Content-Range header of the part, or by the part index if the header is not available.
+	 *
+	 * @param partHeaders
+	 *            Headers of the part.
+	 * @param readRanges
+	 *            Requested ranges.
+	 * @param partIndex
+	 *            Index of the part.
+	 * @return Range of the part.
+	 * @throws IOException
+	 *             If no requested range matches the part.
+	 */
+	private IStorageDescriptor getReadRange(String partHeaders, List<IStorageDescriptor> readRanges, int partIndex) throws IOException {
+		Matcher matcher = CONTENT_RANGE_PATTERN.matcher(partHeaders);
+		if (matcher.find()) {
+			long start = Long.parseLong(matcher.group(1));
+			for (IStorageDescriptor readRange : readRanges) {
+				if (readRange.getPosition() == start) {
+					return readRange;
+				}
+			}
+			throw new IOException("Received part starting at " + start + " does not match any requested range.");
+		}
+		if (partIndex < readRanges.size()) {
+			return readRanges.get(partIndex);
+		}
+		throw new IOException("Received more parts than requested ranges.");
+	}
+
 	/**
 	 * Sets {@link #storageManager}.
 	 *
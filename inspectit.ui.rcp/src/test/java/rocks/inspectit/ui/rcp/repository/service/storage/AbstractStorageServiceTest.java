@@ -0,0 +1,256 @@
+package rocks.inspectit.ui.rcp.repository.service.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.RollupAggregator;
+import rocks.inspectit.shared.cs.indexing.restriction.impl.CachingIndexQueryRestrictionProcessor;
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
+import rocks.inspectit.shared.cs.storage.LocalStorageData;
+import rocks.inspectit.shared.cs.storage.StorageManager;
+import rocks.inspectit.ui.rcp.storage.util.DataRetriever;
+
+/**
+ * Tests the {@link AbstractStorageService}.
+ *
+ * @author Ivan Senic
+ *
+ */
+@SuppressWarnings("PMD")
+public class AbstractStorageServiceTest extends TestBase {
+
+	private static final long PERIOD = RollupAggregator.DEFAULT_ROLLUP_PERIOD;
+
+	private static final long START = 100 * PERIOD;
+
+	private static final int HASH = 17;
+
+	AbstractStorageService<TimerData> storageService;
+
+	@Mock
+	IStorageTreeComponent<TimerData> indexingTree;
+
+	@Mock
+	IStorageDescriptor storageDescriptor;
+
+	@Mock
+	StorageManager storageManager;
+
+	@Mock
+	DataRetriever dataRetriever;
+
+	@Mock
+	LocalStorageData localStorageData;
+
+	/**
+	 * Raw data in the storage.
+	 */
+	List<TimerData> rawData;
+
+	@BeforeMethod
+	public void init() throws Exception {
+		storageService = new AbstractStorageService<TimerData>() {
+			@Override
+			protected IStorageTreeComponent<TimerData> getIndexingTree() {
+				return indexingTree;
+			}
+		};
+		storageService.setStorageManager(storageManager);
+		storageService.setDataRetriever(dataRetriever);
+		storageService.setLocalStorageData(localStorageData);
+
+		rawData = new ArrayList<>();
+		for (long time = START - PERIOD; time <= (START + (5 * PERIOD)); time += PERIOD / 4) {
+			rawData.add(createTimerData(time - 1));
+			rawData.add(createTimerData(time));
+		}
+
+		when(localStorageData.isFullyDownloaded()).thenReturn(true);
+		when(storageManager.canUseRollups(any(IIndexQuery.class), any(IAggregator.class))).thenReturn(true);
+		when(storageManager.getRollupDataHash(any(IIndexQuery.class), any(RollupAggregator.class))).thenReturn(HASH);
+		when(dataRetriever.<TimerData> getCachedDataLocally(localStorageData, HASH)).thenReturn(createRollups(rawData));
+		when(dataRetriever.<TimerData> getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class))).thenReturn(rawData);
+		when(indexingTree.query(any(StorageIndexQuery.class))).thenAnswer(new Answer<List<IStorageDescriptor>>() {
+			@Override
+			public List<IStorageDescriptor> answer(InvocationOnMock invocation) throws Throwable {
+				return new ArrayList<>(Collections.singletonList(storageDescriptor));
+			}
+		});
+	}
+
+	public static class ExecuteQuery extends AbstractStorageServiceTest {
+
+		@Test
+		public void alignedInterval() throws Exception {
+			StorageIndexQuery query = createQuery(START, (START + (3 * PERIOD)) - 1);
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever).getCachedDataLocally(localStorageData, HASH);
+			verify(dataRetriever, never()).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void unalignedInterval() throws Exception {
+			StorageIndexQuery query = createQuery(START + (PERIOD / 2), START + (3 * PERIOD) + (PERIOD / 2));
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever).getCachedDataLocally(localStorageData, HASH);
+			verify(dataRetriever, times(2)).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void singleMillisecondParts() throws Exception {
+			StorageIndexQuery query = createQuery(START - 1, START + (3 * PERIOD));
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever).getCachedDataLocally(localStorageData, HASH);
+			verify(dataRetriever, times(2)).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void intervalShorterThanPeriod() throws Exception {
+			StorageIndexQuery query = createQuery(START + (PERIOD / 4), START + (PERIOD / 2));
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever, never()).getCachedDataLocally(localStorageData, HASH);
+			verify(dataRetriever).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void noRollups() throws Exception {
+			when(dataRetriever.<TimerData> getCachedDataLocally(localStorageData, HASH)).thenReturn((List<TimerData>) null);
+			StorageIndexQuery query = createQuery(START + (PERIOD / 2), START + (3 * PERIOD) + (PERIOD / 2));
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void emptyRollups() throws Exception {
+			rawData.clear();
+			rawData.add(createTimerData(START + (PERIOD / 2)));
+			rawData.add(createTimerData(START + (3 * PERIOD) + 1));
+			when(dataRetriever.<TimerData> getCachedDataLocally(localStorageData, HASH)).thenReturn(Collections.<TimerData> emptyList());
+			StorageIndexQuery query = createQuery(START + (PERIOD / 2), START + (3 * PERIOD) + (PERIOD / 2));
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			assertThat(result.get(0).getCount(), is(2L));
+			verify(dataRetriever, times(2)).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void noDataInRollups() throws Exception {
+			rawData.clear();
+			when(dataRetriever.<TimerData> getCachedDataLocally(localStorageData, HASH)).thenReturn(Collections.<TimerData> emptyList());
+			StorageIndexQuery query = createQuery(START, (START + (3 * PERIOD)) - 1);
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertThat(result, is(empty()));
+			verify(dataRetriever, never()).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+
+		@Test
+		public void openInterval() throws Exception {
+			StorageIndexQuery query = createQuery(START + (PERIOD / 2), START + (3 * PERIOD) + (PERIOD / 2));
+			query.setToDate(null);
+
+			List<TimerData> result = storageService.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+
+			assertSameAsRawAggregation(result, query);
+			verify(dataRetriever, never()).getCachedDataLocally(localStorageData, HASH);
+			verify(dataRetriever).getDataLocally(eq(localStorageData), anyListOf(IStorageDescriptor.class));
+		}
+	}
+
+	/**
+	 * Asserts that the result is the same as aggregating the raw data in the query interval and
+	 * that the interval of the query is not changed.
+	 *
+	 * @param result
+	 *            Result of the query.
+	 * @param query
+	 *            Executed query.
+	 */
+	protected void assertSameAsRawAggregation(List<TimerData> result, StorageIndexQuery query) {
+		Timestamp fromDate = query.getFromDate();
+		Timestamp toDate = query.getToDate();
+		AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+		for (TimerData timerData : rawData) {
+			if (timerData.isQueryComplied(query)) {
+				aggregationPerformer.processElement(timerData);
+			}
+		}
+		TimerData expected = aggregationPerformer.getResultList().get(0);
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).getCount(), is(expected.getCount()));
+		assertThat(result.get(0).getDuration(), is(expected.getDuration()));
+		assertThat(query.getFromDate(), is(fromDate));
+		assertThat(query.getToDate(), is(toDate));
+	}
+
+	protected StorageIndexQuery createQuery(long from, long to) {
+		StorageIndexQuery query = new StorageIndexQuery();
+		query.setRestrictionProcessor(new CachingIndexQueryRestrictionProcessor());
+		query.setFromDate(new Timestamp(from));
+		query.setToDate(new Timestamp(to));
+		return query;
+	}
+
+	protected List<TimerData> createRollups(List<TimerData> data) {
+		AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(new RollupAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, PERIOD));
+		aggregationPerformer.processCollection(data);
+		return aggregationPerformer.getResultList();
+	}
+
+	protected TimerData createTimerData(long time) {
+		TimerData timerData = new TimerData(new Timestamp(time), 10L, 20L, 30L);
+		timerData.setCount(1L);
+		timerData.setDuration((time - START) / 1000);
+		timerData.calculateMin(timerData.getDuration());
+		timerData.calculateMax(timerData.getDuration());
+		return timerData;
+	}
+
+}